@@ -0,0 +1,72 @@
+package com.example.trainreservationsystem.benchmarks;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.trainreservationsystem.models.admin.Discount;
+import com.example.trainreservationsystem.models.admin.Discount.DiscountType;
+
+/**
+ * Discount checks done for every payment: validity (which reads the clock)
+ * and the discount amount.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DiscountBenchmark {
+  private Discount percentage;
+  private Discount fixed;
+  private double price;
+
+  @Setup
+  public void setUp() {
+    LocalDate today = LocalDate.now();
+    percentage = new Discount(1, null, "Spring sale", "SPRING10", DiscountType.PROMO, null,
+        10, 0, today.minusDays(7), today.plusDays(7), true, 1000, 10);
+    fixed = new Discount(2, 5, "Voucher", "VOUCHER50", DiscountType.VOUCHER, null,
+        0, 50, null, null, true, 0, 0);
+    price = 1234.5;
+  }
+
+  @Benchmark
+  public double percentageDiscount() {
+    return percentage.calculateDiscount(price);
+  }
+
+  @Benchmark
+  public double fixedDiscount() {
+    return fixed.calculateDiscount(price);
+  }
+
+  @Benchmark
+  public boolean isValidWithDates() {
+    return percentage.isValid();
+  }
+
+  @Benchmark
+  public boolean isValidOpenEnded() {
+    return fixed.isValid();
+  }
+
+  /**
+   * The full check the payment service does before applying a code.
+   */
+  @Benchmark
+  public double validateAndApply() {
+    return percentage.isValid() && percentage.isValidForSchedule(5) ? percentage.calculateDiscount(price) : 0;
+  }
+}
@@ -0,0 +1,1056 @@
+package com.example.trainreservationsystem.benchmarks;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Forward-only, read-only {@link ResultSet} over rows held in memory, so
+ * repository mapping code can be measured without a database.
+ *
+ * Only the getters the repositories use are implemented; everything else
+ * throws {@link SQLFeatureNotSupportedException}. Column labels are matched
+ * case-insensitively, as the PostgreSQL driver does. {@link #beforeFirst()}
+ * rewinds the cursor so one instance can be replayed across invocations.
+ */
+public class FakeResultSet implements ResultSet {
+  private final Map<String, Integer> columns = new HashMap<>();
+  private final Object[][] rows;
+  private int row = -1;
+  private boolean lastWasNull;
+  private boolean closed;
+
+  /**
+   * @param labels column labels, in column order
+   * @param rows   row values in the same order; null for SQL NULL
+   */
+  public FakeResultSet(String[] labels, Object[][] rows) {
+    for (int i = 0; i < labels.length; i++) {
+      columns.put(labels[i].toLowerCase(Locale.ROOT), i + 1);
+    }
+    this.rows = rows;
+  }
+
+  private static SQLException unsupported() {
+    return new SQLFeatureNotSupportedException("Not supported by FakeResultSet");
+  }
+
+  private Object value(int columnIndex) throws SQLException {
+    if (closed) {
+      throw new SQLException("Result set is closed");
+    }
+    if (row < 0 || row >= rows.length) {
+      throw new SQLException("Cursor is not on a row");
+    }
+    Object[] values = rows[row];
+    if (columnIndex < 1 || columnIndex > values.length) {
+      throw new SQLException("Column index out of range: " + columnIndex);
+    }
+    Object value = values[columnIndex - 1];
+    lastWasNull = value == null;
+    return value;
+  }
+
+  // ========== IMPLEMENTED ==========
+
+  @Override
+  public boolean next() throws SQLException {
+    if (row < rows.length) {
+      row++;
+    }
+    return row < rows.length;
+  }
+
+  @Override
+  public void beforeFirst() throws SQLException {
+    row = -1;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    closed = true;
+  }
+
+  @Override
+  public boolean isClosed() throws SQLException {
+    return closed;
+  }
+
+  @Override
+  public boolean wasNull() throws SQLException {
+    return lastWasNull;
+  }
+
+  @Override
+  public int findColumn(String columnLabel) throws SQLException {
+    Integer index = columns.get(columnLabel);
+    if (index == null) {
+      index = columns.get(columnLabel.toLowerCase(Locale.ROOT));
+    }
+    if (index == null) {
+      throw new SQLException("The column name " + columnLabel + " was not found in this ResultSet.");
+    }
+    return index;
+  }
+
+  @Override
+  public int getInt(int columnIndex) throws SQLException {
+    Object value = value(columnIndex);
+    return value != null ? ((Number) value).intValue() : 0;
+  }
+
+  @Override
+  public int getInt(String columnLabel) throws SQLException {
+    return getInt(findColumn(columnLabel));
+  }
+
+  @Override
+  public long getLong(int columnIndex) throws SQLException {
+    Object value = value(columnIndex);
+    return value != null ? ((Number) value).longValue() : 0;
+  }
+
+  @Override
+  public long getLong(String columnLabel) throws SQLException {
+    return getLong(findColumn(columnLabel));
+  }
+
+  @Override
+  public String getString(int columnIndex) throws SQLException {
+    Object value = value(columnIndex);
+    return value != null ? value.toString() : null;
+  }
+
+  @Override
+  public String getString(String columnLabel) throws SQLException {
+    return getString(findColumn(columnLabel));
+  }
+
+  @Override
+  public Timestamp getTimestamp(int columnIndex) throws SQLException {
+    return (Timestamp) value(columnIndex);
+  }
+
+  @Override
+  public Timestamp getTimestamp(String columnLabel) throws SQLException {
+    return getTimestamp(findColumn(columnLabel));
+  }
+
+  @Override
+  public Date getDate(int columnIndex) throws SQLException {
+    return (Date) value(columnIndex);
+  }
+
+  @Override
+  public Date getDate(String columnLabel) throws SQLException {
+    return getDate(findColumn(columnLabel));
+  }
+
+  @Override
+  public Object getObject(int columnIndex) throws SQLException {
+    return value(columnIndex);
+  }
+
+  @Override
+  public Object getObject(String columnLabel) throws SQLException {
+    return getObject(findColumn(columnLabel));
+  }
+
+  @Override
+  public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+    Object value = value(columnIndex);
+    if (value == null) {
+      return null;
+    }
+    if (!type.isInstance(value)) {
+      throw new SQLException("Cannot convert " + value.getClass().getName() + " to " + type.getName());
+    }
+    return type.cast(value);
+  }
+
+  @Override
+  public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+    return getObject(findColumn(columnLabel), type);
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+    throw new SQLException("Not a wrapper for " + iface.getName());
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this);
+  }
+
+  // ========== UNSUPPORTED ==========
+
+  @Override
+  public boolean absolute(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void afterLast() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void cancelRowUpdates() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void clearWarnings() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void deleteRow() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean first() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Array getArray(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Array getArray(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public InputStream getAsciiStream(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public InputStream getAsciiStream(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(String columnLabel, int value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(int columnIndex, int value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public InputStream getBinaryStream(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public InputStream getBinaryStream(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Blob getBlob(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Blob getBlob(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean getBoolean(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean getBoolean(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public byte getByte(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public byte getByte(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public byte[] getBytes(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public byte[] getBytes(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Reader getCharacterStream(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Reader getCharacterStream(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Clob getClob(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Clob getClob(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public int getConcurrency() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public String getCursorName() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Date getDate(String columnLabel, Calendar value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Date getDate(int columnIndex, Calendar value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public double getDouble(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public double getDouble(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public int getFetchDirection() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public int getFetchSize() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public float getFloat(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public float getFloat(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public int getHoldability() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public ResultSetMetaData getMetaData() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Reader getNCharacterStream(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Reader getNCharacterStream(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public NClob getNClob(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public NClob getNClob(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public String getNString(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public String getNString(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Object getObject(String columnLabel, Map<String, Class<?>> value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Object getObject(int columnIndex, Map<String, Class<?>> value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Ref getRef(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Ref getRef(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public int getRow() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public RowId getRowId(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public RowId getRowId(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public SQLXML getSQLXML(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public SQLXML getSQLXML(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public short getShort(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public short getShort(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Statement getStatement() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Time getTime(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Time getTime(String columnLabel, Calendar value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Time getTime(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Time getTime(int columnIndex, Calendar value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Timestamp getTimestamp(String columnLabel, Calendar value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public Timestamp getTimestamp(int columnIndex, Calendar value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public int getType() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public URL getURL(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public URL getURL(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public SQLWarning getWarnings() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void insertRow() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean isAfterLast() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean isBeforeFirst() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean isFirst() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean isLast() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean last() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void moveToCurrentRow() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void moveToInsertRow() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean previous() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void refreshRow() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean relative(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean rowDeleted() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean rowInserted() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean rowUpdated() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void setFetchDirection(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void setFetchSize(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateArray(String columnLabel, Array value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateArray(int columnIndex, Array value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateAsciiStream(String columnLabel, InputStream value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateAsciiStream(String columnLabel, InputStream value, int length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateAsciiStream(String columnLabel, InputStream value, long length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateAsciiStream(int columnIndex, InputStream value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateAsciiStream(int columnIndex, InputStream value, int length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateAsciiStream(int columnIndex, InputStream value, long length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBigDecimal(String columnLabel, BigDecimal value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBigDecimal(int columnIndex, BigDecimal value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBinaryStream(String columnLabel, InputStream value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBinaryStream(String columnLabel, InputStream value, int length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBinaryStream(String columnLabel, InputStream value, long length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBinaryStream(int columnIndex, InputStream value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBinaryStream(int columnIndex, InputStream value, int length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBinaryStream(int columnIndex, InputStream value, long length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBlob(String columnLabel, InputStream value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBlob(String columnLabel, InputStream value, long length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBlob(String columnLabel, Blob value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBlob(int columnIndex, InputStream value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBlob(int columnIndex, InputStream value, long length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBlob(int columnIndex, Blob value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBoolean(String columnLabel, boolean value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBoolean(int columnIndex, boolean value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateByte(String columnLabel, byte value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateByte(int columnIndex, byte value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBytes(String columnLabel, byte[] value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateBytes(int columnIndex, byte[] value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateCharacterStream(String columnLabel, Reader value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateCharacterStream(String columnLabel, Reader value, int length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateCharacterStream(String columnLabel, Reader value, long length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateCharacterStream(int columnIndex, Reader value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateCharacterStream(int columnIndex, Reader value, int length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateCharacterStream(int columnIndex, Reader value, long length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateClob(String columnLabel, Reader value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateClob(String columnLabel, Reader value, long length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateClob(String columnLabel, Clob value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateClob(int columnIndex, Reader value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateClob(int columnIndex, Reader value, long length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateClob(int columnIndex, Clob value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateDate(String columnLabel, Date value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateDate(int columnIndex, Date value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateDouble(String columnLabel, double value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateDouble(int columnIndex, double value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateFloat(String columnLabel, float value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateFloat(int columnIndex, float value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateInt(String columnLabel, int value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateInt(int columnIndex, int value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateLong(String columnLabel, long value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateLong(int columnIndex, long value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateNCharacterStream(String columnLabel, Reader value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateNCharacterStream(String columnLabel, Reader value, long length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateNCharacterStream(int columnIndex, Reader value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateNCharacterStream(int columnIndex, Reader value, long length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateNClob(String columnLabel, Reader value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateNClob(String columnLabel, Reader value, long length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateNClob(String columnLabel, NClob value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateNClob(int columnIndex, Reader value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateNClob(int columnIndex, Reader value, long length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateNClob(int columnIndex, NClob value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateNString(String columnLabel, String value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateNString(int columnIndex, String value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateNull(String columnLabel) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateNull(int columnIndex) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateObject(String columnLabel, Object value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateObject(String columnLabel, Object value, int length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateObject(int columnIndex, Object value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateObject(int columnIndex, Object value, int length) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateRef(String columnLabel, Ref value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateRef(int columnIndex, Ref value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateRow() throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateRowId(String columnLabel, RowId value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateRowId(int columnIndex, RowId value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateSQLXML(String columnLabel, SQLXML value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateSQLXML(int columnIndex, SQLXML value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateShort(String columnLabel, short value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateShort(int columnIndex, short value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateString(String columnLabel, String value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateString(int columnIndex, String value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateTime(String columnLabel, Time value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateTime(int columnIndex, Time value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateTimestamp(String columnLabel, Timestamp value) throws SQLException {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateTimestamp(int columnIndex, Timestamp value) throws SQLException {
+    throw unsupported();
+  }
+}
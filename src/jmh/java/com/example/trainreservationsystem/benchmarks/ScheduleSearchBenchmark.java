@@ -0,0 +1,104 @@
+package com.example.trainreservationsystem.benchmarks;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.trainreservationsystem.models.admin.Route;
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.repositories.admin.TimetableIndex;
+
+/**
+ * Schedule search filtering: the timetable lookup by (source, destination)
+ * plus the day-of-week mask test, and decoding the stored day mask when
+ * schedule rows are mapped.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScheduleSearchBenchmark {
+  private static final String[] STOPS = {
+      "Dhaka", "Chattogram", "Sylhet", "Rajshahi", "Khulna", "Rangpur", "Barishal", "Mymensingh" };
+
+  @Param({ "20", "200" })
+  private int schedulesPerRoute;
+
+  private TimetableIndex index;
+  private LocalDate date;
+  private int[] masks;
+  private Schedule scratch;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    List<Schedule> schedules = new ArrayList<>();
+    int id = 1;
+    int routeId = 1;
+    for (String source : STOPS) {
+      for (String destination : STOPS) {
+        if (source.equals(destination)) {
+          continue;
+        }
+        Route route = new Route(routeId++, source, destination);
+        for (int i = 0; i < schedulesPerRoute; i++) {
+          LocalTime departure = LocalTime.of(random.nextInt(24), random.nextInt(4) * 15);
+          Schedule schedule = new Schedule(id++, route, departure, departure.plusHours(5), 500, 60);
+          schedule.setDayMask(1 + random.nextInt(Schedule.ALL_DAYS_MASK));
+          schedules.add(schedule);
+        }
+      }
+    }
+    index = TimetableIndex.getInstance();
+    index.rebuild(schedules, index.getVersion());
+    date = LocalDate.of(2025, 3, 14);
+
+    masks = new int[64];
+    for (int i = 0; i < masks.length; i++) {
+      masks[i] = random.nextInt(Schedule.ALL_DAYS_MASK + 1);
+    }
+    scratch = new Schedule();
+  }
+
+  /**
+   * One search; the input is trimmed and lower-cased like user input.
+   */
+  @Benchmark
+  public List<Schedule> search() {
+    return index.search(" dhaka", "Sylhet ", date);
+  }
+
+  @Benchmark
+  public List<Schedule> searchNoMatch() {
+    return index.search("Dhaka", "Nowhere", date);
+  }
+
+  /**
+   * Decoding day masks as schedule rows are read, and encoding them back.
+   */
+  @Benchmark
+  public void dayMaskRoundTrip(Blackhole bh) {
+    for (int mask : masks) {
+      scratch.setDayMask(mask);
+      bh.consume(scratch.getDayMask());
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.example.trainreservationsystem.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.trainreservationsystem.utils.member.booking.SegmentSeatMatrix;
+
+/**
+ * Seat availability on one schedule run, as computed for the search results
+ * (free seats per booking class) and when picking a seat to book.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SeatAvailabilityBenchmark {
+  private static final int SEGMENTS = 8;
+  private static final int CLASSES = 3;
+
+  @Param({ "60", "600" })
+  private int capacity;
+
+  // Share of (seat, segment) cells already sold
+  @Param({ "0.5", "0.95" })
+  private double occupancy;
+
+  private SegmentSeatMatrix matrix;
+  private int[] classStarts;
+  private int[] classEnds;
+
+  @Setup
+  public void setUp() {
+    matrix = new SegmentSeatMatrix(capacity, SEGMENTS);
+    Random random = new Random(42);
+    for (int seat = 1; seat <= capacity; seat++) {
+      for (int segment = 0; segment < SEGMENTS; segment++) {
+        if (random.nextDouble() < occupancy) {
+          matrix.set(seat, segment, segment + 1);
+        }
+      }
+    }
+
+    // Same split as the search screen: classes share the capacity evenly
+    classStarts = new int[CLASSES];
+    classEnds = new int[CLASSES];
+    int perClass = capacity / CLASSES;
+    int remaining = capacity % CLASSES;
+    int start = 1;
+    for (int i = 0; i < CLASSES; i++) {
+      int end = start + perClass + (i < remaining ? 1 : 0) - 1;
+      classStarts[i] = start;
+      classEnds[i] = end;
+      start = end + 1;
+    }
+  }
+
+  /**
+   * Free seats per booking class for a trip over part of the route.
+   */
+  @Benchmark
+  public void countFreePerClass(Blackhole bh) {
+    for (int i = 0; i < CLASSES; i++) {
+      bh.consume(matrix.countFree(classStarts[i], classEnds[i], 2, 6));
+    }
+  }
+
+  /**
+   * Free seats per booking class for the whole route.
+   */
+  @Benchmark
+  public void countFreePerClassWholeRoute(Blackhole bh) {
+    for (int i = 0; i < CLASSES; i++) {
+      bh.consume(matrix.countFree(classStarts[i], classEnds[i], 0, SEGMENTS));
+    }
+  }
+
+  @Benchmark
+  public int findFirstAvailableSeat() {
+    return matrix.nextFree(classStarts[CLASSES - 1], classEnds[CLASSES - 1], 2, 6);
+  }
+
+  @Benchmark
+  public boolean isSeatFree() {
+    return matrix.isFree(capacity / 2, 0, SEGMENTS);
+  }
+
+  /**
+   * Occupied seat set for the seat map, which boxes every taken seat.
+   */
+  @Benchmark
+  public Object occupiedSeats() {
+    return matrix.occupiedSeats(2, 6);
+  }
+}
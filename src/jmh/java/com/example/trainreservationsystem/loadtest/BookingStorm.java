@@ -0,0 +1,295 @@
+package com.example.trainreservationsystem.loadtest;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.models.member.Booking;
+import com.example.trainreservationsystem.models.member.Passenger;
+import com.example.trainreservationsystem.models.shared.User;
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
+import com.example.trainreservationsystem.repositories.member.BookingRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryDemoData;
+import com.example.trainreservationsystem.services.member.booking.BookingService;
+import com.example.trainreservationsystem.services.member.booking.SeatInventoryService;
+import com.example.trainreservationsystem.services.member.payment.PaymentService;
+import com.example.trainreservationsystem.services.member.search.SearchResultCache;
+import com.example.trainreservationsystem.services.shared.ReferenceDataCache;
+import com.example.trainreservationsystem.services.shared.ServiceFactory;
+import com.example.trainreservationsystem.utils.shared.database.DatabaseInitializer;
+import com.example.trainreservationsystem.utils.shared.payment.adapters.CardPaymentAdapter;
+
+/**
+ * Reproduces the rush when a holiday schedule opens: thousands of clients,
+ * each on its own virtual thread, search, book, pay and sometimes cancel
+ * through the service layer. Searches go through the search result cache,
+ * as the search screen's do.
+ *
+ * Arrivals are open-loop: sessions start at the configured rate (Poisson
+ * spaced) whether or not earlier ones have finished. Seats are picked with a
+ * skew towards low seat numbers so clients fight over the same seats. After
+ * the run every booking still PENDING or CONFIRMED is checked against the
+ * others; two holding the same seat on the same train is a double booking
+ * and fails the run.
+ *
+ * Runs against whatever RepositoryFactory selects, so REPOSITORY_MODE=memory
+ * gives an in-memory stand-in seeded with the demo data:
+ *
+ * <pre>
+ * REPOSITORY_MODE=memory mvn -Pbenchmarks process-test-classes exec:exec@booking-storm \
+ *     -Dstorm.args="--sessions=20000 --rate=2000 --skew=3"
+ * </pre>
+ *
+ * Options (--name=value): sessions, rate (arrivals per second, 0 for all at
+ * once), skew (1 is uniform, higher crowds the first seats), max-seats (per
+ * booking), days (travel dates spread over), retries (after a seat
+ * conflict), pay (probability), cancel (probability), hgrm (directory for
+ * .hgrm percentile files).
+ */
+public class BookingStorm {
+  private static final Map<String, String> CARD = Map.of(
+      "cardNumber", "4111 1111 1111 1111",
+      "cardName", "Load Test",
+      "expiry", "12/30",
+      "cvv", "123");
+
+  private final int sessions;
+  private final double rate;
+  private final double skew;
+  private final int maxSeats;
+  private final int days;
+  private final int retries;
+  private final double payProbability;
+  private final double cancelProbability;
+
+  private final SearchResultCache searchCache = SearchResultCache.getInstance();
+  private final BookingService bookingService = ServiceFactory.getBookingService();
+  private final PaymentService paymentService = ServiceFactory.getPaymentService();
+  private final BookingRepository bookingRepository = RepositoryFactory.getBookingRepository();
+  private final StormMetrics metrics = new StormMetrics();
+  private final Queue<Booking> booked = new ConcurrentLinkedQueue<>();
+
+  private List<Schedule> schedules;
+  private int[] userIds;
+  private LocalDate firstTravelDate;
+
+  BookingStorm(Map<String, String> options) {
+    this.sessions = Integer.parseInt(options.getOrDefault("sessions", "5000"));
+    this.rate = Double.parseDouble(options.getOrDefault("rate", "500"));
+    this.skew = Math.max(Double.parseDouble(options.getOrDefault("skew", "2")), 1.0);
+    this.maxSeats = Math.max(Integer.parseInt(options.getOrDefault("max-seats", "4")), 1);
+    this.days = Math.max(Integer.parseInt(options.getOrDefault("days", "1")), 1);
+    this.retries = Math.max(Integer.parseInt(options.getOrDefault("retries", "2")), 0);
+    this.payProbability = Double.parseDouble(options.getOrDefault("pay", "0.8"));
+    this.cancelProbability = Double.parseDouble(options.getOrDefault("cancel", "0.1"));
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        System.err.println("❌ Expected --name=value, got: " + arg);
+        System.exit(2);
+      }
+      int eq = arg.indexOf('=');
+      options.put(arg.substring(2, eq), arg.substring(eq + 1));
+    }
+
+    BookingStorm storm = new BookingStorm(options);
+    if (!storm.setUp()) {
+      System.exit(2);
+    }
+    storm.run();
+    long doubleBookings = storm.verify();
+
+    System.out.println();
+    storm.metrics.print(System.out);
+    System.out.printf("%-26s %d%n", "seat CAS retries", SeatInventoryService.getInstance().getCasRetries());
+    System.out.printf("%-26s %d%n", "double bookings", doubleBookings);
+    System.out.println(storm.searchCache.getMetrics());
+    if (options.containsKey("hgrm")) {
+      storm.metrics.writeDistributions(Path.of(options.get("hgrm")));
+    }
+    System.exit(doubleBookings > 0 ? 1 : 0);
+  }
+
+  private boolean setUp() throws Exception {
+    if (RepositoryFactory.isInMemory()) {
+      System.out.println("🔄 Booking storm against in-memory repositories");
+      InMemoryDemoData.seed();
+    } else {
+      System.out.println("🔄 Booking storm against the database");
+      if (!DatabaseInitializer.initialize()) {
+        System.err.println("❌ Database initialization failed");
+        return false;
+      }
+    }
+    ReferenceDataCache.getInstance().refresh();
+
+    schedules = new ArrayList<>();
+    for (Schedule schedule : RepositoryFactory.getTrainRepository().getAllSchedules()) {
+      if (schedule.getRoute() != null && schedule.getCapacity() > 0) {
+        schedules.add(schedule);
+      }
+    }
+    userIds = RepositoryFactory.getUserRepository().getAllUsers().stream()
+        .filter(u -> "CUSTOMER".equals(u.getUserType()))
+        .mapToInt(User::getId)
+        .toArray();
+    if (schedules.isEmpty() || userIds.length == 0) {
+      System.err.println("❌ Need at least one schedule and one customer to book with");
+      return false;
+    }
+    // Tomorrow: policies only allow cancelling within a window before
+    // departure (2-24 hours by default), which tomorrow's trains can fall in
+    firstTravelDate = LocalDate.now().plusDays(1);
+    System.out.printf("🔄 %d sessions at %s/s over %d schedules, %d customers%n", sessions,
+        rate > 0 ? String.valueOf(rate) : "unlimited", schedules.size(), userIds.length);
+    return true;
+  }
+
+  private void run() throws InterruptedException {
+    long start = System.nanoTime();
+    long arrival = start;
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < sessions; i++) {
+        if (rate > 0) {
+          // Exponential gaps give Poisson arrivals at the mean rate
+          arrival += (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) / rate * 1e9);
+          long wait = arrival - System.nanoTime();
+          if (wait > 0) {
+            LockSupport.parkNanos(wait);
+          }
+        }
+        long scheduledAt = rate > 0 ? arrival : System.nanoTime();
+        clients.submit(() -> session(scheduledAt));
+      }
+      clients.shutdown();
+      clients.awaitTermination(1, TimeUnit.HOURS);
+    }
+    System.out.printf("✅ Storm finished in %.1f s%n", (System.nanoTime() - start) / 1e9);
+  }
+
+  private void session(long scheduledAt) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    metrics.increment("sessions");
+    try {
+      Schedule wanted = schedules.get(random.nextInt(schedules.size()));
+      LocalDate travelDate = firstTravelDate.plusDays(random.nextInt(days));
+
+      long t = System.nanoTime();
+      List<Schedule> results = searchCache.search(wanted.getRoute().getSource(),
+          wanted.getRoute().getDestination(), travelDate).getSchedules();
+      metrics.record(StormMetrics.SEARCH, t);
+      if (results.isEmpty()) {
+        metrics.increment("searches without results");
+        return;
+      }
+      Schedule schedule = results.get(random.nextInt(results.size()));
+      int userId = userIds[random.nextInt(userIds.length)];
+
+      Booking booking = null;
+      for (int attempt = 0; attempt <= retries && booking == null; attempt++) {
+        List<Passenger> passengers = passengers(schedule.getCapacity(), random);
+        t = System.nanoTime();
+        try {
+          booking = bookingService.createBooking(userId, schedule, travelDate, passengers);
+          metrics.record(StormMetrics.BOOK, t);
+        } catch (IllegalArgumentException e) {
+          metrics.record(StormMetrics.BOOK, t);
+          metrics.increment("seat conflicts");
+        }
+      }
+      if (booking == null) {
+        metrics.increment("gave up after conflicts");
+        return;
+      }
+      metrics.increment("bookings");
+      booked.add(booking);
+
+      if (random.nextDouble() < payProbability) {
+        t = System.nanoTime();
+        paymentService.processPayment(booking.getId(), schedule.getPrice() * booking.getPassengers().size(),
+            new CardPaymentAdapter(), CARD, null);
+        metrics.record(StormMetrics.PAY, t);
+        metrics.increment("payments");
+      }
+      if (random.nextDouble() < cancelProbability) {
+        t = System.nanoTime();
+        try {
+          bookingService.cancelBooking(booking.getId());
+          metrics.increment("cancellations");
+        } catch (IllegalArgumentException e) {
+          metrics.increment("cancellations refused");
+        }
+        metrics.record(StormMetrics.CANCEL, t);
+      }
+    } catch (RuntimeException e) {
+      metrics.increment("errors");
+      if (metrics.count("errors") <= 5) {
+        System.err.println("❌ Session failed: " + e.getMessage());
+        e.printStackTrace();
+      }
+    } finally {
+      metrics.record(StormMetrics.SESSION, scheduledAt);
+    }
+  }
+
+  /**
+   * One to max-seats passengers on distinct seats. Raising a uniform draw to
+   * the skew power bunches the picks at the front of the train.
+   */
+  private List<Passenger> passengers(int capacity, ThreadLocalRandom random) {
+    int count = 1 + random.nextInt(Math.min(maxSeats, capacity));
+    Set<Integer> seats = new LinkedHashSet<>();
+    while (seats.size() < count) {
+      seats.add(1 + Math.min((int) (capacity * Math.pow(random.nextDouble(), skew)), capacity - 1));
+    }
+    List<Passenger> passengers = new ArrayList<>();
+    for (int seat : seats) {
+      Passenger passenger = new Passenger("Load client", 30, false, false);
+      passenger.setSeatNumber(seat);
+      passengers.add(passenger);
+    }
+    return passengers;
+  }
+
+  /**
+   * Counts seats held by more than one live booking on the same train run.
+   * Every storm booking covers the whole route, so sharing a seat number on
+   * the same schedule and date means sharing a segment.
+   */
+  private long verify() {
+    Map<String, Integer> holders = new HashMap<>();
+    long doubleBookings = 0;
+    for (Booking created : booked) {
+      Booking current = bookingRepository.getBookingById(created.getId());
+      if (current == null || !("PENDING".equals(current.getStatus()) || "CONFIRMED".equals(current.getStatus()))) {
+        continue;
+      }
+      for (Passenger passenger : created.getPassengers()) {
+        String cell = created.getScheduleId() + "|" + created.getTravelDate() + "|" + passenger.getSeatNumber();
+        if (holders.merge(cell, 1, Integer::sum) > 1) {
+          doubleBookings++;
+          if (doubleBookings <= 10) {
+            System.err.println("❌ Double booking: seat " + cell + " (booking " + created.getId() + ")");
+          }
+        }
+      }
+    }
+    return doubleBookings;
+  }
+}
@@ -0,0 +1,86 @@
+package com.example.trainreservationsystem.loadtest;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms and outcome counters of a {@link BookingStorm} run.
+ * Latencies are recorded in nanoseconds and reported in milliseconds.
+ */
+class StormMetrics {
+  static final String SEARCH = "search";
+  static final String BOOK = "book";
+  static final String PAY = "pay";
+  static final String CANCEL = "cancel";
+  // From the session's scheduled arrival to its last call, so time spent
+  // queued behind a slow system counts (no coordinated omission)
+  static final String SESSION = "session";
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final Map<String, Histogram> latencies = new LinkedHashMap<>();
+  private final Map<String, LongAdder> counters = new LinkedHashMap<>();
+
+  StormMetrics() {
+    for (String op : new String[] { SEARCH, BOOK, PAY, CANCEL, SESSION }) {
+      latencies.put(op, new ConcurrentHistogram(3));
+    }
+    for (String counter : new String[] { "sessions", "searches without results", "bookings", "seat conflicts",
+        "gave up after conflicts", "payments", "cancellations", "cancellations refused", "errors" }) {
+      counters.put(counter, new LongAdder());
+    }
+  }
+
+  void record(String op, long startNanos) {
+    latencies.get(op).recordValue(Math.max(System.nanoTime() - startNanos, 0));
+  }
+
+  void increment(String counter) {
+    counters.get(counter).increment();
+  }
+
+  long count(String counter) {
+    return counters.get(counter).sum();
+  }
+
+  void print(PrintStream out) {
+    out.printf("%-8s %9s %9s %9s %9s %9s %9s%n", "op", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+        "max ms");
+    for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+      Histogram h = entry.getValue();
+      out.printf("%-8s %9d %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(), h.getTotalCount(),
+          millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+          millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+    }
+    out.println();
+    for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+      out.printf("%-26s %d%n", entry.getKey(), entry.getValue().sum());
+    }
+  }
+
+  /**
+   * Writes one percentile distribution per operation, in the .hgrm format
+   * the HdrHistogram plotter reads.
+   */
+  void writeDistributions(Path dir) throws IOException {
+    Files.createDirectories(dir);
+    for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+      try (PrintStream out = new PrintStream(new FileOutputStream(dir.resolve(entry.getKey() + ".hgrm").toFile()))) {
+        entry.getValue().outputPercentileDistribution(out, NANOS_PER_MILLI);
+      }
+    }
+  }
+
+  private static double millis(long nanos) {
+    return nanos / NANOS_PER_MILLI;
+  }
+}
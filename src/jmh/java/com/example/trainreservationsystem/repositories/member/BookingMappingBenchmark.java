@@ -0,0 +1,76 @@
+package com.example.trainreservationsystem.repositories.member;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.trainreservationsystem.benchmarks.FakeResultSet;
+
+/**
+ * Cost of turning booking rows into {@link com.example.trainreservationsystem.models.member.Booking}
+ * objects, per row. Lives in the repository's package to reach the
+ * package-private mapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BookingMappingBenchmark {
+  private static final String[] COLUMNS = {
+      "id", "user_id", "schedule_id", "status", "booking_date", "travel_date", "from_stop_id", "to_stop_id" };
+  private static final String[] STATUSES = { "PENDING", "CONFIRMED", "CANCELLED" };
+
+  @Param({ "1000" })
+  private int rows;
+
+  private FakeResultSet resultSet;
+
+  @Setup
+  public void setUp() {
+    Object[][] data = new Object[rows][];
+    LocalDateTime booked = LocalDateTime.of(2025, 1, 1, 9, 0);
+    LocalDate travel = LocalDate.of(2025, 2, 1);
+    for (int i = 0; i < rows; i++) {
+      boolean wholeRoute = i % 4 == 0; // Some rows have NULL stops
+      data[i] = new Object[] {
+          i + 1,
+          1 + i % 50,
+          1 + i % 20,
+          STATUSES[i % STATUSES.length],
+          Timestamp.valueOf(booked.plusMinutes(i)),
+          Date.valueOf(travel.plusDays(i % 30)),
+          wholeRoute ? null : 1 + i % 5,
+          wholeRoute ? null : 6 + i % 5 };
+    }
+    resultSet = new FakeResultSet(COLUMNS, data);
+  }
+
+  /**
+   * Maps every row once; divide by the row count for the per-row cost.
+   */
+  @Benchmark
+  public void mapAllRows(Blackhole bh) throws SQLException {
+    resultSet.beforeFirst();
+    while (resultSet.next()) {
+      bh.consume(JdbcBookingRepository.mapResultSetToBooking(resultSet));
+    }
+  }
+}
@@ -2,9 +2,12 @@ package com.example.trainreservationsystem.applications;
 
 import java.io.IOException;
 
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
+import com.example.trainreservationsystem.repositories.memory.InMemoryDemoData;
 import com.example.trainreservationsystem.utils.shared.database.Database;
 import com.example.trainreservationsystem.utils.shared.database.DatabaseInitializer;
 import com.example.trainreservationsystem.utils.shared.ui.StylesheetHelper;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -27,17 +30,24 @@ public class HomeApplication extends Application {
         stage.setTitle("Train Reservation System");
         stage.show();
 
-        // Initialize database in background thread to avoid blocking UI
-        Thread dbInitThread = new Thread(() -> {
+        // Initialize database in the background to avoid blocking UI
+        UiTasks.runDetached(() -> {
+            if (RepositoryFactory.isInMemory()) {
+                startInMemory();
+                return;
+            }
             try {
                 System.out.println("🔄 Initializing database in background...");
                 boolean success = DatabaseInitializer.initialize();
                 if (success) {
                     System.out.println("✅ Database initialization completed");
-                    // Start scheduled tasks after database is initialized
-                    javafx.application.Platform.runLater(() -> {
-                        com.example.trainreservationsystem.services.shared.ScheduledTaskService.getInstance().start();
-                    });
+                    // Warm the reference data cache with the seeded data
+                    com.example.trainreservationsystem.services.shared.ReferenceDataCache.getInstance().refresh();
+                    // Drop cached data when other instances change the database
+                    com.example.trainreservationsystem.services.shared.CacheInvalidationService.getInstance().start();
+                    // Start scheduled tasks after database is initialized; their
+                    // startup loads query the database, so keep them off the FX thread
+                    com.example.trainreservationsystem.services.shared.ScheduledTaskService.getInstance().start();
                 } else {
                     System.err.println("❌ Database initialization failed");
                 }
@@ -46,13 +56,28 @@ public class HomeApplication extends Application {
                 e.printStackTrace();
             }
         });
-        dbInitThread.setDaemon(true);
-        dbInitThread.start();
 
         // Add shutdown hook to close database connection
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             com.example.trainreservationsystem.services.shared.ScheduledTaskService.getInstance().shutdown();
-            Database.closeConnection();
+            com.example.trainreservationsystem.services.member.booking.SeatHoldService.getInstance().shutdown();
+            com.example.trainreservationsystem.services.shared.NotificationOutbox.getInstance().shutdown();
+            System.out.println("📊 " + com.example.trainreservationsystem.services.member.search.SearchResultCache
+                    .getInstance().getMetrics());
+            if (!RepositoryFactory.isInMemory()) {
+                Database.closeConnection();
+            }
         }));
     }
+
+    /**
+     * REPOSITORY_MODE=memory: no database to initialize or listen to, so seed
+     * the demo data and start the same services on top of it.
+     */
+    private static void startInMemory() {
+        System.out.println("🔄 Running with in-memory repositories");
+        InMemoryDemoData.seed();
+        com.example.trainreservationsystem.services.shared.ReferenceDataCache.getInstance().refresh();
+        com.example.trainreservationsystem.services.shared.ScheduledTaskService.getInstance().start();
+    }
 }
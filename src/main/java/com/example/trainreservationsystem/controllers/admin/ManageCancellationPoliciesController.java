@@ -1,12 +1,12 @@
 package com.example.trainreservationsystem.controllers.admin;
 
-import java.util.List;
-
 import com.example.trainreservationsystem.controllers.shared.HomeController;
 import com.example.trainreservationsystem.models.admin.CancellationPolicy;
 import com.example.trainreservationsystem.repositories.RepositoryFactory;
 import com.example.trainreservationsystem.repositories.admin.CancellationPolicyRepository;
+import com.example.trainreservationsystem.services.shared.ReferenceDataCache;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
@@ -78,26 +78,22 @@ public class ManageCancellationPoliciesController {
   }
 
   private void loadPolicies() {
-    try {
-      List<CancellationPolicy> policies = policyRepository.getAllPolicies();
+    UiTasks.load(() -> policyRepository.getAllPolicies(), policies -> {
       policiesTable.setItems(FXCollections.observableArrayList(policies));
-    } catch (Exception e) {
+    }, e -> {
       AlertUtils.showError("Error", "Failed to load policies: " + e.getMessage());
       e.printStackTrace();
-    }
+    });
   }
 
   private void updateActivePolicyLabel() {
-    try {
-      CancellationPolicy active = policyRepository.getActivePolicy();
+    UiTasks.load(() -> policyRepository.getActivePolicy(), active -> {
       if (active != null && active.getId() > 0) {
         activePolicyLabel.setText("Active Policy: " + active.getName());
       } else {
         activePolicyLabel.setText("Active Policy: Default (No policy set)");
       }
-    } catch (Exception e) {
-      activePolicyLabel.setText("Active Policy: Error loading");
-    }
+    }, e -> activePolicyLabel.setText("Active Policy: Error loading"));
   }
 
   private void loadPolicyToForm(CancellationPolicy policy) {
@@ -145,21 +141,28 @@ public class ManageCancellationPoliciesController {
       policy.setRefundPercentage(Double.parseDouble(refundField.getText()));
       policy.setAllowCancellation(allowCancellationCheckbox.isSelected());
 
-      if (selectedPolicy != null) {
-        policyRepository.updatePolicy(policy);
-        AlertUtils.showSuccess("Success", "Policy updated successfully");
-      } else {
-        policyRepository.savePolicy(policy);
-        AlertUtils.showSuccess("Success", "Policy created successfully");
-        // Set as active if it's the first policy
-        if (policiesTable.getItems().isEmpty()) {
-          policyRepository.setActivePolicy(policy.getId());
+      boolean updating = selectedPolicy != null;
+      // Set as active if it's the first policy
+      boolean first = policiesTable.getItems().isEmpty();
+      UiTasks.run(() -> {
+        if (updating) {
+          policyRepository.updatePolicy(policy);
+        } else {
+          policyRepository.savePolicy(policy);
+          if (first) {
+            policyRepository.setActivePolicy(policy.getId());
+          }
         }
-      }
-
-      clearForm();
-      loadPolicies();
-      updateActivePolicyLabel();
+        ReferenceDataCache.getInstance().refreshCancellationPolicy();
+      }, () -> {
+        AlertUtils.showSuccess("Success", updating ? "Policy updated successfully" : "Policy created successfully");
+        clearForm();
+        loadPolicies();
+        updateActivePolicyLabel();
+      }, e -> {
+        AlertUtils.showError("Error", "Failed to save policy: " + e.getMessage());
+        e.printStackTrace();
+      });
     } catch (Exception e) {
       AlertUtils.showError("Error", "Failed to save policy: " + e.getMessage());
       e.printStackTrace();
@@ -202,16 +205,19 @@ public class ManageCancellationPoliciesController {
 
     if (AlertUtils.showConfirmation("Delete Policy",
         "Are you sure you want to delete policy: " + selectedPolicy.getName() + "?")) {
-      try {
-        policyRepository.deletePolicy(selectedPolicy.getId());
+      int policyId = selectedPolicy.getId();
+      UiTasks.run(() -> {
+        policyRepository.deletePolicy(policyId);
+        ReferenceDataCache.getInstance().refreshCancellationPolicy();
+      }, () -> {
         AlertUtils.showSuccess("Success", "Policy deleted successfully");
         clearForm();
         loadPolicies();
         updateActivePolicyLabel();
-      } catch (Exception e) {
+      }, e -> {
         AlertUtils.showError("Error", "Failed to delete policy: " + e.getMessage());
         e.printStackTrace();
-      }
+      });
     }
   }
 
@@ -220,14 +226,17 @@ public class ManageCancellationPoliciesController {
       return;
     }
 
-    try {
-      policyRepository.setActivePolicy(selectedPolicy.getId());
+    int policyId = selectedPolicy.getId();
+    UiTasks.run(() -> {
+      policyRepository.setActivePolicy(policyId);
+      ReferenceDataCache.getInstance().refreshCancellationPolicy();
+    }, () -> {
       AlertUtils.showSuccess("Success", "Policy set as active");
       updateActivePolicyLabel();
-    } catch (Exception e) {
+    }, e -> {
       AlertUtils.showError("Error", "Failed to set active policy: " + e.getMessage());
       e.printStackTrace();
-    }
+    });
   }
 
   @FXML
@@ -1,7 +1,6 @@
 package com.example.trainreservationsystem.controllers.admin;
 
 import java.time.LocalDate;
-import java.util.List;
 
 import com.example.trainreservationsystem.controllers.shared.HomeController;
 import com.example.trainreservationsystem.models.admin.Discount;
@@ -10,6 +9,7 @@ import com.example.trainreservationsystem.repositories.RepositoryFactory;
 import com.example.trainreservationsystem.repositories.admin.DiscountRepository;
 import com.example.trainreservationsystem.repositories.admin.ScheduleRepository;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
@@ -100,25 +100,23 @@ public class ManageDiscountsController {
   }
 
   private void loadSchedules() {
-    try {
-      List<Schedule> schedules = scheduleRepository.getAllSchedules();
+    UiTasks.load(() -> scheduleRepository.getAllSchedules(), schedules -> {
       scheduleCombo.getItems().clear();
       scheduleCombo.getItems().add(null); // Add "All Schedules" option
       scheduleCombo.getItems().addAll(schedules);
-    } catch (Exception e) {
+    }, e -> {
       AlertUtils.showError("Error", "Failed to load schedules: " + e.getMessage());
       e.printStackTrace();
-    }
+    });
   }
 
   private void loadDiscounts() {
-    try {
-      List<Discount> discounts = discountRepository.getAllDiscounts();
+    UiTasks.load(() -> discountRepository.getAllDiscounts(), discounts -> {
       discountsTable.setItems(FXCollections.observableArrayList(discounts));
-    } catch (Exception e) {
+    }, e -> {
       AlertUtils.showError("Error", "Failed to load discounts: " + e.getMessage());
       e.printStackTrace();
-    }
+    });
   }
 
   private void loadDiscountToForm(Discount discount) {
@@ -200,18 +198,23 @@ public class ManageDiscountsController {
       Schedule selectedSchedule = scheduleCombo.getValue();
       discount.setScheduleId(selectedSchedule != null ? selectedSchedule.getId() : null);
 
-      if (selectedDiscount != null) {
-        // Update existing discount
-        discountRepository.updateDiscount(discount);
-        AlertUtils.showSuccess("Success", "Discount updated successfully");
-      } else {
-        // Create new discount
-        discountRepository.saveDiscount(discount);
-        AlertUtils.showSuccess("Success", "Discount created successfully");
-      }
-
-      clearForm();
-      loadDiscounts();
+      boolean updating = selectedDiscount != null;
+      UiTasks.run(() -> {
+        if (updating) {
+          // Update existing discount
+          discountRepository.updateDiscount(discount);
+        } else {
+          // Create new discount
+          discountRepository.saveDiscount(discount);
+        }
+      }, () -> {
+        AlertUtils.showSuccess("Success", updating ? "Discount updated successfully" : "Discount created successfully");
+        clearForm();
+        loadDiscounts();
+      }, e -> {
+        AlertUtils.showError("Error", "Failed to save discount: " + e.getMessage());
+        e.printStackTrace();
+      });
     } catch (Exception e) {
       AlertUtils.showError("Error", "Failed to save discount: " + e.getMessage());
       e.printStackTrace();
@@ -260,15 +263,15 @@ public class ManageDiscountsController {
 
     if (AlertUtils.showConfirmation("Delete Discount",
         "Are you sure you want to delete discount code: " + selectedDiscount.getCode() + "?")) {
-      try {
-        discountRepository.deleteDiscount(selectedDiscount.getId());
+      int discountId = selectedDiscount.getId();
+      UiTasks.run(() -> discountRepository.deleteDiscount(discountId), () -> {
         AlertUtils.showSuccess("Success", "Discount deleted successfully");
         clearForm();
         loadDiscounts();
-      } catch (Exception e) {
+      }, e -> {
         AlertUtils.showError("Error", "Failed to delete discount: " + e.getMessage());
         e.printStackTrace();
-      }
+      });
     }
   }
 
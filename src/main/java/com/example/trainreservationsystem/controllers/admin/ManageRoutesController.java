@@ -6,8 +6,10 @@ import java.util.List;
 import com.example.trainreservationsystem.models.admin.Route;
 import com.example.trainreservationsystem.models.admin.RouteSegment;
 import com.example.trainreservationsystem.models.admin.Stop;
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
 import com.example.trainreservationsystem.repositories.admin.RouteRepository;
-import com.example.trainreservationsystem.repositories.admin.StopRepository;
+import com.example.trainreservationsystem.services.shared.ReferenceDataCache;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -49,8 +51,7 @@ public class ManageRoutesController {
     @FXML
     private Label messageLabel;
 
-    private final RouteRepository routeRepository = new RouteRepository();
-    private final StopRepository stopRepository = new StopRepository();
+    private final RouteRepository routeRepository = RepositoryFactory.getRouteRepository();
     private ObservableList<Route> routesList = FXCollections.observableArrayList();
     private List<Stop> allStops = new ArrayList<>();
     private List<SegmentRow> segmentRows = new ArrayList<>();
@@ -97,21 +98,15 @@ public class ManageRoutesController {
     }
 
     private void loadStops() {
-        try {
-            allStops = stopRepository.getAllStops();
-        } catch (Exception e) {
-            showMessage("Error loading stops: " + e.getMessage(), false);
-        }
+        // From the in-memory cache, so the segment rows can be built right away
+        allStops = ReferenceDataCache.getInstance().getStops();
     }
 
     private void loadRoutes() {
-        try {
-            routesList.clear();
-            routesList.addAll(routeRepository.getAllRoutes());
+        UiTasks.load(() -> routeRepository.getAllRoutes(), routes -> {
+            routesList.setAll(routes);
             routesTable.setItems(routesList);
-        } catch (Exception e) {
-            showMessage("Error loading routes: " + e.getMessage(), false);
-        }
+        }, e -> showMessage("Error loading routes: " + e.getMessage(), false));
     }
 
     private void addInitialSegmentRow() {
@@ -232,18 +227,21 @@ public class ManageRoutesController {
             newRoute.setSource(source);
             newRoute.setDestination(destination);
 
-            // Add route to database
-            Route savedRoute = routeRepository.addRoute(newRoute);
-
-            // Add segments
-            for (RouteSegment segment : segments) {
-                routeRepository.addRouteSegment(segment, savedRoute.getId());
-            }
+            UiTasks.run(() -> {
+                // Add route to database
+                Route savedRoute = routeRepository.addRoute(newRoute);
 
-            showMessage("Route added successfully!", true);
-            clearSegmentRows();
-            addInitialSegmentRow();
-            loadRoutes();
+                // Add segments
+                for (RouteSegment segment : segments) {
+                    routeRepository.addRouteSegment(segment, savedRoute.getId());
+                }
+                ReferenceDataCache.getInstance().refreshRoutes();
+            }, () -> {
+                showMessage("Route added successfully!", true);
+                clearSegmentRows();
+                addInitialSegmentRow();
+                loadRoutes();
+            }, e -> showMessage("Error adding route: " + e.getMessage(), false));
         } catch (NumberFormatException e) {
             showMessage("Invalid distance or price. Please enter valid numbers.", false);
         } catch (Exception e) {
@@ -265,13 +263,13 @@ public class ManageRoutesController {
 
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
+                UiTasks.run(() -> {
                     routeRepository.deleteRoute(route.getId());
+                    ReferenceDataCache.getInstance().refreshRoutes();
+                }, () -> {
                     showMessage("Route deleted successfully!", true);
                     loadRoutes();
-                } catch (Exception e) {
-                    showMessage("Error deleting route: " + e.getMessage(), false);
-                }
+                }, e -> showMessage("Error deleting route: " + e.getMessage(), false));
             }
         });
     }
@@ -9,10 +9,11 @@ import java.util.stream.Collectors;
 import com.example.trainreservationsystem.models.admin.Route;
 import com.example.trainreservationsystem.models.admin.Schedule;
 import com.example.trainreservationsystem.models.admin.SeatClass;
-import com.example.trainreservationsystem.repositories.admin.RouteRepository;
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
 import com.example.trainreservationsystem.repositories.admin.ScheduleRepository;
-import com.example.trainreservationsystem.repositories.admin.SeatClassRepository;
 import com.example.trainreservationsystem.repositories.shared.SeatRepository;
+import com.example.trainreservationsystem.services.shared.ReferenceDataCache;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -62,10 +63,8 @@ public class ManageSchedulesController {
     @FXML
     private Label messageLabel;
 
-    private final ScheduleRepository scheduleRepository = new ScheduleRepository();
-    private final RouteRepository routeRepository = new RouteRepository();
-    private final SeatClassRepository seatClassRepository = new SeatClassRepository();
-    private final SeatRepository seatRepository = new SeatRepository();
+    private final ScheduleRepository scheduleRepository = RepositoryFactory.getScheduleRepository();
+    private final SeatRepository seatRepository = RepositoryFactory.getSeatRepository();
 
     private ObservableList<Schedule> schedulesList = FXCollections.observableArrayList();
     private List<Route> allRoutes = new ArrayList<>();
@@ -126,15 +125,13 @@ public class ManageSchedulesController {
     }
 
     private void loadData() {
-        try {
-            allRoutes = routeRepository.getAllRoutes();
-            allSeatClasses = seatClassRepository.getAllSeatClasses();
-            schedulesList.clear();
-            schedulesList.addAll(scheduleRepository.getAllSchedules());
+        // Routes and seat classes come from the in-memory cache
+        allRoutes = ReferenceDataCache.getInstance().getRoutes();
+        allSeatClasses = ReferenceDataCache.getInstance().getSeatClasses();
+        UiTasks.load(() -> scheduleRepository.getAllSchedules(), schedules -> {
+            schedulesList.setAll(schedules);
             schedulesTable.setItems(schedulesList);
-        } catch (Exception e) {
-            showMessage("Error loading data: " + e.getMessage(), false);
-        }
+        }, e -> showMessage("Error loading data: " + e.getMessage(), false));
     }
 
     private void buildForm() {
@@ -298,10 +295,8 @@ public class ManageSchedulesController {
             }
             newSchedule.setCapacity(totalCapacity);
 
-            // Save schedule
-            Schedule savedSchedule = scheduleRepository.addSchedule(newSchedule);
-
-            // Add seats for each seat class
+            // Seats for each seat class, read from the form before saving
+            List<com.example.trainreservationsystem.models.shared.Seat> seats = new ArrayList<>();
             for (SeatClassRow scr : seatClassRows) {
                 SeatClass sc = scr.seatClassCombo.getValue();
                 String qtyStr = scr.quantityField.getText().trim();
@@ -314,13 +309,23 @@ public class ManageSchedulesController {
                     com.example.trainreservationsystem.models.shared.Seat seat = new com.example.trainreservationsystem.models.shared.Seat();
                     seat.setSeatClass(sc);
                     seat.setBooked(false);
-                    seatRepository.addSeat(seat, savedSchedule.getId());
+                    seats.add(seat);
                 }
             }
 
-            showMessage("Schedule added successfully!", true);
-            clearForm();
-            loadData();
+            UiTasks.run(() -> {
+                Schedule savedSchedule = scheduleRepository.addSchedule(newSchedule);
+                for (com.example.trainreservationsystem.models.shared.Seat seat : seats) {
+                    seatRepository.addSeat(seat, savedSchedule.getId());
+                }
+            }, () -> {
+                showMessage("Schedule added successfully!", true);
+                clearForm();
+                loadData();
+            }, e -> {
+                showMessage("Error adding schedule: " + e.getMessage(), false);
+                e.printStackTrace();
+            });
         } catch (Exception e) {
             showMessage("Error adding schedule: " + e.getMessage(), false);
             e.printStackTrace();
@@ -345,13 +350,10 @@ public class ManageSchedulesController {
 
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
-                    scheduleRepository.deleteSchedule(schedule.getId());
+                UiTasks.run(() -> scheduleRepository.deleteSchedule(schedule.getId()), () -> {
                     showMessage("Schedule deleted successfully!", true);
                     loadData();
-                } catch (Exception e) {
-                    showMessage("Error deleting schedule: " + e.getMessage(), false);
-                }
+                }, e -> showMessage("Error deleting schedule: " + e.getMessage(), false));
             }
         });
     }
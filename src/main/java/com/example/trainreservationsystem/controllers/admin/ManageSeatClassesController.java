@@ -1,7 +1,10 @@
 package com.example.trainreservationsystem.controllers.admin;
 
 import com.example.trainreservationsystem.models.admin.SeatClass;
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
 import com.example.trainreservationsystem.repositories.admin.SeatClassRepository;
+import com.example.trainreservationsystem.services.shared.ReferenceDataCache;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -42,7 +45,7 @@ public class ManageSeatClassesController {
     @FXML
     private Label messageLabel;
 
-    private final SeatClassRepository seatClassRepository = new SeatClassRepository();
+    private final SeatClassRepository seatClassRepository = RepositoryFactory.getSeatClassRepository();
     private ObservableList<SeatClass> seatClassesList = FXCollections.observableArrayList();
 
     @FXML
@@ -80,13 +83,10 @@ public class ManageSeatClassesController {
     }
 
     private void loadSeatClasses() {
-        try {
-            seatClassesList.clear();
-            seatClassesList.addAll(seatClassRepository.getAllSeatClasses());
+        UiTasks.load(() -> seatClassRepository.getAllSeatClasses(), seatClasses -> {
+            seatClassesList.setAll(seatClasses);
             seatClassesTable.setItems(seatClassesList);
-        } catch (Exception e) {
-            showMessage("Error loading seat classes: " + e.getMessage(), false);
-        }
+        }, e -> showMessage("Error loading seat classes: " + e.getMessage(), false));
     }
 
     @FXML
@@ -108,17 +108,18 @@ public class ManageSeatClassesController {
             newSeatClass.setBaseFare(baseFare);
             newSeatClass.setDescription(description);
 
-            seatClassRepository.addSeatClass(newSeatClass);
-
-            showMessage("Seat class added successfully!", true);
-            classNameField.clear();
-            baseFareField.clear();
-            descriptionField.clear();
-            loadSeatClasses();
+            UiTasks.run(() -> {
+                seatClassRepository.addSeatClass(newSeatClass);
+                ReferenceDataCache.getInstance().refreshSeatClasses();
+            }, () -> {
+                showMessage("Seat class added successfully!", true);
+                classNameField.clear();
+                baseFareField.clear();
+                descriptionField.clear();
+                loadSeatClasses();
+            }, e -> showMessage("Error adding seat class: " + e.getMessage(), false));
         } catch (NumberFormatException e) {
             showMessage("Invalid base fare. Please enter a valid number.", false);
-        } catch (Exception e) {
-            showMessage("Error adding seat class: " + e.getMessage(), false);
         }
     }
 
@@ -130,13 +131,13 @@ public class ManageSeatClassesController {
 
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
+                UiTasks.run(() -> {
                     seatClassRepository.deleteSeatClass(seatClass.getId());
+                    ReferenceDataCache.getInstance().refreshSeatClasses();
+                }, () -> {
                     showMessage("Seat class deleted successfully!", true);
                     loadSeatClasses();
-                } catch (Exception e) {
-                    showMessage("Error deleting seat class: " + e.getMessage(), false);
-                }
+                }, e -> showMessage("Error deleting seat class: " + e.getMessage(), false));
             }
         });
     }
@@ -1,7 +1,10 @@
 package com.example.trainreservationsystem.controllers.admin;
 
 import com.example.trainreservationsystem.models.admin.Stop;
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
 import com.example.trainreservationsystem.repositories.admin.StopRepository;
+import com.example.trainreservationsystem.services.shared.ReferenceDataCache;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -34,7 +37,7 @@ public class ManageStopsController {
     @FXML
     private Label messageLabel;
 
-    private final StopRepository stopRepository = new StopRepository();
+    private final StopRepository stopRepository = RepositoryFactory.getStopRepository();
     private ObservableList<Stop> stopsList = FXCollections.observableArrayList();
 
     @FXML
@@ -70,13 +73,10 @@ public class ManageStopsController {
     }
 
     private void loadStops() {
-        try {
-            stopsList.clear();
-            stopsList.addAll(stopRepository.getAllStops());
+        UiTasks.load(() -> stopRepository.getAllStops(), stops -> {
+            stopsList.setAll(stops);
             stopsTable.setItems(stopsList);
-        } catch (Exception e) {
-            showMessage("Error loading stops: " + e.getMessage(), false);
-        }
+        }, e -> showMessage("Error loading stops: " + e.getMessage(), false));
     }
 
     @FXML
@@ -88,17 +88,16 @@ public class ManageStopsController {
             return;
         }
 
-        try {
-            Stop newStop = new Stop();
-            newStop.setName(name);
+        Stop newStop = new Stop();
+        newStop.setName(name);
+        UiTasks.run(() -> {
             stopRepository.addStop(newStop);
-
+            ReferenceDataCache.getInstance().refreshStops();
+        }, () -> {
             showMessage("Stop added successfully!", true);
             stopNameField.clear();
             loadStops();
-        } catch (Exception e) {
-            showMessage("Error adding stop: " + e.getMessage(), false);
-        }
+        }, e -> showMessage("Error adding stop: " + e.getMessage(), false));
     }
 
     private void handleDeleteStop(Stop stop) {
@@ -109,13 +108,13 @@ public class ManageStopsController {
 
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
+                UiTasks.run(() -> {
                     stopRepository.deleteStop(stop.getId());
+                    ReferenceDataCache.getInstance().refreshStops();
+                }, () -> {
                     showMessage("Stop deleted successfully!", true);
                     loadStops();
-                } catch (Exception e) {
-                    showMessage("Error deleting stop: " + e.getMessage(), false);
-                }
+                }, e -> showMessage("Error deleting stop: " + e.getMessage(), false));
             }
         });
     }
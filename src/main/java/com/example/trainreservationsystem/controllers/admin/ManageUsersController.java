@@ -1,12 +1,11 @@
 package com.example.trainreservationsystem.controllers.admin;
 
-import java.util.List;
-
 import com.example.trainreservationsystem.controllers.shared.HomeController;
 import com.example.trainreservationsystem.models.shared.User;
 import com.example.trainreservationsystem.repositories.RepositoryFactory;
 import com.example.trainreservationsystem.repositories.shared.UserRepository;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
@@ -111,13 +110,12 @@ public class ManageUsersController {
   }
 
   private void loadUsers() {
-    try {
-      List<User> users = userRepository.getAllUsers();
+    UiTasks.load(() -> userRepository.getAllUsers(), users -> {
       usersTable.setItems(FXCollections.observableArrayList(users));
-    } catch (Exception e) {
+    }, e -> {
       AlertUtils.showError("Error", "Failed to load users: " + e.getMessage());
       e.printStackTrace();
-    }
+    });
   }
 
   private void handlePromoteUser(User user) {
@@ -141,18 +139,17 @@ public class ManageUsersController {
         user.getEmail());
 
     if (AlertUtils.showConfirmation("Promote to Staff", message)) {
-      try {
-        boolean updated = userRepository.updateUserType(user.getId(), "STAFF");
+      UiTasks.write(() -> userRepository.updateUserType(user.getId(), "STAFF"), updated -> {
         if (updated) {
           AlertUtils.showSuccess("Success", "User has been promoted to Staff.");
           loadUsers(); // Refresh the table
         } else {
           AlertUtils.showError("Error", "Failed to promote user.");
         }
-      } catch (Exception e) {
+      }, e -> {
         AlertUtils.showError("Error", "Failed to promote user: " + e.getMessage());
         e.printStackTrace();
-      }
+      });
     }
   }
 
@@ -172,18 +169,17 @@ public class ManageUsersController {
         user.getEmail());
 
     if (AlertUtils.showConfirmation("Delete User", message)) {
-      try {
-        boolean deleted = userRepository.deleteUser(user.getId());
+      UiTasks.write(() -> userRepository.deleteUser(user.getId()), deleted -> {
         if (deleted) {
           AlertUtils.showSuccess("Success", "User has been deleted.");
           loadUsers();
         } else {
           AlertUtils.showError("Error", "Failed to delete user.");
         }
-      } catch (Exception e) {
+      }, e -> {
         AlertUtils.showError("Error", "Failed to delete user: " + e.getMessage());
         e.printStackTrace();
-      }
+      });
     }
   }
 
@@ -5,6 +5,7 @@ import com.example.trainreservationsystem.services.shared.NotificationService;
 import com.example.trainreservationsystem.services.shared.ServiceFactory;
 import com.example.trainreservationsystem.services.shared.UserSession;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.TextArea;
@@ -33,10 +34,15 @@ public class ComplaintController {
       return;
     }
 
-    complaintService.submitComplaint(UserSession.getInstance().getCurrentUser().getId(), subject, desc);
-    NotificationService.getInstance().add("Complaint submitted: " + subject);
-    AlertUtils.showSuccess("Success", "Complaint submitted successfully.");
-    subjectField.clear();
-    descriptionArea.clear();
+    int userId = UserSession.getInstance().getCurrentUser().getId();
+    UiTasks.run(() -> complaintService.submitComplaint(userId, subject, desc), () -> {
+      NotificationService.getInstance().add("Complaint submitted: " + subject);
+      AlertUtils.showSuccess("Success", "Complaint submitted successfully.");
+      subjectField.clear();
+      descriptionArea.clear();
+    }, e -> {
+      AlertUtils.showError("Error", "Failed to submit complaint: " + e.getMessage());
+      e.printStackTrace();
+    });
   }
 }
@@ -4,6 +4,7 @@ import com.example.trainreservationsystem.controllers.shared.HomeController;
 import com.example.trainreservationsystem.services.member.LoyaltyPointsService;
 import com.example.trainreservationsystem.services.shared.ServiceFactory;
 import com.example.trainreservationsystem.services.shared.UserSession;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
@@ -18,8 +19,9 @@ public class MemberHomeController {
     // Display loyalty points for the current user
     if (UserSession.getInstance().isLoggedIn()) {
       LoyaltyPointsService loyaltyService = ServiceFactory.getLoyaltyPointsService();
-      int points = loyaltyService.getLoyaltyPoints(UserSession.getInstance().getCurrentUser().getId());
-      loyaltyPointsLabel.setText(String.format("Loyalty Points: %d", points));
+      int userId = UserSession.getInstance().getCurrentUser().getId();
+      UiTasks.load(() -> loyaltyService.getLoyaltyPoints(userId),
+          points -> loyaltyPointsLabel.setText(String.format("Loyalty Points: %d", points)));
     }
   }
 
@@ -1,13 +1,17 @@
 package com.example.trainreservationsystem.controllers.member;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.kordamp.ikonli.fontawesome5.FontAwesomeSolid;
 import org.kordamp.ikonli.javafx.FontIcon;
 
+import com.example.trainreservationsystem.models.member.Notification;
 import com.example.trainreservationsystem.services.shared.NotificationService;
 import com.example.trainreservationsystem.utils.shared.ui.IconHelper;
 import com.example.trainreservationsystem.utils.shared.ui.IconHelper.IconType;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
@@ -39,24 +43,53 @@ public class NotificationController {
   @FXML
   public void initialize() {
     loadNotifications();
+    // Opening the inbox reads everything in it
+    UiTasks.run(NotificationService.getInstance()::markAllAsRead);
   }
 
   private void loadNotifications() {
-    List<String> notifications = NotificationService.getInstance().getAll();
+    List<Notification> notifications = NotificationService.getInstance().getNotifications();
     notificationList.getChildren().clear();
 
-    if (notifications.isEmpty()) {
+    if (notifications.isEmpty() && !NotificationService.getInstance().hasOlder()) {
       showEmptyState();
     } else {
       hideEmptyState();
-      // Add notifications in reverse order (newest first)
-      for (int i = notifications.size() - 1; i >= 0; i--) {
-        addNotificationCard(notifications.get(i), i);
+      // Newest first
+      for (Notification notification : notifications) {
+        addNotificationCard(notification);
       }
+      addLoadOlderButton();
     }
   }
 
-  private void addNotificationCard(String message, int index) {
+  /**
+   * Adds a button that fetches the next page of older notifications in the
+   * background, if there is one.
+   */
+  private void addLoadOlderButton() {
+    if (!NotificationService.getInstance().hasOlder()) {
+      return;
+    }
+    Button loadOlderBtn = new Button("Load older");
+    loadOlderBtn.getStyleClass().add("tab-button");
+    loadOlderBtn.setMaxWidth(Double.MAX_VALUE);
+    loadOlderBtn.setOnAction(e -> {
+      loadOlderBtn.setDisable(true);
+      loadOlderBtn.setText("Loading...");
+      UiTasks.load(NotificationService.getInstance()::loadOlder, page -> {
+        notificationList.getChildren().remove(loadOlderBtn);
+        for (Notification notification : page) {
+          addNotificationCard(notification);
+        }
+        addLoadOlderButton();
+      });
+    });
+    notificationList.getChildren().add(loadOlderBtn);
+  }
+
+  private void addNotificationCard(Notification notification) {
+    String message = notification.getMessage();
     // Filter based on current tab
     if (!matchesFilter(message))
       return;
@@ -96,7 +129,7 @@ public class NotificationController {
     messageLabel.getStyleClass().add("notification-message");
     messageLabel.setWrapText(true);
 
-    Label timeLabel = new Label(getRelativeTime(index));
+    Label timeLabel = new Label(getRelativeTime(notification.getCreatedAt()));
     timeLabel.getStyleClass().add("notification-time");
 
     content.getChildren().addAll(messageLabel, timeLabel);
@@ -107,8 +140,8 @@ public class NotificationController {
     dismissBtn.setGraphic(closeIcon);
     dismissBtn.getStyleClass().add("dismiss-button");
     dismissBtn.setOnAction(e -> {
-      NotificationService.getInstance().remove(index);
-      loadNotifications();
+      NotificationService.getInstance().remove(notification);
+      notificationList.getChildren().remove(card);
     });
 
     card.getChildren().addAll(iconLabel, content, dismissBtn);
@@ -128,17 +161,21 @@ public class NotificationController {
     }
   }
 
-  private String getRelativeTime(int index) {
-    // Simulate time based on index (newer = lower index)
-    if (index == 0)
+  private String getRelativeTime(LocalDateTime createdAt) {
+    if (createdAt == null)
+      return "";
+    long minutes = Duration.between(createdAt, LocalDateTime.now()).toMinutes();
+    if (minutes < 1)
       return "Just now";
-    if (index == 1)
+    if (minutes == 1)
       return "1 minute ago";
-    if (index < 5)
-      return index + " minutes ago";
-    if (index < 10)
-      return "30 minutes ago";
-    return "1 hour ago";
+    if (minutes < 60)
+      return minutes + " minutes ago";
+    if (minutes < 120)
+      return "1 hour ago";
+    if (minutes < 24 * 60)
+      return (minutes / 60) + " hours ago";
+    return createdAt.toLocalDate().toString();
   }
 
   private void showEmptyState() {
@@ -192,7 +229,9 @@ public class NotificationController {
 
   @FXML
   public void handleClearAll() {
-    NotificationService.getInstance().clear();
-    loadNotifications();
+    UiTasks.run(NotificationService.getInstance()::clearAll, this::loadNotifications, e -> {
+      System.err.println("Error clearing notifications: " + e.getMessage());
+      loadNotifications();
+    });
   }
 }
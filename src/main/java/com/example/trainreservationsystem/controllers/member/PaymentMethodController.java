@@ -7,6 +7,7 @@ import com.example.trainreservationsystem.services.shared.NotificationService;
 import com.example.trainreservationsystem.services.shared.ServiceFactory;
 import com.example.trainreservationsystem.services.shared.UserSession;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.ComboBox;
@@ -46,15 +47,19 @@ public class PaymentMethodController {
     method.setMethodType(methodType);
     method.setDetails(details);
 
-    paymentService.addPaymentMethod(method);
-    NotificationService.getInstance().add("New payment method added: " + methodType);
-    AlertUtils.showSuccess("Success", "Payment method added successfully!");
+    UiTasks.run(() -> paymentService.addPaymentMethod(method), () -> {
+      NotificationService.getInstance().add("New payment method added: " + methodType);
+      AlertUtils.showSuccess("Success", "Payment method added successfully!");
 
-    // Go back to payment screen if there's a pending booking
-    if (UserSession.getInstance().getPendingBooking() != null) {
-      HomeController.getInstance().loadView("/com/example/trainreservationsystem/member/payment/payment-view.fxml");
-    } else {
-      HomeController.getInstance().loadView("/com/example/trainreservationsystem/member/search/search-view.fxml");
-    }
+      // Go back to payment screen if there's a pending booking
+      if (UserSession.getInstance().getPendingBooking() != null) {
+        HomeController.getInstance().loadView("/com/example/trainreservationsystem/member/payment/payment-view.fxml");
+      } else {
+        HomeController.getInstance().loadView("/com/example/trainreservationsystem/member/search/search-view.fxml");
+      }
+    }, e -> {
+      AlertUtils.showError("Error", "Failed to add payment method: " + e.getMessage());
+      e.printStackTrace();
+    });
   }
 }
@@ -3,6 +3,7 @@ package com.example.trainreservationsystem.controllers.member;
 import com.example.trainreservationsystem.models.shared.User;
 import com.example.trainreservationsystem.services.shared.AuthService;
 import com.example.trainreservationsystem.services.shared.UserSession;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
@@ -126,14 +127,12 @@ public class UpdateProfileController {
             return;
         }
 
-        try {
-            User currentUser = userSession.getCurrentUser();
-            currentUser.setUsername(name);
-            currentUser.setEmail(email);
-            currentUser.setPhoneNo(phone);
-
-            authService.updateUserProfile(currentUser);
+        User currentUser = userSession.getCurrentUser();
+        currentUser.setUsername(name);
+        currentUser.setEmail(email);
+        currentUser.setPhoneNo(phone);
 
+        UiTasks.run(() -> authService.updateUserProfile(currentUser), () -> {
             successLabel.setText("Profile updated successfully!");
 
             // Update session user to reflect changes (though we modified the object
@@ -141,13 +140,14 @@ public class UpdateProfileController {
             // good to be explicit if session logic changes)
             // In this case, currentUser is a reference to the object in session, so it's
             // already updated.
-
-        } catch (IllegalArgumentException e) {
-            errorLabel.setText(e.getMessage());
-        } catch (Exception e) {
-            e.printStackTrace();
-            errorLabel.setText("An error occurred while updating profile.");
-        }
+        }, e -> {
+            if (e instanceof IllegalArgumentException) {
+                errorLabel.setText(e.getMessage());
+            } else {
+                e.printStackTrace();
+                errorLabel.setText("An error occurred while updating profile.");
+            }
+        });
     }
 
     private String validatePhoneNumber(String phoneNumber) {
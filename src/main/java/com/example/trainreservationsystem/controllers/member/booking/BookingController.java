@@ -17,6 +17,7 @@ import com.example.trainreservationsystem.services.shared.UserSession;
 import com.example.trainreservationsystem.utils.member.booking.BookingHelper;
 import com.example.trainreservationsystem.utils.member.booking.SeatGridHelper;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
@@ -94,6 +95,7 @@ public class BookingController {
       double multiplier = UserSession.getInstance().getSelectedClassPriceMultiplier();
       pricePerSeat = schedule.getPrice() * multiplier;
     }
+    pricePerSeat *= UserSession.getInstance().getSelectedFareShare(); // Part of the route only
 
     priceLabel.setText("PKR " + String.format("%.2f", pricePerSeat) + " per seat");
   }
@@ -103,10 +105,9 @@ public class BookingController {
       return;
     }
     occupiedSeats.clear(); // Clear before adding to avoid duplicates
-    List<Integer> occupied = bookingService.getOccupiedSeats(schedule.getId());
-    if (occupied != null) {
-      occupiedSeats.addAll(occupied);
-    }
+    LocalDate travelDate = UserSession.getInstance().getSelectedTravelDate();
+    occupiedSeats.addAll(bookingService.getOccupiedSeats(schedule, travelDate,
+        UserSession.getInstance().getSelectedFromStopId(), UserSession.getInstance().getSelectedToStopId()));
   }
 
   private void createSeatGrid() {
@@ -268,6 +269,7 @@ public class BookingController {
       double multiplier = UserSession.getInstance().getSelectedClassPriceMultiplier();
       pricePerSeat = schedule.getPrice() * multiplier;
     }
+    pricePerSeat *= UserSession.getInstance().getSelectedFareShare(); // Part of the route only
 
     double total = pricePerSeat * selectedSeats.size();
     priceLabel.setText("Total: PKR " + String.format("%.2f", total));
@@ -302,22 +304,31 @@ public class BookingController {
       return;
     }
 
+    List<Passenger> passengers;
     try {
-      Booking booking = createBookingWithPassengers();
+      passengers = createPassengers();
+    } catch (IllegalStateException e) {
+      AlertUtils.showError("Invalid Input", e.getMessage());
+      return;
+    }
+
+    UiTasks.write(() -> BookingHelper.createBooking(bookingService, schedule, passengers), booking -> {
       if (booking != null) {
         saveBookingAndRedirect(booking);
       } else {
         AlertUtils.showError("Booking Failed",
             "Unable to create your booking. Please try again or contact support if the problem persists.");
       }
-    } catch (IllegalArgumentException e) {
-      AlertUtils.showError("Invalid Input", e.getMessage());
-    } catch (Exception e) {
-      AlertUtils.showError("Booking Error",
-          "An unexpected error occurred while processing your booking: " + e.getMessage() +
-              "\n\nPlease try again or contact support if the problem persists.");
-      e.printStackTrace();
-    }
+    }, e -> {
+      if (e instanceof IllegalArgumentException) {
+        AlertUtils.showError("Invalid Input", e.getMessage());
+      } else {
+        AlertUtils.showError("Booking Error",
+            "An unexpected error occurred while processing your booking: " + e.getMessage() +
+                "\n\nPlease try again or contact support if the problem persists.");
+        e.printStackTrace();
+      }
+    });
   }
 
   private boolean validateBeforeProceeding() {
@@ -352,10 +363,12 @@ public class BookingController {
     List<Integer> unavailableSeats = new ArrayList<>();
     Integer seatStart = UserSession.getInstance().getSelectedClassSeatStart();
     Integer seatEnd = UserSession.getInstance().getSelectedClassSeatEnd();
+    LocalDate travelDate = UserSession.getInstance().getSelectedTravelDate();
 
     for (Integer seatNumber : selectedSeats) {
-      // Check if seat is occupied
-      if (occupiedSeats.contains(seatNumber)) {
+      // Check if seat is occupied between the selected stops (bit tests in the seat inventory)
+      if (!bookingService.isSeatAvailable(schedule, travelDate, UserSession.getInstance().getSelectedFromStopId(),
+          UserSession.getInstance().getSelectedToStopId(), seatNumber)) {
         unavailableSeats.add(seatNumber);
       }
       // Check if seat is within class range (if range is set)
@@ -399,7 +412,7 @@ public class BookingController {
     return true;
   }
 
-  private Booking createBookingWithPassengers() {
+  private List<Passenger> createPassengers() {
     if (schedule == null) {
       throw new IllegalStateException("Cannot create booking: schedule is null");
     }
@@ -417,9 +430,7 @@ public class BookingController {
     String passengerName = currentUser.getUsername();
     int passengerAge = 25; // Default age - can be updated if user profile has age field
 
-    List<Passenger> passengers = BookingHelper.createPassengers(passengerName, passengerAge,
-        new ArrayList<>(selectedSeats));
-    return BookingHelper.createBooking(bookingService, schedule, passengers);
+    return BookingHelper.createPassengers(passengerName, passengerAge, new ArrayList<>(selectedSeats));
   }
 
   private void saveBookingAndRedirect(Booking booking) {
@@ -6,10 +6,10 @@ import com.example.trainreservationsystem.services.shared.NotificationService;
 import com.example.trainreservationsystem.services.shared.ServiceFactory;
 import com.example.trainreservationsystem.services.shared.UserSession;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -109,49 +109,53 @@ public class HistoryController {
   }
 
   private void handleCancel(int bookingId) {
-    try {
-      Booking booking = findBooking(bookingId);
-      if (booking == null) {
-        AlertUtils.showError("Error", "Booking not found");
-        return;
-      }
+    Booking booking = findBooking(bookingId);
+    if (booking == null) {
+      AlertUtils.showError("Error", "Booking not found");
+      return;
+    }
 
+    UiTasks.load(() -> {
       // Validate cancellation before showing confirmation
-      try {
-        bookingService.validateCancellation(booking);
-      } catch (IllegalArgumentException e) {
+      bookingService.validateCancellation(booking);
+      // Calculate refund if applicable
+      return "CONFIRMED".equals(booking.getStatus()) ? bookingService.calculateRefund(bookingId) : 0.0;
+    }, refundAmount -> confirmCancel(bookingId, refundAmount), e -> {
+      if (e instanceof IllegalArgumentException) {
         AlertUtils.showError("Cancellation Not Allowed", e.getMessage());
-        return;
+      } else {
+        AlertUtils.showError("Error", "Failed to cancel booking: " + e.getMessage());
+        e.printStackTrace();
       }
+    });
+  }
 
-      // Calculate refund if applicable
-      double refundAmount = 0;
-      if ("CONFIRMED".equals(booking.getStatus())) {
-        refundAmount = bookingService.calculateRefund(bookingId);
-      }
+  private void confirmCancel(int bookingId, double refundAmount) {
+    String message = "Are you sure you want to cancel this booking?";
+    if (refundAmount > 0) {
+      message += String.format("\n\nRefund amount: $%.2f", refundAmount);
+    }
+    if (!AlertUtils.showConfirmation("Cancel Booking", message)) {
+      return;
+    }
 
-      String message = "Are you sure you want to cancel this booking?";
+    UiTasks.run(() -> bookingService.cancelBooking(bookingId), () -> {
+      NotificationService.getInstance().add("Booking #" + bookingId + " cancelled.");
       if (refundAmount > 0) {
-        message += String.format("\n\nRefund amount: $%.2f", refundAmount);
+        AlertUtils.showSuccess("Success",
+            String.format("Booking cancelled successfully. Refund amount: $%.2f", refundAmount));
+      } else {
+        AlertUtils.showSuccess("Success", "Booking cancelled successfully.");
       }
-
-      if (AlertUtils.showConfirmation("Cancel Booking", message)) {
-        bookingService.cancelBooking(bookingId);
-        NotificationService.getInstance().add("Booking #" + bookingId + " cancelled.");
-        if (refundAmount > 0) {
-          AlertUtils.showSuccess("Success",
-              String.format("Booking cancelled successfully. Refund amount: $%.2f", refundAmount));
-        } else {
-          AlertUtils.showSuccess("Success", "Booking cancelled successfully.");
-        }
-        refreshBookings();
+      refreshBookings();
+    }, e -> {
+      if (e instanceof IllegalArgumentException) {
+        AlertUtils.showError("Cancellation Failed", e.getMessage());
+      } else {
+        AlertUtils.showError("Error", "Failed to cancel booking: " + e.getMessage());
+        e.printStackTrace();
       }
-    } catch (IllegalArgumentException e) {
-      AlertUtils.showError("Cancellation Failed", e.getMessage());
-    } catch (Exception e) {
-      AlertUtils.showError("Error", "Failed to cancel booking: " + e.getMessage());
-      e.printStackTrace();
-    }
+    });
   }
 
   private void handleViewTicket(int bookingId) {
@@ -175,35 +179,37 @@ public class HistoryController {
   }
 
   private void openTicketWindow(Booking booking) {
-    try {
-      FXMLLoader loader = new FXMLLoader(
-          getClass().getResource("/com/example/trainreservationsystem/member/booking/ticket-view.fxml"));
-      Parent root = loader.load();
-      TicketViewController controller = loader.getController();
-
-      // Fetch tickets for this booking
-      com.example.trainreservationsystem.services.member.TicketService ticketService = new com.example.trainreservationsystem.services.member.TicketService();
-      java.util.List<com.example.trainreservationsystem.models.member.Ticket> tickets = ticketService
-          .getTicketsByBookingId(booking.getId());
-
-      controller.setBookingWithTickets(booking, tickets);
-
-      Stage stage = new Stage();
-      stage.setTitle("Your E-Ticket");
-      stage.initModality(Modality.APPLICATION_MODAL);
-      stage.setScene(new Scene(root));
-      stage.setResizable(false);
-      stage.showAndWait();
-    } catch (Exception e) {
+    // Fetch tickets for this booking
+    com.example.trainreservationsystem.services.member.TicketService ticketService = new com.example.trainreservationsystem.services.member.TicketService();
+    UiTasks.load(() -> ticketService.getTicketsByBookingId(booking.getId()), tickets -> {
+      try {
+        FXMLLoader loader = new FXMLLoader(
+            getClass().getResource("/com/example/trainreservationsystem/member/booking/ticket-view.fxml"));
+        Parent root = loader.load();
+        TicketViewController controller = loader.getController();
+
+        controller.setBookingWithTickets(booking, tickets);
+
+        Stage stage = new Stage();
+        stage.setTitle("Your E-Ticket");
+        stage.initModality(Modality.APPLICATION_MODAL);
+        stage.setScene(new Scene(root));
+        stage.setResizable(false);
+        stage.showAndWait();
+      } catch (Exception e) {
+        AlertUtils.showError("Error", "Failed to display ticket: " + e.getMessage());
+        e.printStackTrace();
+      }
+    }, e -> {
       AlertUtils.showError("Error", "Failed to display ticket: " + e.getMessage());
       e.printStackTrace();
-    }
+    });
   }
 
   private void refreshBookings() {
     int userId = UserSession.getInstance().getCurrentUser().getId();
-    var bookings = bookingService.getUserBookings(userId);
-    historyTable.setItems(FXCollections.observableArrayList(bookings));
+    // setAll keeps the list the empty-state binding watches
+    UiTasks.load(() -> bookingService.getUserBookings(userId), bookings -> historyTable.getItems().setAll(bookings));
   }
 
   private void setupEmptyState() {
@@ -77,9 +77,8 @@ public class TicketViewController {
     bookingIdLabel.setText("Booking #" + booking.getId());
     fromLabel.setText(booking.getSchedule().getRoute().getSource());
     toLabel.setText(booking.getSchedule().getRoute().getDestination());
-    // Use booking date as fallback - in future, add travelDate field to Booking
-    if (booking.getBookingDate() != null) {
-      dateLabel.setText(booking.getBookingDate().toLocalDate().toString());
+    if (booking.getTravelDate() != null || booking.getBookingDate() != null) {
+      dateLabel.setText(booking.getEffectiveTravelDate().toString());
     } else {
       dateLabel.setText("N/A");
     }
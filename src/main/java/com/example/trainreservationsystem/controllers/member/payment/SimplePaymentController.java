@@ -23,6 +23,7 @@ import com.example.trainreservationsystem.utils.shared.payment.adapters.WalletPa
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
 import com.example.trainreservationsystem.utils.shared.ui.IconHelper;
 import com.example.trainreservationsystem.utils.shared.ui.InputFormatter;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -183,8 +184,8 @@ public class SimplePaymentController {
   private void loadLoyaltyPoints() {
     if (UserSession.getInstance().isLoggedIn() && loyaltyPointsLabel != null) {
       int userId = UserSession.getInstance().getCurrentUser().getId();
-      int points = loyaltyPointsService.getLoyaltyPoints(userId);
-      loyaltyPointsLabel.setText(points + " points");
+      UiTasks.load(() -> loyaltyPointsService.getLoyaltyPoints(userId),
+          points -> loyaltyPointsLabel.setText(points + " points"));
     } else if (loyaltyPointsLabel != null) {
       loyaltyPointsLabel.setText("0 points (Login required)");
     }
@@ -207,18 +208,21 @@ public class SimplePaymentController {
       scheduleId = booking.getSchedule().getId();
     }
 
-    discountAmount = paymentService.applyDiscountCode(code, originalAmount, scheduleId);
-    if (discountAmount > 0) {
-      appliedDiscountCode = code.toUpperCase();
-      discountMessageLabel.setText("✓ Discount applied: $" + String.format("%.2f", discountAmount));
-      discountMessageLabel.setStyle("-fx-text-fill: #2d7a3e;");
-    } else {
-      appliedDiscountCode = null;
-      discountMessageLabel.setText("✗ Invalid or expired discount code");
-      discountMessageLabel.setStyle("-fx-text-fill: #d32f2f;");
-      discountAmount = 0;
-    }
-    updateAmountDisplay();
+    Integer discountScheduleId = scheduleId;
+    UiTasks.load(() -> paymentService.applyDiscountCode(code, originalAmount, discountScheduleId), amount -> {
+      discountAmount = amount;
+      if (discountAmount > 0) {
+        appliedDiscountCode = code.toUpperCase();
+        discountMessageLabel.setText("✓ Discount applied: $" + String.format("%.2f", discountAmount));
+        discountMessageLabel.setStyle("-fx-text-fill: #2d7a3e;");
+      } else {
+        appliedDiscountCode = null;
+        discountMessageLabel.setText("✗ Invalid or expired discount code");
+        discountMessageLabel.setStyle("-fx-text-fill: #d32f2f;");
+        discountAmount = 0;
+      }
+      updateAmountDisplay();
+    });
   }
 
   private void updateAmountDisplay() {
@@ -232,10 +236,8 @@ public class SimplePaymentController {
     }
 
     // Update loyalty points display if wallet pane is visible
-    if (UserSession.getInstance().isLoggedIn() && loyaltyPointsLabel != null) {
-      int userId = UserSession.getInstance().getCurrentUser().getId();
-      int points = loyaltyPointsService.getLoyaltyPoints(userId);
-      loyaltyPointsLabel.setText(points + " points");
+    if (UserSession.getInstance().isLoggedIn()) {
+      loadLoyaltyPoints();
     }
   }
 
@@ -327,23 +329,27 @@ public class SimplePaymentController {
     }
 
     int userId = UserSession.getInstance().getCurrentUser().getId();
-    int availablePoints = loyaltyPointsService.getLoyaltyPoints(userId);
-    double finalAmount = originalAmount - discountAmount;
+    UiTasks.load(() -> loyaltyPointsService.getLoyaltyPoints(userId), availablePoints -> {
+      double finalAmount = originalAmount - discountAmount;
 
-    ValidationResult result = PaymentValidator.validateWallet(availablePoints, finalAmount);
+      ValidationResult result = PaymentValidator.validateWallet(availablePoints, finalAmount);
 
-    if (!result.isValid()) {
-      AlertUtils.showWarning("Validation Error", result.getMessage());
-      return;
-    }
+      if (!result.isValid()) {
+        AlertUtils.showWarning("Validation Error", result.getMessage());
+        return;
+      }
 
-    // Create adapter and payment details
-    PaymentAdapter adapter = new WalletPaymentAdapter();
-    Map<String, String> paymentDetails = new HashMap<>();
-    paymentDetails.put("amount", String.valueOf(finalAmount));
-    paymentDetails.put("points", String.valueOf(availablePoints));
+      // Create adapter and payment details
+      PaymentAdapter adapter = new WalletPaymentAdapter();
+      Map<String, String> paymentDetails = new HashMap<>();
+      paymentDetails.put("amount", String.valueOf(finalAmount));
+      paymentDetails.put("points", String.valueOf(availablePoints));
 
-    processPayment(adapter, paymentDetails);
+      processPayment(adapter, paymentDetails);
+    }, e -> {
+      AlertUtils.showError("Error", "Failed to load loyalty points: " + e.getMessage());
+      e.printStackTrace();
+    });
   }
 
   private boolean isBookingValid() {
@@ -7,25 +7,32 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.controlsfx.control.SearchableComboBox;
 
 import com.example.trainreservationsystem.controllers.shared.HomeController;
 import com.example.trainreservationsystem.models.admin.Route;
+import com.example.trainreservationsystem.models.admin.RouteSegment;
 import com.example.trainreservationsystem.models.admin.Schedule;
 import com.example.trainreservationsystem.models.admin.SeatClass;
 import com.example.trainreservationsystem.models.member.BookingClass;
-import com.example.trainreservationsystem.repositories.RepositoryFactory;
+import com.example.trainreservationsystem.models.member.Itinerary;
+import com.example.trainreservationsystem.models.member.JourneyLeg;
 import com.example.trainreservationsystem.services.admin.RouteService;
-import com.example.trainreservationsystem.services.admin.TrainService;
 import com.example.trainreservationsystem.services.member.booking.BookingService;
+import com.example.trainreservationsystem.services.member.search.SearchResult;
+import com.example.trainreservationsystem.services.member.search.SearchResultCache;
+import com.example.trainreservationsystem.services.shared.ReferenceDataCache;
 import com.example.trainreservationsystem.services.shared.ServiceFactory;
 import com.example.trainreservationsystem.services.shared.UserSession;
+import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
-import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
@@ -59,11 +66,14 @@ public class SearchController {
   @FXML
   private ComboBox<String> sortCombo;
 
-  private final TrainService trainService = ServiceFactory.getTrainService();
   private final BookingService bookingService = ServiceFactory.getBookingService();
+  private final SearchResultCache searchCache = SearchResultCache.getInstance();
   private final RouteService routeService = new RouteService();
   private final List<String> allStations = new ArrayList<>();
   private List<Schedule> currentSchedules = new ArrayList<>();
+  private List<Itinerary> currentItineraries = new ArrayList<>();
+  private final Map<Integer, JourneyLeg> partialRides = new HashMap<>(); // Schedule id -> stops travelled
+  private LocalDate currentSearchDate;
 
   @FXML
   public void initialize() {
@@ -84,50 +94,51 @@ public class SearchController {
     sourceCombo.setDisable(true);
     destinationCombo.setDisable(true);
 
-    // Load stations in background thread
-    Thread loadStationsThread = new Thread(() -> {
-      try {
-        // Load stations from routes in database
-        List<Route> routes = routeService.getAllRoutes();
-        Set<String> uniqueStations = new HashSet<>();
-
-        for (Route route : routes) {
-          if (route.getSource() != null && !route.getSource().isEmpty()) {
-            uniqueStations.add(route.getSource());
-          }
-          if (route.getDestination() != null && !route.getDestination().isEmpty()) {
-            uniqueStations.add(route.getDestination());
-          }
-        }
+    UiTasks.load(this::loadStations, sortedStations -> {
+      allStations.clear();
+      allStations.addAll(sortedStations);
 
-        List<String> sortedStations = new ArrayList<>(uniqueStations);
-        sortedStations.sort(String.CASE_INSENSITIVE_ORDER);
-
-        // Update UI on JavaFX thread
-        Platform.runLater(() -> {
-          allStations.clear();
-          allStations.addAll(sortedStations);
-
-          sourceCombo.setItems(FXCollections.observableArrayList(allStations));
-          destinationCombo.setItems(FXCollections.observableArrayList(allStations));
-          sourceCombo.setDisable(false);
-          destinationCombo.setDisable(false);
-        });
-      } catch (Exception e) {
-        System.err.println("Error loading stations: " + e.getMessage());
-        e.printStackTrace();
-        // Update UI on JavaFX thread with error state
-        Platform.runLater(() -> {
-          allStations.clear();
-          sourceCombo.setItems(FXCollections.observableArrayList());
-          destinationCombo.setItems(FXCollections.observableArrayList());
-          sourceCombo.setDisable(false);
-          destinationCombo.setDisable(false);
-        });
-      }
+      sourceCombo.setItems(FXCollections.observableArrayList(allStations));
+      destinationCombo.setItems(FXCollections.observableArrayList(allStations));
+      sourceCombo.setDisable(false);
+      destinationCombo.setDisable(false);
+    }, e -> {
+      System.err.println("Error loading stations: " + e.getMessage());
+      e.printStackTrace();
+      allStations.clear();
+      sourceCombo.setItems(FXCollections.observableArrayList());
+      destinationCombo.setItems(FXCollections.observableArrayList());
+      sourceCombo.setDisable(false);
+      destinationCombo.setDisable(false);
     });
-    loadStationsThread.setDaemon(true);
-    loadStationsThread.start();
+  }
+
+  // Station names from routes in the database, sorted; runs off the FX thread
+  private List<String> loadStations() throws Exception {
+    List<Route> routes = routeService.getAllRoutes();
+    Set<String> uniqueStations = new HashSet<>();
+
+    for (Route route : routes) {
+      if (route.getSource() != null && !route.getSource().isEmpty()) {
+        uniqueStations.add(route.getSource());
+      }
+      if (route.getDestination() != null && !route.getDestination().isEmpty()) {
+        uniqueStations.add(route.getDestination());
+      }
+      // Intermediate stops can be booked too
+      for (RouteSegment segment : route.getSegments()) {
+        if (segment.getFromStop() != null && segment.getFromStop().getName() != null) {
+          uniqueStations.add(segment.getFromStop().getName());
+        }
+        if (segment.getToStop() != null && segment.getToStop().getName() != null) {
+          uniqueStations.add(segment.getToStop().getName());
+        }
+      }
+    }
+
+    List<String> sortedStations = new ArrayList<>(uniqueStations);
+    sortedStations.sort(String.CASE_INSENSITIVE_ORDER);
+    return sortedStations;
   }
 
   private void setupSortCombo() {
@@ -190,18 +201,38 @@ public class SearchController {
     LocalDate date = datePicker.getValue();
 
     if (source != null && dest != null && date != null) {
-      currentSchedules = trainService.searchSchedules(source, dest, date);
-      displayResults();
+      UiTasks.load(() -> search(source, dest, date), results -> {
+        currentSearchDate = date;
+        currentSchedules = results.getSchedules();
+        currentItineraries = results.getItineraries();
+        findPartialRides(results.getThroughTrains());
+        displayResults();
+      }, e -> {
+        System.err.println("Error searching trains: " + e.getMessage());
+        e.printStackTrace();
+        AlertUtils.showError("Search Failed", "Could not search trains. Please try again.");
+      });
     }
   }
 
+  /**
+   * Runs off the FX thread. The trains come from the search cache; their
+   * seat inventory is loaded here so the availability shown on the cards is
+   * read from memory, fresh on every render.
+   */
+  private SearchResult search(String source, String dest, LocalDate date) {
+    SearchResult result = searchCache.search(source, dest, date);
+    searchCache.loadAvailability(result);
+    return result;
+  }
+
   private void displayResults() {
     resultsContainer.getChildren().clear();
 
     if (currentSchedules.isEmpty()) {
       resultsArea.setVisible(true);
       emptyStatePane.setVisible(true);
-      searchSummaryLabel.setText("");
+      searchSummaryLabel.setText(connectionsSummary());
       return;
     }
 
@@ -212,6 +243,50 @@ public class SearchController {
     sortAndDisplayResults();
   }
 
+  /**
+   * Offers, next to the direct trains, those that call at both stations
+   * without running between them end to end. Their seats are sold for just
+   * that part of the route.
+   */
+  private void findPartialRides(List<JourneyLeg> throughTrains) {
+    partialRides.clear();
+    List<Schedule> schedules = new ArrayList<>(currentSchedules);
+    for (JourneyLeg leg : throughTrains) {
+      partialRides.put(leg.getSchedule().getId(), leg);
+      schedules.add(leg.getSchedule());
+    }
+    currentSchedules = schedules;
+  }
+
+  private LocalDate travelDateFor(Schedule schedule) {
+    JourneyLeg leg = partialRides.get(schedule.getId());
+    return leg != null ? leg.getTravelDate() : currentSearchDate;
+  }
+
+  private Integer fromStopFor(Schedule schedule) {
+    JourneyLeg leg = partialRides.get(schedule.getId());
+    return leg != null ? leg.getFromStopId() : null;
+  }
+
+  private Integer toStopFor(Schedule schedule) {
+    JourneyLeg leg = partialRides.get(schedule.getId());
+    return leg != null ? leg.getToStopId() : null;
+  }
+
+  private double fareShareFor(Schedule schedule) {
+    JourneyLeg leg = partialRides.get(schedule.getId());
+    return leg != null ? leg.getFareShare() : 1.0;
+  }
+
+  private String connectionsSummary() {
+    if (currentItineraries.isEmpty()) {
+      return "";
+    }
+    Itinerary first = currentItineraries.get(0);
+    return "No direct trains, but " + currentItineraries.size() + " connecting journeys found, e.g. "
+        + first.getSummary() + " (" + first.getTransfers() + " change(s))";
+  }
+
   private void sortAndDisplayResults() {
     if (currentSchedules.isEmpty())
       return;
@@ -280,13 +355,19 @@ public class SearchController {
     mainContent.setSpacing(24);
     mainContent.setAlignment(Pos.CENTER_LEFT);
 
+    // Partial rides show the stops travelled rather than the route's ends
+    JourneyLeg leg = partialRides.get(schedule.getId());
+    String source = leg != null ? leg.getFromStop() : schedule.getRoute().getSource();
+    String destination = leg != null ? leg.getToStop() : schedule.getRoute().getDestination();
+    LocalTime departureTime = leg != null ? leg.getDeparture().toLocalTime() : schedule.getDepartureTime();
+    LocalTime arrivalTime = leg != null ? leg.getArrival().toLocalTime() : schedule.getArrivalTime();
+
     // Departure Section
     VBox departureBox = new VBox(4);
     departureBox.setAlignment(Pos.CENTER_LEFT);
-    Label depTime = new Label(formatTime(schedule.getDepartureTime()));
+    Label depTime = new Label(formatTime(departureTime));
     depTime.getStyleClass().add("time-label");
-    Label depStation = new Label(
-        getStationCode(schedule.getRoute().getSource()) + " - " + schedule.getRoute().getSource().toUpperCase());
+    Label depStation = new Label(getStationCode(source) + " - " + source.toUpperCase());
     depStation.getStyleClass().add("station-label");
     departureBox.getChildren().addAll(depTime, depStation);
 
@@ -294,7 +375,7 @@ public class SearchController {
     VBox journeyBox = new VBox(4);
     journeyBox.setAlignment(Pos.CENTER);
     journeyBox.setPrefWidth(200);
-    String duration = calculateDuration(schedule.getDepartureTime(), schedule.getArrivalTime());
+    String duration = calculateDuration(departureTime, arrivalTime);
     Label durationLabel = new Label(duration);
     durationLabel.getStyleClass().add("journey-duration");
 
@@ -310,10 +391,9 @@ public class SearchController {
     // Arrival Section
     VBox arrivalBox = new VBox(4);
     arrivalBox.setAlignment(Pos.CENTER_LEFT);
-    Label arrTime = new Label(formatTime(schedule.getArrivalTime()));
+    Label arrTime = new Label(formatTime(arrivalTime));
     arrTime.getStyleClass().add("time-label");
-    Label arrStation = new Label(getStationCode(schedule.getRoute().getDestination()) + " - "
-        + schedule.getRoute().getDestination().toUpperCase());
+    Label arrStation = new Label(getStationCode(destination) + " - " + destination.toUpperCase());
     arrStation.getStyleClass().add("station-label");
     arrivalBox.getChildren().addAll(arrTime, arrStation);
 
@@ -404,25 +484,15 @@ public class SearchController {
     List<BookingClass> classes = new ArrayList<>();
 
     try {
-      // Fetch seat classes from database
-      List<SeatClass> seatClasses = RepositoryFactory.getSeatClassRepository().getAllSeatClasses();
+      // Seat classes come from the reference data cache, already ordered by
+      // base fare (ascending) so seat ranges can be assigned in order
+      List<SeatClass> seatClasses = ReferenceDataCache.getInstance().getSeatClasses();
 
       if (seatClasses == null || seatClasses.isEmpty()) {
         // Fallback to default classes if database is empty
         return getDefaultBookingClasses(schedule);
       }
 
-      // Get occupied seats to calculate availability
-      List<Integer> occupiedSeats = bookingService.getOccupiedSeats(schedule.getId());
-
-      // Sort seat classes by base_fare (ascending) to assign seat ranges
-      Collections.sort(seatClasses, new Comparator<SeatClass>() {
-        @Override
-        public int compare(SeatClass a, SeatClass b) {
-          return Double.compare(a.getBaseFare(), b.getBaseFare());
-        }
-      });
-
       // Calculate seat ranges dynamically - use capacity from database
       int totalSeats = schedule.getCapacity() > 0 ? schedule.getCapacity() : 60; // Fallback only
       int seatsPerClass = totalSeats / seatClasses.size();
@@ -444,7 +514,7 @@ public class SearchController {
         double multiplier = basePrice > 0 ? (basePrice + seatClass.getBaseFare()) / basePrice : 1.0;
 
         classes.add(createBookingClass(code, seatClass.getName(), multiplier,
-            currentSeatStart, seatEnd, occupiedSeats));
+            currentSeatStart, seatEnd, schedule));
 
         currentSeatStart = seatEnd + 1;
       }
@@ -460,7 +530,6 @@ public class SearchController {
 
   private List<BookingClass> getDefaultBookingClasses(Schedule schedule) {
     List<BookingClass> classes = new ArrayList<>();
-    List<Integer> occupiedSeats = bookingService.getOccupiedSeats(schedule.getId());
 
     // Use schedule capacity from database instead of hardcoded values
     int totalSeats = schedule.getCapacity() > 0 ? schedule.getCapacity() : 60;
@@ -472,19 +541,19 @@ public class SearchController {
     int seatStart = 1;
     // First class: SL
     int seatEnd1 = seatStart + seatsPerClass + (remainingSeats > 0 ? 1 : 0) - 1;
-    classes.add(createBookingClass("SL", "Sleeper Class", 0.6, seatStart, seatEnd1, occupiedSeats));
+    classes.add(createBookingClass("SL", "Sleeper Class", 0.6, seatStart, seatEnd1, schedule));
     seatStart = seatEnd1 + 1;
     remainingSeats--;
 
     // Second class: 3A
     int seatEnd2 = seatStart + seatsPerClass + (remainingSeats > 0 ? 1 : 0) - 1;
-    classes.add(createBookingClass("3A", "AC 3 Tier", 1.0, seatStart, seatEnd2, occupiedSeats));
+    classes.add(createBookingClass("3A", "AC 3 Tier", 1.0, seatStart, seatEnd2, schedule));
     seatStart = seatEnd2 + 1;
     remainingSeats--;
 
     // Third class: 2A
     int seatEnd3 = seatStart + seatsPerClass + (remainingSeats > 0 ? 1 : 0) - 1;
-    classes.add(createBookingClass("2A", "AC 2 Tier", 1.5, seatStart, seatEnd3, occupiedSeats));
+    classes.add(createBookingClass("2A", "AC 2 Tier", 1.5, seatStart, seatEnd3, schedule));
 
     return classes;
   }
@@ -516,19 +585,10 @@ public class SearchController {
   }
 
   private BookingClass createBookingClass(String code, String name, double multiplier,
-      int seatStart, int seatEnd, List<Integer> occupiedSeats) {
-    int totalSeats = seatEnd - seatStart + 1;
-
-    // Use simple loop instead of stream - easier to understand, same O(n)
-    // complexity
-    int occupiedCount = 0;
-    for (Integer seat : occupiedSeats) {
-      if (seat >= seatStart && seat <= seatEnd) {
-        occupiedCount++;
-      }
-    }
-
-    int availableSeats = totalSeats - occupiedCount;
+      int seatStart, int seatEnd, Schedule schedule) {
+    // Popcount over the class's seat range, ORed across the segments travelled
+    int availableSeats = bookingService.countAvailableSeats(schedule, travelDateFor(schedule),
+        fromStopFor(schedule), toStopFor(schedule), seatStart, seatEnd);
     return new BookingClass(code, name, multiplier, seatStart, seatEnd, availableSeats);
   }
 
@@ -553,7 +613,7 @@ public class SearchController {
       availabilityLabel.getStyleClass().add("availability-unavailable");
     }
 
-    double price = schedule.getPrice() * bookingClass.getPriceMultiplier();
+    double price = schedule.getPrice() * bookingClass.getPriceMultiplier() * fareShareFor(schedule);
     Label priceLabel = new Label("PKR " + String.format("%.0f", price));
     priceLabel.getStyleClass().add("price-label");
 
@@ -641,33 +701,20 @@ public class SearchController {
     // Store class info including seat range
     UserSession.getInstance().setSelectedClass(bookingClass.getCode(), bookingClass.getPriceMultiplier(),
         bookingClass.getSeatStart(), bookingClass.getSeatEnd());
-    // Store the selected travel date
-    if (datePicker.getValue() != null) {
-      UserSession.getInstance().setSelectedTravelDate(datePicker.getValue());
+    // Store the selected travel date and the part of the route travelled
+    LocalDate travelDate = travelDateFor(schedule);
+    if (travelDate != null) {
+      UserSession.getInstance().setSelectedTravelDate(travelDate);
     }
+    UserSession.getInstance().setSelectedStops(fromStopFor(schedule), toStopFor(schedule), fareShareFor(schedule));
 
     // Find first available seat within the selected class range and preselect it
-    List<Integer> occupiedSeats = bookingService.getOccupiedSeats(schedule.getId());
-    Integer firstAvailableSeat = findFirstAvailableSeat(bookingClass.getSeatStart(), bookingClass.getSeatEnd(),
-        occupiedSeats);
+    Integer firstAvailableSeat = bookingService.findFirstAvailableSeat(schedule, travelDate,
+        fromStopFor(schedule), toStopFor(schedule), bookingClass.getSeatStart(), bookingClass.getSeatEnd());
     if (firstAvailableSeat != null) {
       UserSession.getInstance().setPreselectedSeat(firstAvailableSeat);
     }
 
     HomeController.getInstance().loadView("/com/example/trainreservationsystem/member/booking/booking-view.fxml");
   }
-
-  private Integer findFirstAvailableSeat(int seatStart, int seatEnd, List<Integer> occupiedSeats) {
-    // Convert List to HashSet for O(1) lookup instead of O(n) - better time
-    // complexity
-    Set<Integer> occupiedSet = new HashSet<>(occupiedSeats);
-
-    // Linear search through seats in the class range - find first available seat
-    for (int seat = seatStart; seat <= seatEnd; seat++) {
-      if (!occupiedSet.contains(seat)) {
-        return seat;
-      }
-    }
-    return null;
-  }
 }
@@ -12,7 +12,9 @@ import com.example.trainreservationsystem.services.shared.UserSession;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
 import com.example.trainreservationsystem.utils.shared.ui.IconHelper;
 import com.example.trainreservationsystem.utils.shared.ui.StylesheetHelper;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -193,9 +195,9 @@ public class HomeController {
         try {
             FXMLLoader loader = new FXMLLoader(
                     getClass().getResource("/com/example/trainreservationsystem/member/update-profile-view.fxml"));
+            UiTasks.newViewScope();
             Parent view = loader.load();
-            contentArea.getChildren().clear();
-            contentArea.getChildren().add(view);
+            contentArea.getChildren().setAll(view);
         } catch (IOException e) {
             Logger.getLogger(HomeController.class.getName()).log(Level.SEVERE, null, e);
             AlertUtils.showError("Navigation Error", "Failed to load Update Profile view.");
@@ -226,8 +228,13 @@ public class HomeController {
         }
     }
 
+    /**
+     * Swaps the content view. Background loads the old view still has
+     * running are cancelled first.
+     */
     public void loadView(String fxmlPath) {
         try {
+            UiTasks.newViewScope();
             Parent view = FXMLLoader.load(getClass().getResource(fxmlPath));
             contentArea.getChildren().setAll(view);
         } catch (IOException e) {
@@ -237,6 +244,10 @@ public class HomeController {
     }
 
     private void updateNotificationBadge(int count) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> updateNotificationBadge(count));
+            return;
+        }
         if (count > 0) {
             // Add badge to notification button text
             manageNotificationButton.setText("Notifications (" + count + ")");
@@ -4,6 +4,7 @@ import com.example.trainreservationsystem.services.shared.AuthService;
 import com.example.trainreservationsystem.services.shared.UserSession;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
 import com.example.trainreservationsystem.utils.shared.ui.StylesheetHelper;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -56,16 +57,17 @@ public class LoginController {
       return;
     }
 
-    try {
-      var user = authService.login(email, password);
+    UiTasks.write(() -> authService.login(email, password), user -> {
       UserSession.getInstance().login(user);
       redirectToDashboard(user.getUserType());
-    } catch (IllegalArgumentException e) {
-      showError(e.getMessage());
-    } catch (Exception e) {
-      showError("Login failed. Please try again.");
-      e.printStackTrace();
-    }
+    }, e -> {
+      if (e instanceof IllegalArgumentException) {
+        showError(e.getMessage());
+      } else {
+        showError("Login failed. Please try again.");
+        e.printStackTrace();
+      }
+    });
   }
 
   private boolean validateInput(String email, String password) {
@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.Random;
 
 import com.example.trainreservationsystem.services.shared.AuthService;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -79,24 +80,28 @@ public class ResetPasswordController {
 
         String storedOtp = otpStorage.get(email);
         if (storedOtp != null && storedOtp.equals(otp)) {
-            boolean success = authService.resetPassword(email, newPassword);
-            if (success) {
-                showSuccess("Password reset successfully! Redirecting to login...");
-                otpStorage.remove(email); // Clear OTP
-                // Redirect to login after a short delay or immediately
-                try {
-                    // Small delay to let user see success message could be added here if using a
-                    // timeline,
-                    // but for simplicity we'll redirect immediately or let them click back.
-                    // Actually, let's redirect immediately for better flow as requested "brought
-                    // back to login screen"
-                    handleBack();
-                } catch (Exception e) {
-                    e.printStackTrace();
+            UiTasks.write(() -> authService.resetPassword(email, newPassword), success -> {
+                if (success) {
+                    showSuccess("Password reset successfully! Redirecting to login...");
+                    otpStorage.remove(email); // Clear OTP
+                    // Redirect to login after a short delay or immediately
+                    try {
+                        // Small delay to let user see success message could be added here if using a
+                        // timeline,
+                        // but for simplicity we'll redirect immediately or let them click back.
+                        // Actually, let's redirect immediately for better flow as requested "brought
+                        // back to login screen"
+                        handleBack();
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    }
+                } else {
+                    showError("Failed to reset password. Please try again.");
                 }
-            } else {
+            }, e -> {
                 showError("Failed to reset password. Please try again.");
-            }
+                e.printStackTrace();
+            });
         } else {
             showError("Invalid OTP.");
         }
@@ -2,6 +2,7 @@ package com.example.trainreservationsystem.controllers.shared.auth;
 
 import com.example.trainreservationsystem.services.shared.AuthService;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -102,16 +103,17 @@ public class SignupController {
       return;
     }
 
-    try {
-      authService.signup(name, email, phone, password);
+    UiTasks.run(() -> authService.signup(name, email, phone, password), () -> {
       AlertUtils.showSuccess("Success", "Account created successfully! Please login.");
       handleLogin();
-    } catch (IllegalArgumentException e) {
-      showError(e.getMessage());
-    } catch (Exception e) {
-      showError("Signup failed. Please try again.");
-      e.printStackTrace();
-    }
+    }, e -> {
+      if (e instanceof IllegalArgumentException) {
+        showError(e.getMessage());
+      } else {
+        showError("Signup failed. Please try again.");
+        e.printStackTrace();
+      }
+    });
   }
 
   private boolean validateInput(String name, String email, String phone, String password) {
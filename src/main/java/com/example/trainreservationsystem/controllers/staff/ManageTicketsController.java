@@ -8,8 +8,11 @@ import com.example.trainreservationsystem.models.member.Booking;
 import com.example.trainreservationsystem.repositories.RepositoryFactory;
 import com.example.trainreservationsystem.repositories.admin.TrainRepository;
 import com.example.trainreservationsystem.repositories.member.BookingRepository;
+import com.example.trainreservationsystem.services.member.booking.BookingService;
 import com.example.trainreservationsystem.services.shared.NotificationService;
+import com.example.trainreservationsystem.services.shared.ServiceFactory;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
@@ -48,6 +51,7 @@ public class ManageTicketsController {
 
   private final BookingRepository bookingRepository = RepositoryFactory.getBookingRepository();
   private final TrainRepository trainRepository = RepositoryFactory.getTrainRepository();
+  private final BookingService bookingService = ServiceFactory.getBookingService();
   private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
   private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
   private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
@@ -76,12 +80,12 @@ public class ManageTicketsController {
       return new javafx.beans.property.SimpleStringProperty("N/A");
     });
 
-    // Date column - use booking date as fallback
+    // Date column - travel date, falling back to booking date for old rows
     colDate.setCellValueFactory(cellData -> {
       Booking booking = cellData.getValue();
-      if (booking.getBookingDate() != null) {
+      if (booking.getTravelDate() != null || booking.getBookingDate() != null) {
         return new javafx.beans.property.SimpleStringProperty(
-            booking.getBookingDate().toLocalDate().format(DATE_FORMATTER));
+            booking.getEffectiveTravelDate().format(DATE_FORMATTER));
       }
       return new javafx.beans.property.SimpleStringProperty("N/A");
     });
@@ -139,7 +143,7 @@ public class ManageTicketsController {
   }
 
   private void loadBookings() {
-    try {
+    UiTasks.load(() -> {
       List<Booking> activeBookings = bookingRepository.getActiveBookings();
 
       // Load schedule information for each booking
@@ -148,12 +152,11 @@ public class ManageTicketsController {
           booking.setSchedule(trainRepository.getScheduleById(booking.getScheduleId()));
         }
       }
-
-      bookingsTable.setItems(FXCollections.observableArrayList(activeBookings));
-    } catch (Exception e) {
+      return activeBookings;
+    }, activeBookings -> bookingsTable.setItems(FXCollections.observableArrayList(activeBookings)), e -> {
       AlertUtils.showError("Error", "Failed to load bookings: " + e.getMessage());
       e.printStackTrace();
-    }
+    });
   }
 
   private void handleDeleteBooking(Booking booking) {
@@ -175,9 +178,13 @@ public class ManageTicketsController {
         booking.getStatus());
 
     if (AlertUtils.showConfirmation("Cancel Booking", message)) {
-      try {
-        // Cancel the booking
-        bookingRepository.updateBookingStatus(booking.getId(), "CANCELLED");
+      UiTasks.write(() -> bookingService.cancelBookingAsStaff(booking.getId()), cancelled -> {
+        if (!cancelled) {
+          AlertUtils.showWarning("Already Cancelled",
+              "Booking #" + booking.getId() + " is no longer active.");
+          loadBookings();
+          return;
+        }
 
         // Send notification to user
         NotificationService.getInstance().add(
@@ -189,10 +196,10 @@ public class ManageTicketsController {
 
         // Refresh the table
         loadBookings();
-      } catch (Exception e) {
+      }, e -> {
         AlertUtils.showError("Error", "Failed to cancel booking: " + e.getMessage());
         e.printStackTrace();
-      }
+      });
     }
   }
 
@@ -5,6 +5,7 @@ import com.example.trainreservationsystem.repositories.RepositoryFactory;
 import com.example.trainreservationsystem.repositories.shared.ComplaintRepository;
 import com.example.trainreservationsystem.services.shared.UserSession;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
@@ -69,13 +70,12 @@ public class RespondToComplaintsController {
     }
 
     private void loadComplaints() {
-        try {
-            var complaints = complaintRepository.getAllComplaints();
+        UiTasks.load(() -> complaintRepository.getAllComplaints(), complaints -> {
             complaintTable.setItems(FXCollections.observableArrayList(complaints));
-        } catch (Exception e) {
+        }, e -> {
             AlertUtils.showError("Error", "Failed to load complaints: " + e.getMessage());
             e.printStackTrace();
-        }
+        });
     }
 
     @FXML
@@ -92,16 +92,15 @@ public class RespondToComplaintsController {
             return;
         }
 
-        try {
-            int staffId = UserSession.getInstance().getCurrentUser().getId();
-            complaintRepository.saveComplaintResponse(selected.getId(), responseText, staffId);
+        int staffId = UserSession.getInstance().getCurrentUser().getId();
+        UiTasks.run(() -> complaintRepository.saveComplaintResponse(selected.getId(), responseText, staffId), () -> {
             AlertUtils.showSuccess("Success", "Response sent successfully! The user has been notified.");
             txtResponse.clear();
             // Optionally reload complaints
             loadComplaints();
-        } catch (Exception e) {
+        }, e -> {
             AlertUtils.showError("Error", "Failed to send response: " + e.getMessage());
             e.printStackTrace();
-        }
+        });
     }
 }
@@ -5,6 +5,7 @@ import java.io.IOException;
 import com.example.trainreservationsystem.applications.HomeApplication;
 import com.example.trainreservationsystem.services.shared.UserSession;
 import com.example.trainreservationsystem.utils.shared.ui.StylesheetHelper;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -81,6 +82,7 @@ public class StaffController {
 
     private void loadView(String fxmlFile, Button activeButton) {
         try {
+            UiTasks.newViewScope();
             FXMLLoader loader = new FXMLLoader(
                     HomeApplication.class.getResource("/com/example/trainreservationsystem/" + fxmlFile));
             Parent view = loader.load();
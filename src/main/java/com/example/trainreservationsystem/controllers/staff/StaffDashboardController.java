@@ -1,24 +1,29 @@
 package com.example.trainreservationsystem.controllers.staff;
 
-import java.io.FileWriter;
-import java.io.IOException;
+import java.io.File;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.Map;
 
 import com.example.trainreservationsystem.controllers.shared.HomeController;
 import com.example.trainreservationsystem.models.admin.Schedule;
-import com.example.trainreservationsystem.models.member.Booking;
+import com.example.trainreservationsystem.models.admin.Statistics;
 import com.example.trainreservationsystem.repositories.RepositoryFactory;
 import com.example.trainreservationsystem.repositories.admin.ScheduleRepository;
+import com.example.trainreservationsystem.repositories.admin.StatisticsRepository;
 import com.example.trainreservationsystem.repositories.member.BookingRepository;
-import com.example.trainreservationsystem.repositories.member.TicketRepository;
+import com.example.trainreservationsystem.services.admin.StatisticsAggregator;
+import com.example.trainreservationsystem.services.staff.report.ReportExportService;
+import com.example.trainreservationsystem.services.staff.report.ReportFormat;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.layout.VBox;
@@ -61,10 +66,16 @@ public class StaffDashboardController {
   private Button btnClearBookings;
   @FXML
   private Button btnGenerateReport;
+  @FXML
+  private Button btnCancelReport;
+  @FXML
+  private ProgressBar reportProgress;
 
   private final BookingRepository bookingRepository = RepositoryFactory.getBookingRepository();
   private final ScheduleRepository scheduleRepository = RepositoryFactory.getScheduleRepository();
-  private final TicketRepository ticketRepository = RepositoryFactory.getTicketRepository();
+  private final StatisticsRepository statisticsRepository = RepositoryFactory.getStatisticsRepository();
+  private volatile Map<Integer, Integer> bookingCounts = Map.of();
+  private Task<Long> currentExport;
 
   @FXML
   public void initialize() {
@@ -109,52 +120,44 @@ public class StaffDashboardController {
     timeCol.setCellValueFactory(cellData -> new javafx.beans.property.SimpleStringProperty(
         cellData.getValue().getDepartureTime() != null ? cellData.getValue().getDepartureTime().toString() : "N/A"));
     bookingsCol.setCellValueFactory(cellData -> new javafx.beans.property.SimpleIntegerProperty(
-        getBookingCountForSchedule(cellData.getValue().getId())).asObject());
+        bookingCounts.getOrDefault(cellData.getValue().getId(), 0)).asObject());
   }
 
   private void loadStatistics() {
-    try {
-      List<Booking> allBookings = bookingRepository.getAllBookings();
-
-      long totalBookings = allBookings.size();
-      long pendingBookings = allBookings.stream().filter(b -> "PENDING".equals(b.getStatus())).count();
-      long confirmedBookings = allBookings.stream().filter(b -> "CONFIRMED".equals(b.getStatus())).count();
-      long cancelledBookings = allBookings.stream().filter(b -> "CANCELLED".equals(b.getStatus())).count();
+    // Counts come from a GROUP BY and revenue from the pre-aggregated
+    // statistics table, so this no longer loads every booking
+    UiTasks.load(bookingRepository::countBookingsByStatus, statusCounts -> {
+      long totalBookings = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+      totalBookingsLabel.setText(String.valueOf(totalBookings));
+      pendingBookingsLabel.setText(String.valueOf(statusCounts.getOrDefault("PENDING", 0L)));
+      confirmedBookingsLabel.setText(String.valueOf(statusCounts.getOrDefault("CONFIRMED", 0L)));
+      cancelledBookingsLabel.setText(String.valueOf(statusCounts.getOrDefault("CANCELLED", 0L)));
+    }, e -> {
+      AlertUtils.showError("Error", "Failed to load statistics: " + e.getMessage());
+      e.printStackTrace();
+    });
 
-      // Calculate total revenue (sum of confirmed bookings)
-      double totalRevenue = allBookings.stream()
-          .filter(b -> "CONFIRMED".equals(b.getStatus()))
-          .mapToDouble(Booking::getTotalAmount)
+    UiTasks.load(() -> {
+      // Write pending counters first so the totals include recent sales
+      StatisticsAggregator.getInstance().flush();
+      return statisticsRepository.getScheduleTotals().values().stream()
+          .mapToDouble(Statistics::getRevenue)
           .sum();
-
-      totalBookingsLabel.setText(String.valueOf(totalBookings));
-      pendingBookingsLabel.setText(String.valueOf(pendingBookings));
-      confirmedBookingsLabel.setText(String.valueOf(confirmedBookings));
-      cancelledBookingsLabel.setText(String.valueOf(cancelledBookings));
-      totalRevenueLabel.setText(String.format("$%.2f", totalRevenue));
-    } catch (Exception e) {
+    }, totalRevenue -> totalRevenueLabel.setText(String.format("$%.2f", totalRevenue)), e -> {
       AlertUtils.showError("Error", "Failed to load statistics: " + e.getMessage());
       e.printStackTrace();
-    }
+    });
   }
 
   private void loadScheduleStatistics() {
-    try {
-      List<Schedule> schedules = scheduleRepository.getAllSchedules();
-      schedulesTable.setItems(FXCollections.observableArrayList(schedules));
-    } catch (Exception e) {
+    UiTasks.load(() -> {
+      // One query for every row instead of one per rendered cell
+      bookingCounts = bookingRepository.getBookingCountsBySchedule();
+      return scheduleRepository.getAllSchedules();
+    }, schedules -> schedulesTable.setItems(FXCollections.observableArrayList(schedules)), e -> {
       AlertUtils.showError("Error", "Failed to load schedule statistics: " + e.getMessage());
       e.printStackTrace();
-    }
-  }
-
-  private int getBookingCountForSchedule(int scheduleId) {
-    try {
-      List<Booking> bookings = bookingRepository.getBookingsByScheduleId(scheduleId);
-      return bookings.size();
-    } catch (Exception e) {
-      return 0;
-    }
+    });
   }
 
   @FXML
@@ -188,96 +191,87 @@ public class StaffDashboardController {
 
   @FXML
   public void handleGenerateReport() {
-    try {
-      // Get statistics
-      List<Booking> allBookings = bookingRepository.getAllBookings();
-      List<Schedule> allSchedules = scheduleRepository.getAllSchedules();
-      List<com.example.trainreservationsystem.models.member.Ticket> allTickets = ticketRepository.getAllTickets();
-
-      // Calculate statistics
-      long totalBookings = allBookings.size();
-      long pendingBookings = allBookings.stream().filter(b -> "PENDING".equals(b.getStatus())).count();
-      long confirmedBookings = allBookings.stream().filter(b -> "CONFIRMED".equals(b.getStatus())).count();
-      long cancelledBookings = allBookings.stream().filter(b -> "CANCELLED".equals(b.getStatus())).count();
-      double totalRevenue = allBookings.stream()
-          .filter(b -> "CONFIRMED".equals(b.getStatus()))
-          .mapToDouble(Booking::getTotalAmount)
-          .sum();
-      long validTickets = allTickets.stream().filter(t -> "VALID".equals(t.getStatus())).count();
-      long closedTickets = allTickets.stream().filter(t -> "CLOSED".equals(t.getStatus())).count();
-
-      // Create report content
-      StringBuilder report = new StringBuilder();
-      report.append("=".repeat(60)).append("\n");
-      report.append("TRAIN RESERVATION SYSTEM - ADMIN REPORT\n");
-      report.append("Generated on: ")
-          .append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))).append("\n");
-      report.append("=".repeat(60)).append("\n\n");
-
-      report.append("BOOKING STATISTICS\n");
-      report.append("-".repeat(60)).append("\n");
-      report.append(String.format("Total Bookings: %d\n", totalBookings));
-      report.append(String.format("Pending Bookings: %d\n", pendingBookings));
-      report.append(String.format("Confirmed Bookings: %d\n", confirmedBookings));
-      report.append(String.format("Cancelled Bookings: %d\n", cancelledBookings));
-      report.append(String.format("Total Revenue: $%.2f\n", totalRevenue));
-      report.append("\n");
-
-      report.append("SCHEDULE STATISTICS\n");
-      report.append("-".repeat(60)).append("\n");
-      report.append(String.format("Total Schedules: %d\n", allSchedules.size()));
-      report.append("\n");
+    FileChooser fileChooser = new FileChooser();
+    fileChooser.setTitle("Save Report");
+    fileChooser.setInitialFileName("train_reservation_report_" +
+        LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")));
+    for (ReportFormat format : ReportFormat.values()) {
+      fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(
+          format.getDescription(), "*." + format.getExtension()));
+    }
 
-      report.append("TICKET STATISTICS\n");
-      report.append("-".repeat(60)).append("\n");
-      report.append(String.format("Total Tickets: %d\n", allTickets.size()));
-      report.append(String.format("Valid Tickets: %d\n", validTickets));
-      report.append(String.format("Closed Tickets: %d\n", closedTickets));
-      report.append("\n");
+    Stage stage = (Stage) totalBookingsLabel.getScene().getWindow();
+    File chosen = fileChooser.showSaveDialog(stage);
+    if (chosen == null) {
+      return;
+    }
 
-      report.append("BOOKING DETAILS\n");
-      report.append("-".repeat(60)).append("\n");
-      report.append(
-          String.format("%-10s %-10s %-15s %-15s %-10s\n", "Booking ID", "User ID", "Status", "Amount", "Date"));
-      report.append("-".repeat(60)).append("\n");
-      for (Booking booking : allBookings) {
-        String dateStr = booking.getBookingDate() != null
-            ? booking.getBookingDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"))
-            : "N/A";
-        report.append(String.format("%-10d %-10d %-15s $%-14.2f %-10s\n",
-            booking.getId(), booking.getUserId(), booking.getStatus(),
-            booking.getTotalAmount(), dateStr));
+    // The selected filter decides the format when the name has no extension
+    int selected = fileChooser.getExtensionFilters().indexOf(fileChooser.getSelectedExtensionFilter());
+    ReportFormat format = chosen.getName().contains(".") || selected < 0
+        ? ReportFormat.fromFileName(chosen.getName())
+        : ReportFormat.values()[selected];
+    File file = chosen.getName().contains(".")
+        ? chosen
+        : new File(chosen.getParentFile(), chosen.getName() + "." + format.getExtension());
+
+    // Stream the export on a background thread so the dashboard stays responsive
+    Task<Long> exportTask = new Task<>() {
+      @Override
+      protected Long call() throws Exception {
+        return ReportExportService.getInstance().export(format, file.toPath(), this::isCancelled,
+            (written, total) -> {
+              updateProgress(written, total);
+              updateMessage("Exported " + written + " of " + total);
+            });
       }
-      report.append("\n");
-
-      report.append("=".repeat(60)).append("\n");
-      report.append("End of Report\n");
-      report.append("=".repeat(60)).append("\n");
+    };
+    currentExport = exportTask;
+    setExporting(true);
+    reportProgress.progressProperty().bind(exportTask.progressProperty());
+    btnGenerateReport.textProperty().bind(exportTask.messageProperty());
+
+    exportTask.setOnSucceeded(e -> {
+      setExporting(false);
+      AlertUtils.showSuccess("Success", "Report generated successfully!\n" + exportTask.getValue()
+          + " booking(s) saved to: " + file.getAbsolutePath());
+    });
+    exportTask.setOnCancelled(e -> {
+      setExporting(false);
+      AlertUtils.showInfo("Cancelled", "Report export was cancelled.");
+    });
+    exportTask.setOnFailed(e -> {
+      setExporting(false);
+      Throwable error = exportTask.getException();
+      AlertUtils.showError("Error", "Failed to generate report: " + (error != null ? error.getMessage() : ""));
+      if (error != null) {
+        error.printStackTrace();
+      }
+    });
 
-      // Save to file
-      FileChooser fileChooser = new FileChooser();
-      fileChooser.setTitle("Save Report");
-      fileChooser.setInitialFileName("train_reservation_report_" +
-          LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".txt");
-      fileChooser.getExtensionFilters().add(
-          new javafx.stage.FileChooser.ExtensionFilter("Text Files", "*.txt"));
+    // Detached so leaving the dashboard doesn't abandon a half-written file
+    UiTasks.runDetached(exportTask);
+  }
 
-      Stage stage = (Stage) totalBookingsLabel.getScene().getWindow();
-      java.io.File file = fileChooser.showSaveDialog(stage);
+  @FXML
+  public void handleCancelReport() {
+    if (currentExport != null) {
+      currentExport.cancel();
+    }
+  }
 
-      if (file != null) {
-        try (FileWriter writer = new FileWriter(file)) {
-          writer.write(report.toString());
-          AlertUtils.showSuccess("Success", "Report generated successfully!\nSaved to: " + file.getAbsolutePath());
-        } catch (IOException e) {
-          AlertUtils.showError("Error", "Failed to save report: " + e.getMessage());
-          e.printStackTrace();
-        }
-      }
-    } catch (Exception e) {
-      AlertUtils.showError("Error", "Failed to generate report: " + e.getMessage());
-      e.printStackTrace();
+  private void setExporting(boolean exporting) {
+    if (!exporting) {
+      reportProgress.progressProperty().unbind();
+      btnGenerateReport.textProperty().unbind();
+      btnGenerateReport.setText("Generate Report");
+      currentExport = null;
     }
+    btnGenerateReport.setDisable(exporting);
+    reportProgress.setVisible(exporting);
+    reportProgress.setManaged(exporting);
+    btnCancelReport.setVisible(exporting);
+    btnCancelReport.setManaged(exporting);
   }
 
   @FXML
@@ -1,7 +1,6 @@
 package com.example.trainreservationsystem.controllers.staff;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import com.example.trainreservationsystem.controllers.shared.HomeController;
@@ -9,6 +8,7 @@ import com.example.trainreservationsystem.models.member.Ticket;
 import com.example.trainreservationsystem.repositories.RepositoryFactory;
 import com.example.trainreservationsystem.repositories.member.TicketRepository;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
@@ -40,7 +40,7 @@ public class TicketValidationController {
   private TableColumn<Ticket, Void> colActions;
 
   private final TicketRepository ticketRepository = RepositoryFactory.getTicketRepository();
-  private Map<Integer, Double> ticketAmounts = new HashMap<>();
+  private volatile Map<Integer, Double> ticketAmounts = new HashMap<>();
 
   @FXML
   public void initialize() {
@@ -106,15 +106,15 @@ public class TicketValidationController {
   }
 
   private void loadTickets() {
-    try {
-      List<Ticket> tickets = ticketRepository.getAllTickets();
-      // Load ticket amounts for display
+    UiTasks.load(() -> {
+      // Load ticket amounts for display; the amount column reads them once
+      // the new rows are shown
       ticketAmounts = ticketRepository.getTicketAmounts();
-      ticketsTable.setItems(FXCollections.observableArrayList(tickets));
-    } catch (Exception e) {
+      return ticketRepository.getAllTickets();
+    }, tickets -> ticketsTable.setItems(FXCollections.observableArrayList(tickets)), e -> {
       AlertUtils.showError("Error", "Failed to load tickets: " + e.getMessage());
       e.printStackTrace();
-    }
+    });
   }
 
   private void handleCloseTicket(Ticket ticket) {
@@ -137,18 +137,17 @@ public class TicketValidationController {
         ticket.getQrCode());
 
     if (AlertUtils.showConfirmation("Close Ticket", message)) {
-      try {
-        boolean updated = ticketRepository.updateTicketStatus(ticket.getId(), "CLOSED");
+      UiTasks.write(() -> ticketRepository.updateTicketStatus(ticket.getId(), "CLOSED"), updated -> {
         if (updated) {
           AlertUtils.showSuccess("Success", "Ticket #" + ticket.getId() + " has been closed.");
           loadTickets(); // Refresh the table
         } else {
           AlertUtils.showError("Error", "Failed to close ticket.");
         }
-      } catch (Exception e) {
+      }, e -> {
         AlertUtils.showError("Error", "Failed to close ticket: " + e.getMessage());
         e.printStackTrace();
-      }
+      });
     }
   }
 
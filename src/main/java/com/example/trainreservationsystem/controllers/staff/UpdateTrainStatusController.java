@@ -10,6 +10,7 @@ import com.example.trainreservationsystem.repositories.admin.ScheduleRepository;
 import com.example.trainreservationsystem.repositories.member.BookingRepository;
 import com.example.trainreservationsystem.services.shared.NotificationService;
 import com.example.trainreservationsystem.utils.shared.ui.AlertUtils;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
@@ -78,17 +79,16 @@ public class UpdateTrainStatusController {
     }
 
     private void loadSchedules() {
-        try {
-            List<Schedule> schedules = scheduleRepository.getAllSchedules();
+        UiTasks.load(() -> scheduleRepository.getAllSchedules(), schedules -> {
             // Initialize status map with default values for new schedules
             for (Schedule schedule : schedules) {
                 scheduleStatusMap.putIfAbsent(schedule.getId(), DEFAULT_STATUS);
             }
             trainTable.setItems(FXCollections.observableArrayList(schedules));
-        } catch (Exception e) {
+        }, e -> {
             AlertUtils.showError("Error", "Failed to load schedules: " + e.getMessage());
             e.printStackTrace();
-        }
+        });
     }
 
     @FXML
@@ -105,22 +105,22 @@ public class UpdateTrainStatusController {
             return;
         }
 
-        try {
-            // Store status in memory (in a real app, you'd add a status column to schedules
-            // table)
-            scheduleStatusMap.put(selectedSchedule.getId(), newStatus);
+        // Store status in memory (in a real app, you'd add a status column to schedules
+        // table)
+        scheduleStatusMap.put(selectedSchedule.getId(), newStatus);
 
-            List<com.example.trainreservationsystem.models.member.Booking> bookings = bookingRepository
-                    .getBookingsByScheduleId(selectedSchedule.getId());
+        String routeName = selectedSchedule.getRoute() != null
+                ? selectedSchedule.getRoute().getSource() + " → " + selectedSchedule.getRoute().getDestination()
+                : "your scheduled train";
 
-            String routeName = selectedSchedule.getRoute() != null
-                    ? selectedSchedule.getRoute().getSource() + " → " + selectedSchedule.getRoute().getDestination()
-                    : "your scheduled train";
+        String message = String.format(
+                "Train status update for %s: %s",
+                routeName,
+                newStatus);
 
-            String message = String.format(
-                    "Train status update for %s: %s",
-                    routeName,
-                    newStatus);
+        UiTasks.write(() -> {
+            List<com.example.trainreservationsystem.models.member.Booking> bookings = bookingRepository
+                    .getBookingsByScheduleId(selectedSchedule.getId());
 
             // Notify all users with bookings on this schedule
             for (com.example.trainreservationsystem.models.member.Booking booking : bookings) {
@@ -128,15 +128,16 @@ public class UpdateTrainStatusController {
                     NotificationService.getInstance().add(message, booking.getUserId());
                 }
             }
-
+            return bookings.size();
+        }, notified -> {
             AlertUtils.showSuccess("Success",
-                    String.format("Status updated to '%s'. %d users have been notified.", newStatus, bookings.size()));
+                    String.format("Status updated to '%s'. %d users have been notified.", newStatus, notified));
 
             // Refresh the table to update UI
             trainTable.refresh();
-        } catch (Exception e) {
+        }, e -> {
             AlertUtils.showError("Error", "Failed to update status: " + e.getMessage());
             e.printStackTrace();
-        }
+        });
     }
 }
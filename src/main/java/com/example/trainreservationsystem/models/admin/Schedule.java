@@ -2,6 +2,7 @@ package com.example.trainreservationsystem.models.admin;
 
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -18,6 +19,27 @@ public class Schedule {
     MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY
   }
 
+  // Bit n of a day mask is set when the schedule runs on DayOfWeek ordinal n
+  public static final int ALL_DAYS_MASK = 0x7F;
+
+  // Day list for every possible mask, so decoding a row allocates nothing
+  private static final List<List<DayOfWeek>> DAYS_BY_MASK = buildDayTable();
+
+  private static List<List<DayOfWeek>> buildDayTable() {
+    DayOfWeek[] days = DayOfWeek.values();
+    List<List<DayOfWeek>> table = new ArrayList<>(ALL_DAYS_MASK + 1);
+    for (int mask = 0; mask <= ALL_DAYS_MASK; mask++) {
+      List<DayOfWeek> list = new ArrayList<>();
+      for (DayOfWeek day : days) {
+        if ((mask & (1 << day.ordinal())) != 0) {
+          list.add(day);
+        }
+      }
+      table.add(Collections.unmodifiableList(list));
+    }
+    return table;
+  }
+
   private int id;
   private Route route;
   private LocalTime departureTime;
@@ -98,6 +120,43 @@ public class Schedule {
     this.daysOfWeek = daysOfWeek;
   }
 
+  /**
+   * Days this schedule runs as a 7-bit mask. A schedule without days runs
+   * every day.
+   */
+  public int getDayMask() {
+    if (daysOfWeek == null || daysOfWeek.isEmpty()) {
+      return ALL_DAYS_MASK;
+    }
+    int mask = 0;
+    for (DayOfWeek day : daysOfWeek) {
+      mask |= 1 << day.ordinal();
+    }
+    return mask;
+  }
+
+  /**
+   * Sets the running days from a mask as stored in schedules.day_mask.
+   */
+  public void setDayMask(int mask) {
+    this.daysOfWeek = daysOf(mask);
+  }
+
+  /**
+   * Days in a mask, in week order. The returned list is shared and
+   * unmodifiable.
+   */
+  public static List<DayOfWeek> daysOf(int mask) {
+    return DAYS_BY_MASK.get(mask & ALL_DAYS_MASK);
+  }
+
+  /**
+   * Mask bit for a calendar day. java.time.DayOfWeek also starts at Monday.
+   */
+  public static int dayBit(java.time.DayOfWeek day) {
+    return 1 << (day.getValue() - 1);
+  }
+
   public List<Seat> getSeats() {
     return seats;
   }
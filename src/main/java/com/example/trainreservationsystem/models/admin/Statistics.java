@@ -13,6 +13,8 @@ public class Statistics {
     private LocalTime departureTime;
     private int seatClassId; // optional – can be omitted when using the map
     private int seatsSold;
+    private int bookings; // Confirmed bookings, net of cancellations
+    private double revenue; // Paid amount of those bookings
 
     // When we want per‑class breakdown we use this map
     private Map<Integer, Long> seatsSoldPerClass;
@@ -69,6 +71,22 @@ public class Statistics {
         this.seatsSold = seatsSold;
     }
 
+    public int getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(int bookings) {
+        this.bookings = bookings;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+
     public Map<Integer, Long> getSeatsSoldPerClass() {
         return seatsSoldPerClass;
     }
@@ -1,5 +1,6 @@
 package com.example.trainreservationsystem.models.member;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -12,8 +13,12 @@ public class Booking {
   private int scheduleId; // Replaces trainId
   private String status;
   private LocalDateTime bookingDate;
+  private LocalDate travelDate; // Day the train runs
+  private Integer fromStopId; // Boarding stop, null for the route's first stop
+  private Integer toStopId; // Alighting stop, null for the route's last stop
 
   private List<Passenger> passengers;
+  private List<Ticket> tickets;
   private Schedule schedule;
   private double totalAmount;
   private String discountCode;
@@ -29,6 +34,12 @@ public class Booking {
     this.bookingDate = bookingDate;
   }
 
+  public Booking(int id, int userId, int scheduleId, String status, LocalDateTime bookingDate,
+      LocalDate travelDate) {
+    this(id, userId, scheduleId, status, bookingDate);
+    this.travelDate = travelDate;
+  }
+
   public int getId() {
     return id;
   }
@@ -69,6 +80,41 @@ public class Booking {
     this.bookingDate = bookingDate;
   }
 
+  public LocalDate getTravelDate() {
+    return travelDate;
+  }
+
+  public void setTravelDate(LocalDate travelDate) {
+    this.travelDate = travelDate;
+  }
+
+  /**
+   * Travel date, falling back to the booking date for rows created before
+   * travel dates were recorded.
+   */
+  public LocalDate getEffectiveTravelDate() {
+    if (travelDate != null) {
+      return travelDate;
+    }
+    return bookingDate != null ? bookingDate.toLocalDate() : LocalDate.now();
+  }
+
+  public Integer getFromStopId() {
+    return fromStopId;
+  }
+
+  public void setFromStopId(Integer fromStopId) {
+    this.fromStopId = fromStopId;
+  }
+
+  public Integer getToStopId() {
+    return toStopId;
+  }
+
+  public void setToStopId(Integer toStopId) {
+    this.toStopId = toStopId;
+  }
+
   public List<Passenger> getPassengers() {
     return passengers;
   }
@@ -77,6 +123,14 @@ public class Booking {
     this.passengers = passengers;
   }
 
+  public List<Ticket> getTickets() {
+    return tickets;
+  }
+
+  public void setTickets(List<Ticket> tickets) {
+    this.tickets = tickets;
+  }
+
   public Schedule getSchedule() {
     return schedule;
   }
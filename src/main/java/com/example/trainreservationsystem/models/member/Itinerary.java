@@ -0,0 +1,55 @@
+package com.example.trainreservationsystem.models.member;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A journey from origin to destination made of one or more legs.
+ */
+public class Itinerary {
+  private final List<JourneyLeg> legs;
+
+  public Itinerary(List<JourneyLeg> legs) {
+    this.legs = List.copyOf(legs);
+  }
+
+  public List<JourneyLeg> getLegs() {
+    return legs;
+  }
+
+  public int getTransfers() {
+    return Math.max(0, legs.size() - 1);
+  }
+
+  public LocalDateTime getDeparture() {
+    return legs.get(0).getDeparture();
+  }
+
+  public LocalDateTime getArrival() {
+    return legs.get(legs.size() - 1).getArrival();
+  }
+
+  public Duration getDuration() {
+    return Duration.between(getDeparture(), getArrival());
+  }
+
+  public double getTotalPrice() {
+    double total = 0;
+    for (JourneyLeg leg : legs) {
+      total += leg.getPrice();
+    }
+    return total;
+  }
+
+  /**
+   * Short text form, e.g. "Karachi → Multan → Peshawar".
+   */
+  public String getSummary() {
+    StringBuilder sb = new StringBuilder(legs.get(0).getFromStop());
+    for (JourneyLeg leg : legs) {
+      sb.append(" → ").append(leg.getToStop());
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,84 @@
+package com.example.trainreservationsystem.models.member;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.example.trainreservationsystem.models.admin.Schedule;
+
+/**
+ * One train ride within an {@link Itinerary}: boarding at one stop and
+ * alighting at a later stop of the same schedule.
+ */
+public class JourneyLeg {
+  private final Schedule schedule;
+  private final int fromStopId;
+  private final String fromStop;
+  private final int toStopId;
+  private final String toStop;
+  private final LocalDate travelDate; // Day the train leaves its first stop
+  private final LocalDateTime departure;
+  private final LocalDateTime arrival;
+  private final double price;
+  private final double routePrice; // Sum of all segment prices on the route
+
+  public JourneyLeg(Schedule schedule, int fromStopId, String fromStop, int toStopId, String toStop,
+      LocalDate travelDate, LocalDateTime departure, LocalDateTime arrival, double price, double routePrice) {
+    this.schedule = schedule;
+    this.fromStopId = fromStopId;
+    this.fromStop = fromStop;
+    this.toStopId = toStopId;
+    this.toStop = toStop;
+    this.travelDate = travelDate;
+    this.departure = departure;
+    this.arrival = arrival;
+    this.price = price;
+    this.routePrice = routePrice;
+  }
+
+  public Schedule getSchedule() {
+    return schedule;
+  }
+
+  public int getFromStopId() {
+    return fromStopId;
+  }
+
+  public String getFromStop() {
+    return fromStop;
+  }
+
+  public int getToStopId() {
+    return toStopId;
+  }
+
+  public String getToStop() {
+    return toStop;
+  }
+
+  /**
+   * Date of the train run, which is earlier than the departure date when
+   * boarding an overnight train after midnight.
+   */
+  public LocalDate getTravelDate() {
+    return travelDate;
+  }
+
+  public LocalDateTime getDeparture() {
+    return departure;
+  }
+
+  public LocalDateTime getArrival() {
+    return arrival;
+  }
+
+  public double getPrice() {
+    return price;
+  }
+
+  /**
+   * Share of the whole-route fare this leg covers, between 0 and 1.
+   */
+  public double getFareShare() {
+    return routePrice > 0 ? Math.min(price / routePrice, 1.0) : 1.0;
+  }
+}
@@ -1,10 +1,13 @@
 package com.example.trainreservationsystem.models.member;
 
+import java.time.LocalDateTime;
+
 public class Notification {
   private int id;
   private int userId;
   private String message;
-  private boolean sent;
+  private volatile boolean sent; // Read flag; may be set before the row is written
+  private LocalDateTime createdAt;
 
   public Notification() {
   }
@@ -47,4 +50,12 @@ public class Notification {
   public void setSent(boolean sent) {
     this.sent = sent;
   }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
 }
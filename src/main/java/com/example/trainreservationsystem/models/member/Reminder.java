@@ -0,0 +1,98 @@
+package com.example.trainreservationsystem.models.member;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A departure reminder for a confirmed booking, due a fixed number of hours
+ * before the train leaves.
+ */
+public class Reminder {
+  private int id;
+  private int bookingId;
+  private int userId;
+  private int scheduleId;
+  private LocalDate travelDate;
+  private int hoursBefore;
+  private LocalDateTime remindAt;
+  private boolean sent;
+
+  public Reminder() {
+  }
+
+  public Reminder(int id, int bookingId, int userId, int scheduleId, LocalDate travelDate, int hoursBefore,
+      LocalDateTime remindAt, boolean sent) {
+    this.id = id;
+    this.bookingId = bookingId;
+    this.userId = userId;
+    this.scheduleId = scheduleId;
+    this.travelDate = travelDate;
+    this.hoursBefore = hoursBefore;
+    this.remindAt = remindAt;
+    this.sent = sent;
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public void setId(int id) {
+    this.id = id;
+  }
+
+  public int getBookingId() {
+    return bookingId;
+  }
+
+  public void setBookingId(int bookingId) {
+    this.bookingId = bookingId;
+  }
+
+  public int getUserId() {
+    return userId;
+  }
+
+  public void setUserId(int userId) {
+    this.userId = userId;
+  }
+
+  public int getScheduleId() {
+    return scheduleId;
+  }
+
+  public void setScheduleId(int scheduleId) {
+    this.scheduleId = scheduleId;
+  }
+
+  public LocalDate getTravelDate() {
+    return travelDate;
+  }
+
+  public void setTravelDate(LocalDate travelDate) {
+    this.travelDate = travelDate;
+  }
+
+  public int getHoursBefore() {
+    return hoursBefore;
+  }
+
+  public void setHoursBefore(int hoursBefore) {
+    this.hoursBefore = hoursBefore;
+  }
+
+  public LocalDateTime getRemindAt() {
+    return remindAt;
+  }
+
+  public void setRemindAt(LocalDateTime remindAt) {
+    this.remindAt = remindAt;
+  }
+
+  public boolean isSent() {
+    return sent;
+  }
+
+  public void setSent(boolean sent) {
+    this.sent = sent;
+  }
+}
@@ -0,0 +1,86 @@
+package com.example.trainreservationsystem.models.member.booking;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Short-lived claim on a set of seats for one train run, over the route
+ * segments [fromSegment, toSegment).
+ * A hold is taken before the booking is written and lasts until the booking
+ * is paid, abandoned or the hold expires.
+ */
+public class SeatHold {
+  private final long id;
+  private final int userId;
+  private final int scheduleId;
+  private final LocalDate travelDate;
+  private final List<Integer> seats;
+  private final int fromSegment;
+  private final int toSegment;
+  private final long createdAtMillis;
+  private final long expiresAtMillis;
+  private volatile int bookingId;
+
+  public SeatHold(long id, int userId, int scheduleId, LocalDate travelDate, List<Integer> seats,
+      int fromSegment, int toSegment, long createdAtMillis, long expiresAtMillis) {
+    this.id = id;
+    this.userId = userId;
+    this.scheduleId = scheduleId;
+    this.travelDate = travelDate;
+    this.seats = List.copyOf(seats);
+    this.fromSegment = fromSegment;
+    this.toSegment = toSegment;
+    this.createdAtMillis = createdAtMillis;
+    this.expiresAtMillis = expiresAtMillis;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public int getUserId() {
+    return userId;
+  }
+
+  public int getScheduleId() {
+    return scheduleId;
+  }
+
+  public LocalDate getTravelDate() {
+    return travelDate;
+  }
+
+  public List<Integer> getSeats() {
+    return seats;
+  }
+
+  public int getFromSegment() {
+    return fromSegment;
+  }
+
+  /**
+   * Exclusive end of the held segment range.
+   */
+  public int getToSegment() {
+    return toSegment;
+  }
+
+  public long getCreatedAtMillis() {
+    return createdAtMillis;
+  }
+
+  public long getExpiresAtMillis() {
+    return expiresAtMillis;
+  }
+
+  /**
+   * Id of the booking this hold was converted into, or 0 if none yet.
+   */
+  public int getBookingId() {
+    return bookingId;
+  }
+
+  public void setBookingId(int bookingId) {
+    this.bookingId = bookingId;
+  }
+}
@@ -2,6 +2,14 @@ package com.example.trainreservationsystem.repositories;
 
 import com.example.trainreservationsystem.repositories.admin.CancellationPolicyRepository;
 import com.example.trainreservationsystem.repositories.admin.DiscountRepository;
+import com.example.trainreservationsystem.repositories.admin.JdbcCancellationPolicyRepository;
+import com.example.trainreservationsystem.repositories.admin.JdbcDiscountRepository;
+import com.example.trainreservationsystem.repositories.admin.JdbcRouteRepository;
+import com.example.trainreservationsystem.repositories.admin.JdbcScheduleRepository;
+import com.example.trainreservationsystem.repositories.admin.JdbcSeatClassRepository;
+import com.example.trainreservationsystem.repositories.admin.JdbcStatisticsRepository;
+import com.example.trainreservationsystem.repositories.admin.JdbcStopRepository;
+import com.example.trainreservationsystem.repositories.admin.JdbcTrainRepository;
 import com.example.trainreservationsystem.repositories.admin.RouteRepository;
 import com.example.trainreservationsystem.repositories.admin.ScheduleRepository;
 import com.example.trainreservationsystem.repositories.admin.SeatClassRepository;
@@ -9,20 +17,52 @@ import com.example.trainreservationsystem.repositories.admin.StatisticsRepositor
 import com.example.trainreservationsystem.repositories.admin.StopRepository;
 import com.example.trainreservationsystem.repositories.admin.TrainRepository;
 import com.example.trainreservationsystem.repositories.member.BookingRepository;
+import com.example.trainreservationsystem.repositories.member.JdbcBookingRepository;
+import com.example.trainreservationsystem.repositories.member.JdbcNotificationRepository;
+import com.example.trainreservationsystem.repositories.member.JdbcPaymentRepository;
+import com.example.trainreservationsystem.repositories.member.JdbcReminderRepository;
+import com.example.trainreservationsystem.repositories.member.JdbcTicketRepository;
 import com.example.trainreservationsystem.repositories.member.NotificationRepository;
 import com.example.trainreservationsystem.repositories.member.PaymentRepository;
+import com.example.trainreservationsystem.repositories.member.ReminderRepository;
 import com.example.trainreservationsystem.repositories.member.TicketRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryBookingRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryCancellationPolicyRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryComplaintRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryDiscountRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryNotificationRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryPaymentRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryReminderRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryRouteRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryScheduleRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemorySeatClassRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemorySeatRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryStatisticsRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryStopRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryTicketRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryTrainRepository;
+import com.example.trainreservationsystem.repositories.memory.InMemoryUserRepository;
 import com.example.trainreservationsystem.repositories.shared.ComplaintRepository;
+import com.example.trainreservationsystem.repositories.shared.JdbcComplaintRepository;
+import com.example.trainreservationsystem.repositories.shared.JdbcSeatRepository;
+import com.example.trainreservationsystem.repositories.shared.JdbcUserRepository;
 import com.example.trainreservationsystem.repositories.shared.SeatRepository;
 import com.example.trainreservationsystem.repositories.shared.UserRepository;
 import com.example.trainreservationsystem.repositories.staff.StaffComplaintRepository;
+import com.example.trainreservationsystem.utils.shared.database.Database;
 
 /**
  * Factory for creating repository instances.
  * Uses singleton pattern to reuse repository instances.
+ *
+ * REPOSITORY_MODE=memory in .env swaps every repository for an in-memory
+ * implementation, so the app runs without PostgreSQL (demos, load tests).
+ * Any other value, or none, uses the JDBC repositories.
  */
 public class RepositoryFactory {
 
+  private static final boolean IN_MEMORY = "memory".equalsIgnoreCase(Database.getSetting("REPOSITORY_MODE", "jdbc"));
+
   private static BookingRepository bookingRepository;
   private static PaymentRepository paymentRepository;
   private static UserRepository userRepository;
@@ -39,101 +79,106 @@ public class RepositoryFactory {
   private static StatisticsRepository statisticsRepository;
   private static StaffComplaintRepository staffComplaintRepository;
   private static CancellationPolicyRepository cancellationPolicyRepository;
+  private static ReminderRepository reminderRepository;
+
+  public static boolean isInMemory() {
+    return IN_MEMORY;
+  }
 
   public static BookingRepository getBookingRepository() {
     if (bookingRepository == null) {
-      bookingRepository = new BookingRepository();
+      bookingRepository = IN_MEMORY ? new InMemoryBookingRepository() : new JdbcBookingRepository();
     }
     return bookingRepository;
   }
 
   public static PaymentRepository getPaymentRepository() {
     if (paymentRepository == null) {
-      paymentRepository = new PaymentRepository();
+      paymentRepository = IN_MEMORY ? new InMemoryPaymentRepository() : new JdbcPaymentRepository();
     }
     return paymentRepository;
   }
 
   public static UserRepository getUserRepository() {
     if (userRepository == null) {
-      userRepository = new UserRepository();
+      userRepository = IN_MEMORY ? new InMemoryUserRepository() : new JdbcUserRepository();
     }
     return userRepository;
   }
 
   public static TrainRepository getTrainRepository() {
     if (trainRepository == null) {
-      trainRepository = new TrainRepository();
+      trainRepository = IN_MEMORY ? new InMemoryTrainRepository() : new JdbcTrainRepository();
     }
     return trainRepository;
   }
 
   public static ComplaintRepository getComplaintRepository() {
     if (complaintRepository == null) {
-      complaintRepository = new ComplaintRepository();
+      complaintRepository = IN_MEMORY ? new InMemoryComplaintRepository() : new JdbcComplaintRepository();
     }
     return complaintRepository;
   }
 
   public static DiscountRepository getDiscountRepository() {
     if (discountRepository == null) {
-      discountRepository = new DiscountRepository();
+      discountRepository = IN_MEMORY ? new InMemoryDiscountRepository() : new JdbcDiscountRepository();
     }
     return discountRepository;
   }
 
   public static NotificationRepository getNotificationRepository() {
     if (notificationRepository == null) {
-      notificationRepository = new NotificationRepository();
+      notificationRepository = IN_MEMORY ? new InMemoryNotificationRepository() : new JdbcNotificationRepository();
     }
     return notificationRepository;
   }
 
   public static RouteRepository getRouteRepository() {
     if (routeRepository == null) {
-      routeRepository = new RouteRepository();
+      routeRepository = IN_MEMORY ? new InMemoryRouteRepository() : new JdbcRouteRepository();
     }
     return routeRepository;
   }
 
   public static ScheduleRepository getScheduleRepository() {
     if (scheduleRepository == null) {
-      scheduleRepository = new ScheduleRepository();
+      scheduleRepository = IN_MEMORY ? new InMemoryScheduleRepository() : new JdbcScheduleRepository();
     }
     return scheduleRepository;
   }
 
   public static SeatClassRepository getSeatClassRepository() {
     if (seatClassRepository == null) {
-      seatClassRepository = new SeatClassRepository();
+      seatClassRepository = IN_MEMORY ? new InMemorySeatClassRepository() : new JdbcSeatClassRepository();
     }
     return seatClassRepository;
   }
 
   public static SeatRepository getSeatRepository() {
     if (seatRepository == null) {
-      seatRepository = new SeatRepository();
+      seatRepository = IN_MEMORY ? new InMemorySeatRepository() : new JdbcSeatRepository();
     }
     return seatRepository;
   }
 
   public static StopRepository getStopRepository() {
     if (stopRepository == null) {
-      stopRepository = new StopRepository();
+      stopRepository = IN_MEMORY ? new InMemoryStopRepository() : new JdbcStopRepository();
     }
     return stopRepository;
   }
 
   public static TicketRepository getTicketRepository() {
     if (ticketRepository == null) {
-      ticketRepository = new TicketRepository();
+      ticketRepository = IN_MEMORY ? new InMemoryTicketRepository() : new JdbcTicketRepository();
     }
     return ticketRepository;
   }
 
   public static StatisticsRepository getStatisticsRepository() {
     if (statisticsRepository == null) {
-      statisticsRepository = new StatisticsRepository();
+      statisticsRepository = IN_MEMORY ? new InMemoryStatisticsRepository() : new JdbcStatisticsRepository();
     }
     return statisticsRepository;
   }
@@ -147,8 +192,15 @@ public class RepositoryFactory {
 
   public static CancellationPolicyRepository getCancellationPolicyRepository() {
     if (cancellationPolicyRepository == null) {
-      cancellationPolicyRepository = new CancellationPolicyRepository();
+      cancellationPolicyRepository = IN_MEMORY ? new InMemoryCancellationPolicyRepository() : new JdbcCancellationPolicyRepository();
     }
     return cancellationPolicyRepository;
   }
+
+  public static ReminderRepository getReminderRepository() {
+    if (reminderRepository == null) {
+      reminderRepository = IN_MEMORY ? new InMemoryReminderRepository() : new JdbcReminderRepository();
+    }
+    return reminderRepository;
+  }
 }
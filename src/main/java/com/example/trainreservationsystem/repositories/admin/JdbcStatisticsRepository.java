@@ -0,0 +1,190 @@
+package com.example.trainreservationsystem.repositories.admin;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.example.trainreservationsystem.models.admin.Statistics;
+import com.example.trainreservationsystem.utils.shared.database.Database;
+
+public class JdbcStatisticsRepository implements StatisticsRepository {
+
+    @Override
+    public void addStatistics(Statistics statistics) throws Exception {
+        // Replaces the seat count of an existing (schedule, day, class) row
+        String sql = "INSERT INTO statistics (schedule_id, day_of_week, departure_time, seat_class_id, seats_sold) " +
+                "VALUES (?, ?, ?, ?, ?) " +
+                "ON CONFLICT (schedule_id, day_of_week, (COALESCE(seat_class_id, 0))) " +
+                "DO UPDATE SET seats_sold = EXCLUDED.seats_sold";
+        try (Connection conn = Database.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            // If we have per-class breakdown
+            if (statistics.getSeatsSoldPerClass() != null && !statistics.getSeatsSoldPerClass().isEmpty()) {
+                for (Map.Entry<Integer, Long> entry : statistics.getSeatsSoldPerClass().entrySet()) {
+                    stmt.setInt(1, statistics.getScheduleId());
+                    stmt.setString(2, statistics.getDayOfWeek());
+                    stmt.setObject(3, statistics.getDepartureTime());
+                    stmt.setInt(4, entry.getKey());
+                    stmt.setInt(5, entry.getValue().intValue());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            } else {
+                // Fallback or single entry if needed (though model suggests per-class is
+                // primary)
+                stmt.setInt(1, statistics.getScheduleId());
+                stmt.setString(2, statistics.getDayOfWeek());
+                stmt.setObject(3, statistics.getDepartureTime());
+                stmt.setInt(4, statistics.getSeatClassId());
+                stmt.setInt(5, statistics.getSeatsSold());
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    @Override
+    public List<Statistics> getStatisticsByScheduleId(int scheduleId) throws Exception {
+        List<Statistics> statsList = new ArrayList<>();
+        String sql = "SELECT * FROM statistics WHERE schedule_id = ?";
+        try (Connection conn = Database.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, scheduleId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Statistics stats = new Statistics();
+                    stats.setId(rs.getInt("id"));
+                    stats.setScheduleId(rs.getInt("schedule_id"));
+                    stats.setDayOfWeek(rs.getString("day_of_week"));
+                    stats.setDepartureTime(rs.getTime("departure_time").toLocalTime());
+                    stats.setSeatClassId(rs.getInt("seat_class_id"));
+                    stats.setSeatsSold(rs.getInt("seats_sold"));
+                    statsList.add(stats);
+                }
+            }
+        }
+        return statsList;
+    }
+
+    @Override
+    public void applyDeltas(List<Statistics> deltas) throws Exception {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO statistics " +
+                "(schedule_id, day_of_week, departure_time, seat_class_id, seats_sold, bookings, revenue) " +
+                "SELECT t.schedule_id, t.day_of_week, t.departure_time, NULLIF(t.seat_class_id, 0), " +
+                "t.seats_sold, t.bookings, t.revenue " +
+                "FROM unnest(?::int[], ?::varchar[], ?::time[], ?::int[], ?::int[], ?::int[], ?::numeric[]) " +
+                "AS t(schedule_id, day_of_week, departure_time, seat_class_id, seats_sold, bookings, revenue) " +
+                "ON CONFLICT (schedule_id, day_of_week, (COALESCE(seat_class_id, 0))) DO UPDATE SET " +
+                "departure_time = EXCLUDED.departure_time, " +
+                "seats_sold = statistics.seats_sold + EXCLUDED.seats_sold, " +
+                "bookings = statistics.bookings + EXCLUDED.bookings, " +
+                "revenue = statistics.revenue + EXCLUDED.revenue";
+        int n = deltas.size();
+        Integer[] scheduleIds = new Integer[n];
+        String[] days = new String[n];
+        Time[] departures = new Time[n];
+        Integer[] seatClassIds = new Integer[n];
+        Integer[] seatsSold = new Integer[n];
+        Integer[] bookings = new Integer[n];
+        BigDecimal[] revenue = new BigDecimal[n];
+        for (int i = 0; i < n; i++) {
+            Statistics delta = deltas.get(i);
+            scheduleIds[i] = delta.getScheduleId();
+            days[i] = delta.getDayOfWeek();
+            departures[i] = delta.getDepartureTime() != null ? Time.valueOf(delta.getDepartureTime()) : null;
+            seatClassIds[i] = delta.getSeatClassId();
+            seatsSold[i] = delta.getSeatsSold();
+            bookings[i] = delta.getBookings();
+            revenue[i] = BigDecimal.valueOf(delta.getRevenue()).setScale(2, RoundingMode.HALF_UP);
+        }
+        try (Connection conn = Database.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setArray(1, conn.createArrayOf("integer", scheduleIds));
+            stmt.setArray(2, conn.createArrayOf("varchar", days));
+            stmt.setArray(3, conn.createArrayOf("time", departures));
+            stmt.setArray(4, conn.createArrayOf("integer", seatClassIds));
+            stmt.setArray(5, conn.createArrayOf("integer", seatsSold));
+            stmt.setArray(6, conn.createArrayOf("integer", bookings));
+            stmt.setArray(7, conn.createArrayOf("numeric", revenue));
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public Map<Integer, Statistics> getScheduleTotals() throws Exception {
+        Map<Integer, Statistics> totals = new HashMap<>();
+        String sql = "SELECT schedule_id, SUM(seats_sold) AS seats_sold, SUM(bookings) AS bookings, " +
+                "SUM(revenue) AS revenue FROM statistics GROUP BY schedule_id";
+        try (Connection conn = Database.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql);
+                ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Statistics stats = new Statistics();
+                stats.setScheduleId(rs.getInt("schedule_id"));
+                stats.setSeatsSold(rs.getInt("seats_sold"));
+                stats.setBookings(rs.getInt("bookings"));
+                stats.setRevenue(rs.getDouble("revenue"));
+                totals.put(stats.getScheduleId(), stats);
+            }
+        }
+        return totals;
+    }
+
+    @Override
+    public boolean isEmpty() throws Exception {
+        String sql = "SELECT NOT EXISTS (SELECT 1 FROM statistics)";
+        try (Connection conn = Database.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql);
+                ResultSet rs = stmt.executeQuery()) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    @Override
+    public void forEachSale(Integer bookingId, Consumer<Sale> consumer) throws Exception {
+        String sql = "SELECT b.id, b.schedule_id, COALESCE(b.travel_date, b.booking_date::date) AS travel_date, " +
+                "s.departure_time, s.capacity, COALESCE(p.seat_number, 0) AS seat_number, " +
+                "COUNT(p.seat_number) OVER (PARTITION BY b.id) AS seat_count, " +
+                "(SELECT COALESCE(SUM(pay.amount), 0) FROM payments pay " +
+                " WHERE pay.booking_id = b.id AND pay.status = 'SUCCESS') AS paid " +
+                "FROM bookings b JOIN schedules s ON s.id = b.schedule_id " +
+                "LEFT JOIN passengers p ON p.booking_id = b.id AND p.seat_number > 0 " +
+                (bookingId != null ? "WHERE b.id = ? " : "WHERE b.status = 'CONFIRMED' ") +
+                "ORDER BY b.id, p.seat_number";
+        try (Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false); // Cursors need a transaction
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setFetchSize(1000);
+                if (bookingId != null) {
+                    stmt.setInt(1, bookingId);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(new Sale(
+                                rs.getInt("id"),
+                                rs.getInt("schedule_id"),
+                                rs.getDate("travel_date").toLocalDate(),
+                                rs.getTime("departure_time").toLocalTime(),
+                                rs.getInt("capacity"),
+                                rs.getInt("seat_number"),
+                                rs.getInt("seat_count"),
+                                rs.getDouble("paid")));
+                    }
+                }
+            } finally {
+                conn.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.trainreservationsystem.repositories.admin;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.trainreservationsystem.models.admin.Route;
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.utils.shared.database.Database;
+
+public class JdbcTrainRepository implements TrainRepository {
+
+  private final TimetableIndex timetable = TimetableIndex.getInstance();
+  private final Object timetableBuild = new Object(); // One build at a time
+
+  @Override
+  public List<Schedule> searchSchedules(String source, String destination, LocalDate date) {
+    if (ensureTimetableLoaded()) {
+      return timetable.search(source, destination, date);
+    }
+    return searchSchedulesInDatabase(source, destination, date);
+  }
+
+  private boolean ensureTimetableLoaded() {
+    if (timetable.isLoaded()) {
+      return true;
+    }
+    synchronized (timetableBuild) {
+      try {
+        // Schedules changed while reading make the build stale; read again
+        while (!timetable.isLoaded()) {
+          long version = timetable.getVersion();
+          if (timetable.rebuild(getAllSchedules(), version)) {
+            System.out.println("✅ Timetable index built");
+          }
+        }
+      } catch (Exception e) {
+        System.err.println("❌ Error building timetable index: " + e.getMessage());
+        e.printStackTrace();
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void refreshTimetable(int scheduleId) {
+    if (!timetable.needsPatch()) {
+      return;
+    }
+    Schedule schedule = getScheduleById(scheduleId);
+    if (schedule != null) {
+      timetable.upsert(schedule);
+    } else {
+      timetable.remove(scheduleId);
+    }
+  }
+
+  @Override
+  public List<Schedule> getAllSchedules() throws Exception {
+    List<Schedule> schedules = new ArrayList<>();
+    String query = "SELECT s.*, r.source, r.destination " +
+        "FROM schedules s " +
+        "JOIN routes r ON s.route_id = r.id";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query);
+        ResultSet rs = stmt.executeQuery()) {
+      while (rs.next()) {
+        schedules.add(mapResultSetToSchedule(rs));
+      }
+    }
+    return schedules;
+  }
+
+  private List<Schedule> searchSchedulesInDatabase(String source, String destination, LocalDate date) {
+    List<Schedule> schedules = new ArrayList<>();
+
+    // Search for schedules whose day mask has this date's bit set
+    String query = "SELECT s.*, r.source, r.destination " +
+        "FROM schedules s " +
+        "JOIN routes r ON s.route_id = r.id " +
+        "WHERE LOWER(r.source) = LOWER(?) AND LOWER(r.destination) = LOWER(?) " +
+        "AND (s.day_mask & ?) <> 0";
+
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+
+      stmt.setString(1, source);
+      stmt.setString(2, destination);
+      stmt.setInt(3, Schedule.dayBit(date.getDayOfWeek()));
+
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        schedules.add(mapResultSetToSchedule(rs));
+      }
+    } catch (Exception e) {
+      System.err.println("Error searching schedules: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return schedules;
+  }
+
+  @Override
+  public Schedule getScheduleById(int id) {
+    String query = "SELECT s.*, r.source, r.destination " +
+        "FROM schedules s " +
+        "JOIN routes r ON s.route_id = r.id " +
+        "WHERE s.id = ?";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+
+      stmt.setInt(1, id);
+      ResultSet rs = stmt.executeQuery();
+      if (rs.next()) {
+        return mapResultSetToSchedule(rs);
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting schedule: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return null;
+  }
+
+  @Override
+  public Map<Integer, Schedule> getSchedulesByIds(Collection<Integer> ids) {
+    Map<Integer, Schedule> schedules = new HashMap<>();
+    if (ids.isEmpty()) {
+      return schedules;
+    }
+    String query = "SELECT s.*, r.source, r.destination " +
+        "FROM schedules s " +
+        "JOIN routes r ON s.route_id = r.id " +
+        "WHERE s.id = ANY(?)";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+
+      stmt.setArray(1, conn.createArrayOf("integer", ids.toArray()));
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        Schedule schedule = mapResultSetToSchedule(rs);
+        schedules.put(schedule.getId(), schedule);
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting schedules: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return schedules;
+  }
+
+  private Schedule mapResultSetToSchedule(ResultSet rs) throws SQLException {
+    Route route = new Route(
+        rs.getInt("route_id"),
+        rs.getString("source"),
+        rs.getString("destination"));
+
+    Schedule schedule = new Schedule(
+        rs.getInt("id"),
+        route,
+        rs.getTime("departure_time").toLocalTime(),
+        rs.getTime("arrival_time").toLocalTime(),
+        rs.getDouble("price"),
+        rs.getInt("capacity"));
+
+    schedule.setDayMask(rs.getInt("day_mask"));
+
+    return schedule;
+  }
+}
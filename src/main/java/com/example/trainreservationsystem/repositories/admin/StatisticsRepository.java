@@ -1,65 +1,64 @@
 package com.example.trainreservationsystem.repositories.admin;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import com.example.trainreservationsystem.models.admin.Statistics;
-import com.example.trainreservationsystem.utils.shared.database.Database;
 
-public class StatisticsRepository {
+public interface StatisticsRepository {
+    void addStatistics(Statistics statistics) throws Exception;
 
-    public void addStatistics(Statistics statistics) throws Exception {
-        String sql = "INSERT INTO statistics (schedule_id, day_of_week, departure_time, seat_class_id, seats_sold) VALUES (?, ?, ?, ?, ?)";
-        try (Connection conn = Database.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
+    List<Statistics> getStatisticsByScheduleId(int scheduleId) throws Exception;
 
-            // If we have per-class breakdown
-            if (statistics.getSeatsSoldPerClass() != null && !statistics.getSeatsSoldPerClass().isEmpty()) {
-                for (Map.Entry<Integer, Long> entry : statistics.getSeatsSoldPerClass().entrySet()) {
-                    stmt.setInt(1, statistics.getScheduleId());
-                    stmt.setString(2, statistics.getDayOfWeek());
-                    stmt.setObject(3, statistics.getDepartureTime());
-                    stmt.setInt(4, entry.getKey());
-                    stmt.setInt(5, entry.getValue().intValue());
-                    stmt.addBatch();
-                }
-                stmt.executeBatch();
-            } else {
-                // Fallback or single entry if needed (though model suggests per-class is
-                // primary)
-                stmt.setInt(1, statistics.getScheduleId());
-                stmt.setString(2, statistics.getDayOfWeek());
-                stmt.setObject(3, statistics.getDepartureTime());
-                stmt.setInt(4, statistics.getSeatClassId());
-                stmt.setInt(5, statistics.getSeatsSold());
-                stmt.executeUpdate();
-            }
-        }
-    }
+    /**
+     * Adds counter deltas to the matching (schedule, day, seat class) rows,
+     * creating rows that don't exist yet, in one statement. A seat class id
+     * of 0 is stored as NULL.
+     */
+    void applyDeltas(List<Statistics> deltas) throws Exception;
+
+    /**
+     * Totals per schedule across days and seat classes, keyed by schedule id.
+     * Reads one pre-aggregated row per schedule.
+     */
+    Map<Integer, Statistics> getScheduleTotals() throws Exception;
+
+    boolean isEmpty() throws Exception;
+
+    /**
+     * Streams the seats and paid amount of one booking, or of every confirmed
+     * booking when bookingId is null, one row per seat. Uses a server-side
+     * cursor so the full history is never held in memory.
+     */
+    void forEachSale(Integer bookingId, Consumer<Sale> consumer) throws Exception;
+
+    /**
+     * One seat of a booking, with what was paid for the whole booking.
+     * seatNumber is 0 for a booking without assigned seats.
+     */
+    public static class Sale {
+        public final int bookingId;
+        public final int scheduleId;
+        public final LocalDate travelDate;
+        public final LocalTime departureTime;
+        public final int capacity;
+        public final int seatNumber;
+        public final int seatCount;
+        public final double paid;
 
-    public List<Statistics> getStatisticsByScheduleId(int scheduleId) throws Exception {
-        List<Statistics> statsList = new ArrayList<>();
-        String sql = "SELECT * FROM statistics WHERE schedule_id = ?";
-        try (Connection conn = Database.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, scheduleId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Statistics stats = new Statistics();
-                    stats.setId(rs.getInt("id"));
-                    stats.setScheduleId(rs.getInt("schedule_id"));
-                    stats.setDayOfWeek(rs.getString("day_of_week"));
-                    stats.setDepartureTime(rs.getTime("departure_time").toLocalTime());
-                    stats.setSeatClassId(rs.getInt("seat_class_id"));
-                    stats.setSeatsSold(rs.getInt("seats_sold"));
-                    statsList.add(stats);
-                }
-            }
+        public Sale(int bookingId, int scheduleId, LocalDate travelDate, LocalTime departureTime, int capacity,
+                int seatNumber, int seatCount, double paid) {
+            this.bookingId = bookingId;
+            this.scheduleId = scheduleId;
+            this.travelDate = travelDate;
+            this.departureTime = departureTime;
+            this.capacity = capacity;
+            this.seatNumber = seatNumber;
+            this.seatCount = seatCount;
+            this.paid = paid;
         }
-        return statsList;
     }
 }
@@ -0,0 +1,208 @@
+package com.example.trainreservationsystem.repositories.admin;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.example.trainreservationsystem.models.admin.Route;
+import com.example.trainreservationsystem.models.admin.Schedule;
+
+/**
+ * In-memory timetable for schedule search.
+ * Maps a normalized (source, destination) pair to its schedules sorted by
+ * departure time, each with a 7-bit day-of-week mask, so a search is a hash
+ * lookup plus a bit test per schedule instead of a LIKE scan.
+ *
+ * Built lazily from the database on first search and kept current by
+ * {@link ScheduleRepository} and {@link RouteRepository} as data changes.
+ * Readers never lock: each route's schedule array is replaced, not modified.
+ */
+public class TimetableIndex {
+  private static TimetableIndex instance;
+
+  private static final Comparator<Entry> BY_DEPARTURE = Comparator
+      .comparing((Entry e) -> e.departureTime, Comparator.nullsLast(Comparator.naturalOrder()))
+      .thenComparingInt(e -> e.schedule.getId());
+
+  private final Map<String, Entry[]> byRoute = new ConcurrentHashMap<>();
+  private final Map<Integer, String> routeKeyBySchedule = new HashMap<>(); // Guarded by this
+  private volatile boolean loaded = false;
+  private volatile long version = 0;
+
+  private TimetableIndex() {
+  }
+
+  public static synchronized TimetableIndex getInstance() {
+    if (instance == null) {
+      instance = new TimetableIndex();
+    }
+    return instance;
+  }
+
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  /**
+   * Increases on every change, so derived structures can tell when to rebuild.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Schedules from source to destination that run on the given date, in
+   * departure order.
+   */
+  public List<Schedule> search(String source, String destination, LocalDate date) {
+    List<Schedule> result = new ArrayList<>();
+    Entry[] entries = byRoute.get(key(source, destination));
+    if (entries == null) {
+      return result;
+    }
+    int dayBit = Schedule.dayBit(date.getDayOfWeek());
+    for (Entry entry : entries) {
+      if ((entry.dayMask & dayBit) != 0) {
+        result.add(entry.schedule);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Replaces the whole index with schedules read from the database, unless
+   * the index changed after readVersion was taken, before the read. Then the
+   * schedules may miss that change, nothing is installed and false is
+   * returned, so the caller reads again.
+   */
+  public synchronized boolean rebuild(List<Schedule> schedules, long readVersion) {
+    if (version != readVersion) {
+      return false;
+    }
+    Map<String, List<Entry>> grouped = new HashMap<>();
+    routeKeyBySchedule.clear();
+    for (Schedule schedule : schedules) {
+      String key = key(schedule.getRoute());
+      if (key != null) {
+        grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(new Entry(schedule));
+        routeKeyBySchedule.put(schedule.getId(), key);
+      }
+    }
+
+    byRoute.clear();
+    for (Map.Entry<String, List<Entry>> group : grouped.entrySet()) {
+      Entry[] entries = group.getValue().toArray(new Entry[0]);
+      Arrays.sort(entries, BY_DEPARTURE);
+      byRoute.put(group.getKey(), entries);
+    }
+    loaded = true; // Same data as the database, so the version doesn't change
+    return true;
+  }
+
+  /**
+   * Called after a schedule changed in the database. If the index isn't
+   * loaded, records the change so that a build which read the database
+   * before it isn't installed, and returns false: the next build picks the
+   * change up. Returns true if the loaded index must be patched.
+   */
+  public synchronized boolean needsPatch() {
+    if (loaded) {
+      return true;
+    }
+    version++;
+    return false;
+  }
+
+  /**
+   * Adds or replaces one schedule. The schedule must carry its route's source
+   * and destination.
+   */
+  public synchronized void upsert(Schedule schedule) {
+    if (!loaded) {
+      version++;
+      return; // Picked up by the first full build
+    }
+    removeEntry(schedule.getId());
+    version++;
+    String key = key(schedule.getRoute());
+    if (key == null) {
+      return;
+    }
+    Entry[] current = byRoute.getOrDefault(key, new Entry[0]);
+    Entry[] updated = Arrays.copyOf(current, current.length + 1);
+    updated[current.length] = new Entry(schedule);
+    Arrays.sort(updated, BY_DEPARTURE);
+    byRoute.put(key, updated);
+    routeKeyBySchedule.put(schedule.getId(), key);
+  }
+
+  public synchronized void remove(int scheduleId) {
+    if (loaded) {
+      removeEntry(scheduleId);
+    }
+    version++;
+  }
+
+  /**
+   * Drops the index; the next search rebuilds it.
+   */
+  public synchronized void invalidate() {
+    loaded = false;
+    byRoute.clear();
+    routeKeyBySchedule.clear();
+    version++;
+  }
+
+  private void removeEntry(int scheduleId) {
+    String key = routeKeyBySchedule.remove(scheduleId);
+    if (key == null) {
+      return;
+    }
+    Entry[] current = byRoute.get(key);
+    if (current == null) {
+      return;
+    }
+    Entry[] updated = Arrays.stream(current)
+        .filter(e -> e.schedule.getId() != scheduleId)
+        .toArray(Entry[]::new);
+    if (updated.length == 0) {
+      byRoute.remove(key);
+    } else {
+      byRoute.put(key, updated);
+    }
+  }
+
+  private static String key(Route route) {
+    if (route == null || route.getSource() == null || route.getDestination() == null) {
+      return null;
+    }
+    return key(route.getSource(), route.getDestination());
+  }
+
+  private static String key(String source, String destination) {
+    return normalize(source) + '\u0000' + normalize(destination);
+  }
+
+  private static String normalize(String place) {
+    return place == null ? "" : place.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static class Entry {
+    private final Schedule schedule;
+    private final int dayMask;
+    private final LocalTime departureTime;
+
+    Entry(Schedule schedule) {
+      this.schedule = schedule;
+      this.dayMask = schedule.getDayMask();
+      this.departureTime = schedule.getDepartureTime();
+    }
+  }
+}
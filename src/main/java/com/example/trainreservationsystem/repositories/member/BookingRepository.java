@@ -1,262 +1,154 @@
 package com.example.trainreservationsystem.repositories.member;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Timestamp;
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import com.example.trainreservationsystem.models.member.Booking;
-import com.example.trainreservationsystem.models.member.Passenger;
-import com.example.trainreservationsystem.utils.shared.database.Database;
 
-public class BookingRepository {
-
-  public Booking createBooking(Booking booking) {
-    String insertBooking = "INSERT INTO bookings (user_id, schedule_id, status, booking_date) VALUES (?, ?, ?, CURRENT_TIMESTAMP) RETURNING id";
-    String insertPassenger = "INSERT INTO passengers (booking_id, name, age, bring_pet, has_wheelchair, seat_number) VALUES (?, ?, ?, ?, ?, ?)";
-
-    Connection conn = null;
-    try {
-      conn = Database.getConnection();
-      conn.setAutoCommit(false); // Transaction
-
-      int bookingId = -1;
-      try (PreparedStatement stmt = conn.prepareStatement(insertBooking)) {
-        stmt.setInt(1, booking.getUserId());
-        stmt.setInt(2, booking.getScheduleId());
-        stmt.setString(3, booking.getStatus());
-
-        ResultSet rs = stmt.executeQuery();
-        if (rs.next()) {
-          bookingId = rs.getInt(1);
-          booking.setId(bookingId);
-        }
-      }
+public interface BookingRepository {
+  /**
+   * Writes a booking with its seat claims, passengers and tickets in one
+   * transaction. Each table gets a single multi-row insert, so the whole
+   * aggregate costs four round trips regardless of party size. Generated ids
+   * and the booking timestamp are copied back onto the given objects.
+   *
+   * Seats are claimed on the route segments [fromSegment, toSegment) the
+   * booking travels.
+   */
+  Booking createBooking(Booking booking, int fromSegment, int toSegment);
 
-      if (bookingId != -1 && booking.getPassengers() != null) {
-        try (PreparedStatement stmt = conn.prepareStatement(insertPassenger)) {
-          for (Passenger p : booking.getPassengers()) {
-            stmt.setInt(1, bookingId);
-            stmt.setString(2, p.getName());
-            stmt.setInt(3, p.getAge());
-            stmt.setBoolean(4, p.isBringPet());
-            stmt.setBoolean(5, p.isHasWheelchair());
-            stmt.setInt(6, p.getSeatNumber());
-            stmt.addBatch();
-          }
-          stmt.executeBatch();
-        }
-      }
+  List<Booking> getBookingsByUserId(int userId);
 
-      conn.commit();
-      return booking;
-    } catch (Exception e) {
-      if (conn != null) {
-        try {
-          conn.rollback();
-        } catch (SQLException ex) {
-          ex.printStackTrace();
-        }
-      }
-      System.err.println("Error creating booking: " + e.getMessage());
-      e.printStackTrace();
-      throw new RuntimeException("Failed to create booking", e);
-    } finally {
-      if (conn != null) {
-        try {
-          conn.setAutoCommit(true);
-        } catch (SQLException e) {
-          e.printStackTrace();
-        }
-      }
-    }
-  }
+  Booking getBookingById(int bookingId);
 
-  public List<Booking> getBookingsByUserId(int userId) {
-    List<Booking> bookings = new ArrayList<>();
-    String query = "SELECT * FROM bookings WHERE user_id = ? ORDER BY booking_date DESC";
-    try (Connection conn = Database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(query)) {
+  boolean updateBookingStatus(int bookingId, String status);
 
-      stmt.setInt(1, userId);
-      ResultSet rs = stmt.executeQuery();
-      while (rs.next()) {
-        bookings.add(mapResultSetToBooking(rs));
-      }
-    } catch (Exception e) {
-      System.err.println("Error getting bookings: " + e.getMessage());
-      e.printStackTrace();
-    }
-    return bookings;
-  }
+  /**
+   * Cancels a booking only if it is still PENDING, so a payment that lands at
+   * the same moment wins. Returns true if this call cancelled it.
+   */
+  boolean cancelIfPending(int bookingId);
 
-  public Booking getBookingById(int bookingId) {
-    String query = "SELECT * FROM bookings WHERE id = ?";
-    try (Connection conn = Database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(query)) {
-      stmt.setInt(1, bookingId);
-      ResultSet rs = stmt.executeQuery();
-      if (rs.next()) {
-        return mapResultSetToBooking(rs);
-      }
-    } catch (Exception e) {
-      System.err.println("Error getting booking by ID: " + e.getMessage());
-      e.printStackTrace();
-    }
-    return null;
-  }
+  /**
+   * Cancels a booking only if it is PENDING or CONFIRMED, in one conditional
+   * UPDATE. Returns the status it had before, or null if this call didn't
+   * cancel it (already cancelled, or missing), so callers undo statistics
+   * and seats exactly once.
+   */
+  String cancelIfActive(int bookingId);
 
-  public boolean updateBookingStatus(int bookingId, String status) {
-    String query = "UPDATE bookings SET status = ? WHERE id = ?";
-    try (Connection conn = Database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(query)) {
+  /**
+   * Confirms a booking only if it is still PENDING, so a booking that expiry
+   * already cancelled can't come back without its seats. Returns true if
+   * this call confirmed it.
+   */
+  boolean confirmIfPending(int bookingId);
 
-      stmt.setString(1, status);
-      stmt.setInt(2, bookingId);
-      return stmt.executeUpdate() > 0;
-    } catch (Exception e) {
-      System.err.println("Error updating booking status: " + e.getMessage());
-      e.printStackTrace();
-      return false;
-    }
-  }
+  /**
+   * Cancels every booking in the batch that is still PENDING and has no
+   * successful payment, in one statement. Returns the bookings this call
+   * cancelled, each with its seat numbers, so their seats can be released.
+   */
+  Map<Booking, List<Integer>> cancelUnpaidBookings(Collection<Integer> bookingIds);
 
-  private Booking mapResultSetToBooking(ResultSet rs) throws SQLException {
-    Timestamp ts = rs.getTimestamp("booking_date");
-    return new Booking(
-        rs.getInt("id"),
-        rs.getInt("user_id"),
-        rs.getInt("schedule_id"),
-        rs.getString("status"),
-        ts != null ? ts.toLocalDateTime() : null);
-  }
+  /**
+   * Gets every claimed (seat, segment) cell for a schedule on one travel
+   * date, as {seat_number, segment_index} pairs. Only active bookings hold
+   * rows in booked_seats.
+   */
+  List<int[]> getBookedSeatSegments(int scheduleId, LocalDate travelDate);
 
   /**
-   * Gets all occupied seat numbers for a specific schedule.
+   * Gets all occupied seat numbers for a schedule on one travel date.
    * Returns seats that are booked and confirmed.
    */
-  public List<Integer> getOccupiedSeats(int scheduleId) {
-    List<Integer> occupied = new ArrayList<>();
-    String query = "SELECT DISTINCT p.seat_number " +
-        "FROM passengers p " +
-        "JOIN bookings b ON p.booking_id = b.id " +
-        "WHERE b.schedule_id = ? AND p.seat_number > 0 " +
-        "AND b.status IN ('PENDING', 'CONFIRMED')";
+  List<Integer> getOccupiedSeats(int scheduleId, LocalDate travelDate);
 
-    try (Connection conn = Database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(query)) {
-      stmt.setInt(1, scheduleId);
-      ResultSet rs = stmt.executeQuery();
-      while (rs.next()) {
-        occupied.add(rs.getInt("seat_number"));
-      }
-    } catch (Exception e) {
-      System.err.println("Error getting occupied seats: " + e.getMessage());
-      e.printStackTrace();
-    }
-    return occupied;
-  }
+  /**
+   * Gets the seat numbers held by a booking.
+   */
+  List<Integer> getSeatNumbersByBookingId(int bookingId);
 
-  public boolean isSeatBooked(int scheduleId, int seatNumber) {
-    return getOccupiedSeats(scheduleId).contains(seatNumber);
-  }
+  boolean isSeatBooked(int scheduleId, LocalDate travelDate, int seatNumber);
 
   /**
    * Gets all PENDING bookings.
    */
-  public List<Booking> getPendingBookings() {
-    List<Booking> bookings = new ArrayList<>();
-    String query = "SELECT * FROM bookings WHERE status = 'PENDING' ORDER BY booking_date ASC";
-    try (Connection conn = Database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(query)) {
-      ResultSet rs = stmt.executeQuery();
-      while (rs.next()) {
-        bookings.add(mapResultSetToBooking(rs));
-      }
-    } catch (Exception e) {
-      System.err.println("Error getting pending bookings: " + e.getMessage());
-      e.printStackTrace();
-    }
-    return bookings;
-  }
+  List<Booking> getPendingBookings();
 
   /**
    * Gets all CONFIRMED bookings.
    */
-  public List<Booking> getConfirmedBookings() {
-    List<Booking> bookings = new ArrayList<>();
-    String query = "SELECT * FROM bookings WHERE status = 'CONFIRMED' ORDER BY booking_date ASC";
-    try (Connection conn = Database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(query)) {
-      ResultSet rs = stmt.executeQuery();
-      while (rs.next()) {
-        bookings.add(mapResultSetToBooking(rs));
-      }
-    } catch (Exception e) {
-      System.err.println("Error getting confirmed bookings: " + e.getMessage());
-      e.printStackTrace();
-    }
-    return bookings;
-  }
+  List<Booking> getConfirmedBookings();
 
   /**
    * Gets all bookings (for statistics).
    */
-  public List<Booking> getAllBookings() {
-    List<Booking> bookings = new ArrayList<>();
-    String query = "SELECT * FROM bookings ORDER BY booking_date DESC";
-    try (Connection conn = Database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(query)) {
-      ResultSet rs = stmt.executeQuery();
-      while (rs.next()) {
-        bookings.add(mapResultSetToBooking(rs));
-      }
-    } catch (Exception e) {
-      System.err.println("Error getting all bookings: " + e.getMessage());
-      e.printStackTrace();
-    }
-    return bookings;
-  }
+  List<Booking> getAllBookings();
+
+  /**
+   * Counts bookings per status with one GROUP BY instead of loading them.
+   */
+  Map<String, Long> countBookingsByStatus();
+
+  /**
+   * Number of bookings per schedule id, from one GROUP BY query. The result
+   * is cached for BOOKING_COUNTS_TTL_MILLIS and dropped on every booking
+   * write. Schedules without bookings are absent from the map.
+   */
+  Map<Integer, Integer> getBookingCountsBySchedule();
+
+  /**
+   * Drops the cached per-schedule counts, e.g. after another instance wrote
+   * a booking.
+   */
+  void invalidateBookingCounts();
+
+  /**
+   * Streams every booking with its paid amount and ticket count, oldest
+   * first, through a server-side cursor so memory stays flat however many
+   * bookings there are. Exceptions thrown by the consumer stop the scan and
+   * propagate.
+   */
+  void forEachReportRow(Consumer<ReportRow> consumer) throws Exception;
 
   /**
    * Gets bookings by schedule ID.
    */
-  public List<Booking> getBookingsByScheduleId(int scheduleId) {
-    List<Booking> bookings = new ArrayList<>();
-    String query = "SELECT * FROM bookings WHERE schedule_id = ? ORDER BY booking_date DESC";
-    try (Connection conn = Database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(query)) {
-      stmt.setInt(1, scheduleId);
-      ResultSet rs = stmt.executeQuery();
-      while (rs.next()) {
-        bookings.add(mapResultSetToBooking(rs));
-      }
-    } catch (Exception e) {
-      System.err.println("Error getting bookings by schedule: " + e.getMessage());
-      e.printStackTrace();
-    }
-    return bookings;
-  }
+  List<Booking> getBookingsByScheduleId(int scheduleId);
 
   /**
    * Gets all active bookings (PENDING and CONFIRMED status).
    */
-  public List<Booking> getActiveBookings() {
-    List<Booking> bookings = new ArrayList<>();
-    String query = "SELECT * FROM bookings WHERE status IN ('PENDING', 'CONFIRMED') ORDER BY booking_date DESC";
-    try (Connection conn = Database.getConnection();
-        PreparedStatement stmt = conn.prepareStatement(query)) {
-      ResultSet rs = stmt.executeQuery();
-      while (rs.next()) {
-        bookings.add(mapResultSetToBooking(rs));
-      }
-    } catch (Exception e) {
-      System.err.println("Error getting active bookings: " + e.getMessage());
-      e.printStackTrace();
+  List<Booking> getActiveBookings();
+
+  /**
+   * One booking as exported by the staff report. Amounts are in cents.
+   */
+  public static class ReportRow {
+    public final int bookingId;
+    public final int userId;
+    public final int scheduleId;
+    public final String status;
+    public final long paidCents;
+    public final LocalDateTime bookingDate;
+    public final LocalDate travelDate;
+    public final int tickets;
+
+    public ReportRow(int bookingId, int userId, int scheduleId, String status, long paidCents,
+        LocalDateTime bookingDate, LocalDate travelDate, int tickets) {
+      this.bookingId = bookingId;
+      this.userId = userId;
+      this.scheduleId = scheduleId;
+      this.status = status;
+      this.paidCents = paidCents;
+      this.bookingDate = bookingDate;
+      this.travelDate = travelDate;
+      this.tickets = tickets;
     }
-    return bookings;
   }
 }
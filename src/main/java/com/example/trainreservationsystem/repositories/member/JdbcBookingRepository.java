@@ -0,0 +1,630 @@
+package com.example.trainreservationsystem.repositories.member;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.example.trainreservationsystem.models.member.Booking;
+import com.example.trainreservationsystem.models.member.Passenger;
+import com.example.trainreservationsystem.models.member.Ticket;
+import com.example.trainreservationsystem.utils.shared.database.Database;
+
+public class JdbcBookingRepository implements BookingRepository {
+  private static final long DEFAULT_COUNTS_TTL_MILLIS = 5000;
+  private static final int REPORT_FETCH_SIZE = 1000;
+
+  // Per-schedule booking counts, reloaded after the TTL or any booking write
+  private final long countsTtlMillis = Database.getLongSetting("BOOKING_COUNTS_TTL_MILLIS",
+      DEFAULT_COUNTS_TTL_MILLIS);
+  private final AtomicLong writeVersion = new AtomicLong();
+  private volatile CachedCounts cachedCounts;
+
+  @Override
+  public Booking createBooking(Booking booking, int fromSegment, int toSegment) {
+    String insertBooking = "INSERT INTO bookings (user_id, schedule_id, status, booking_date, travel_date, from_stop_id, to_stop_id) VALUES (?, ?, ?, CURRENT_TIMESTAMP, ?, ?, ?) RETURNING id, booking_date";
+    List<Passenger> passengers = booking.getPassengers() != null ? booking.getPassengers() : List.of();
+    List<Ticket> tickets = booking.getTickets() != null ? booking.getTickets() : List.of();
+    List<Integer> seats = new ArrayList<>();
+    for (Passenger p : passengers) {
+      if (p.getSeatNumber() > 0) {
+        seats.add(p.getSeatNumber());
+      }
+    }
+
+    Connection conn = null;
+    try {
+      conn = Database.getConnection();
+      conn.setAutoCommit(false); // Transaction
+
+      Date travelDate = Date.valueOf(booking.getEffectiveTravelDate());
+      try (PreparedStatement stmt = conn.prepareStatement(insertBooking)) {
+        stmt.setInt(1, booking.getUserId());
+        stmt.setInt(2, booking.getScheduleId());
+        stmt.setString(3, booking.getStatus());
+        stmt.setDate(4, travelDate);
+        stmt.setObject(5, booking.getFromStopId(), Types.INTEGER);
+        stmt.setObject(6, booking.getToStopId(), Types.INTEGER);
+
+        ResultSet rs = stmt.executeQuery();
+        if (!rs.next()) {
+          throw new SQLException("Booking insert returned no id");
+        }
+        booking.setId(rs.getInt("id"));
+        Timestamp bookedAt = rs.getTimestamp("booking_date");
+        booking.setBookingDate(bookedAt != null ? bookedAt.toLocalDateTime() : null);
+      }
+      int bookingId = booking.getId();
+
+      // Claim each seat on each segment first; the primary key rejects a seat
+      // another booking holds on any of them
+      if (!seats.isEmpty() && toSegment > fromSegment) {
+        String insertBookedSeats = "INSERT INTO booked_seats (schedule_id, travel_date, seat_number, segment_index, booking_id) "
+            + "SELECT ?, ?, seat, segment, ? FROM unnest(?::int[]) AS seat CROSS JOIN generate_series(?, ?) AS segment";
+        try (PreparedStatement stmt = conn.prepareStatement(insertBookedSeats)) {
+          stmt.setInt(1, booking.getScheduleId());
+          stmt.setDate(2, travelDate);
+          stmt.setInt(3, bookingId);
+          stmt.setArray(4, conn.createArrayOf("integer", seats.toArray()));
+          stmt.setInt(5, fromSegment);
+          stmt.setInt(6, toSegment - 1);
+          stmt.executeUpdate();
+        }
+      }
+
+      if (!passengers.isEmpty()) {
+        String insertPassengers = "INSERT INTO passengers (booking_id, name, age, bring_pet, has_wheelchair, seat_number) VALUES "
+            + valueRows(passengers.size(), 6) + " RETURNING id";
+        try (PreparedStatement stmt = conn.prepareStatement(insertPassengers)) {
+          int i = 1;
+          for (Passenger p : passengers) {
+            stmt.setInt(i++, bookingId);
+            stmt.setString(i++, p.getName());
+            stmt.setInt(i++, p.getAge());
+            stmt.setBoolean(i++, p.isBringPet());
+            stmt.setBoolean(i++, p.isHasWheelchair());
+            stmt.setInt(i++, p.getSeatNumber());
+          }
+          // RETURNING yields rows in VALUES order for a single-statement insert
+          ResultSet rs = stmt.executeQuery();
+          for (Passenger p : passengers) {
+            if (rs.next()) {
+              p.setId(rs.getInt("id"));
+            }
+          }
+        }
+      }
+
+      if (!tickets.isEmpty()) {
+        String insertTickets = "INSERT INTO tickets (booking_id, seat_id, qr_code, status, created_at) VALUES "
+            + valueRows(tickets.size(), 4, "CURRENT_TIMESTAMP") + " RETURNING id, qr_code";
+        Map<String, Ticket> ticketsByQr = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(insertTickets)) {
+          int i = 1;
+          for (Ticket t : tickets) {
+            t.setBookingId(bookingId);
+            ticketsByQr.put(t.getQrCode(), t);
+            stmt.setInt(i++, bookingId);
+            stmt.setInt(i++, t.getSeatId());
+            stmt.setString(i++, t.getQrCode());
+            stmt.setString(i++, t.getStatus());
+          }
+          ResultSet rs = stmt.executeQuery();
+          while (rs.next()) {
+            Ticket t = ticketsByQr.get(rs.getString("qr_code"));
+            if (t != null) {
+              t.setId(rs.getInt("id"));
+            }
+          }
+        }
+      }
+
+      conn.commit();
+      invalidateBookingCounts();
+      return booking;
+    } catch (SQLException e) {
+      rollbackQuietly(conn);
+      if (isUniqueViolation(e)) {
+        System.err.println("Seat conflict creating booking: " + e.getMessage());
+        throw new IllegalArgumentException(
+            "One or more of the selected seats has just been booked by someone else. Please choose different seats.");
+      }
+      System.err.println("Error creating booking: " + e.getMessage());
+      e.printStackTrace();
+      throw new RuntimeException("Failed to create booking", e);
+    } catch (Exception e) {
+      rollbackQuietly(conn);
+      System.err.println("Error creating booking: " + e.getMessage());
+      e.printStackTrace();
+      throw new RuntimeException("Failed to create booking", e);
+    } finally {
+      if (conn != null) {
+        try {
+          conn.setAutoCommit(true);
+          conn.close(); // Return connection to the pool
+        } catch (SQLException e) {
+          e.printStackTrace();
+        }
+      }
+    }
+  }
+
+  /**
+   * Builds "(?, ?), (?, ?), ..." for a multi-row insert, with any trailing
+   * SQL expressions appended to every row.
+   */
+  private static String valueRows(int rows, int params, String... expressions) {
+    StringBuilder row = new StringBuilder("(");
+    for (int i = 0; i < params; i++) {
+      row.append(i > 0 ? ", ?" : "?");
+    }
+    for (String expression : expressions) {
+      row.append(", ").append(expression);
+    }
+    row.append(")");
+
+    StringBuilder sql = new StringBuilder();
+    for (int r = 0; r < rows; r++) {
+      if (r > 0) {
+        sql.append(", ");
+      }
+      sql.append(row);
+    }
+    return sql.toString();
+  }
+
+  private static void rollbackQuietly(Connection conn) {
+    if (conn != null) {
+      try {
+        conn.rollback();
+      } catch (SQLException ex) {
+        ex.printStackTrace();
+      }
+    }
+  }
+
+  private static boolean isUniqueViolation(SQLException e) {
+    for (SQLException current = e; current != null; current = current.getNextException()) {
+      if ("23505".equals(current.getSQLState())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public List<Booking> getBookingsByUserId(int userId) {
+    List<Booking> bookings = new ArrayList<>();
+    String query = "SELECT * FROM bookings WHERE user_id = ? ORDER BY booking_date DESC";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+
+      stmt.setInt(1, userId);
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        bookings.add(mapResultSetToBooking(rs));
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting bookings: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return bookings;
+  }
+
+  @Override
+  public Booking getBookingById(int bookingId) {
+    String query = "SELECT * FROM bookings WHERE id = ?";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setInt(1, bookingId);
+      ResultSet rs = stmt.executeQuery();
+      if (rs.next()) {
+        return mapResultSetToBooking(rs);
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting booking by ID: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return null;
+  }
+
+  @Override
+  public boolean updateBookingStatus(int bookingId, String status) {
+    String query = "UPDATE bookings SET status = ? WHERE id = ?";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+
+      stmt.setString(1, status);
+      stmt.setInt(2, bookingId);
+      boolean updated = stmt.executeUpdate() > 0;
+      if (updated) {
+        invalidateBookingCounts();
+      }
+      return updated;
+    } catch (Exception e) {
+      System.err.println("Error updating booking status: " + e.getMessage());
+      e.printStackTrace();
+      return false;
+    }
+  }
+
+  @Override
+  public boolean cancelIfPending(int bookingId) {
+    String query = "UPDATE bookings SET status = 'CANCELLED' WHERE id = ? AND status = 'PENDING'";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setInt(1, bookingId);
+      boolean cancelled = stmt.executeUpdate() > 0;
+      if (cancelled) {
+        invalidateBookingCounts();
+      }
+      return cancelled;
+    } catch (Exception e) {
+      System.err.println("Error cancelling pending booking: " + e.getMessage());
+      e.printStackTrace();
+      return false;
+    }
+  }
+
+  @Override
+  public String cancelIfActive(int bookingId) {
+    // The locked subquery sees the status from before the update
+    String query = "UPDATE bookings b SET status = 'CANCELLED' " +
+        "FROM (SELECT id, status FROM bookings WHERE id = ? FOR UPDATE) old " +
+        "WHERE b.id = old.id AND old.status IN ('PENDING', 'CONFIRMED') " +
+        "RETURNING old.status";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setInt(1, bookingId);
+      ResultSet rs = stmt.executeQuery();
+      if (rs.next()) {
+        invalidateBookingCounts();
+        return rs.getString(1);
+      }
+    } catch (Exception e) {
+      System.err.println("Error cancelling booking: " + e.getMessage());
+      e.printStackTrace();
+      throw new RuntimeException("Failed to cancel booking", e);
+    }
+    return null;
+  }
+
+  @Override
+  public boolean confirmIfPending(int bookingId) {
+    String query = "UPDATE bookings SET status = 'CONFIRMED' WHERE id = ? AND status = 'PENDING'";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setInt(1, bookingId);
+      boolean confirmed = stmt.executeUpdate() > 0;
+      if (confirmed) {
+        invalidateBookingCounts();
+      }
+      return confirmed;
+    } catch (Exception e) {
+      System.err.println("Error confirming pending booking: " + e.getMessage());
+      e.printStackTrace();
+      return false;
+    }
+  }
+
+  @Override
+  public Map<Booking, List<Integer>> cancelUnpaidBookings(Collection<Integer> bookingIds) {
+    Map<Booking, List<Integer>> cancelled = new LinkedHashMap<>();
+    if (bookingIds.isEmpty()) {
+      return cancelled;
+    }
+    String query = "WITH cancelled AS (" +
+        "  UPDATE bookings b SET status = 'CANCELLED' " +
+        "  WHERE b.id = ANY(?) AND b.status = 'PENDING' " +
+        "  AND NOT EXISTS (SELECT 1 FROM payments p WHERE p.booking_id = b.id AND p.status = 'SUCCESS') " +
+        "  RETURNING b.*) " +
+        "SELECT c.*, ps.seat_number FROM cancelled c " +
+        "LEFT JOIN passengers ps ON ps.booking_id = c.id AND ps.seat_number > 0 " +
+        "ORDER BY c.id";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setArray(1, conn.createArrayOf("integer", bookingIds.toArray()));
+      ResultSet rs = stmt.executeQuery();
+      Booking current = null;
+      while (rs.next()) {
+        if (current == null || current.getId() != rs.getInt("id")) {
+          current = mapResultSetToBooking(rs);
+          cancelled.put(current, new ArrayList<>());
+        }
+        int seat = rs.getInt("seat_number");
+        if (!rs.wasNull()) {
+          cancelled.get(current).add(seat);
+        }
+      }
+      if (!cancelled.isEmpty()) {
+        invalidateBookingCounts();
+      }
+    } catch (Exception e) {
+      System.err.println("Error cancelling unpaid bookings: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return cancelled;
+  }
+
+  // Package-private and static so the mapping benchmark can drive it directly
+  static Booking mapResultSetToBooking(ResultSet rs) throws SQLException {
+    Timestamp ts = rs.getTimestamp("booking_date");
+    Date travelDate = rs.getDate("travel_date");
+    Booking booking = new Booking(
+        rs.getInt("id"),
+        rs.getInt("user_id"),
+        rs.getInt("schedule_id"),
+        rs.getString("status"),
+        ts != null ? ts.toLocalDateTime() : null,
+        travelDate != null ? travelDate.toLocalDate() : null);
+    booking.setFromStopId(rs.getObject("from_stop_id", Integer.class));
+    booking.setToStopId(rs.getObject("to_stop_id", Integer.class));
+    return booking;
+  }
+
+  @Override
+  public List<int[]> getBookedSeatSegments(int scheduleId, LocalDate travelDate) {
+    List<int[]> cells = new ArrayList<>();
+    // Served by the booked_seats primary key
+    String query = "SELECT seat_number, segment_index FROM booked_seats WHERE schedule_id = ? AND travel_date = ?";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setInt(1, scheduleId);
+      stmt.setDate(2, Date.valueOf(travelDate));
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        cells.add(new int[] { rs.getInt("seat_number"), rs.getInt("segment_index") });
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting booked seat segments: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return cells;
+  }
+
+  @Override
+  public List<Integer> getOccupiedSeats(int scheduleId, LocalDate travelDate) {
+    List<Integer> occupied = new ArrayList<>();
+    // Served by idx_bookings_schedule_travel_status
+    String query = "SELECT DISTINCT p.seat_number " +
+        "FROM bookings b " +
+        "JOIN passengers p ON p.booking_id = b.id " +
+        "WHERE b.schedule_id = ? AND b.travel_date = ? " +
+        "AND b.status IN ('PENDING', 'CONFIRMED') AND p.seat_number > 0";
+
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setInt(1, scheduleId);
+      stmt.setDate(2, Date.valueOf(travelDate));
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        occupied.add(rs.getInt("seat_number"));
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting occupied seats: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return occupied;
+  }
+
+  @Override
+  public List<Integer> getSeatNumbersByBookingId(int bookingId) {
+    List<Integer> seats = new ArrayList<>();
+    String query = "SELECT seat_number FROM passengers WHERE booking_id = ? AND seat_number > 0";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setInt(1, bookingId);
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        seats.add(rs.getInt("seat_number"));
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting booking seats: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return seats;
+  }
+
+  @Override
+  public boolean isSeatBooked(int scheduleId, LocalDate travelDate, int seatNumber) {
+    return getOccupiedSeats(scheduleId, travelDate).contains(seatNumber);
+  }
+
+  @Override
+  public List<Booking> getPendingBookings() {
+    List<Booking> bookings = new ArrayList<>();
+    String query = "SELECT * FROM bookings WHERE status = 'PENDING' ORDER BY booking_date ASC";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        bookings.add(mapResultSetToBooking(rs));
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting pending bookings: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return bookings;
+  }
+
+  @Override
+  public List<Booking> getConfirmedBookings() {
+    List<Booking> bookings = new ArrayList<>();
+    String query = "SELECT * FROM bookings WHERE status = 'CONFIRMED' ORDER BY booking_date ASC";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        bookings.add(mapResultSetToBooking(rs));
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting confirmed bookings: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return bookings;
+  }
+
+  @Override
+  public List<Booking> getAllBookings() {
+    List<Booking> bookings = new ArrayList<>();
+    String query = "SELECT * FROM bookings ORDER BY booking_date DESC";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        bookings.add(mapResultSetToBooking(rs));
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting all bookings: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return bookings;
+  }
+
+  @Override
+  public Map<String, Long> countBookingsByStatus() {
+    Map<String, Long> counts = new HashMap<>();
+    String query = "SELECT status, COUNT(*) AS count FROM bookings GROUP BY status";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        counts.put(rs.getString("status"), rs.getLong("count"));
+      }
+    } catch (Exception e) {
+      System.err.println("Error counting bookings by status: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return counts;
+  }
+
+  @Override
+  public Map<Integer, Integer> getBookingCountsBySchedule() {
+    CachedCounts cached = cachedCounts;
+    long now = System.currentTimeMillis();
+    if (cached != null && now - cached.loadedAt < countsTtlMillis) {
+      return cached.counts;
+    }
+
+    // A write during the query bumps the version, so its result is not cached
+    long version = writeVersion.get();
+    Map<Integer, Integer> counts = new HashMap<>();
+    String query = "SELECT schedule_id, COUNT(*) AS count FROM bookings GROUP BY schedule_id";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        counts.put(rs.getInt("schedule_id"), rs.getInt("count"));
+      }
+    } catch (Exception e) {
+      System.err.println("Error counting bookings by schedule: " + e.getMessage());
+      e.printStackTrace();
+      return cached != null ? cached.counts : Map.of();
+    }
+    counts = Collections.unmodifiableMap(counts);
+    if (writeVersion.get() == version) {
+      cachedCounts = new CachedCounts(counts, now);
+    }
+    return counts;
+  }
+
+  @Override
+  public void invalidateBookingCounts() {
+    writeVersion.incrementAndGet();
+    cachedCounts = null;
+  }
+
+  @Override
+  public void forEachReportRow(Consumer<ReportRow> consumer) throws Exception {
+    String query = "SELECT b.id, b.user_id, b.schedule_id, b.status, b.booking_date, " +
+        "COALESCE(b.travel_date, b.booking_date::date) AS travel_date, " +
+        "COALESCE(pay.paid, 0) AS paid, COALESCE(t.tickets, 0) AS tickets " +
+        "FROM bookings b " +
+        "LEFT JOIN (SELECT booking_id, SUM(amount) AS paid FROM payments " +
+        "  WHERE status = 'SUCCESS' GROUP BY booking_id) pay ON pay.booking_id = b.id " +
+        "LEFT JOIN (SELECT booking_id, COUNT(*) AS tickets FROM tickets " +
+        "  GROUP BY booking_id) t ON t.booking_id = b.id " +
+        "ORDER BY b.id";
+    try (Connection conn = Database.getConnection()) {
+      conn.setAutoCommit(false); // Cursors need a transaction
+      try (PreparedStatement stmt = conn.prepareStatement(query)) {
+        stmt.setFetchSize(REPORT_FETCH_SIZE);
+        try (ResultSet rs = stmt.executeQuery()) {
+          while (rs.next()) {
+            Timestamp bookedAt = rs.getTimestamp("booking_date");
+            Date travelDate = rs.getDate("travel_date");
+            consumer.accept(new ReportRow(
+                rs.getInt("id"),
+                rs.getInt("user_id"),
+                rs.getInt("schedule_id"),
+                rs.getString("status"),
+                rs.getBigDecimal("paid").movePointRight(2).longValue(),
+                bookedAt != null ? bookedAt.toLocalDateTime() : null,
+                travelDate != null ? travelDate.toLocalDate() : null,
+                rs.getInt("tickets")));
+          }
+        }
+      } finally {
+        conn.commit();
+      }
+    }
+  }
+
+  @Override
+  public List<Booking> getBookingsByScheduleId(int scheduleId) {
+    List<Booking> bookings = new ArrayList<>();
+    String query = "SELECT * FROM bookings WHERE schedule_id = ? ORDER BY booking_date DESC";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setInt(1, scheduleId);
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        bookings.add(mapResultSetToBooking(rs));
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting bookings by schedule: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return bookings;
+  }
+
+  @Override
+  public List<Booking> getActiveBookings() {
+    List<Booking> bookings = new ArrayList<>();
+    String query = "SELECT * FROM bookings WHERE status IN ('PENDING', 'CONFIRMED') ORDER BY booking_date DESC";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        bookings.add(mapResultSetToBooking(rs));
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting active bookings: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return bookings;
+  }
+
+  private static class CachedCounts {
+    private final Map<Integer, Integer> counts;
+    private final long loadedAt;
+
+    CachedCounts(Map<Integer, Integer> counts, long loadedAt) {
+      this.counts = counts;
+      this.loadedAt = loadedAt;
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package com.example.trainreservationsystem.repositories.member;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.trainreservationsystem.models.member.Notification;
+import com.example.trainreservationsystem.utils.shared.database.Database;
+
+public class JdbcNotificationRepository implements NotificationRepository {
+
+    @Override
+    public List<Notification> getNotificationsByUserId(int userId) {
+        List<Notification> notifications = new ArrayList<>();
+        String query = "SELECT * FROM notifications WHERE user_id = ? ORDER BY created_at DESC, id DESC";
+        try (Connection conn = Database.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, userId);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                notifications.add(mapResultSetToNotification(rs));
+            }
+        } catch (Exception e) {
+            System.err.println("Error getting notifications: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return notifications;
+    }
+
+    @Override
+    public List<Notification> getNotificationsPage(int userId, LocalDateTime beforeCreatedAt, int beforeId,
+            int limit) {
+        List<Notification> notifications = new ArrayList<>();
+        String query = beforeCreatedAt == null
+                ? "SELECT * FROM notifications WHERE user_id = ? " +
+                        "ORDER BY created_at DESC, id DESC LIMIT ?"
+                : "SELECT * FROM notifications WHERE user_id = ? AND (created_at, id) < (?, ?) " +
+                        "ORDER BY created_at DESC, id DESC LIMIT ?";
+        try (Connection conn = Database.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+            int i = 1;
+            stmt.setInt(i++, userId);
+            if (beforeCreatedAt != null) {
+                stmt.setTimestamp(i++, Timestamp.valueOf(beforeCreatedAt));
+                stmt.setInt(i++, beforeId);
+            }
+            stmt.setInt(i, limit);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                notifications.add(mapResultSetToNotification(rs));
+            }
+        } catch (Exception e) {
+            System.err.println("Error getting notifications page: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return notifications;
+    }
+
+    @Override
+    public int countUnread(int userId) {
+        String query = "SELECT COUNT(*) FROM notifications WHERE user_id = ? AND sent = false";
+        try (Connection conn = Database.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, userId);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (Exception e) {
+            System.err.println("Error counting unread notifications: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    @Override
+    public void saveNotification(Notification notification) {
+        String query = "INSERT INTO notifications (user_id, message, sent, created_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP) RETURNING id";
+        try (Connection conn = Database.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, notification.getUserId());
+            stmt.setString(2, notification.getMessage());
+            stmt.setBoolean(3, notification.isSent());
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                notification.setId(rs.getInt(1));
+            }
+        } catch (Exception e) {
+            System.err.println("Error saving notification: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to save notification", e);
+        }
+    }
+
+    @Override
+    public int saveNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        String query = "INSERT INTO notifications (user_id, message, sent, created_at) " +
+                "SELECT t.user_id, t.message, t.sent, COALESCE(t.created_at, CURRENT_TIMESTAMP) " +
+                "FROM unnest(?::int[], ?::text[], ?::boolean[], ?::timestamp[]) WITH ORDINALITY " +
+                "AS t(user_id, message, sent, created_at, n) " +
+                "ORDER BY t.n";
+        Integer[] userIds = new Integer[notifications.size()];
+        String[] messages = new String[notifications.size()];
+        Boolean[] sent = new Boolean[notifications.size()];
+        Timestamp[] createdAt = new Timestamp[notifications.size()];
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification notification = notifications.get(i);
+            userIds[i] = notification.getUserId();
+            messages[i] = notification.getMessage();
+            sent[i] = notification.isSent();
+            createdAt[i] = notification.getCreatedAt() != null ? Timestamp.valueOf(notification.getCreatedAt()) : null;
+        }
+        try (Connection conn = Database.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setArray(1, conn.createArrayOf("integer", userIds));
+            stmt.setArray(2, conn.createArrayOf("text", messages));
+            stmt.setArray(3, conn.createArrayOf("boolean", sent));
+            stmt.setArray(4, conn.createArrayOf("timestamp", createdAt));
+            return stmt.executeUpdate();
+        } catch (Exception e) {
+            System.err.println("Error saving notifications: " + e.getMessage());
+            throw new RuntimeException("Failed to save notifications", e);
+        }
+    }
+
+    @Override
+    public boolean markAsRead(int notificationId) {
+        String query = "UPDATE notifications SET sent = true WHERE id = ?";
+        try (Connection conn = Database.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, notificationId);
+            return stmt.executeUpdate() > 0;
+        } catch (Exception e) {
+            System.err.println("Error marking notification as read: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean markAllAsRead(int userId) {
+        String query = "UPDATE notifications SET sent = true WHERE user_id = ? AND sent = false";
+        try (Connection conn = Database.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, userId);
+            return stmt.executeUpdate() > 0;
+        } catch (Exception e) {
+            System.err.println("Error marking notifications as read: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean deleteNotification(int notificationId) {
+        String query = "DELETE FROM notifications WHERE id = ?";
+        try (Connection conn = Database.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, notificationId);
+            return stmt.executeUpdate() > 0;
+        } catch (Exception e) {
+            System.err.println("Error deleting notification: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private Notification mapResultSetToNotification(ResultSet rs) throws SQLException {
+        Notification notification = new Notification(
+                rs.getInt("id"),
+                rs.getInt("user_id"),
+                rs.getString("message"),
+                rs.getBoolean("sent"));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        notification.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+        return notification;
+    }
+}
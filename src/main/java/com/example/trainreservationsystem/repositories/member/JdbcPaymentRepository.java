@@ -0,0 +1,175 @@
+package com.example.trainreservationsystem.repositories.member;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.trainreservationsystem.models.member.Payment;
+import com.example.trainreservationsystem.models.member.PaymentMethod;
+import com.example.trainreservationsystem.utils.shared.database.Database;
+
+public class JdbcPaymentRepository implements PaymentRepository {
+
+  @Override
+  public List<PaymentMethod> getPaymentMethods(int userId) {
+    List<PaymentMethod> methods = new ArrayList<>();
+    String query = "SELECT * FROM payment_methods WHERE user_id = ?";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setInt(1, userId);
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        methods.add(new PaymentMethod(
+            rs.getInt("id"),
+            rs.getInt("user_id"),
+            rs.getString("method_type"),
+            rs.getString("details")));
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting payment methods: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return methods;
+  }
+
+  @Override
+  public void savePaymentMethod(PaymentMethod method) {
+    String query = "INSERT INTO payment_methods (user_id, method_type, details) VALUES (?, ?, ?) RETURNING id";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setInt(1, method.getUserId());
+      stmt.setString(2, method.getMethodType());
+      stmt.setString(3, method.getDetails());
+      ResultSet rs = stmt.executeQuery();
+      if (rs.next()) {
+        method.setId(rs.getInt(1));
+      }
+    } catch (Exception e) {
+      System.err.println("Error saving payment method: " + e.getMessage());
+      e.printStackTrace();
+      throw new RuntimeException("Failed to save payment method", e);
+    }
+  }
+
+  @Override
+  public void savePayment(Payment payment) {
+    String query = "INSERT INTO payments (booking_id, amount, payment_method_id, status, payment_date) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setInt(1, payment.getBookingId());
+      stmt.setDouble(2, payment.getAmount());
+      stmt.setInt(3, payment.getPaymentMethodId());
+      stmt.setString(4, payment.getStatus());
+      stmt.executeUpdate();
+    } catch (Exception e) {
+      System.err.println("Error saving payment: " + e.getMessage());
+      e.printStackTrace();
+      throw new RuntimeException("Failed to save payment", e);
+    }
+  }
+
+  @Override
+  public boolean savePaymentAndConfirm(Payment payment, Runnable charge) {
+    String confirm = "UPDATE bookings SET status = 'CONFIRMED' WHERE id = ? AND status = 'PENDING'";
+    String insert = "INSERT INTO payments (booking_id, amount, payment_method_id, status, payment_date) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)";
+    Connection conn = null;
+    try {
+      conn = Database.getConnection();
+      conn.setAutoCommit(false); // Transaction
+
+      // Locks the booking row until commit, so expiry can't cancel it mid-payment
+      try (PreparedStatement stmt = conn.prepareStatement(confirm)) {
+        stmt.setInt(1, payment.getBookingId());
+        if (stmt.executeUpdate() == 0) {
+          conn.rollback();
+          return false;
+        }
+      }
+
+      charge.run();
+
+      try (PreparedStatement stmt = conn.prepareStatement(insert)) {
+        stmt.setInt(1, payment.getBookingId());
+        stmt.setDouble(2, payment.getAmount());
+        stmt.setInt(3, payment.getPaymentMethodId());
+        stmt.setString(4, payment.getStatus());
+        stmt.executeUpdate();
+      }
+
+      conn.commit();
+      return true;
+    } catch (RuntimeException e) {
+      rollbackQuietly(conn);
+      throw e;
+    } catch (Exception e) {
+      rollbackQuietly(conn);
+      System.err.println("Error saving payment: " + e.getMessage());
+      e.printStackTrace();
+      throw new RuntimeException("Failed to save payment", e);
+    } finally {
+      if (conn != null) {
+        try {
+          conn.setAutoCommit(true);
+          conn.close(); // Return connection to the pool
+        } catch (SQLException e) {
+          e.printStackTrace();
+        }
+      }
+    }
+  }
+
+  private static void rollbackQuietly(Connection conn) {
+    if (conn != null) {
+      try {
+        conn.rollback();
+      } catch (SQLException ex) {
+        ex.printStackTrace();
+      }
+    }
+  }
+
+  @Override
+  public List<Payment> getPaymentsByUserId(int userId) {
+    List<Payment> payments = new ArrayList<>();
+    String query = "SELECT p.* FROM payments p " +
+        "JOIN bookings b ON p.booking_id = b.id " +
+        "WHERE b.user_id = ? ORDER BY p.payment_date DESC";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setInt(1, userId);
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        Payment payment = new Payment();
+        payment.setBookingId(rs.getInt("booking_id"));
+        payment.setAmount(rs.getDouble("amount"));
+        payment.setPaymentMethodId(rs.getInt("payment_method_id"));
+        payment.setStatus(rs.getString("status"));
+        payments.add(payment);
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting payments: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return payments;
+  }
+
+  @Override
+  public boolean hasPaymentForBooking(int bookingId) {
+    String query = "SELECT COUNT(*) FROM payments WHERE booking_id = ? AND status = 'SUCCESS'";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setInt(1, bookingId);
+      ResultSet rs = stmt.executeQuery();
+      if (rs.next()) {
+        return rs.getInt(1) > 0;
+      }
+    } catch (Exception e) {
+      System.err.println("Error checking payment for booking: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return false;
+  }
+}
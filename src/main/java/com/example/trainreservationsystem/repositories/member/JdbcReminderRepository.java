@@ -0,0 +1,117 @@
+package com.example.trainreservationsystem.repositories.member;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.example.trainreservationsystem.models.member.Reminder;
+import com.example.trainreservationsystem.utils.shared.database.Database;
+
+/**
+ * JDBC implementation of {@link ReminderRepository}.
+ */
+public class JdbcReminderRepository implements ReminderRepository {
+  private static final String TRAVEL_DATE = "COALESCE(b.travel_date, b.booking_date::date)";
+  private static final String BOOKING_COLUMNS = "b.user_id, b.schedule_id, " + TRAVEL_DATE + " AS travel_date";
+
+  @Override
+  public List<Reminder> createForBooking(int bookingId, int[] hoursBefore) {
+    return insertReminders("AND b.id = ?", bookingId, hoursBefore);
+  }
+
+  @Override
+  public List<Reminder> createForConfirmedBookings(int[] hoursBefore) {
+    return insertReminders("", 0, hoursBefore);
+  }
+
+  private List<Reminder> insertReminders(String bookingFilter, int bookingId, int[] hoursBefore) {
+    List<Reminder> reminders = new ArrayList<>();
+    String remindAt = "(" + TRAVEL_DATE + " + s.departure_time) - make_interval(hours => h.hours)";
+    String query = "WITH inserted AS (" +
+        "  INSERT INTO reminders (booking_id, hours_before, remind_at) " +
+        "  SELECT b.id, h.hours, " + remindAt + " " +
+        "  FROM bookings b JOIN schedules s ON s.id = b.schedule_id " +
+        "  CROSS JOIN unnest(?::int[]) AS h(hours) " +
+        "  WHERE b.status = 'CONFIRMED' " + bookingFilter + " AND " + remindAt + " > CURRENT_TIMESTAMP " +
+        "  ON CONFLICT (booking_id, hours_before) DO NOTHING " +
+        "  RETURNING *) " +
+        "SELECT i.*, " + BOOKING_COLUMNS + " FROM inserted i JOIN bookings b ON b.id = i.booking_id";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      Integer[] hours = new Integer[hoursBefore.length];
+      for (int i = 0; i < hoursBefore.length; i++) {
+        hours[i] = hoursBefore[i];
+      }
+      stmt.setArray(1, conn.createArrayOf("integer", hours));
+      if (!bookingFilter.isEmpty()) {
+        stmt.setInt(2, bookingId);
+      }
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        reminders.add(mapResultSetToReminder(rs));
+      }
+    } catch (Exception e) {
+      System.err.println("Error creating reminders: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return reminders;
+  }
+
+  @Override
+  public List<Reminder> getUnsentReminders() {
+    List<Reminder> reminders = new ArrayList<>();
+    String query = "SELECT r.*, " + BOOKING_COLUMNS + " FROM reminders r " +
+        "JOIN bookings b ON b.id = r.booking_id " +
+        "WHERE r.sent = FALSE AND b.status = 'CONFIRMED' ORDER BY r.remind_at";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        reminders.add(mapResultSetToReminder(rs));
+      }
+    } catch (Exception e) {
+      System.err.println("Error getting unsent reminders: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return reminders;
+  }
+
+  @Override
+  public List<Reminder> claimDue(Collection<Integer> reminderIds) throws Exception {
+    List<Reminder> reminders = new ArrayList<>();
+    if (reminderIds.isEmpty()) {
+      return reminders;
+    }
+    String query = "WITH fired AS (" +
+        "  UPDATE reminders SET sent = TRUE WHERE id = ANY(?) AND sent = FALSE RETURNING *) " +
+        "SELECT f.*, " + BOOKING_COLUMNS + " FROM fired f JOIN bookings b ON b.id = f.booking_id " +
+        "WHERE b.status = 'CONFIRMED' " +
+        "AND f.remind_at + make_interval(hours => f.hours_before) > CURRENT_TIMESTAMP " +
+        "ORDER BY f.remind_at";
+    try (Connection conn = Database.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(query)) {
+      stmt.setArray(1, conn.createArrayOf("integer", reminderIds.toArray()));
+      ResultSet rs = stmt.executeQuery();
+      while (rs.next()) {
+        reminders.add(mapResultSetToReminder(rs));
+      }
+    }
+    return reminders;
+  }
+
+  private Reminder mapResultSetToReminder(ResultSet rs) throws SQLException {
+    return new Reminder(
+        rs.getInt("id"),
+        rs.getInt("booking_id"),
+        rs.getInt("user_id"),
+        rs.getInt("schedule_id"),
+        rs.getDate("travel_date").toLocalDate(),
+        rs.getInt("hours_before"),
+        rs.getTimestamp("remind_at").toLocalDateTime(),
+        rs.getBoolean("sent"));
+  }
+}
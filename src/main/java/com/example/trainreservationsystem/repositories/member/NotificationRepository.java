@@ -1,78 +1,34 @@
 package com.example.trainreservationsystem.repositories.member;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import com.example.trainreservationsystem.models.member.Notification;
-import com.example.trainreservationsystem.utils.shared.database.Database;
 
-public class NotificationRepository {
+public interface NotificationRepository {
+    List<Notification> getNotificationsByUserId(int userId);
 
-    public List<Notification> getNotificationsByUserId(int userId) {
-        List<Notification> notifications = new ArrayList<>();
-        String query = "SELECT * FROM notifications WHERE user_id = ? ORDER BY created_at DESC";
-        try (Connection conn = Database.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(query)) {
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                notifications.add(new Notification(
-                        rs.getInt("id"),
-                        rs.getInt("user_id"),
-                        rs.getString("message"),
-                        rs.getBoolean("sent")));
-            }
-        } catch (Exception e) {
-            System.err.println("Error getting notifications: " + e.getMessage());
-            e.printStackTrace();
-        }
-        return notifications;
-    }
+    /**
+     * One page of a user's notifications, newest first, strictly older than
+     * the (created_at, id) cursor. A null cursor returns the newest page.
+     */
+    List<Notification> getNotificationsPage(int userId, LocalDateTime beforeCreatedAt, int beforeId,
+            int limit);
 
-    public void saveNotification(Notification notification) {
-        String query = "INSERT INTO notifications (user_id, message, sent, created_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP) RETURNING id";
-        try (Connection conn = Database.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(query)) {
-            stmt.setInt(1, notification.getUserId());
-            stmt.setString(2, notification.getMessage());
-            stmt.setBoolean(3, notification.isSent());
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                notification.setId(rs.getInt(1));
-            }
-        } catch (Exception e) {
-            System.err.println("Error saving notification: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Failed to save notification", e);
-        }
-    }
+    int countUnread(int userId);
 
-    public boolean markAsRead(int notificationId) {
-        String query = "UPDATE notifications SET sent = true WHERE id = ?";
-        try (Connection conn = Database.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(query)) {
-            stmt.setInt(1, notificationId);
-            return stmt.executeUpdate() > 0;
-        } catch (Exception e) {
-            System.err.println("Error marking notification as read: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
-    }
+    void saveNotification(Notification notification);
 
-    public boolean deleteNotification(int notificationId) {
-        String query = "DELETE FROM notifications WHERE id = ?";
-        try (Connection conn = Database.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(query)) {
-            stmt.setInt(1, notificationId);
-            return stmt.executeUpdate() > 0;
-        } catch (Exception e) {
-            System.err.println("Error deleting notification: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
-    }
+    /**
+     * Inserts several notifications in one statement, in list order.
+     *
+     * @throws RuntimeException if the insert fails, so the caller can retry
+     */
+    int saveNotifications(List<Notification> notifications);
+
+    boolean markAsRead(int notificationId);
+
+    boolean markAllAsRead(int userId);
+
+    boolean deleteNotification(int notificationId);
 }
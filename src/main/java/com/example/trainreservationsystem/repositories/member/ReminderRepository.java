@@ -0,0 +1,44 @@
+package com.example.trainreservationsystem.repositories.member;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.example.trainreservationsystem.models.member.Reminder;
+
+/**
+ * Departure reminders of confirmed bookings. Each (booking, hours before)
+ * pair is stored once, and a reminder is marked sent in the same statement
+ * that claims it, so it fires exactly once even across instances.
+ */
+public interface ReminderRepository {
+  /**
+   * Creates the reminders of one confirmed booking whose instants are still
+   * ahead.
+   *
+   * @return the reminders created by this call
+   */
+  List<Reminder> createForBooking(int bookingId, int[] hoursBefore);
+
+  /**
+   * Creates any missing future reminders for all confirmed bookings, e.g.
+   * those confirmed before reminders were stored.
+   *
+   * @return the reminders created by this call
+   */
+  List<Reminder> createForConfirmedBookings(int[] hoursBefore);
+
+  /**
+   * Unsent reminders of confirmed bookings, earliest first.
+   */
+  List<Reminder> getUnsentReminders();
+
+  /**
+   * Marks the given reminders as sent and returns the ones this call claimed
+   * that are still worth sending: the booking is still confirmed and the
+   * train hasn't left yet.
+   *
+   * @throws Exception if the claim fails; none of the reminders are then
+   *                   marked sent
+   */
+  List<Reminder> claimDue(Collection<Integer> reminderIds) throws Exception;
+}
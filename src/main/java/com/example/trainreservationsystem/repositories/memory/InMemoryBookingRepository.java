@@ -0,0 +1,308 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.example.trainreservationsystem.models.member.Booking;
+import com.example.trainreservationsystem.models.member.Passenger;
+import com.example.trainreservationsystem.models.member.Payment;
+import com.example.trainreservationsystem.models.member.Ticket;
+import com.example.trainreservationsystem.repositories.member.BookingRepository;
+
+public class InMemoryBookingRepository implements BookingRepository {
+  private static final Comparator<Booking> NEWEST_FIRST = Comparator.comparing(Booking::getBookingDate)
+      .thenComparingInt(Booking::getId).reversed();
+  private static final Comparator<Booking> OLDEST_FIRST = Comparator.comparing(Booking::getBookingDate)
+      .thenComparingInt(Booking::getId);
+
+  private final InMemoryStore store = InMemoryStore.getInstance();
+
+  @Override
+  public Booking createBooking(Booking booking, int fromSegment, int toSegment) {
+    List<Passenger> passengers = booking.getPassengers() != null ? booking.getPassengers() : List.of();
+    List<Ticket> tickets = booking.getTickets() != null ? booking.getTickets() : List.of();
+    List<Integer> seats = new ArrayList<>();
+    for (Passenger p : passengers) {
+      if (p.getSeatNumber() > 0) {
+        seats.add(p.getSeatNumber());
+      }
+    }
+
+    LocalDate travelDate = booking.getEffectiveTravelDate();
+
+    synchronized (store) {
+      // Check every cell before claiming any, like the primary key rejecting the insert
+      Map<Long, Integer> cells = store.bookedSeats.computeIfAbsent(
+          InMemoryStore.runKey(booking.getScheduleId(), travelDate),
+          k -> new ConcurrentHashMap<>());
+      for (int seat : seats) {
+        for (int segment = fromSegment; segment < toSegment; segment++) {
+          if (cells.containsKey(InMemoryStore.cellKey(seat, segment))) {
+            System.err.println("Seat conflict creating booking: seat " + seat + " segment " + segment);
+            throw new IllegalArgumentException(
+                "One or more of the selected seats has just been booked by someone else. Please choose different seats.");
+          }
+        }
+      }
+
+      booking.setId(store.nextId("bookings"));
+      booking.setBookingDate(LocalDateTime.now());
+      for (int seat : seats) {
+        for (int segment = fromSegment; segment < toSegment; segment++) {
+          cells.put(InMemoryStore.cellKey(seat, segment), booking.getId());
+        }
+      }
+
+      List<Passenger> storedPassengers = new ArrayList<>();
+      for (Passenger p : passengers) {
+        p.setId(store.nextId("passengers"));
+        storedPassengers.add(InMemoryStore.copy(p));
+      }
+      for (Ticket t : tickets) {
+        t.setBookingId(booking.getId());
+        t.setId(store.nextId("tickets"));
+        store.tickets.put(t.getId(), InMemoryStore.copy(t));
+      }
+
+      Booking row = InMemoryStore.copy(booking);
+      row.setTravelDate(travelDate);
+      row.setPassengers(storedPassengers);
+      store.bookings.put(row.getId(), row);
+    }
+    return booking;
+  }
+
+  @Override
+  public List<Booking> getBookingsByUserId(int userId) {
+    return select(b -> b.getUserId() == userId, NEWEST_FIRST);
+  }
+
+  @Override
+  public Booking getBookingById(int bookingId) {
+    Booking row = store.bookings.get(bookingId);
+    return row != null ? InMemoryStore.copy(row) : null;
+  }
+
+  @Override
+  public boolean updateBookingStatus(int bookingId, String status) {
+    synchronized (store) {
+      Booking row = store.bookings.get(bookingId);
+      if (row == null) {
+        return false;
+      }
+      setStatus(row, status);
+      return true;
+    }
+  }
+
+  @Override
+  public boolean cancelIfPending(int bookingId) {
+    synchronized (store) {
+      Booking row = store.bookings.get(bookingId);
+      if (row == null || !"PENDING".equals(row.getStatus())) {
+        return false;
+      }
+      setStatus(row, "CANCELLED");
+      return true;
+    }
+  }
+
+  @Override
+  public String cancelIfActive(int bookingId) {
+    synchronized (store) {
+      Booking row = store.bookings.get(bookingId);
+      if (row == null || !("PENDING".equals(row.getStatus()) || "CONFIRMED".equals(row.getStatus()))) {
+        return null;
+      }
+      String previous = row.getStatus();
+      setStatus(row, "CANCELLED");
+      return previous;
+    }
+  }
+
+  @Override
+  public boolean confirmIfPending(int bookingId) {
+    synchronized (store) {
+      Booking row = store.bookings.get(bookingId);
+      if (row == null || !"PENDING".equals(row.getStatus())) {
+        return false;
+      }
+      setStatus(row, "CONFIRMED");
+      return true;
+    }
+  }
+
+  @Override
+  public Map<Booking, List<Integer>> cancelUnpaidBookings(Collection<Integer> bookingIds) {
+    Map<Booking, List<Integer>> cancelled = new LinkedHashMap<>();
+    synchronized (store) {
+      for (int bookingId : new TreeSet<>(bookingIds)) {
+        Booking row = store.bookings.get(bookingId);
+        if (row == null || !"PENDING".equals(row.getStatus()) || isPaid(bookingId)) {
+          continue;
+        }
+        setStatus(row, "CANCELLED");
+        cancelled.put(InMemoryStore.copy(row), seatNumbers(row));
+      }
+    }
+    return cancelled;
+  }
+
+  // Callers hold the store lock
+  private void setStatus(Booking row, String status) {
+    store.setStatus(row, status);
+  }
+
+  private boolean isPaid(int bookingId) {
+    for (Payment payment : store.payments.values()) {
+      if (payment.getBookingId() == bookingId && "SUCCESS".equals(payment.getStatus())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<Integer> seatNumbers(Booking row) {
+    List<Integer> seats = new ArrayList<>();
+    for (Passenger p : row.getPassengers()) {
+      if (p.getSeatNumber() > 0) {
+        seats.add(p.getSeatNumber());
+      }
+    }
+    return seats;
+  }
+
+  @Override
+  public List<int[]> getBookedSeatSegments(int scheduleId, LocalDate travelDate) {
+    List<int[]> cells = new ArrayList<>();
+    Map<Long, Integer> run = store.bookedSeats.get(InMemoryStore.runKey(scheduleId, travelDate));
+    if (run != null) {
+      for (long cell : run.keySet()) {
+        cells.add(new int[] { (int) (cell >>> 32), (int) cell });
+      }
+    }
+    return cells;
+  }
+
+  @Override
+  public List<Integer> getOccupiedSeats(int scheduleId, LocalDate travelDate) {
+    TreeSet<Integer> occupied = new TreeSet<>();
+    for (Booking row : store.bookings.values()) {
+      if (row.getScheduleId() == scheduleId && travelDate.equals(row.getTravelDate()) && isActive(row)) {
+        occupied.addAll(seatNumbers(row));
+      }
+    }
+    return new ArrayList<>(occupied);
+  }
+
+  @Override
+  public List<Integer> getSeatNumbersByBookingId(int bookingId) {
+    Booking row = store.bookings.get(bookingId);
+    return row != null ? seatNumbers(row) : new ArrayList<>();
+  }
+
+  @Override
+  public boolean isSeatBooked(int scheduleId, LocalDate travelDate, int seatNumber) {
+    return getOccupiedSeats(scheduleId, travelDate).contains(seatNumber);
+  }
+
+  @Override
+  public List<Booking> getPendingBookings() {
+    return select(b -> "PENDING".equals(b.getStatus()), OLDEST_FIRST);
+  }
+
+  @Override
+  public List<Booking> getConfirmedBookings() {
+    return select(b -> "CONFIRMED".equals(b.getStatus()), OLDEST_FIRST);
+  }
+
+  @Override
+  public List<Booking> getAllBookings() {
+    return select(b -> true, NEWEST_FIRST);
+  }
+
+  @Override
+  public Map<String, Long> countBookingsByStatus() {
+    Map<String, Long> counts = new HashMap<>();
+    for (Booking row : store.bookings.values()) {
+      counts.merge(row.getStatus(), 1L, Long::sum);
+    }
+    return counts;
+  }
+
+  /**
+   * Counted on every call; there is no query to save, so nothing is cached.
+   */
+  @Override
+  public Map<Integer, Integer> getBookingCountsBySchedule() {
+    Map<Integer, Integer> counts = new HashMap<>();
+    for (Booking row : store.bookings.values()) {
+      counts.merge(row.getScheduleId(), 1, Integer::sum);
+    }
+    return counts;
+  }
+
+  @Override
+  public void invalidateBookingCounts() {
+    // Nothing cached
+  }
+
+  @Override
+  public void forEachReportRow(Consumer<ReportRow> consumer) throws Exception {
+    Map<Integer, BigDecimal> paid = new HashMap<>();
+    for (Payment payment : store.payments.values()) {
+      if ("SUCCESS".equals(payment.getStatus())) {
+        paid.merge(payment.getBookingId(), BigDecimal.valueOf(payment.getAmount()), BigDecimal::add);
+      }
+    }
+    Map<Integer, Integer> ticketCounts = new HashMap<>();
+    for (Ticket ticket : store.tickets.values()) {
+      ticketCounts.merge(ticket.getBookingId(), 1, Integer::sum);
+    }
+    for (Booking row : InMemoryStore.select(store.bookings, b -> true, Comparator.comparingInt(Booking::getId))) {
+      consumer.accept(new ReportRow(
+          row.getId(),
+          row.getUserId(),
+          row.getScheduleId(),
+          row.getStatus(),
+          paid.getOrDefault(row.getId(), BigDecimal.ZERO).movePointRight(2).longValue(),
+          row.getBookingDate(),
+          row.getEffectiveTravelDate(),
+          ticketCounts.getOrDefault(row.getId(), 0)));
+    }
+  }
+
+  @Override
+  public List<Booking> getBookingsByScheduleId(int scheduleId) {
+    return select(b -> b.getScheduleId() == scheduleId, NEWEST_FIRST);
+  }
+
+  @Override
+  public List<Booking> getActiveBookings() {
+    return select(InMemoryBookingRepository::isActive, NEWEST_FIRST);
+  }
+
+  private static boolean isActive(Booking row) {
+    return "PENDING".equals(row.getStatus()) || "CONFIRMED".equals(row.getStatus());
+  }
+
+  private List<Booking> select(Predicate<Booking> filter, Comparator<Booking> order) {
+    List<Booking> bookings = new ArrayList<>();
+    for (Booking row : InMemoryStore.select(store.bookings, filter, order)) {
+      bookings.add(InMemoryStore.copy(row));
+    }
+    return bookings;
+  }
+}
@@ -0,0 +1,56 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.trainreservationsystem.models.admin.CancellationPolicy;
+import com.example.trainreservationsystem.repositories.admin.CancellationPolicyRepository;
+
+public class InMemoryCancellationPolicyRepository implements CancellationPolicyRepository {
+  private static final Comparator<CancellationPolicy> NEWEST_FIRST = Comparator
+      .comparingInt(CancellationPolicy::getId).reversed();
+
+  private final InMemoryStore store = InMemoryStore.getInstance();
+
+  @Override
+  public CancellationPolicy getActivePolicy() {
+    List<CancellationPolicy> active = InMemoryStore.select(store.policies,
+        p -> store.activePolicies.getOrDefault(p.getId(), false), NEWEST_FIRST);
+    return active.isEmpty() ? CancellationPolicyRepository.getDefaultPolicy() : InMemoryStore.copy(active.get(0));
+  }
+
+  @Override
+  public List<CancellationPolicy> getAllPolicies() {
+    List<CancellationPolicy> policies = new ArrayList<>();
+    for (CancellationPolicy row : InMemoryStore.select(store.policies, p -> true, NEWEST_FIRST)) {
+      policies.add(InMemoryStore.copy(row));
+    }
+    return policies;
+  }
+
+  @Override
+  public void savePolicy(CancellationPolicy policy) {
+    policy.setId(store.nextId("cancellation_policies"));
+    store.activePolicies.put(policy.getId(), true);
+    store.policies.put(policy.getId(), InMemoryStore.copy(policy));
+  }
+
+  @Override
+  public void updatePolicy(CancellationPolicy policy) {
+    store.policies.replace(policy.getId(), InMemoryStore.copy(policy));
+  }
+
+  @Override
+  public void setActivePolicy(int policyId) {
+    synchronized (store) {
+      store.activePolicies.replaceAll((id, active) -> id == policyId);
+    }
+  }
+
+  @Override
+  public void deletePolicy(int policyId) {
+    store.policies.remove(policyId);
+    store.activePolicies.remove(policyId);
+  }
+}
@@ -0,0 +1,52 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.example.trainreservationsystem.models.shared.Complaint;
+import com.example.trainreservationsystem.repositories.shared.ComplaintRepository;
+import com.example.trainreservationsystem.services.shared.NotificationService;
+
+public class InMemoryComplaintRepository implements ComplaintRepository {
+  private static final Comparator<Complaint> NEWEST_FIRST = Comparator.comparing(Complaint::getCreatedAt)
+      .thenComparingInt(Complaint::getId).reversed();
+
+  private final InMemoryStore store = InMemoryStore.getInstance();
+
+  @Override
+  public void saveComplaint(Complaint complaint) {
+    int id = store.nextId("complaints");
+    store.complaints.put(id, new Complaint(id, complaint.getUserId(), complaint.getSubject(),
+        complaint.getDescription(), complaint.getTrackingId(), LocalDateTime.now()));
+  }
+
+  @Override
+  public List<Complaint> getComplaintsByUserId(int userId) {
+    return select(c -> c.getUserId() == userId);
+  }
+
+  @Override
+  public List<Complaint> getAllComplaints() {
+    return select(c -> true);
+  }
+
+  @Override
+  public void saveComplaintResponse(int complaintId, String responseText, int staffId) {
+    // Responses are sent to the user as a notification, as in the JDBC repository
+    Complaint complaint = store.complaints.get(complaintId);
+    if (complaint != null) {
+      NotificationService.getInstance().add("Response to your complaint: " + responseText, complaint.getUserId());
+    }
+  }
+
+  private List<Complaint> select(Predicate<Complaint> filter) {
+    List<Complaint> complaints = new ArrayList<>();
+    for (Complaint row : InMemoryStore.select(store.complaints, filter, NEWEST_FIRST)) {
+      complaints.add(InMemoryStore.copy(row));
+    }
+    return complaints;
+  }
+}
@@ -0,0 +1,126 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.time.LocalTime;
+
+import com.example.trainreservationsystem.models.admin.Route;
+import com.example.trainreservationsystem.models.admin.RouteSegment;
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.models.admin.SeatClass;
+import com.example.trainreservationsystem.models.admin.Stop;
+import com.example.trainreservationsystem.models.shared.User;
+
+/**
+ * Fills an empty in-memory store with the same demo data the database
+ * seeders write: users, stops, seat classes, routes with their segments and
+ * one recurring schedule per route.
+ */
+public final class InMemoryDemoData {
+  private static final String[] STOPS = {
+      "Karachi", "Lahore", "Islamabad", "Rawalpindi", "Peshawar",
+      "Quetta", "Multan", "Faisalabad", "Hyderabad", "Sukkur" };
+
+  private InMemoryDemoData() {
+  }
+
+  /**
+   * Seeds the store unless it already holds users.
+   *
+   * @return true if data was seeded
+   */
+  public static boolean seed() {
+    InMemoryStore store = InMemoryStore.getInstance();
+    synchronized (store) {
+      if (!store.users.isEmpty()) {
+        return false;
+      }
+      addUser(store, "demo", "demo123", "demo@example.com", "CUSTOMER", 100);
+      addUser(store, "admin", "admin123", "admin@trainreservation.com", "ADMIN", 0);
+      addUser(store, "john_doe", "password123", "john.doe@email.com", "CUSTOMER", 250);
+      addUser(store, "jane_smith", "password123", "jane.smith@email.com", "CUSTOMER", 150);
+
+      for (String name : STOPS) {
+        int id = store.nextId("stops");
+        store.stops.put(id, new Stop(id, name));
+      }
+
+      addSeatClass(store, "Economy", 0.0, "Standard comfortable seating with basic amenities");
+      addSeatClass(store, "Business", 500.0, "Premium seating with extra legroom and complimentary refreshments");
+      addSeatClass(store, "First Class", 1000.0,
+          "Luxury seating with private cabins, fine dining, and concierge service");
+
+      // Stop ids follow STOPS: 1 Karachi, 2 Lahore, 3 Islamabad, 4 Rawalpindi,
+      // 5 Peshawar, 6 Quetta, 7 Multan, 8 Faisalabad, 9 Hyderabad, 10 Sukkur
+      int route = addRoute(store, "Karachi", "Rawalpindi");
+      addSegment(store, route, 1, 9, 160, 500);
+      addSegment(store, route, 9, 7, 700, 1500);
+      addSegment(store, route, 7, 2, 350, 800);
+      addSegment(store, route, 2, 4, 300, 700);
+      addSchedule(store, route, LocalTime.of(17, 0), LocalTime.of(19, 0), 200, 3500.00);
+
+      route = addRoute(store, "Karachi", "Islamabad");
+      addSegment(store, route, 1, 9, 160, 500);
+      addSegment(store, route, 9, 7, 700, 1500);
+      addSegment(store, route, 7, 2, 350, 800);
+      addSegment(store, route, 2, 3, 310, 750);
+      addSchedule(store, route, LocalTime.of(22, 0), LocalTime.of(20, 0), 150, 5500.00);
+
+      route = addRoute(store, "Karachi", "Peshawar");
+      addSegment(store, route, 1, 9, 160, 500);
+      addSegment(store, route, 9, 7, 700, 1500);
+      addSegment(store, route, 7, 2, 350, 800);
+      addSegment(store, route, 2, 4, 300, 700);
+      addSegment(store, route, 4, 5, 180, 400);
+      addSchedule(store, route, LocalTime.of(22, 15), LocalTime.of(22, 0), 180, 3000.00);
+
+      route = addRoute(store, "Quetta", "Peshawar");
+      addSegment(store, route, 6, 10, 390, 1000);
+      addSegment(store, route, 10, 7, 450, 1100);
+      addSegment(store, route, 7, 2, 350, 800);
+      addSegment(store, route, 2, 4, 300, 700);
+      addSegment(store, route, 4, 5, 180, 400);
+      addSchedule(store, route, LocalTime.of(9, 0), LocalTime.of(15, 0), 160, 2500.00);
+
+      route = addRoute(store, "Karachi", "Lahore");
+      addSegment(store, route, 1, 9, 160, 500);
+      addSegment(store, route, 9, 10, 330, 800);
+      addSegment(store, route, 10, 7, 450, 1100);
+      addSegment(store, route, 7, 8, 250, 600);
+      addSegment(store, route, 8, 2, 180, 400);
+      addSchedule(store, route, LocalTime.of(15, 30), LocalTime.of(10, 0), 220, 4000.00);
+    }
+    System.out.println("✅ Seeded in-memory demo data");
+    return true;
+  }
+
+  private static void addUser(InMemoryStore store, String username, String password, String email, String userType,
+      int loyaltyPoints) {
+    int id = store.nextId("users");
+    store.users.put(id, new User(id, username, password, email, null, userType, loyaltyPoints));
+  }
+
+  private static void addSeatClass(InMemoryStore store, String name, double baseFare, String description) {
+    int id = store.nextId("seat_classes");
+    store.seatClasses.put(id, new SeatClass(id, name, baseFare, description));
+  }
+
+  private static int addRoute(InMemoryStore store, String source, String destination) {
+    int id = store.nextId("routes");
+    store.routes.put(id, new Route(id, source, destination));
+    return id;
+  }
+
+  private static void addSegment(InMemoryStore store, int routeId, int fromStopId, int toStopId, double distance,
+      double price) {
+    int id = store.nextId("route_segments");
+    store.segments.put(id, new RouteSegment(id, new Stop(fromStopId, null), new Stop(toStopId, null), distance, price));
+    store.segmentRoutes.put(id, routeId);
+  }
+
+  private static void addSchedule(InMemoryStore store, int routeId, LocalTime departure, LocalTime arrival,
+      int capacity, double price) {
+    int id = store.nextId("schedules");
+    Schedule schedule = new Schedule(id, new Route(routeId, null, null), departure, arrival, price, capacity);
+    schedule.setDayMask(Schedule.ALL_DAYS_MASK);
+    store.schedules.put(id, schedule);
+  }
+}
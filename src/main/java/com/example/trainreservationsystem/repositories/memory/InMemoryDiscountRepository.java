@@ -0,0 +1,89 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.example.trainreservationsystem.models.admin.Discount;
+import com.example.trainreservationsystem.repositories.admin.DiscountRepository;
+
+public class InMemoryDiscountRepository implements DiscountRepository {
+  private final InMemoryStore store = InMemoryStore.getInstance();
+
+  @Override
+  public Discount findByCode(String code) {
+    List<Discount> matches = select(d -> d.getCode().equals(code), Comparator.comparingInt(Discount::getId));
+    return matches.isEmpty() ? null : matches.get(0);
+  }
+
+  @Override
+  public Discount findByCodeAndSchedule(String code, Integer scheduleId) {
+    List<Discount> matches = select(d -> d.getCode().equals(code) && appliesTo(d, scheduleId),
+        Comparator.comparingInt(Discount::getId));
+    return matches.isEmpty() ? null : matches.get(0);
+  }
+
+  @Override
+  public List<Discount> getDiscountsBySchedule(Integer scheduleId) {
+    return select(d -> appliesTo(d, scheduleId) && d.isActive(), Comparator.comparingInt(Discount::getId));
+  }
+
+  // schedule_id IS NULL OR schedule_id = ?, where NULL = NULL is false
+  private static boolean appliesTo(Discount discount, Integer scheduleId) {
+    return discount.getScheduleId() == null
+        || (scheduleId != null && discount.getScheduleId().equals(scheduleId));
+  }
+
+  @Override
+  public List<Discount> getDiscountsByType(String type) {
+    return select(d -> d.getType().name().equals(type) && d.isActive(), Comparator.comparingInt(Discount::getId));
+  }
+
+  @Override
+  public List<Discount> getAllActiveDiscounts() {
+    return select(Discount::isActive, Comparator.comparingInt(Discount::getId));
+  }
+
+  @Override
+  public List<Discount> getAllDiscounts() {
+    return select(d -> true, Comparator.comparingInt(Discount::getId).reversed());
+  }
+
+  @Override
+  public void updateDiscount(Discount discount) {
+    store.discounts.computeIfPresent(discount.getId(), (id, current) -> {
+      Discount updated = InMemoryStore.copy(discount);
+      updated.setCurrentUses(current.getCurrentUses()); // Not an updated column
+      return updated;
+    });
+  }
+
+  @Override
+  public void deleteDiscount(int discountId) {
+    store.discounts.remove(discountId);
+  }
+
+  @Override
+  public void incrementUsage(int discountId) {
+    store.discounts.computeIfPresent(discountId, (id, current) -> {
+      Discount updated = InMemoryStore.copy(current);
+      updated.setCurrentUses(current.getCurrentUses() + 1);
+      return updated;
+    });
+  }
+
+  @Override
+  public void saveDiscount(Discount discount) {
+    discount.setId(store.nextId("discounts"));
+    store.discounts.put(discount.getId(), InMemoryStore.copy(discount));
+  }
+
+  private List<Discount> select(Predicate<Discount> filter, Comparator<Discount> order) {
+    List<Discount> discounts = new ArrayList<>();
+    for (Discount row : InMemoryStore.select(store.discounts, filter, order)) {
+      discounts.add(InMemoryStore.copy(row));
+    }
+    return discounts;
+  }
+}
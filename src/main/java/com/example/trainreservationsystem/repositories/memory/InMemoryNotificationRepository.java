@@ -0,0 +1,109 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.trainreservationsystem.models.member.Notification;
+import com.example.trainreservationsystem.repositories.member.NotificationRepository;
+
+public class InMemoryNotificationRepository implements NotificationRepository {
+  private static final Comparator<Notification> NEWEST_FIRST = Comparator.comparing(Notification::getCreatedAt)
+      .thenComparingInt(Notification::getId).reversed();
+
+  private final InMemoryStore store = InMemoryStore.getInstance();
+
+  @Override
+  public List<Notification> getNotificationsByUserId(int userId) {
+    List<Notification> notifications = new ArrayList<>();
+    for (Notification row : InMemoryStore.select(store.notifications, n -> n.getUserId() == userId, NEWEST_FIRST)) {
+      notifications.add(InMemoryStore.copy(row));
+    }
+    return notifications;
+  }
+
+  @Override
+  public List<Notification> getNotificationsPage(int userId, LocalDateTime beforeCreatedAt, int beforeId,
+      int limit) {
+    List<Notification> notifications = new ArrayList<>();
+    for (Notification row : InMemoryStore.select(store.notifications,
+        n -> n.getUserId() == userId && isBefore(n, beforeCreatedAt, beforeId), NEWEST_FIRST)) {
+      if (notifications.size() == limit) {
+        break;
+      }
+      notifications.add(InMemoryStore.copy(row));
+    }
+    return notifications;
+  }
+
+  // (created_at, id) < (beforeCreatedAt, beforeId); a null cursor matches all
+  private static boolean isBefore(Notification n, LocalDateTime beforeCreatedAt, int beforeId) {
+    if (beforeCreatedAt == null) {
+      return true;
+    }
+    int cmp = n.getCreatedAt().compareTo(beforeCreatedAt);
+    return cmp < 0 || (cmp == 0 && n.getId() < beforeId);
+  }
+
+  @Override
+  public int countUnread(int userId) {
+    int count = 0;
+    for (Notification row : store.notifications.values()) {
+      if (row.getUserId() == userId && !row.isSent()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public void saveNotification(Notification notification) {
+    notification.setId(store.nextId("notifications"));
+    Notification row = InMemoryStore.copy(notification);
+    row.setCreatedAt(LocalDateTime.now());
+    store.notifications.put(row.getId(), row);
+  }
+
+  @Override
+  public int saveNotifications(List<Notification> notifications) {
+    LocalDateTime now = LocalDateTime.now();
+    for (Notification notification : notifications) {
+      Notification row = InMemoryStore.copy(notification);
+      row.setId(store.nextId("notifications"));
+      if (row.getCreatedAt() == null) {
+        row.setCreatedAt(now);
+      }
+      store.notifications.put(row.getId(), row);
+    }
+    return notifications.size();
+  }
+
+  @Override
+  public boolean markAsRead(int notificationId) {
+    return store.notifications.computeIfPresent(notificationId, (id, current) -> read(current)) != null;
+  }
+
+  @Override
+  public boolean markAllAsRead(int userId) {
+    boolean updated = false;
+    for (Notification row : store.notifications.values()) {
+      if (row.getUserId() == userId && !row.isSent()) {
+        store.notifications.computeIfPresent(row.getId(), (id, current) -> read(current));
+        updated = true;
+      }
+    }
+    return updated;
+  }
+
+  private static Notification read(Notification row) {
+    Notification updated = InMemoryStore.copy(row);
+    updated.setSent(true);
+    return updated;
+  }
+
+  @Override
+  public boolean deleteNotification(int notificationId) {
+    return store.notifications.remove(notificationId) != null;
+  }
+}
@@ -0,0 +1,82 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.trainreservationsystem.models.member.Booking;
+import com.example.trainreservationsystem.models.member.Payment;
+import com.example.trainreservationsystem.models.member.PaymentMethod;
+import com.example.trainreservationsystem.repositories.member.PaymentRepository;
+
+public class InMemoryPaymentRepository implements PaymentRepository {
+  private final InMemoryStore store = InMemoryStore.getInstance();
+
+  @Override
+  public List<PaymentMethod> getPaymentMethods(int userId) {
+    List<PaymentMethod> methods = new ArrayList<>();
+    for (PaymentMethod row : InMemoryStore.select(store.paymentMethods, m -> m.getUserId() == userId,
+        Comparator.comparingInt(PaymentMethod::getId))) {
+      methods.add(new PaymentMethod(row.getId(), row.getUserId(), row.getMethodType(), row.getDetails()));
+    }
+    return methods;
+  }
+
+  @Override
+  public void savePaymentMethod(PaymentMethod method) {
+    method.setId(store.nextId("payment_methods"));
+    store.paymentMethods.put(method.getId(),
+        new PaymentMethod(method.getId(), method.getUserId(), method.getMethodType(), method.getDetails()));
+  }
+
+  @Override
+  public void savePayment(Payment payment) {
+    int id = store.nextId("payments");
+    store.payments.put(id, new Payment(id, payment.getBookingId(), payment.getAmount(),
+        payment.getPaymentMethodId(), payment.getStatus(), LocalDateTime.now()));
+  }
+
+  @Override
+  public boolean savePaymentAndConfirm(Payment payment, Runnable charge) {
+    synchronized (store) {
+      Booking row = store.bookings.get(payment.getBookingId());
+      if (row == null || !"PENDING".equals(row.getStatus())) {
+        return false;
+      }
+      charge.run(); // Throws before anything changed if the charge fails
+      store.setStatus(row, "CONFIRMED");
+      savePayment(payment);
+      return true;
+    }
+  }
+
+  @Override
+  public List<Payment> getPaymentsByUserId(int userId) {
+    List<Payment> payments = new ArrayList<>();
+    List<Payment> rows = InMemoryStore.select(store.payments, p -> {
+      Booking booking = store.bookings.get(p.getBookingId());
+      return booking != null && booking.getUserId() == userId;
+    }, Comparator.comparing(Payment::getPaymentDate).reversed());
+    for (Payment row : rows) {
+      // Same columns the JDBC repository fills in
+      Payment payment = new Payment();
+      payment.setBookingId(row.getBookingId());
+      payment.setAmount(row.getAmount());
+      payment.setPaymentMethodId(row.getPaymentMethodId());
+      payment.setStatus(row.getStatus());
+      payments.add(payment);
+    }
+    return payments;
+  }
+
+  @Override
+  public boolean hasPaymentForBooking(int bookingId) {
+    for (Payment payment : store.payments.values()) {
+      if (payment.getBookingId() == bookingId && "SUCCESS".equals(payment.getStatus())) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,119 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.models.member.Booking;
+import com.example.trainreservationsystem.models.member.Reminder;
+import com.example.trainreservationsystem.repositories.member.ReminderRepository;
+
+public class InMemoryReminderRepository implements ReminderRepository {
+  private static final Comparator<Reminder> EARLIEST_FIRST = Comparator.comparing(Reminder::getRemindAt);
+
+  private final InMemoryStore store = InMemoryStore.getInstance();
+
+  @Override
+  public List<Reminder> createForBooking(int bookingId, int[] hoursBefore) {
+    List<Reminder> reminders = new ArrayList<>();
+    synchronized (store) {
+      Booking booking = store.bookings.get(bookingId);
+      if (booking != null) {
+        insertReminders(booking, hoursBefore, reminders);
+      }
+    }
+    return reminders;
+  }
+
+  @Override
+  public List<Reminder> createForConfirmedBookings(int[] hoursBefore) {
+    List<Reminder> reminders = new ArrayList<>();
+    synchronized (store) {
+      for (Booking booking : store.bookings.values()) {
+        insertReminders(booking, hoursBefore, reminders);
+      }
+    }
+    return reminders;
+  }
+
+  // Callers hold the store lock; (booking, hours before) is unique
+  private void insertReminders(Booking booking, int[] hoursBefore, List<Reminder> created) {
+    Schedule schedule = store.schedules.get(booking.getScheduleId());
+    if (!"CONFIRMED".equals(booking.getStatus()) || schedule == null) {
+      return;
+    }
+    LocalDate travelDate = booking.getEffectiveTravelDate();
+    LocalDateTime departure = travelDate.atTime(schedule.getDepartureTime());
+    LocalDateTime now = LocalDateTime.now();
+    for (int hours : hoursBefore) {
+      LocalDateTime remindAt = departure.minusHours(hours);
+      if (!remindAt.isAfter(now) || exists(booking.getId(), hours)) {
+        continue;
+      }
+      int id = store.nextId("reminders");
+      Reminder row = new Reminder(id, booking.getId(), booking.getUserId(), booking.getScheduleId(), travelDate,
+          hours, remindAt, false);
+      store.reminders.put(id, row);
+      created.add(copy(row, booking));
+    }
+  }
+
+  private boolean exists(int bookingId, int hoursBefore) {
+    for (Reminder row : store.reminders.values()) {
+      if (row.getBookingId() == bookingId && row.getHoursBefore() == hoursBefore) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public List<Reminder> getUnsentReminders() {
+    List<Reminder> reminders = new ArrayList<>();
+    for (Reminder row : InMemoryStore.select(store.reminders, r -> !r.isSent(), EARLIEST_FIRST)) {
+      Booking booking = store.bookings.get(row.getBookingId());
+      if (booking != null && "CONFIRMED".equals(booking.getStatus())) {
+        reminders.add(copy(row, booking));
+      }
+    }
+    return reminders;
+  }
+
+  @Override
+  public List<Reminder> claimDue(Collection<Integer> reminderIds) {
+    List<Reminder> reminders = new ArrayList<>();
+    LocalDateTime now = LocalDateTime.now();
+    synchronized (store) {
+      for (int id : reminderIds) {
+        Reminder row = store.reminders.get(id);
+        if (row == null || row.isSent()) {
+          continue;
+        }
+        Reminder fired = copy(row, null);
+        fired.setSent(true);
+        store.reminders.put(id, fired);
+
+        Booking booking = store.bookings.get(row.getBookingId());
+        boolean stillConfirmed = booking != null && "CONFIRMED".equals(booking.getStatus());
+        if (stillConfirmed && row.getRemindAt().plusHours(row.getHoursBefore()).isAfter(now)) {
+          reminders.add(copy(fired, booking));
+        }
+      }
+    }
+    reminders.sort(EARLIEST_FIRST);
+    return reminders;
+  }
+
+  // Booking columns come from the booking, as the JDBC query joins them in
+  private static Reminder copy(Reminder row, Booking booking) {
+    return new Reminder(row.getId(), row.getBookingId(),
+        booking != null ? booking.getUserId() : row.getUserId(),
+        booking != null ? booking.getScheduleId() : row.getScheduleId(),
+        booking != null ? booking.getEffectiveTravelDate() : row.getTravelDate(),
+        row.getHoursBefore(), row.getRemindAt(), row.isSent());
+  }
+}
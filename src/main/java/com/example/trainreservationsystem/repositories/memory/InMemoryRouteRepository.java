@@ -0,0 +1,108 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.example.trainreservationsystem.models.admin.Route;
+import com.example.trainreservationsystem.models.admin.RouteSegment;
+import com.example.trainreservationsystem.models.admin.Stop;
+import com.example.trainreservationsystem.repositories.admin.RouteRepository;
+import com.example.trainreservationsystem.repositories.admin.TimetableIndex;
+import com.example.trainreservationsystem.services.member.booking.SeatInventoryService;
+
+public class InMemoryRouteRepository implements RouteRepository {
+  private final InMemoryStore store = InMemoryStore.getInstance();
+
+  @Override
+  public Route addRoute(Route route) throws Exception {
+    route.setId(store.nextId("routes"));
+    store.routes.put(route.getId(), new Route(route.getId(), route.getSource(), route.getDestination()));
+    return route;
+  }
+
+  @Override
+  public List<Route> getAllRoutes() throws Exception {
+    List<Route> routes = new ArrayList<>();
+    List<Integer> routeIds = new ArrayList<>();
+    for (Route row : InMemoryStore.select(store.routes, r -> true, Comparator.comparingInt(Route::getId))) {
+      routes.add(new Route(row.getId(), row.getSource(), row.getDestination()));
+      routeIds.add(row.getId());
+    }
+    Map<Integer, List<RouteSegment>> segmentsByRoute = getSegmentsByRouteIds(routeIds);
+    for (Route route : routes) {
+      route.setSegments(segmentsByRoute.getOrDefault(route.getId(), new ArrayList<>()));
+    }
+    return routes;
+  }
+
+  @Override
+  public Route getRouteById(int id) throws Exception {
+    Route row = store.routes.get(id);
+    if (row == null) {
+      return null;
+    }
+    Route route = new Route(row.getId(), row.getSource(), row.getDestination());
+    route.setSegments(getSegmentsByRouteId(id));
+    return route;
+  }
+
+  @Override
+  public void updateRoute(Route route) throws Exception {
+    store.routes.replace(route.getId(), new Route(route.getId(), route.getSource(), route.getDestination()));
+    // Schedules on this route are indexed under its old endpoints
+    TimetableIndex.getInstance().invalidate();
+    SeatInventoryService.getInstance().invalidateAll(); // Segment ranges may have moved
+  }
+
+  @Override
+  public void deleteRoute(int id) throws Exception {
+    store.routes.remove(id);
+    TimetableIndex.getInstance().invalidate();
+    SeatInventoryService.getInstance().invalidateAll(); // Segment ranges may have moved
+  }
+
+  @Override
+  public void addRouteSegment(RouteSegment segment, int routeId) throws Exception {
+    segment.setId(store.nextId("route_segments"));
+    store.segments.put(segment.getId(), new RouteSegment(segment.getId(),
+        new Stop(segment.getFromStop().getId(), null), new Stop(segment.getToStop().getId(), null),
+        segment.getDistance(), segment.getPrice()));
+    store.segmentRoutes.put(segment.getId(), routeId);
+    TimetableIndex.getInstance().invalidate();
+    SeatInventoryService.getInstance().invalidateAll(); // Segment ranges may have moved
+  }
+
+  @Override
+  public List<RouteSegment> getSegmentsByRouteId(int routeId) throws Exception {
+    return getSegmentsByRouteIds(List.of(routeId)).getOrDefault(routeId, new ArrayList<>());
+  }
+
+  @Override
+  public Map<Integer, List<RouteSegment>> getSegmentsByRouteIds(List<Integer> routeIds) throws Exception {
+    Map<Integer, List<RouteSegment>> segmentsByRoute = new HashMap<>();
+    if (routeIds == null || routeIds.isEmpty()) {
+      return segmentsByRoute;
+    }
+    Set<Integer> wanted = new HashSet<>(routeIds);
+    List<RouteSegment> rows = InMemoryStore.select(store.segments,
+        segment -> wanted.contains(store.segmentRoutes.get(segment.getId())),
+        Comparator.comparingInt(RouteSegment::getId));
+    for (RouteSegment row : rows) {
+      RouteSegment segment = new RouteSegment(row.getId(), stop(row.getFromStop().getId()),
+          stop(row.getToStop().getId()), row.getDistance(), row.getPrice());
+      segmentsByRoute.computeIfAbsent(store.segmentRoutes.get(row.getId()), k -> new ArrayList<>()).add(segment);
+    }
+    return segmentsByRoute;
+  }
+
+  // LEFT JOIN stops
+  private Stop stop(int id) {
+    Stop stop = store.stops.get(id);
+    return stop != null ? InMemoryStore.copy(stop) : null;
+  }
+}
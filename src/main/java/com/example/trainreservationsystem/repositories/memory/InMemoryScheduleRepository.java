@@ -0,0 +1,68 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.models.shared.Seat;
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
+import com.example.trainreservationsystem.repositories.admin.ScheduleRepository;
+import com.example.trainreservationsystem.repositories.admin.TimetableIndex;
+import com.example.trainreservationsystem.repositories.shared.SeatRepository;
+import com.example.trainreservationsystem.services.member.booking.SeatInventoryService;
+
+public class InMemoryScheduleRepository implements ScheduleRepository {
+  private final InMemoryStore store = InMemoryStore.getInstance();
+  private final SeatRepository seatRepository = RepositoryFactory.getSeatRepository();
+
+  @Override
+  public Schedule addSchedule(Schedule schedule) throws Exception {
+    schedule.setId(store.nextId("schedules"));
+    store.schedules.put(schedule.getId(), InMemoryStore.scheduleRow(schedule));
+    RepositoryFactory.getTrainRepository().refreshTimetable(schedule.getId());
+    return schedule;
+  }
+
+  @Override
+  public List<Schedule> getAllSchedules() throws Exception {
+    List<Schedule> schedules = new ArrayList<>();
+    List<Integer> scheduleIds = new ArrayList<>();
+    for (Schedule row : InMemoryStore.select(store.schedules, s -> true, Comparator.comparingInt(Schedule::getId))) {
+      schedules.add(store.readSchedule(row));
+      scheduleIds.add(row.getId());
+    }
+    Map<Integer, List<Seat>> seatsBySchedule = seatRepository.getSeatsByScheduleIds(scheduleIds);
+    for (Schedule schedule : schedules) {
+      schedule.setSeats(seatsBySchedule.getOrDefault(schedule.getId(), new ArrayList<>()));
+    }
+    return schedules;
+  }
+
+  @Override
+  public Schedule getScheduleById(int id) throws Exception {
+    Schedule row = store.schedules.get(id);
+    if (row == null) {
+      return null;
+    }
+    Schedule schedule = store.readSchedule(row);
+    schedule.setSeats(seatRepository.getSeatsByScheduleId(id));
+    return schedule;
+  }
+
+  @Override
+  public void updateSchedule(Schedule schedule) throws Exception {
+    store.schedules.replace(schedule.getId(), InMemoryStore.scheduleRow(schedule));
+    RepositoryFactory.getTrainRepository().refreshTimetable(schedule.getId());
+    // Capacity or route may have changed under the cached seat runs
+    SeatInventoryService.getInstance().invalidate(schedule.getId());
+  }
+
+  @Override
+  public void deleteSchedule(int id) throws Exception {
+    store.schedules.remove(id);
+    TimetableIndex.getInstance().remove(id);
+    SeatInventoryService.getInstance().invalidate(id);
+  }
+}
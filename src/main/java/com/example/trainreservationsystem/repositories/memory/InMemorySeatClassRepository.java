@@ -0,0 +1,45 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.trainreservationsystem.models.admin.SeatClass;
+import com.example.trainreservationsystem.repositories.admin.SeatClassRepository;
+
+public class InMemorySeatClassRepository implements SeatClassRepository {
+  private final InMemoryStore store = InMemoryStore.getInstance();
+
+  @Override
+  public SeatClass addSeatClass(SeatClass seatClass) throws Exception {
+    seatClass.setId(store.nextId("seat_classes"));
+    store.seatClasses.put(seatClass.getId(), InMemoryStore.copy(seatClass));
+    return seatClass;
+  }
+
+  @Override
+  public List<SeatClass> getAllSeatClasses() throws Exception {
+    List<SeatClass> seatClasses = new ArrayList<>();
+    for (SeatClass seatClass : InMemoryStore.select(store.seatClasses, c -> true,
+        Comparator.comparingInt(SeatClass::getId))) {
+      seatClasses.add(InMemoryStore.copy(seatClass));
+    }
+    return seatClasses;
+  }
+
+  @Override
+  public SeatClass getSeatClassById(int id) throws Exception {
+    SeatClass seatClass = store.seatClasses.get(id);
+    return seatClass != null ? InMemoryStore.copy(seatClass) : null;
+  }
+
+  @Override
+  public void updateSeatClass(SeatClass seatClass) throws Exception {
+    store.seatClasses.replace(seatClass.getId(), InMemoryStore.copy(seatClass));
+  }
+
+  @Override
+  public void deleteSeatClass(int id) throws Exception {
+    store.seatClasses.remove(id);
+  }
+}
@@ -0,0 +1,67 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.example.trainreservationsystem.models.admin.SeatClass;
+import com.example.trainreservationsystem.models.shared.Seat;
+import com.example.trainreservationsystem.repositories.shared.SeatRepository;
+
+public class InMemorySeatRepository implements SeatRepository {
+  private final InMemoryStore store = InMemoryStore.getInstance();
+
+  @Override
+  public Seat addSeat(Seat seat, int scheduleId) throws Exception {
+    seat.setId(store.nextId("seats"));
+    Seat row = new Seat(seat.getId(), new SeatClass(seat.getSeatClass().getId(), null, 0, null));
+    row.setBooked(seat.isBooked());
+    store.seatSchedules.put(seat.getId(), scheduleId);
+    store.seats.put(seat.getId(), row);
+    return seat;
+  }
+
+  @Override
+  public List<Seat> getSeatsByScheduleId(int scheduleId) throws Exception {
+    return getSeatsByScheduleIds(List.of(scheduleId)).getOrDefault(scheduleId, new ArrayList<>());
+  }
+
+  @Override
+  public Map<Integer, List<Seat>> getSeatsByScheduleIds(List<Integer> scheduleIds) throws Exception {
+    Map<Integer, List<Seat>> seatsBySchedule = new HashMap<>();
+    if (scheduleIds == null || scheduleIds.isEmpty()) {
+      return seatsBySchedule;
+    }
+    Set<Integer> wanted = new HashSet<>(scheduleIds);
+    List<Seat> rows = InMemoryStore.select(store.seats,
+        seat -> wanted.contains(store.seatSchedules.get(seat.getId())),
+        Comparator.comparingInt(Seat::getId));
+    for (Seat row : rows) {
+      // LEFT JOIN seat_classes
+      SeatClass seatClass = store.seatClasses.get(row.getSeatClass().getId());
+      Seat seat = new Seat(row.getId(), seatClass != null ? InMemoryStore.copy(seatClass) : null);
+      seat.setBooked(row.isBooked());
+      seatsBySchedule.computeIfAbsent(store.seatSchedules.get(row.getId()), k -> new ArrayList<>()).add(seat);
+    }
+    return seatsBySchedule;
+  }
+
+  @Override
+  public void updateSeatStatus(int seatId, boolean isBooked) throws Exception {
+    store.seats.computeIfPresent(seatId, (id, current) -> {
+      Seat updated = new Seat(id, current.getSeatClass());
+      updated.setBooked(isBooked);
+      return updated;
+    });
+  }
+
+  @Override
+  public void deleteSeat(int id) throws Exception {
+    store.seats.remove(id);
+    store.seatSchedules.remove(id);
+  }
+}
@@ -0,0 +1,152 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.models.admin.Statistics;
+import com.example.trainreservationsystem.models.member.Booking;
+import com.example.trainreservationsystem.models.member.Passenger;
+import com.example.trainreservationsystem.models.member.Payment;
+import com.example.trainreservationsystem.repositories.admin.StatisticsRepository;
+
+/**
+ * Rows are keyed by (schedule, day, seat class) like the unique index on the
+ * statistics table, with a missing seat class stored as 0.
+ */
+public class InMemoryStatisticsRepository implements StatisticsRepository {
+  private final InMemoryStore store = InMemoryStore.getInstance();
+
+  @Override
+  public void addStatistics(Statistics statistics) throws Exception {
+    synchronized (store) {
+      if (statistics.getSeatsSoldPerClass() != null && !statistics.getSeatsSoldPerClass().isEmpty()) {
+        for (Map.Entry<Integer, Long> entry : statistics.getSeatsSoldPerClass().entrySet()) {
+          setSeatsSold(statistics, entry.getKey(), entry.getValue().intValue());
+        }
+      } else {
+        setSeatsSold(statistics, statistics.getSeatClassId(), statistics.getSeatsSold());
+      }
+    }
+  }
+
+  // Replaces the seat count of an existing row
+  private void setSeatsSold(Statistics statistics, int seatClassId, int seatsSold) {
+    Statistics row = row(statistics.getScheduleId(), statistics.getDayOfWeek(), seatClassId);
+    if (row.getDepartureTime() == null) {
+      row.setDepartureTime(statistics.getDepartureTime());
+    }
+    row.setSeatsSold(seatsSold);
+  }
+
+  @Override
+  public List<Statistics> getStatisticsByScheduleId(int scheduleId) throws Exception {
+    List<Statistics> statsList = new ArrayList<>();
+    synchronized (store) {
+      for (Statistics row : store.statistics.values()) {
+        if (row.getScheduleId() == scheduleId) {
+          Statistics stats = new Statistics();
+          stats.setId(row.getId());
+          stats.setScheduleId(row.getScheduleId());
+          stats.setDayOfWeek(row.getDayOfWeek());
+          stats.setDepartureTime(row.getDepartureTime());
+          stats.setSeatClassId(row.getSeatClassId());
+          stats.setSeatsSold(row.getSeatsSold());
+          statsList.add(stats);
+        }
+      }
+    }
+    return statsList;
+  }
+
+  @Override
+  public void applyDeltas(List<Statistics> deltas) throws Exception {
+    synchronized (store) {
+      for (Statistics delta : deltas) {
+        Statistics row = row(delta.getScheduleId(), delta.getDayOfWeek(), delta.getSeatClassId());
+        row.setDepartureTime(delta.getDepartureTime());
+        row.setSeatsSold(row.getSeatsSold() + delta.getSeatsSold());
+        row.setBookings(row.getBookings() + delta.getBookings());
+        row.setRevenue(row.getRevenue() + delta.getRevenue());
+      }
+    }
+  }
+
+  // Existing row for the key, or a new empty one. Callers hold the store lock.
+  private Statistics row(int scheduleId, String dayOfWeek, int seatClassId) {
+    return store.statistics.computeIfAbsent(scheduleId + "|" + dayOfWeek + "|" + seatClassId, key -> {
+      Statistics row = new Statistics();
+      row.setId(store.nextId("statistics"));
+      row.setScheduleId(scheduleId);
+      row.setDayOfWeek(dayOfWeek);
+      row.setSeatClassId(seatClassId);
+      return row;
+    });
+  }
+
+  @Override
+  public Map<Integer, Statistics> getScheduleTotals() throws Exception {
+    Map<Integer, Statistics> totals = new HashMap<>();
+    synchronized (store) {
+      for (Statistics row : store.statistics.values()) {
+        Statistics stats = totals.computeIfAbsent(row.getScheduleId(), id -> {
+          Statistics total = new Statistics();
+          total.setScheduleId(id);
+          return total;
+        });
+        stats.setSeatsSold(stats.getSeatsSold() + row.getSeatsSold());
+        stats.setBookings(stats.getBookings() + row.getBookings());
+        stats.setRevenue(stats.getRevenue() + row.getRevenue());
+      }
+    }
+    return totals;
+  }
+
+  @Override
+  public boolean isEmpty() throws Exception {
+    return store.statistics.isEmpty();
+  }
+
+  @Override
+  public void forEachSale(Integer bookingId, Consumer<Sale> consumer) throws Exception {
+    List<Booking> bookings = InMemoryStore.select(store.bookings,
+        b -> bookingId != null ? b.getId() == bookingId : "CONFIRMED".equals(b.getStatus()),
+        Comparator.comparingInt(Booking::getId));
+    for (Booking booking : bookings) {
+      Schedule schedule = store.schedules.get(booking.getScheduleId());
+      if (schedule == null) {
+        continue; // JOIN schedules
+      }
+      List<Integer> seats = new ArrayList<>();
+      for (Passenger p : booking.getPassengers()) {
+        if (p.getSeatNumber() > 0) {
+          seats.add(p.getSeatNumber());
+        }
+      }
+      seats.sort(null);
+      double paid = paid(booking.getId());
+      if (seats.isEmpty()) {
+        seats.add(0); // LEFT JOIN passengers: one row without a seat
+      }
+      int seatCount = seats.get(0) == 0 ? 0 : seats.size();
+      for (int seatNumber : seats) {
+        consumer.accept(new Sale(booking.getId(), booking.getScheduleId(), booking.getEffectiveTravelDate(),
+            schedule.getDepartureTime(), schedule.getCapacity(), seatNumber, seatCount, paid));
+      }
+    }
+  }
+
+  private double paid(int bookingId) {
+    double paid = 0;
+    for (Payment payment : store.payments.values()) {
+      if (payment.getBookingId() == bookingId && "SUCCESS".equals(payment.getStatus())) {
+        paid += payment.getAmount();
+      }
+    }
+    return paid;
+  }
+}
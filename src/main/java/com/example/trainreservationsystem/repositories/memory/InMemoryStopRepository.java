@@ -0,0 +1,44 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.trainreservationsystem.models.admin.Stop;
+import com.example.trainreservationsystem.repositories.admin.StopRepository;
+
+public class InMemoryStopRepository implements StopRepository {
+  private final InMemoryStore store = InMemoryStore.getInstance();
+
+  @Override
+  public Stop addStop(Stop stop) throws Exception {
+    stop.setId(store.nextId("stops"));
+    store.stops.put(stop.getId(), InMemoryStore.copy(stop));
+    return stop;
+  }
+
+  @Override
+  public List<Stop> getAllStops() throws Exception {
+    List<Stop> stops = new ArrayList<>();
+    for (Stop stop : InMemoryStore.select(store.stops, s -> true, Comparator.comparingInt(Stop::getId))) {
+      stops.add(InMemoryStore.copy(stop));
+    }
+    return stops;
+  }
+
+  @Override
+  public Stop getStopById(int id) throws Exception {
+    Stop stop = store.stops.get(id);
+    return stop != null ? InMemoryStore.copy(stop) : null;
+  }
+
+  @Override
+  public void updateStop(Stop stop) throws Exception {
+    store.stops.replace(stop.getId(), InMemoryStore.copy(stop));
+  }
+
+  @Override
+  public void deleteStop(int id) throws Exception {
+    store.stops.remove(id);
+  }
+}
@@ -0,0 +1,216 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import com.example.trainreservationsystem.models.admin.CancellationPolicy;
+import com.example.trainreservationsystem.models.admin.Discount;
+import com.example.trainreservationsystem.models.admin.Route;
+import com.example.trainreservationsystem.models.admin.RouteSegment;
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.models.admin.SeatClass;
+import com.example.trainreservationsystem.models.admin.Statistics;
+import com.example.trainreservationsystem.models.admin.Stop;
+import com.example.trainreservationsystem.models.member.Booking;
+import com.example.trainreservationsystem.models.member.Notification;
+import com.example.trainreservationsystem.models.member.Passenger;
+import com.example.trainreservationsystem.models.member.Payment;
+import com.example.trainreservationsystem.models.member.PaymentMethod;
+import com.example.trainreservationsystem.models.member.Reminder;
+import com.example.trainreservationsystem.models.member.Ticket;
+import com.example.trainreservationsystem.models.shared.Complaint;
+import com.example.trainreservationsystem.models.shared.Seat;
+import com.example.trainreservationsystem.models.shared.User;
+
+/**
+ * Tables behind the in-memory repositories: one map per table keyed by id,
+ * each with its own id sequence.
+ *
+ * Rows are private copies. Repositories copy model objects in on write and
+ * out on read, so callers can't change stored state by mutating what they
+ * got back, the same as rows read over JDBC. Single-row reads and writes go
+ * straight to the concurrent maps; writes that span tables or check before
+ * they write (claiming seats, cancelling) hold the store's lock in place of
+ * a transaction.
+ */
+final class InMemoryStore {
+  private static final InMemoryStore INSTANCE = new InMemoryStore();
+
+  final Map<Integer, User> users = new ConcurrentHashMap<>();
+  final Map<Integer, Stop> stops = new ConcurrentHashMap<>();
+  final Map<Integer, SeatClass> seatClasses = new ConcurrentHashMap<>();
+  final Map<Integer, Route> routes = new ConcurrentHashMap<>();
+  final Map<Integer, RouteSegment> segments = new ConcurrentHashMap<>();
+  final Map<Integer, Integer> segmentRoutes = new ConcurrentHashMap<>(); // segment id -> route id
+  final Map<Integer, Schedule> schedules = new ConcurrentHashMap<>(); // route holds only its id
+  final Map<Integer, Seat> seats = new ConcurrentHashMap<>(); // seat class holds only its id
+  final Map<Integer, Integer> seatSchedules = new ConcurrentHashMap<>(); // seat id -> schedule id
+  final Map<Integer, Booking> bookings = new ConcurrentHashMap<>(); // passengers stored on the booking
+  final Map<Integer, Ticket> tickets = new ConcurrentHashMap<>();
+  final Map<Integer, PaymentMethod> paymentMethods = new ConcurrentHashMap<>();
+  final Map<Integer, Payment> payments = new ConcurrentHashMap<>();
+  final Map<Integer, Notification> notifications = new ConcurrentHashMap<>();
+  final Map<Integer, Reminder> reminders = new ConcurrentHashMap<>();
+  final Map<Integer, Complaint> complaints = new ConcurrentHashMap<>();
+  final Map<Integer, Discount> discounts = new ConcurrentHashMap<>();
+  final Map<Integer, CancellationPolicy> policies = new ConcurrentHashMap<>();
+  final Map<Integer, Boolean> activePolicies = new ConcurrentHashMap<>(); // policy id -> is_active
+  final Map<String, Statistics> statistics = new ConcurrentHashMap<>(); // "schedule|day|class" -> row
+
+  // booked_seats: run (schedule, travel date) -> (seat, segment) cell -> booking id
+  final Map<Long, Map<Long, Integer>> bookedSeats = new ConcurrentHashMap<>();
+
+  private final Map<String, AtomicInteger> sequences = new ConcurrentHashMap<>();
+
+  private InMemoryStore() {
+  }
+
+  static InMemoryStore getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Next id of a table, starting at 1 like a SERIAL column.
+   */
+  int nextId(String table) {
+    return sequences.computeIfAbsent(table, t -> new AtomicInteger()).incrementAndGet();
+  }
+
+  static long runKey(int scheduleId, LocalDate travelDate) {
+    return ((long) scheduleId << 32) | (travelDate.toEpochDay() & 0xffffffffL);
+  }
+
+  static long cellKey(int seatNumber, int segmentIndex) {
+    return ((long) seatNumber << 32) | (segmentIndex & 0xffffffffL);
+  }
+
+  /**
+   * Frees every seat a booking holds, as the trg_release_booked_seats
+   * trigger does when a booking is cancelled. Callers hold the store lock.
+   */
+  void releaseSeats(Booking booking) {
+    Map<Long, Integer> cells = bookedSeats.get(runKey(booking.getScheduleId(), booking.getEffectiveTravelDate()));
+    if (cells != null) {
+      cells.values().removeIf(bookingId -> bookingId == booking.getId());
+    }
+  }
+
+  /**
+   * Replaces a booking row with one in the new status, freeing its seats
+   * when it becomes CANCELLED. Callers hold the store lock.
+   */
+  void setStatus(Booking row, String status) {
+    Booking updated = copy(row);
+    updated.setPassengers(row.getPassengers());
+    updated.setStatus(status);
+    if ("CANCELLED".equals(status) && !"CANCELLED".equals(row.getStatus())) {
+      releaseSeats(row);
+    }
+    bookings.put(updated.getId(), updated);
+  }
+
+  /**
+   * Rows of a table matching the filter, ordered by the comparator.
+   */
+  static <T> List<T> select(Map<Integer, T> table, Predicate<T> filter, Comparator<T> order) {
+    List<T> rows = new ArrayList<>();
+    for (T row : table.values()) {
+      if (filter.test(row)) {
+        rows.add(row);
+      }
+    }
+    if (order != null) {
+      rows.sort(order);
+    }
+    return rows;
+  }
+
+  /**
+   * A stored schedule joined with its route's endpoints, or with a null
+   * route if the route is gone. Seats are not loaded.
+   */
+  Schedule readSchedule(Schedule row) {
+    Route routeRow = routes.get(row.getRoute().getId());
+    Route route = routeRow != null ? new Route(routeRow.getId(), routeRow.getSource(), routeRow.getDestination()) : null;
+    Schedule schedule = new Schedule(row.getId(), route, row.getDepartureTime(), row.getArrivalTime(), row.getPrice(),
+        row.getCapacity());
+    schedule.setDayMask(row.getDayMask());
+    return schedule;
+  }
+
+  static Schedule scheduleRow(Schedule schedule) {
+    Schedule row = new Schedule(schedule.getId(), new Route(schedule.getRoute().getId(), null, null),
+        schedule.getDepartureTime(), schedule.getArrivalTime(), schedule.getPrice(), schedule.getCapacity());
+    row.setDayMask(schedule.getDayMask());
+    return row;
+  }
+
+  // Copies, so stored rows never escape to callers
+
+  static User copy(User user) {
+    return new User(user.getId(), user.getUsername(), user.getPassword(), user.getEmail(), user.getPhoneNo(),
+        user.getUserType(), user.getLoyaltyPoints());
+  }
+
+  static Stop copy(Stop stop) {
+    return new Stop(stop.getId(), stop.getName());
+  }
+
+  static SeatClass copy(SeatClass seatClass) {
+    return new SeatClass(seatClass.getId(), seatClass.getName(), seatClass.getBaseFare(),
+        seatClass.getDescription());
+  }
+
+  static Booking copy(Booking booking) {
+    Booking copy = new Booking(booking.getId(), booking.getUserId(), booking.getScheduleId(), booking.getStatus(),
+        booking.getBookingDate(), booking.getTravelDate());
+    copy.setFromStopId(booking.getFromStopId());
+    copy.setToStopId(booking.getToStopId());
+    return copy;
+  }
+
+  static Passenger copy(Passenger passenger) {
+    Passenger copy = new Passenger(passenger.getName(), passenger.getAge(), passenger.isBringPet(),
+        passenger.isHasWheelchair());
+    copy.setId(passenger.getId());
+    copy.setSeatNumber(passenger.getSeatNumber());
+    return copy;
+  }
+
+  static Ticket copy(Ticket ticket) {
+    return new Ticket(ticket.getId(), ticket.getBookingId(), ticket.getSeatId(), ticket.getQrCode(),
+        ticket.getStatus());
+  }
+
+  static Notification copy(Notification notification) {
+    Notification copy = new Notification(notification.getId(), notification.getUserId(), notification.getMessage(),
+        notification.isSent());
+    copy.setCreatedAt(notification.getCreatedAt());
+    return copy;
+  }
+
+  static Complaint copy(Complaint complaint) {
+    return new Complaint(complaint.getId(), complaint.getUserId(), complaint.getSubject(),
+        complaint.getDescription(), complaint.getTrackingId(), complaint.getCreatedAt());
+  }
+
+  static Discount copy(Discount discount) {
+    return new Discount(discount.getId(), discount.getScheduleId(), discount.getName(), discount.getCode(),
+        discount.getType() != null ? discount.getType() : Discount.DiscountType.DISCOUNT_CODE,
+        discount.getDescription(), discount.getDiscountPercentage(), discount.getDiscountAmount(),
+        discount.getValidFrom(), discount.getValidTo(), discount.isActive(), discount.getMaxUses(),
+        discount.getCurrentUses());
+  }
+
+  static CancellationPolicy copy(CancellationPolicy policy) {
+    return new CancellationPolicy(policy.getId(), policy.getName(), policy.getDescription(),
+        policy.getHoursBeforeDeparture(), policy.getRefundPercentage(), policy.isAllowCancellation(),
+        policy.getMinHoursBeforeDeparture());
+  }
+}
@@ -0,0 +1,92 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.example.trainreservationsystem.models.member.Booking;
+import com.example.trainreservationsystem.models.member.Payment;
+import com.example.trainreservationsystem.models.member.Ticket;
+import com.example.trainreservationsystem.repositories.member.TicketRepository;
+
+/**
+ * Tickets have no stored creation time here; ids are handed out in creation
+ * order, so newest-first sorts by id.
+ */
+public class InMemoryTicketRepository implements TicketRepository {
+  private static final Comparator<Ticket> NEWEST_FIRST = Comparator.comparingInt(Ticket::getId).reversed();
+
+  private final InMemoryStore store = InMemoryStore.getInstance();
+
+  @Override
+  public List<Ticket> getTicketsByUserId(int userId) {
+    return select(t -> {
+      Booking booking = store.bookings.get(t.getBookingId());
+      return booking != null && booking.getUserId() == userId;
+    }, NEWEST_FIRST);
+  }
+
+  @Override
+  public List<Ticket> getTicketsByBookingId(int bookingId) {
+    return select(t -> t.getBookingId() == bookingId, Comparator.comparingInt(Ticket::getSeatId));
+  }
+
+  @Override
+  public void saveTicket(Ticket ticket) {
+    ticket.setId(store.nextId("tickets"));
+    store.tickets.put(ticket.getId(), InMemoryStore.copy(ticket));
+  }
+
+  @Override
+  public boolean updateTicketStatus(int ticketId, String status) {
+    return store.tickets.computeIfPresent(ticketId, (id, current) -> {
+      Ticket updated = InMemoryStore.copy(current);
+      updated.setStatus(status);
+      return updated;
+    }) != null;
+  }
+
+  @Override
+  public List<Ticket> getAllTickets() {
+    return select(t -> true, NEWEST_FIRST);
+  }
+
+  /**
+   * Amount per ticket: what was successfully paid for its booking. Tickets
+   * of unpaid bookings are left out.
+   */
+  @Override
+  public Map<Integer, Double> getTicketAmounts() {
+    Map<Integer, Double> paidByBooking = new HashMap<>();
+    for (Payment payment : store.payments.values()) {
+      if ("SUCCESS".equals(payment.getStatus())) {
+        paidByBooking.merge(payment.getBookingId(), payment.getAmount(), Double::sum);
+      }
+    }
+    Map<Integer, Double> amounts = new HashMap<>();
+    for (Ticket ticket : store.tickets.values()) {
+      Double paid = paidByBooking.get(ticket.getBookingId());
+      if (paid != null) {
+        amounts.put(ticket.getId(), paid);
+      }
+    }
+    return amounts;
+  }
+
+  @Override
+  public Ticket getTicketById(int ticketId) {
+    Ticket ticket = store.tickets.get(ticketId);
+    return ticket != null ? InMemoryStore.copy(ticket) : null;
+  }
+
+  private List<Ticket> select(Predicate<Ticket> filter, Comparator<Ticket> order) {
+    List<Ticket> tickets = new ArrayList<>();
+    for (Ticket ticket : InMemoryStore.select(store.tickets, filter, order)) {
+      tickets.add(InMemoryStore.copy(ticket));
+    }
+    return tickets;
+  }
+}
@@ -0,0 +1,83 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.repositories.admin.TimetableIndex;
+import com.example.trainreservationsystem.repositories.admin.TrainRepository;
+
+/**
+ * Searches go through the same {@link TimetableIndex} as the JDBC
+ * repository, built from the store on first use.
+ */
+public class InMemoryTrainRepository implements TrainRepository {
+  private final InMemoryStore store = InMemoryStore.getInstance();
+  private final TimetableIndex timetable = TimetableIndex.getInstance();
+  private final Object timetableBuild = new Object(); // One build at a time
+
+  @Override
+  public List<Schedule> searchSchedules(String source, String destination, LocalDate date) {
+    if (!timetable.isLoaded()) {
+      synchronized (timetableBuild) {
+        // Schedules changed while reading make the build stale; read again
+        while (!timetable.isLoaded()) {
+          long version = timetable.getVersion();
+          timetable.rebuild(getAllSchedules(), version);
+        }
+      }
+    }
+    return timetable.search(source, destination, date);
+  }
+
+  @Override
+  public void refreshTimetable(int scheduleId) {
+    if (!timetable.needsPatch()) {
+      return;
+    }
+    Schedule schedule = getScheduleById(scheduleId);
+    if (schedule != null) {
+      timetable.upsert(schedule);
+    } else {
+      timetable.remove(scheduleId);
+    }
+  }
+
+  @Override
+  public List<Schedule> getAllSchedules() {
+    List<Schedule> schedules = new ArrayList<>();
+    for (Schedule row : store.schedules.values()) {
+      Schedule schedule = store.readSchedule(row);
+      if (schedule.getRoute() != null) { // JOIN routes
+        schedules.add(schedule);
+      }
+    }
+    return schedules;
+  }
+
+  @Override
+  public Schedule getScheduleById(int id) {
+    Schedule row = store.schedules.get(id);
+    if (row == null) {
+      return null;
+    }
+    Schedule schedule = store.readSchedule(row);
+    return schedule.getRoute() != null ? schedule : null;
+  }
+
+  @Override
+  public Map<Integer, Schedule> getSchedulesByIds(Collection<Integer> ids) {
+    Map<Integer, Schedule> schedules = new HashMap<>();
+    for (Integer id : ids) {
+      Schedule schedule = getScheduleById(id);
+      if (schedule != null) {
+        schedules.put(id, schedule);
+      }
+    }
+    return schedules;
+  }
+}
@@ -0,0 +1,132 @@
+package com.example.trainreservationsystem.repositories.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.trainreservationsystem.models.shared.User;
+import com.example.trainreservationsystem.repositories.shared.UserRepository;
+
+public class InMemoryUserRepository implements UserRepository {
+  private final InMemoryStore store = InMemoryStore.getInstance();
+
+  @Override
+  public User authenticateUser(String email, String password) throws Exception {
+    for (User user : store.users.values()) {
+      if (user.getEmail().equals(email) && user.getPassword().equals(password)) {
+        return InMemoryStore.copy(user);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void registerUser(String username, String password, String email, String phoneNo) throws Exception {
+    synchronized (store) {
+      if (findByUsername(username) != null) {
+        throw new Exception("Username already exists: " + username);
+      }
+      int id = store.nextId("users");
+      store.users.put(id, new User(id, username, password, email, phoneNo, "CUSTOMER", 0));
+    }
+  }
+
+  @Override
+  public User getUserById(int id) throws Exception {
+    User user = store.users.get(id);
+    return user != null ? InMemoryStore.copy(user) : null;
+  }
+
+  @Override
+  public User getUserByUsername(String username) throws Exception {
+    User user = findByUsername(username);
+    return user != null ? InMemoryStore.copy(user) : null;
+  }
+
+  private User findByUsername(String username) {
+    for (User user : store.users.values()) {
+      if (user.getUsername().equals(username)) {
+        return user;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void updatePassword(String email, String newPassword) throws Exception {
+    for (User user : store.users.values()) {
+      if (user.getEmail().equals(email)) {
+        store.users.computeIfPresent(user.getId(), (id, current) -> {
+          User updated = InMemoryStore.copy(current);
+          updated.setPassword(newPassword);
+          return updated;
+        });
+      }
+    }
+  }
+
+  @Override
+  public void updateUser(User user) throws Exception {
+    store.users.computeIfPresent(user.getId(), (id, current) -> {
+      User updated = InMemoryStore.copy(current);
+      updated.setUsername(user.getUsername());
+      updated.setEmail(user.getEmail());
+      updated.setPhoneNo(user.getPhoneNo());
+      return updated;
+    });
+  }
+
+  @Override
+  public void updateLoyaltyPoints(int userId, int loyaltyPoints) throws Exception {
+    store.users.computeIfPresent(userId, (id, current) -> withPoints(current, loyaltyPoints));
+  }
+
+  @Override
+  public void addLoyaltyPoints(int userId, int pointsToAdd) throws Exception {
+    store.users.computeIfPresent(userId, (id, current) -> withPoints(current, current.getLoyaltyPoints() + pointsToAdd));
+  }
+
+  @Override
+  public void deductLoyaltyPoints(int userId, int pointsToDeduct) throws Exception {
+    boolean[] deducted = new boolean[1];
+    store.users.computeIfPresent(userId, (id, current) -> {
+      if (current.getLoyaltyPoints() < pointsToDeduct) {
+        return current;
+      }
+      deducted[0] = true;
+      return withPoints(current, current.getLoyaltyPoints() - pointsToDeduct);
+    });
+    if (!deducted[0]) {
+      throw new Exception("Insufficient loyalty points");
+    }
+  }
+
+  private static User withPoints(User user, int loyaltyPoints) {
+    User updated = InMemoryStore.copy(user);
+    updated.setLoyaltyPoints(loyaltyPoints);
+    return updated;
+  }
+
+  @Override
+  public List<User> getAllUsers() throws Exception {
+    List<User> users = new ArrayList<>();
+    for (User user : InMemoryStore.select(store.users, u -> true, Comparator.comparingInt(User::getId))) {
+      users.add(InMemoryStore.copy(user));
+    }
+    return users;
+  }
+
+  @Override
+  public boolean deleteUser(int userId) throws Exception {
+    return store.users.remove(userId) != null;
+  }
+
+  @Override
+  public boolean updateUserType(int userId, String userType) throws Exception {
+    return store.users.computeIfPresent(userId, (id, current) -> {
+      User updated = InMemoryStore.copy(current);
+      updated.setUserType(userType);
+      return updated;
+    }) != null;
+  }
+}
@@ -6,6 +6,9 @@ import java.sql.Statement;
 
 import java.time.LocalTime;
 
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.repositories.admin.TimetableIndex;
+
 /**
  * Seeds schedule data into the database.
  * Only seeds if the schedules table is empty.
@@ -44,9 +47,9 @@ public class ScheduleSeeder {
       }
 
       StringBuilder sql = new StringBuilder(
-          "INSERT INTO schedules (route_id, departure_time, arrival_time, capacity, price, days_of_week) VALUES ");
+          "INSERT INTO schedules (route_id, departure_time, arrival_time, capacity, price, day_mask) VALUES ");
 
-      String allDays = "MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY,SATURDAY,SUNDAY";
+      int allDays = Schedule.ALL_DAYS_MASK;
 
       // Route 1: Karachi -> Rawalpindi (Tezgam)
       addSchedule(sql, 1, LocalTime.of(17, 0), LocalTime.of(19, 0), 200, 3500.00, allDays);
@@ -66,6 +69,7 @@ public class ScheduleSeeder {
       // Remove trailing comma and execute
       String finalSql = sql.toString().replaceAll(",\\s*$", "");
       stmt.executeUpdate(finalSql);
+      TimetableIndex.getInstance().invalidate();
 
       System.out.println("✅ Seeded schedules (recurring)");
       return true;
@@ -81,9 +85,9 @@ public class ScheduleSeeder {
    */
   private static void addSchedule(StringBuilder sql, int routeId,
       LocalTime departure, LocalTime arrival,
-      int capacity, double price, String daysOfWeek) {
+      int capacity, double price, int dayMask) {
     sql.append(String.format(
-        "(%d, '%s', '%s', %d, %.2f, '%s'), ",
-        routeId, departure, arrival, capacity, price, daysOfWeek));
+        "(%d, '%s', '%s', %d, %.2f, %d), ",
+        routeId, departure, arrival, capacity, price, dayMask));
   }
 }
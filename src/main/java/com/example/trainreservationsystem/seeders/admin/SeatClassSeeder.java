@@ -5,6 +5,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 
 import com.example.trainreservationsystem.models.admin.SeatClass;
+import com.example.trainreservationsystem.repositories.admin.JdbcSeatClassRepository;
 import com.example.trainreservationsystem.repositories.admin.SeatClassRepository;
 
 /**
@@ -25,7 +26,7 @@ public class SeatClassSeeder {
             }
 
             System.out.println("[INFO] Seeding seat classes...");
-            SeatClassRepository repo = new SeatClassRepository();
+            SeatClassRepository repo = new JdbcSeatClassRepository();
 
             // Economy Class - baseline pricing
             SeatClass economy = new SeatClass();
@@ -6,6 +6,7 @@ import com.example.trainreservationsystem.models.admin.Route;
 import com.example.trainreservationsystem.models.admin.RouteSegment;
 import com.example.trainreservationsystem.repositories.RepositoryFactory;
 import com.example.trainreservationsystem.repositories.admin.RouteRepository;
+import com.example.trainreservationsystem.services.shared.ReferenceDataCache;
 
 public class RouteService {
 
@@ -22,11 +23,15 @@ public class RouteService {
         }
 
         route.setSegments(segments);
+        ReferenceDataCache.getInstance().refreshRoutes();
         return route;
     }
 
+    /**
+     * All routes with their segments, from the reference data cache.
+     */
     public List<Route> getAllRoutes() throws Exception {
-        return routeRepository.getAllRoutes();
+        return ReferenceDataCache.getInstance().getRoutes();
     }
 
     public Route getRouteById(int id) throws Exception {
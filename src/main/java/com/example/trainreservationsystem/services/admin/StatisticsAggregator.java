@@ -0,0 +1,230 @@
+package com.example.trainreservationsystem.services.admin;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.example.trainreservationsystem.models.admin.SeatClass;
+import com.example.trainreservationsystem.models.admin.Statistics;
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
+import com.example.trainreservationsystem.repositories.admin.StatisticsRepository;
+import com.example.trainreservationsystem.repositories.admin.StatisticsRepository.Sale;
+import com.example.trainreservationsystem.services.shared.ReferenceDataCache;
+
+/**
+ * Keeps the statistics table up to date as bookings are confirmed and
+ * cancelled.
+ *
+ * Each sale adds to in-memory {@link LongAdder} counters keyed by (schedule,
+ * day of week, seat class), so recording never blocks other threads. A
+ * periodic flush adds the accumulated deltas to the table in one upsert.
+ * Dashboards then read one row per schedule instead of every booking.
+ *
+ * Seats map to seat classes the same way the booking screen assigns them:
+ * classes ordered by base fare share the schedule's capacity evenly.
+ */
+public class StatisticsAggregator {
+  private static StatisticsAggregator instance;
+  private static final int DEFAULT_CAPACITY = 60;
+
+  private final StatisticsRepository statisticsRepository;
+  private final Map<Long, Counters> counters = new ConcurrentHashMap<>();
+  private volatile int[] seatClassIds; // Ordered by base fare, reloaded after each flush
+
+  private StatisticsAggregator() {
+    this.statisticsRepository = RepositoryFactory.getStatisticsRepository();
+  }
+
+  public static synchronized StatisticsAggregator getInstance() {
+    if (instance == null) {
+      instance = new StatisticsAggregator();
+    }
+    return instance;
+  }
+
+  // Schedule id in the high half, then seat class id and day of week (1-7)
+  private static long key(int scheduleId, int seatClassId, int day) {
+    return ((long) scheduleId << 32) | ((long) seatClassId << 3) | day;
+  }
+
+  /**
+   * Fills an empty statistics table from the confirmed bookings already in
+   * the database.
+   */
+  public void start() {
+    try {
+      if (statisticsRepository.isEmpty()) {
+        statisticsRepository.forEachSale(null, new SaleRecorder(1));
+        int rows = flush();
+        System.out.println("✅ Statistics rebuilt from existing bookings: " + rows + " row(s)");
+      }
+    } catch (Exception e) {
+      System.err.println("❌ Error rebuilding statistics: " + e.getMessage());
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Counts a booking that has just been paid for.
+   */
+  public void onBookingConfirmed(int bookingId) {
+    record(bookingId, 1);
+  }
+
+  /**
+   * Takes back a confirmed booking that has been cancelled. Call before its
+   * passengers are removed.
+   */
+  public void onBookingCancelled(int bookingId) {
+    record(bookingId, -1);
+  }
+
+  private void record(int bookingId, int sign) {
+    try {
+      statisticsRepository.forEachSale(bookingId, new SaleRecorder(sign));
+    } catch (Exception e) {
+      System.err.println("Error recording statistics for booking #" + bookingId + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Adds the counters accumulated since the last flush to the statistics
+   * table.
+   *
+   * @return the number of rows written
+   */
+  public synchronized int flush() {
+    List<Statistics> deltas = new ArrayList<>();
+    List<long[]> taken = new ArrayList<>();
+    List<Counters> sources = new ArrayList<>();
+    for (Map.Entry<Long, Counters> entry : counters.entrySet()) {
+      Counters c = entry.getValue();
+      // Subtract exactly what is read, so concurrent adds stay for the next flush
+      long seats = c.seats.sum();
+      long bookings = c.bookings.sum();
+      long cents = c.revenueCents.sum();
+      if (seats == 0 && bookings == 0 && cents == 0) {
+        continue;
+      }
+      c.seats.add(-seats);
+      c.bookings.add(-bookings);
+      c.revenueCents.add(-cents);
+
+      long key = entry.getKey();
+      Statistics delta = new Statistics();
+      delta.setScheduleId((int) (key >>> 32));
+      delta.setSeatClassId((int) ((key & 0xFFFFFFFFL) >>> 3));
+      delta.setDayOfWeek(DayOfWeek.of((int) (key & 7)).getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+      delta.setDepartureTime(c.departureTime);
+      delta.setSeatsSold((int) seats);
+      delta.setBookings((int) bookings);
+      delta.setRevenue(cents / 100.0);
+      deltas.add(delta);
+      taken.add(new long[] { seats, bookings, cents });
+      sources.add(c);
+    }
+    seatClassIds = null; // Pick up seat class changes
+    if (deltas.isEmpty()) {
+      return 0;
+    }
+    try {
+      statisticsRepository.applyDeltas(deltas);
+      return deltas.size();
+    } catch (Exception e) {
+      // Put the deltas back for the next attempt
+      for (int i = 0; i < sources.size(); i++) {
+        sources.get(i).seats.add(taken.get(i)[0]);
+        sources.get(i).bookings.add(taken.get(i)[1]);
+        sources.get(i).revenueCents.add(taken.get(i)[2]);
+      }
+      System.err.println("❌ Error flushing statistics: " + e.getMessage());
+      return 0;
+    }
+  }
+
+  /**
+   * Seat class of a seat number, or 0 if no seat classes are defined.
+   */
+  private int seatClassOf(int seatNumber, int capacity) {
+    int[] classes = seatClassIds();
+    int n = classes.length;
+    if (n == 0 || seatNumber <= 0) {
+      return 0;
+    }
+    int total = capacity > 0 ? capacity : DEFAULT_CAPACITY;
+    int perClass = Math.max(total / n, 1);
+    int larger = total % n; // The first classes get one seat more
+    int boundary = larger * (perClass + 1);
+    int index = seatNumber <= boundary
+        ? (seatNumber - 1) / (perClass + 1)
+        : larger + (seatNumber - 1 - boundary) / perClass;
+    return classes[Math.min(index, n - 1)];
+  }
+
+  private int[] seatClassIds() {
+    int[] ids = seatClassIds;
+    if (ids == null) {
+      try {
+        ids = ReferenceDataCache.getInstance().getSeatClasses().stream().mapToInt(SeatClass::getId).toArray();
+      } catch (Exception e) {
+        System.err.println("Error loading seat classes for statistics: " + e.getMessage());
+        ids = new int[0];
+      }
+      seatClassIds = ids;
+    }
+    return ids;
+  }
+
+  /**
+   * Adds the rows of one or more bookings to the counters. Revenue is split
+   * evenly over a booking's seats; the booking itself counts once, on the
+   * class of its first seat.
+   */
+  private class SaleRecorder implements Consumer<Sale> {
+    private final int sign;
+    private int lastBookingId = -1;
+    private int seatIndex;
+
+    SaleRecorder(int sign) {
+      this.sign = sign;
+    }
+
+    @Override
+    public void accept(Sale sale) {
+      if (sale.bookingId != lastBookingId) {
+        lastBookingId = sale.bookingId;
+        seatIndex = 0;
+      }
+      int day = sale.travelDate.getDayOfWeek().getValue();
+      int seatClassId = seatClassOf(sale.seatNumber, sale.capacity);
+      Counters c = counters.computeIfAbsent(key(sale.scheduleId, seatClassId, day), k -> new Counters());
+      c.departureTime = sale.departureTime;
+
+      long totalCents = Math.round(sale.paid * 100);
+      int seats = Math.max(sale.seatCount, 1);
+      long cents = totalCents / seats + (seatIndex == 0 ? totalCents % seats : 0);
+      if (sale.seatNumber > 0) {
+        c.seats.add(sign);
+      }
+      if (seatIndex == 0) {
+        c.bookings.add(sign);
+      }
+      c.revenueCents.add(sign * cents);
+      seatIndex++;
+    }
+  }
+
+  private static class Counters {
+    private final LongAdder seats = new LongAdder();
+    private final LongAdder bookings = new LongAdder();
+    private final LongAdder revenueCents = new LongAdder();
+    private volatile LocalTime departureTime;
+  }
+}
@@ -4,7 +4,9 @@ import java.time.LocalDate;
 import java.util.List;
 
 import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.models.member.Itinerary;
 import com.example.trainreservationsystem.repositories.admin.TrainRepository;
+import com.example.trainreservationsystem.services.member.search.JourneyPlanner;
 
 public class TrainService {
   private final TrainRepository repository;
@@ -17,6 +19,22 @@ public class TrainService {
     return repository.searchSchedules(source, destination, date);
   }
 
+  /**
+   * Journeys from source to destination leaving on the given date, including
+   * ones that change trains.
+   */
+  public List<Itinerary> planJourneys(String source, String destination, LocalDate date) {
+    return JourneyPlanner.getInstance().plan(source, destination, date, null);
+  }
+
+  /**
+   * Every train calling at source and then destination on the given date,
+   * including ones whose route runs beyond either station.
+   */
+  public List<Itinerary> findThroughTrains(String source, String destination, LocalDate date) {
+    return JourneyPlanner.getInstance().planThroughTrains(source, destination, date);
+  }
+
   public Schedule getSchedule(int id) {
     return repository.getScheduleById(id);
   }
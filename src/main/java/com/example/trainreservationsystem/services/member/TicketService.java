@@ -12,24 +12,20 @@ public class TicketService {
     private final TicketRepository ticketRepository = RepositoryFactory.getTicketRepository();
 
     /**
-     * Generates multiple tickets for a booking - one ticket per seat.
+     * Issues one ticket per seat. The tickets are not saved here; the booking
+     * repository writes them in the same transaction as their booking.
      * 
-     * @param bookingId   The booking ID
-     * @param seatNumbers List of seat numbers for this booking
-     * @return List of generated tickets
+     * @param seatNumbers List of seat numbers for the booking
+     * @return List of unsaved tickets
      */
-    public List<Ticket> generateTickets(int bookingId, List<Integer> seatNumbers) {
+    public List<Ticket> issueTickets(List<Integer> seatNumbers) {
         List<Ticket> tickets = new ArrayList<>();
 
         for (int seatNumber : seatNumbers) {
             Ticket ticket = new Ticket();
-            ticket.setBookingId(bookingId);
             ticket.setSeatId(seatNumber);
             ticket.setQrCode(UUID.randomUUID().toString().substring(0, 16).toUpperCase());
             ticket.setStatus("VALID");
-
-            // Save to database
-            ticketRepository.saveTicket(ticket);
             tickets.add(ticket);
         }
 
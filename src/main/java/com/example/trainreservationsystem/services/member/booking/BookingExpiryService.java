@@ -0,0 +1,158 @@
+package com.example.trainreservationsystem.services.member.booking;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.trainreservationsystem.models.member.Booking;
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
+import com.example.trainreservationsystem.repositories.member.BookingRepository;
+import com.example.trainreservationsystem.services.shared.NotificationService;
+import com.example.trainreservationsystem.utils.shared.database.Database;
+import com.example.trainreservationsystem.utils.shared.scheduling.TimerWheel;
+
+/**
+ * Cancels unpaid PENDING bookings when their payment window closes.
+ *
+ * Each booking is put on a {@link TimerWheel} at its expiry instant when it
+ * is created, and every pending booking is loaded once on startup. A
+ * one-second tick cancels everything that fell due in one set-based UPDATE
+ * and frees the seats straight away, instead of polling every pending
+ * booking every few minutes.
+ */
+public class BookingExpiryService {
+  private static BookingExpiryService instance;
+  private static final long DEFAULT_TIMEOUT_MINUTES = 15;
+  private static final long TICK_MILLIS = 1000;
+  private static final int WHEEL_SIZE = 512;
+
+  private final BookingRepository bookingRepository;
+  private final long timeoutMillis;
+  private final TimerWheel<Integer> wheel;
+  private final ScheduledExecutorService ticker;
+  private volatile boolean started = false;
+
+  // Metrics
+  private final LongAdder scheduled = new LongAdder();
+  private final LongAdder cancelled = new LongAdder();
+  private final LongAdder skipped = new LongAdder(); // Paid or cancelled before expiry
+
+  private BookingExpiryService() {
+    this.bookingRepository = RepositoryFactory.getBookingRepository();
+    this.timeoutMillis = TimeUnit.MINUTES.toMillis(
+        Database.getLongSetting("BOOKING_PAYMENT_TIMEOUT_MINUTES", DEFAULT_TIMEOUT_MINUTES));
+    this.wheel = new TimerWheel<>(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+    this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "booking-expiry");
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  public static synchronized BookingExpiryService getInstance() {
+    if (instance == null) {
+      instance = new BookingExpiryService();
+    }
+    return instance;
+  }
+
+  /**
+   * Loads every pending booking onto the wheel and starts ticking.
+   * Bookings already past their window are cancelled on the first tick.
+   */
+  public synchronized void start() {
+    if (started) {
+      return;
+    }
+    started = true;
+    List<Booking> pending = bookingRepository.getPendingBookings();
+    for (Booking booking : pending) {
+      schedule(booking.getId(), booking.getBookingDate());
+    }
+    ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    System.out.println("✅ Booking expiry started with " + pending.size() + " pending booking(s)");
+  }
+
+  /**
+   * Schedules a PENDING booking to be cancelled when its payment window
+   * closes, counted from the booking date.
+   */
+  public void schedule(int bookingId, LocalDateTime bookingDate) {
+    long createdAt = bookingDate != null
+        ? bookingDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+        : System.currentTimeMillis();
+    wheel.schedule(bookingId, createdAt + timeoutMillis);
+    scheduled.increment();
+  }
+
+  private void tick() {
+    try {
+      List<Integer> due = wheel.advance(System.currentTimeMillis());
+      if (due.isEmpty()) {
+        return;
+      }
+      Map<Booking, List<Integer>> expired = bookingRepository.cancelUnpaidBookings(due);
+      skipped.add(due.size() - expired.size());
+      // Seat holds of these bookings have no timer of their own; drop them
+      // here too when the booking was paid or cancelled elsewhere
+      for (int bookingId : due) {
+        SeatHoldService.getInstance().forget(bookingId);
+      }
+      for (Map.Entry<Booking, List<Integer>> entry : expired.entrySet()) {
+        Booking booking = entry.getKey();
+        SeatInventoryService.getInstance().release(booking, entry.getValue());
+        NotificationService.getInstance().add(
+            "Your booking #" + booking.getId() + " was automatically cancelled due to non-payment.",
+            booking.getUserId());
+        cancelled.increment();
+        System.out.println("⏰ Auto-cancelled unpaid booking #" + booking.getId());
+      }
+      if (!expired.isEmpty()) {
+        System.out.println("✅ Cancelled " + expired.size() + " of " + due.size() + " due booking(s)");
+      }
+    } catch (Exception e) {
+      System.err.println("❌ Error expiring unpaid bookings: " + e.getMessage());
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Bookings waiting on the wheel.
+   */
+  public int getPendingCount() {
+    return wheel.size();
+  }
+
+  public long getScheduledCount() {
+    return scheduled.sum();
+  }
+
+  public long getCancelledCount() {
+    return cancelled.sum();
+  }
+
+  public long getSkippedCount() {
+    return skipped.sum();
+  }
+
+  /**
+   * Stops the ticker. Bookings still on the wheel are reloaded from the
+   * database on the next start.
+   */
+  public void shutdown() {
+    ticker.shutdown();
+    try {
+      if (!ticker.awaitTermination(5, TimeUnit.SECONDS)) {
+        ticker.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      ticker.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
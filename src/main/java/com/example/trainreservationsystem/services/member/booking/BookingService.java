@@ -5,15 +5,19 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import com.example.trainreservationsystem.models.admin.CancellationPolicy;
 import com.example.trainreservationsystem.models.admin.Schedule;
 import com.example.trainreservationsystem.models.member.Booking;
 import com.example.trainreservationsystem.models.member.Passenger;
-import com.example.trainreservationsystem.repositories.RepositoryFactory;
-import com.example.trainreservationsystem.repositories.admin.CancellationPolicyRepository;
+import com.example.trainreservationsystem.models.member.booking.SeatHold;
 import com.example.trainreservationsystem.repositories.admin.TrainRepository;
 import com.example.trainreservationsystem.repositories.member.BookingRepository;
+import com.example.trainreservationsystem.services.admin.StatisticsAggregator;
+import com.example.trainreservationsystem.services.member.TicketService;
+import com.example.trainreservationsystem.services.shared.ReferenceDataCache;
+import com.example.trainreservationsystem.services.shared.ReminderService;
 
 /**
  * Service for booking operations.
@@ -22,35 +26,84 @@ import com.example.trainreservationsystem.repositories.member.BookingRepository;
 public class BookingService {
   private final BookingRepository bookingRepository;
   private final TrainRepository trainRepository;
-  private final CancellationPolicyRepository cancellationPolicyRepository;
+  private final SeatInventoryService seatInventory;
+  private final SeatHoldService seatHoldService;
+  private final TicketService ticketService;
 
   public BookingService(BookingRepository bookingRepository, TrainRepository trainRepository) {
     this.bookingRepository = bookingRepository;
     this.trainRepository = trainRepository;
-    this.cancellationPolicyRepository = RepositoryFactory.getCancellationPolicyRepository();
+    this.seatInventory = SeatInventoryService.getInstance();
+    this.seatHoldService = SeatHoldService.getInstance();
+    this.ticketService = new TicketService();
   }
 
-  public Booking createBooking(int userId, Schedule schedule, List<Passenger> passengers) {
+  /**
+   * Holds the seats and writes the booking, passengers and tickets in one
+   * transaction. The returned booking carries its generated ids, tickets and
+   * schedule, so callers don't need to reload it.
+   *
+   * @throws IllegalArgumentException if a selected seat is no longer available
+   */
+  public Booking createBooking(int userId, Schedule schedule, LocalDate travelDate, List<Passenger> passengers) {
+    return createBooking(userId, schedule, travelDate, null, null, passengers);
+  }
+
+  /**
+   * Books seats between two stops of the schedule's route. The seats stay
+   * free for sale on the rest of the route. Null stops mean the start or end
+   * of the route.
+   *
+   * @throws IllegalArgumentException if a selected seat is no longer available
+   *                                  or the stops aren't on the route in order
+   */
+  public Booking createBooking(int userId, Schedule schedule, LocalDate travelDate, Integer fromStopId,
+      Integer toStopId, List<Passenger> passengers) {
     Booking booking = new Booking();
     booking.setUserId(userId);
     booking.setScheduleId(schedule.getId());
+    booking.setTravelDate(travelDate != null ? travelDate : LocalDate.now());
+    booking.setFromStopId(fromStopId);
+    booking.setToStopId(toStopId);
     booking.setSchedule(schedule);
     booking.setPassengers(passengers);
     booking.setStatus("PENDING");
 
-    Booking created = bookingRepository.createBooking(booking);
-    if (created != null) {
-      created.setSchedule(schedule);
+    List<Integer> seatNumbers = new ArrayList<>();
+    for (Passenger p : passengers) {
+      seatNumbers.add(p.getSeatNumber());
+    }
+    // One ticket per seat, written in the same transaction as the booking
+    booking.setTickets(ticketService.issueTickets(seatNumbers));
 
-      // Generate tickets for each seat
-      List<Integer> seatNumbers = new ArrayList<>();
-      for (Passenger p : passengers) {
-        seatNumbers.add(p.getSeatNumber());
-      }
+    // Claim the seats before writing the booking so concurrent buyers can't
+    // both pass the availability check
+    SeatHold hold = seatHoldService.hold(userId, schedule, booking.getTravelDate(), fromStopId, toStopId,
+        seatNumbers);
+    if (hold == null) {
+      throw new IllegalArgumentException(
+          "One or more of the selected seats is no longer available. Please choose different seats.");
+    }
 
-      // Generate tickets using TicketService
-      com.example.trainreservationsystem.services.member.TicketService ticketService = new com.example.trainreservationsystem.services.member.TicketService();
-      ticketService.generateTickets(created.getId(), seatNumbers);
+    Booking created;
+    try {
+      created = bookingRepository.createBooking(booking, hold.getFromSegment(), hold.getToSegment());
+    } catch (IllegalArgumentException e) {
+      // Seat taken by another instance - our inventory is stale
+      seatHoldService.release(hold);
+      seatInventory.invalidate(schedule.getId());
+      throw e;
+    } catch (RuntimeException e) {
+      seatHoldService.release(hold);
+      throw e;
+    }
+
+    if (created == null) {
+      seatHoldService.release(hold);
+    } else {
+      created.setSchedule(schedule);
+      seatHoldService.attachBooking(hold, created.getId());
+      BookingExpiryService.getInstance().schedule(created.getId(), created.getBookingDate());
     }
     return created;
   }
@@ -82,8 +135,39 @@ public class BookingService {
     // Validate cancellation
     validateCancellation(booking);
 
-    // Cancel the booking
-    bookingRepository.updateBookingStatus(bookingId, "CANCELLED");
+    if (!cancelIfActive(booking)) {
+      throw new IllegalArgumentException("This booking has already been cancelled");
+    }
+  }
+
+  /**
+   * Cancels a booking on behalf of staff, without the passenger cancellation
+   * policy.
+   *
+   * @return false if the booking was no longer PENDING or CONFIRMED
+   */
+  public boolean cancelBookingAsStaff(int bookingId) {
+    Booking booking = bookingRepository.getBookingById(bookingId);
+    return booking != null && cancelIfActive(booking);
+  }
+
+  /**
+   * Cancels the booking and frees its seats. Statistics and seats follow the
+   * status the database had, not the one the caller last saw, so two racing
+   * cancels undo them only once.
+   */
+  private boolean cancelIfActive(Booking booking) {
+    int bookingId = booking.getId();
+    String previous = bookingRepository.cancelIfActive(bookingId);
+    if (previous == null) {
+      return false;
+    }
+    if ("CONFIRMED".equals(previous)) {
+      StatisticsAggregator.getInstance().onBookingCancelled(bookingId);
+    }
+    seatHoldService.forget(bookingId);
+    seatInventory.release(booking, bookingRepository.getSeatNumbersByBookingId(bookingId));
+    return true;
   }
 
   /**
@@ -110,10 +194,8 @@ public class BookingService {
     }
 
     // Calculate hours until departure
-    // Use booking date as travel date fallback (in future, add travelDate to
-    // Booking)
-    LocalDate travelDate = booking.getBookingDate() != null ? booking.getBookingDate().toLocalDate() : LocalDate.now();
-    LocalDateTime departureDateTime = travelDate.atTime(booking.getSchedule().getDepartureTime());
+    LocalDateTime departureDateTime = booking.getEffectiveTravelDate()
+        .atTime(booking.getSchedule().getDepartureTime());
     LocalDateTime now = LocalDateTime.now();
 
     if (departureDateTime.isBefore(now)) {
@@ -123,7 +205,7 @@ public class BookingService {
     long hoursUntilDeparture = ChronoUnit.HOURS.between(now, departureDateTime);
 
     // Get cancellation policy
-    CancellationPolicy policy = cancellationPolicyRepository.getActivePolicy();
+    CancellationPolicy policy = ReferenceDataCache.getInstance().getActivePolicy();
 
     if (!policy.canCancel(hoursUntilDeparture)) {
       throw new IllegalArgumentException(
@@ -155,15 +237,13 @@ public class BookingService {
     }
 
     // Calculate hours until departure
-    // Use booking date as travel date fallback (in future, add travelDate to
-    // Booking)
-    LocalDate travelDate = booking.getBookingDate() != null ? booking.getBookingDate().toLocalDate() : LocalDate.now();
-    LocalDateTime departureDateTime = travelDate.atTime(booking.getSchedule().getDepartureTime());
+    LocalDateTime departureDateTime = booking.getEffectiveTravelDate()
+        .atTime(booking.getSchedule().getDepartureTime());
     LocalDateTime now = LocalDateTime.now();
     long hoursUntilDeparture = ChronoUnit.HOURS.between(now, departureDateTime);
 
     // Get cancellation policy to get the refund threshold
-    CancellationPolicy policy = cancellationPolicyRepository.getActivePolicy();
+    CancellationPolicy policy = ReferenceDataCache.getInstance().getActivePolicy();
     int refundThresholdHours = policy.getHoursBeforeDeparture();
 
     // Only refund if cancelled at least X hours before departure
@@ -177,10 +257,49 @@ public class BookingService {
   }
 
   public void confirmBooking(int bookingId) {
-    bookingRepository.updateBookingStatus(bookingId, "CONFIRMED");
+    if (bookingRepository.confirmIfPending(bookingId)) {
+      seatHoldService.convert(bookingId);
+      StatisticsAggregator.getInstance().onBookingConfirmed(bookingId);
+      ReminderService.getInstance().scheduleForBooking(bookingId);
+    }
+  }
+
+  public Set<Integer> getOccupiedSeats(Schedule schedule, LocalDate travelDate) {
+    return seatInventory.getOccupiedSeats(schedule, travelDate);
+  }
+
+  /**
+   * Seats taken anywhere between the two stops.
+   */
+  public Set<Integer> getOccupiedSeats(Schedule schedule, LocalDate travelDate, Integer fromStopId,
+      Integer toStopId) {
+    return seatInventory.getOccupiedSeats(schedule, travelDate, fromStopId, toStopId);
+  }
+
+  public boolean isSeatAvailable(Schedule schedule, LocalDate travelDate, int seatNumber) {
+    return seatInventory.isSeatAvailable(schedule, travelDate, seatNumber);
+  }
+
+  public boolean isSeatAvailable(Schedule schedule, LocalDate travelDate, Integer fromStopId, Integer toStopId,
+      int seatNumber) {
+    return seatInventory.isSeatAvailable(schedule, travelDate, fromStopId, toStopId, seatNumber);
+  }
+
+  public int countAvailableSeats(Schedule schedule, LocalDate travelDate, int seatStart, int seatEnd) {
+    return seatInventory.countAvailable(schedule, travelDate, seatStart, seatEnd);
+  }
+
+  public int countAvailableSeats(Schedule schedule, LocalDate travelDate, Integer fromStopId, Integer toStopId,
+      int seatStart, int seatEnd) {
+    return seatInventory.countAvailable(schedule, travelDate, fromStopId, toStopId, seatStart, seatEnd);
+  }
+
+  public Integer findFirstAvailableSeat(Schedule schedule, LocalDate travelDate, int seatStart, int seatEnd) {
+    return seatInventory.findFirstAvailable(schedule, travelDate, seatStart, seatEnd);
   }
 
-  public List<Integer> getOccupiedSeats(int scheduleId) {
-    return bookingRepository.getOccupiedSeats(scheduleId);
+  public Integer findFirstAvailableSeat(Schedule schedule, LocalDate travelDate, Integer fromStopId,
+      Integer toStopId, int seatStart, int seatEnd) {
+    return seatInventory.findFirstAvailable(schedule, travelDate, fromStopId, toStopId, seatStart, seatEnd);
   }
 }
@@ -0,0 +1,92 @@
+package com.example.trainreservationsystem.services.member.booking;
+
+/**
+ * Immutable snapshot of {@link SeatHoldService} activity.
+ */
+public class SeatHoldMetrics {
+  private final int activeHolds;
+  private final long requested;
+  private final long granted;
+  private final long rejected;
+  private final long converted;
+  private final long expired;
+  private final long released;
+  private final long casRetries;
+  private final long totalConvertMillis;
+
+  public SeatHoldMetrics(int activeHolds, long requested, long granted, long rejected, long converted,
+      long expired, long released, long casRetries, long totalConvertMillis) {
+    this.activeHolds = activeHolds;
+    this.requested = requested;
+    this.granted = granted;
+    this.rejected = rejected;
+    this.converted = converted;
+    this.expired = expired;
+    this.released = released;
+    this.casRetries = casRetries;
+    this.totalConvertMillis = totalConvertMillis;
+  }
+
+  public int getActiveHolds() {
+    return activeHolds;
+  }
+
+  public long getRequested() {
+    return requested;
+  }
+
+  public long getGranted() {
+    return granted;
+  }
+
+  /**
+   * Holds refused because a seat was already taken.
+   */
+  public long getRejected() {
+    return rejected;
+  }
+
+  public long getConverted() {
+    return converted;
+  }
+
+  public long getExpired() {
+    return expired;
+  }
+
+  public long getReleased() {
+    return released;
+  }
+
+  /**
+   * Compare-and-set retries on the seat bitmaps, a measure of write contention.
+   */
+  public long getCasRetries() {
+    return casRetries;
+  }
+
+  public double getRejectionRatio() {
+    return requested == 0 ? 0 : (double) rejected / requested;
+  }
+
+  public double getExpiryRatio() {
+    long finished = converted + expired + released;
+    return finished == 0 ? 0 : (double) expired / finished;
+  }
+
+  /**
+   * Average time from taking a hold to paying for it.
+   */
+  public double getAverageConvertMillis() {
+    return converted == 0 ? 0 : (double) totalConvertMillis / converted;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "SeatHolds[active=%d, requested=%d, granted=%d, rejected=%d, converted=%d, expired=%d, released=%d, "
+            + "casRetries=%d, avgConvert=%.0fms]",
+        activeHolds, requested, granted, rejected, converted, expired, released, casRetries,
+        getAverageConvertMillis());
+  }
+}
@@ -0,0 +1,238 @@
+package com.example.trainreservationsystem.services.member.booking;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.models.member.booking.SeatHold;
+import com.example.trainreservationsystem.utils.shared.database.Database;
+
+/**
+ * Reserves seats for a short time while a customer books and pays.
+ * Seats are claimed with a compare-and-set on the {@link SeatInventoryService}
+ * segment matrices, so two concurrent requests for the same seat and segment
+ * can't both succeed.
+ * The booked_seats primary key backs this up across application instances.
+ *
+ * A hold ends in exactly one of three ways: it is converted when the booking
+ * is paid, released when the booking is abandoned, or expires after the TTL.
+ * The TTL only covers the time until the booking is written: attaching the
+ * booking stops the hold's timer, and from then on the booking's payment
+ * window in {@link BookingExpiryService} is the only timeout.
+ */
+public class SeatHoldService {
+  private static SeatHoldService instance;
+  private static final long DEFAULT_HOLD_TTL_SECONDS = 15 * 60; // Until the booking is written
+
+  private final SeatInventoryService seatInventory;
+  private final long holdTtlMillis;
+  private final ScheduledExecutorService expiryScheduler;
+
+  private final Map<Long, SeatHold> holds = new ConcurrentHashMap<>();
+  private final Map<Integer, Long> holdsByBooking = new ConcurrentHashMap<>();
+  private final Map<Long, ScheduledFuture<?>> expiryTimers = new ConcurrentHashMap<>();
+  private final AtomicLong nextHoldId = new AtomicLong();
+
+  // Metrics
+  private final LongAdder requested = new LongAdder();
+  private final LongAdder granted = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder converted = new LongAdder();
+  private final LongAdder expired = new LongAdder();
+  private final LongAdder released = new LongAdder();
+  private final LongAdder totalConvertMillis = new LongAdder();
+
+  private SeatHoldService() {
+    this.seatInventory = SeatInventoryService.getInstance();
+    this.holdTtlMillis = TimeUnit.SECONDS.toMillis(
+        Database.getLongSetting("SEAT_HOLD_TTL_SECONDS", DEFAULT_HOLD_TTL_SECONDS));
+    this.expiryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "seat-hold-expiry");
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  public static synchronized SeatHoldService getInstance() {
+    if (instance == null) {
+      instance = new SeatHoldService();
+    }
+    return instance;
+  }
+
+  /**
+   * Claims all of the given seats for the whole route, or none.
+   *
+   * @return the hold, or null if any seat is already booked or held
+   */
+  public SeatHold hold(int userId, Schedule schedule, LocalDate travelDate, Collection<Integer> seats) {
+    return hold(userId, schedule, travelDate, null, null, seats);
+  }
+
+  /**
+   * Claims all of the given seats between two stops, or none. Null stops
+   * mean the start or end of the route.
+   *
+   * @return the hold, or null if any seat is already booked or held on part
+   *         of the way
+   * @throws IllegalArgumentException if the stops aren't on the route in
+   *                                  travel order
+   */
+  public SeatHold hold(int userId, Schedule schedule, LocalDate travelDate, Integer fromStopId, Integer toStopId,
+      Collection<Integer> seats) {
+    LocalDate date = travelDate != null ? travelDate : LocalDate.now();
+    int[] range = seatInventory.segmentRange(schedule, date, fromStopId, toStopId);
+    requested.increment();
+    if (!seatInventory.tryReserve(schedule, date, range[0], range[1], seats)) {
+      rejected.increment();
+      return null;
+    }
+    granted.increment();
+
+    long now = System.currentTimeMillis();
+    SeatHold hold = new SeatHold(nextHoldId.incrementAndGet(), userId, schedule.getId(), date,
+        new ArrayList<>(seats), range[0], range[1], now, now + holdTtlMillis);
+    synchronized (hold) { // So attachBooking can't run before the timer is recorded
+      holds.put(hold.getId(), hold);
+      expiryTimers.put(hold.getId(),
+          expiryScheduler.schedule(() -> expire(hold.getId()), holdTtlMillis, TimeUnit.MILLISECONDS));
+    }
+    return hold;
+  }
+
+  /**
+   * Links a hold to the PENDING booking written for it, so paying for the
+   * booking converts the hold and expiry cancels the booking. Stops the
+   * hold's own timer.
+   */
+  public void attachBooking(SeatHold hold, int bookingId) {
+    synchronized (hold) {
+      if (!holds.containsKey(hold.getId())) {
+        // Expired while the booking was being written; the booking owns the seats now
+        seatInventory.markBooked(hold.getScheduleId(), hold.getTravelDate(), hold.getFromSegment(),
+            hold.getToSegment(), hold.getSeats());
+        return;
+      }
+      hold.setBookingId(bookingId);
+      holdsByBooking.put(bookingId, hold.getId());
+      cancelExpiry(hold.getId());
+    }
+  }
+
+  /**
+   * Converts the hold for a paid booking. The seats stay taken.
+   *
+   * @return true if the booking had an active hold
+   */
+  public boolean convert(int bookingId) {
+    SeatHold hold = removeByBooking(bookingId);
+    if (hold == null) {
+      return false;
+    }
+    converted.increment();
+    totalConvertMillis.add(System.currentTimeMillis() - hold.getCreatedAtMillis());
+    return true;
+  }
+
+  /**
+   * Gives the held seats back, e.g. when writing the booking failed.
+   */
+  public void release(SeatHold hold) {
+    if (holds.remove(hold.getId()) == null) {
+      return;
+    }
+    cancelExpiry(hold.getId());
+    if (hold.getBookingId() > 0) {
+      holdsByBooking.remove(hold.getBookingId());
+    }
+    released.increment();
+    seatInventory.release(hold.getScheduleId(), hold.getTravelDate(), hold.getFromSegment(),
+        hold.getToSegment(), hold.getSeats());
+  }
+
+  /**
+   * Drops the hold of a booking that was cancelled elsewhere. The caller has
+   * already freed the seats.
+   */
+  public void forget(int bookingId) {
+    if (removeByBooking(bookingId) != null) {
+      released.increment();
+    }
+  }
+
+  private SeatHold removeByBooking(int bookingId) {
+    Long holdId = holdsByBooking.remove(bookingId);
+    return holdId != null ? holds.remove(holdId) : null;
+  }
+
+  private void cancelExpiry(long holdId) {
+    ScheduledFuture<?> timer = expiryTimers.remove(holdId);
+    if (timer != null) {
+      timer.cancel(false);
+    }
+  }
+
+  private void expire(long holdId) {
+    expiryTimers.remove(holdId);
+    SeatHold hold = holds.get(holdId);
+    if (hold == null) {
+      return; // Already converted or released
+    }
+    synchronized (hold) {
+      if (holds.remove(holdId) != null) {
+        expireHold(hold);
+      }
+    }
+  }
+
+  private void expireHold(SeatHold hold) {
+    try {
+      int bookingId = hold.getBookingId();
+      expired.increment();
+      if (bookingId > 0) {
+        // Attached while this timer was firing; BookingExpiryService cancels it if unpaid
+        holdsByBooking.remove(bookingId);
+        return;
+      }
+      seatInventory.release(hold.getScheduleId(), hold.getTravelDate(), hold.getFromSegment(),
+          hold.getToSegment(), hold.getSeats());
+    } catch (Exception e) {
+      System.err.println("❌ Error expiring seat hold #" + hold.getId() + ": " + e.getMessage());
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Returns a point-in-time snapshot of hold activity.
+   */
+  public SeatHoldMetrics getMetrics() {
+    return new SeatHoldMetrics(
+        holds.size(),
+        requested.sum(),
+        granted.sum(),
+        rejected.sum(),
+        converted.sum(),
+        expired.sum(),
+        released.sum(),
+        seatInventory.getCasRetries(),
+        totalConvertMillis.sum());
+  }
+
+  /**
+   * Stops the expiry thread. Outstanding holds are left to the unpaid booking
+   * cleanup on next start.
+   */
+  public void shutdown() {
+    expiryScheduler.shutdownNow();
+    System.out.println("✅ Seat hold service stopped: " + getMetrics());
+  }
+}
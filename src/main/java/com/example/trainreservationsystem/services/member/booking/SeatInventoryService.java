@@ -0,0 +1,313 @@
+package com.example.trainreservationsystem.services.member.booking;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.example.trainreservationsystem.models.admin.RouteSegment;
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.models.member.Booking;
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
+import com.example.trainreservationsystem.repositories.admin.RouteRepository;
+import com.example.trainreservationsystem.repositories.member.BookingRepository;
+import com.example.trainreservationsystem.utils.member.booking.SegmentSeatMatrix;
+
+/**
+ * In-memory seat inventory with one {@link SegmentSeatMatrix} per (schedule,
+ * travel date). Matrices are loaded from the database on first access and
+ * kept in sync as bookings are created, cancelled or expired, so availability
+ * checks no longer re-query occupied seats on every click.
+ *
+ * Seats are tracked per route segment, so a seat can be sold again for the
+ * part of the route a previous passenger isn't travelling. Methods that take
+ * stop ids treat a null stop as the start or end of the route.
+ */
+public class SeatInventoryService {
+  private static SeatInventoryService instance;
+  private static final int DEFAULT_CAPACITY = 60;
+
+  private final BookingRepository bookingRepository;
+  private final RouteRepository routeRepository;
+  private final Map<Long, Run> runs = new ConcurrentHashMap<>();
+
+  private SeatInventoryService() {
+    this.bookingRepository = RepositoryFactory.getBookingRepository();
+    this.routeRepository = RepositoryFactory.getRouteRepository();
+  }
+
+  public static synchronized SeatInventoryService getInstance() {
+    if (instance == null) {
+      instance = new SeatInventoryService();
+    }
+    return instance;
+  }
+
+  // Schedule id in the high half, epoch day in the low half
+  private static long key(int scheduleId, LocalDate travelDate) {
+    return ((long) scheduleId << 32) | (travelDate.toEpochDay() & 0xFFFFFFFFL);
+  }
+
+  private static int scheduleIdOf(long key) {
+    return (int) (key >>> 32);
+  }
+
+  private static LocalDate orToday(LocalDate travelDate) {
+    return travelDate != null ? travelDate : LocalDate.now();
+  }
+
+  private Run run(Schedule schedule, LocalDate travelDate) {
+    LocalDate date = orToday(travelDate);
+    long key = key(schedule.getId(), date);
+    Run run = runs.get(key);
+    if (run != null) {
+      return run;
+    }
+    // Loaded outside the map so the queries don't hold its bin lock; if two
+    // threads race, the first matrix installed wins
+    Run loaded = load(schedule, date);
+    Run existing = runs.putIfAbsent(key, loaded);
+    return existing != null ? existing : loaded;
+  }
+
+  private Run load(Schedule schedule, LocalDate travelDate) {
+    int[] stopIds = routeStops(schedule);
+    List<int[]> cells = bookingRepository.getBookedSeatSegments(schedule.getId(), travelDate);
+    int size = schedule.getCapacity() > 0 ? schedule.getCapacity() : DEFAULT_CAPACITY;
+    int segments = Math.max(stopIds.length - 1, 1);
+    for (int[] cell : cells) {
+      size = Math.max(size, cell[0]); // Keep seats booked before a capacity change
+      segments = Math.max(segments, cell[1] + 1);
+    }
+    SegmentSeatMatrix matrix = new SegmentSeatMatrix(size, segments);
+    for (int[] cell : cells) {
+      matrix.set(cell[0], cell[1], cell[1] + 1);
+    }
+    return new Run(stopIds, matrix);
+  }
+
+  /**
+   * Stop ids along the schedule's route, from the first segment's departure
+   * to the last segment's arrival. Empty if the route has no segments.
+   */
+  private int[] routeStops(Schedule schedule) {
+    if (schedule.getRoute() == null) {
+      return new int[0];
+    }
+    try {
+      List<RouteSegment> segments = routeRepository.getSegmentsByRouteId(schedule.getRoute().getId());
+      if (segments.isEmpty()) {
+        return new int[0];
+      }
+      int[] stopIds = new int[segments.size() + 1];
+      stopIds[0] = segments.get(0).getFromStop() != null ? segments.get(0).getFromStop().getId() : 0;
+      for (int i = 0; i < segments.size(); i++) {
+        RouteSegment segment = segments.get(i);
+        stopIds[i + 1] = segment.getToStop() != null ? segment.getToStop().getId() : 0;
+      }
+      return stopIds;
+    } catch (Exception e) {
+      System.err.println("Error loading route stops for schedule " + schedule.getId() + ": " + e.getMessage());
+      return new int[0];
+    }
+  }
+
+  /**
+   * Loads the seats of a train run now, so later checks on it don't wait
+   * for the database.
+   */
+  public void preload(Schedule schedule, LocalDate travelDate) {
+    run(schedule, travelDate);
+  }
+
+  /**
+   * Segment range [from, to) travelled between two stops of the schedule's
+   * route.
+   *
+   * @throws IllegalArgumentException if the stops aren't on the route in
+   *                                  travel order
+   */
+  public int[] segmentRange(Schedule schedule, LocalDate travelDate, Integer fromStopId, Integer toStopId) {
+    return run(schedule, travelDate).range(fromStopId, toStopId);
+  }
+
+  /**
+   * Number of free seats in the inclusive seat range for the whole route.
+   */
+  public int countAvailable(Schedule schedule, LocalDate travelDate, int seatStart, int seatEnd) {
+    return countAvailable(schedule, travelDate, null, null, seatStart, seatEnd);
+  }
+
+  /**
+   * Number of seats in the inclusive seat range that are free between the
+   * two stops.
+   */
+  public int countAvailable(Schedule schedule, LocalDate travelDate, Integer fromStopId, Integer toStopId,
+      int seatStart, int seatEnd) {
+    Run run = run(schedule, travelDate);
+    int[] range = run.range(fromStopId, toStopId);
+    return run.matrix.countFree(seatStart, seatEnd, range[0], range[1]);
+  }
+
+  /**
+   * First free seat in the inclusive seat range, or null if the range is full.
+   */
+  public Integer findFirstAvailable(Schedule schedule, LocalDate travelDate, int seatStart, int seatEnd) {
+    return findFirstAvailable(schedule, travelDate, null, null, seatStart, seatEnd);
+  }
+
+  public Integer findFirstAvailable(Schedule schedule, LocalDate travelDate, Integer fromStopId, Integer toStopId,
+      int seatStart, int seatEnd) {
+    Run run = run(schedule, travelDate);
+    int[] range = run.range(fromStopId, toStopId);
+    int seat = run.matrix.nextFree(seatStart, seatEnd, range[0], range[1]);
+    return seat > 0 ? seat : null;
+  }
+
+  public boolean isSeatAvailable(Schedule schedule, LocalDate travelDate, int seatNumber) {
+    return isSeatAvailable(schedule, travelDate, null, null, seatNumber);
+  }
+
+  public boolean isSeatAvailable(Schedule schedule, LocalDate travelDate, Integer fromStopId, Integer toStopId,
+      int seatNumber) {
+    Run run = run(schedule, travelDate);
+    int[] range = run.range(fromStopId, toStopId);
+    return run.matrix.isFree(seatNumber, range[0], range[1]);
+  }
+
+  /**
+   * All seat numbers taken somewhere on the route, in ascending order.
+   */
+  public Set<Integer> getOccupiedSeats(Schedule schedule, LocalDate travelDate) {
+    return getOccupiedSeats(schedule, travelDate, null, null);
+  }
+
+  /**
+   * Seat numbers taken on any segment between the two stops, in ascending
+   * order.
+   */
+  public Set<Integer> getOccupiedSeats(Schedule schedule, LocalDate travelDate, Integer fromStopId,
+      Integer toStopId) {
+    Run run = run(schedule, travelDate);
+    int[] range = run.range(fromStopId, toStopId);
+    return run.matrix.occupiedSeats(range[0], range[1]);
+  }
+
+  /**
+   * Atomically claims all of the given seats on segments [fromSegment,
+   * toSegment), or nothing if any of them is already taken there.
+   */
+  public boolean tryReserve(Schedule schedule, LocalDate travelDate, int fromSegment, int toSegment,
+      Collection<Integer> seats) {
+    int[] seatArray = seats.stream().mapToInt(Integer::intValue).distinct().toArray();
+    return run(schedule, travelDate).matrix.tryClaim(seatArray, fromSegment, toSegment);
+  }
+
+  /**
+   * Total compare-and-set retries across the loaded matrices.
+   */
+  public long getCasRetries() {
+    long retries = 0;
+    for (Run run : runs.values()) {
+      retries += run.matrix.getCasRetries();
+    }
+    return retries;
+  }
+
+  /**
+   * Marks seats as taken on segments [fromSegment, toSegment) after a booking
+   * has been committed. Dates that haven't been loaded yet are skipped; they
+   * read the new booking from the database when first accessed.
+   */
+  public void markBooked(int scheduleId, LocalDate travelDate, int fromSegment, int toSegment,
+      Collection<Integer> seats) {
+    Run run = runs.get(key(scheduleId, orToday(travelDate)));
+    if (run != null) {
+      for (int seat : seats) {
+        run.matrix.set(seat, fromSegment, toSegment);
+      }
+    }
+  }
+
+  /**
+   * Frees seats on segments [fromSegment, toSegment) after a hold has been
+   * released or expired.
+   */
+  public void release(int scheduleId, LocalDate travelDate, int fromSegment, int toSegment,
+      Collection<Integer> seats) {
+    Run run = runs.get(key(scheduleId, orToday(travelDate)));
+    if (run != null) {
+      for (int seat : seats) {
+        run.matrix.clear(seat, fromSegment, toSegment);
+      }
+    }
+  }
+
+  /**
+   * Frees a cancelled booking's seats between its stops.
+   */
+  public void release(Booking booking, Collection<Integer> seats) {
+    long key = key(booking.getScheduleId(), booking.getEffectiveTravelDate());
+    Run run = runs.get(key);
+    if (run == null) {
+      return;
+    }
+    int[] range;
+    try {
+      range = run.range(booking.getFromStopId(), booking.getToStopId());
+    } catch (IllegalArgumentException e) {
+      runs.remove(key); // Route changed since the booking was made; reload from the database
+      return;
+    }
+    for (int seat : seats) {
+      run.matrix.clear(seat, range[0], range[1]);
+    }
+  }
+
+  /**
+   * Drops all cached matrices for a schedule; they reload on next access.
+   */
+  public void invalidate(int scheduleId) {
+    runs.keySet().removeIf(k -> scheduleIdOf(k) == scheduleId);
+  }
+
+  /**
+   * Drops every cached matrix.
+   */
+  public void invalidateAll() {
+    runs.clear();
+  }
+
+  /**
+   * Seat matrix of one train run with the stops that bound its segments.
+   */
+  private static class Run {
+    private final int[] stopIds;
+    private final SegmentSeatMatrix matrix;
+
+    Run(int[] stopIds, SegmentSeatMatrix matrix) {
+      this.stopIds = stopIds;
+      this.matrix = matrix;
+    }
+
+    int[] range(Integer fromStopId, Integer toStopId) {
+      int from = fromStopId == null ? 0 : indexOf(fromStopId, 0, stopIds.length - 1);
+      int to = toStopId == null ? matrix.getSegmentCount() : indexOf(toStopId, from + 1, stopIds.length);
+      if (from < 0 || to <= from) {
+        throw new IllegalArgumentException("The selected stops are not on this train's route in travel order.");
+      }
+      return new int[] { from, to };
+    }
+
+    private int indexOf(int stopId, int start, int end) {
+      for (int i = Math.max(start, 0); i < end; i++) {
+        if (stopIds[i] == stopId) {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+}
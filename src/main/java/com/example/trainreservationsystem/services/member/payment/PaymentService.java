@@ -11,7 +11,10 @@ import com.example.trainreservationsystem.models.member.PaymentMethod;
 import com.example.trainreservationsystem.repositories.admin.DiscountRepository;
 import com.example.trainreservationsystem.repositories.member.BookingRepository;
 import com.example.trainreservationsystem.repositories.member.PaymentRepository;
+import com.example.trainreservationsystem.services.admin.StatisticsAggregator;
 import com.example.trainreservationsystem.services.member.LoyaltyPointsService;
+import com.example.trainreservationsystem.services.member.booking.SeatHoldService;
+import com.example.trainreservationsystem.services.shared.ReminderService;
 import com.example.trainreservationsystem.utils.shared.payment.PaymentAdapter;
 
 /**
@@ -19,6 +22,8 @@ import com.example.trainreservationsystem.utils.shared.payment.PaymentAdapter;
  * Handles payment processing, discount codes, and loyalty points.
  */
 public class PaymentService {
+  private static final String NOT_PENDING = "This booking is no longer awaiting payment (it may have expired). You have not been charged.";
+
   private final PaymentRepository paymentRepository;
   private final BookingRepository bookingRepository;
   private final DiscountRepository discountRepository;
@@ -92,6 +97,9 @@ public class PaymentService {
     if (booking == null) {
       throw new IllegalArgumentException("Booking not found");
     }
+    if (!"PENDING".equals(booking.getStatus())) {
+      throw new IllegalArgumentException(NOT_PENDING);
+    }
 
     Integer scheduleId = null;
     if (booking.getSchedule() != null) {
@@ -113,9 +121,11 @@ public class PaymentService {
         // Additional validation: check if discount applies to this schedule
         if (scheduleId == null || appliedDiscount.isValidForSchedule(scheduleId)) {
           discountAmount = appliedDiscount.calculateDiscount(originalAmount);
-          // Increment discount usage
-          discountRepository.incrementUsage(appliedDiscount.getId());
+        } else {
+          appliedDiscount = null;
         }
+      } else {
+        appliedDiscount = null;
       }
     }
 
@@ -131,12 +141,6 @@ public class PaymentService {
       throw new IllegalArgumentException(validationError);
     }
 
-    // Process payment using adapter
-    boolean paymentSuccess = adapter.processPayment(finalAmount, detailsWithAmount);
-    if (!paymentSuccess) {
-      throw new RuntimeException("Payment processing failed");
-    }
-
     // Create temporary payment method record
     PaymentMethod tempMethod = new PaymentMethod();
     tempMethod.setUserId(booking.getUserId());
@@ -156,8 +160,20 @@ public class PaymentService {
     payment.setPaymentMethodId(tempMethod.getId());
     payment.setStatus("SUCCESS");
 
-    paymentRepository.savePayment(payment);
-    bookingRepository.updateBookingStatus(bookingId, "CONFIRMED");
+    // Charge only while the booking is locked in PENDING, so a booking that
+    // expiry cancelled meanwhile is neither charged nor brought back
+    boolean confirmed = paymentRepository.savePaymentAndConfirm(payment, () -> {
+      if (!adapter.processPayment(finalAmount, detailsWithAmount)) {
+        throw new RuntimeException("Payment processing failed");
+      }
+    });
+    if (!confirmed) {
+      throw new IllegalArgumentException(NOT_PENDING);
+    }
+    if (appliedDiscount != null) {
+      discountRepository.incrementUsage(appliedDiscount.getId());
+    }
+    onConfirmed(bookingId);
 
     // Grant loyalty points only if not using wallet payment
     // (Wallet payment already deducts points, so we don't grant new ones)
@@ -183,8 +199,8 @@ public class PaymentService {
       appliedDiscount = discountRepository.findByCode(discountCode.trim().toUpperCase());
       if (appliedDiscount != null && appliedDiscount.isValid()) {
         discountAmount = appliedDiscount.calculateDiscount(originalAmount);
-        // Increment discount usage
-        discountRepository.incrementUsage(appliedDiscount.getId());
+      } else {
+        appliedDiscount = null;
       }
     }
 
@@ -211,8 +227,14 @@ public class PaymentService {
     payment.setPaymentMethodId(actualMethodId);
     payment.setStatus("SUCCESS");
 
-    paymentRepository.savePayment(payment);
-    bookingRepository.updateBookingStatus(bookingId, "CONFIRMED");
+    if (!paymentRepository.savePaymentAndConfirm(payment, () -> {
+    })) {
+      throw new IllegalArgumentException(NOT_PENDING);
+    }
+    if (appliedDiscount != null) {
+      discountRepository.incrementUsage(appliedDiscount.getId());
+    }
+    onConfirmed(bookingId);
 
     // Grant loyalty points based on final amount (after discount)
     // Get user ID from booking
@@ -223,6 +245,13 @@ public class PaymentService {
     }
   }
 
+  private void onConfirmed(int bookingId) {
+    bookingRepository.invalidateBookingCounts();
+    StatisticsAggregator.getInstance().onBookingConfirmed(bookingId);
+    SeatHoldService.getInstance().convert(bookingId);
+    ReminderService.getInstance().scheduleForBooking(bookingId);
+  }
+
   /**
    * Processes payment with discount code support and loyalty points.
    */
@@ -0,0 +1,233 @@
+package com.example.trainreservationsystem.services.member.search;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.example.trainreservationsystem.models.admin.RouteSegment;
+import com.example.trainreservationsystem.models.admin.Schedule;
+
+/**
+ * Immutable, array-backed timetable for the journey planner.
+ *
+ * Every schedule is a trip; every segment it runs is an elementary
+ * connection (stop to stop, departure and arrival minute). Connections are
+ * generated for two consecutive service days so overnight journeys and
+ * next-day transfers are found, and are stored sorted by departure in
+ * parallel primitive arrays for a cache-friendly scan.
+ *
+ * Segments have no timetable of their own, so intermediate stop times are
+ * interpolated from the schedule's departure and arrival by distance.
+ */
+class JourneyGraph {
+  static final int MINUTES_PER_DAY = 24 * 60;
+  static final int SERVICE_DAYS = 2;
+
+  final long version;
+
+  // Trips
+  final Schedule[] trips;
+  final int[] tripDayMask;
+  final double[] tripPrice;
+
+  // Stops
+  final int[] stopIds;
+  final String[] stopNames;
+  private final Map<String, int[]> stopsByName;
+
+  // Connections, sorted by departure minute (relative to day 0 midnight)
+  final int connectionCount;
+  final int[] depStop;
+  final int[] arrStop;
+  final int[] depMinute;
+  final int[] arrMinute;
+  final int[] trip;
+  final int[] dayOffset;
+  final double[] price;
+
+  private JourneyGraph(long version, Schedule[] trips, int[] tripDayMask, double[] tripPrice, int[] stopIds,
+      String[] stopNames, Map<String, int[]> stopsByName, int[] depStop, int[] arrStop, int[] depMinute,
+      int[] arrMinute, int[] trip, int[] dayOffset, double[] price) {
+    this.version = version;
+    this.trips = trips;
+    this.tripDayMask = tripDayMask;
+    this.tripPrice = tripPrice;
+    this.stopIds = stopIds;
+    this.stopNames = stopNames;
+    this.stopsByName = stopsByName;
+    this.connectionCount = depStop.length;
+    this.depStop = depStop;
+    this.arrStop = arrStop;
+    this.depMinute = depMinute;
+    this.arrMinute = arrMinute;
+    this.trip = trip;
+    this.dayOffset = dayOffset;
+    this.price = price;
+  }
+
+  int stopCount() {
+    return stopNames.length;
+  }
+
+  /**
+   * Stop indices with the given name (case-insensitive), never null.
+   */
+  int[] stopsNamed(String name) {
+    int[] stops = stopsByName.get(normalize(name));
+    return stops != null ? stops : new int[0];
+  }
+
+  private static String normalize(String name) {
+    return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Builds the graph from schedules (with routes) and each route's ordered
+   * segments.
+   */
+  static JourneyGraph build(long version, List<Schedule> schedules,
+      Map<Integer, List<RouteSegment>> segmentsByRoute) {
+    Map<Integer, Integer> stopIndexById = new HashMap<>();
+    List<String> stopNameList = new ArrayList<>();
+    List<Schedule> tripList = new ArrayList<>();
+    List<Double> tripPriceList = new ArrayList<>();
+    List<int[]> rows = new ArrayList<>(); // depStop, arrStop, depMinute, arrMinute, trip, dayOffset
+    List<Double> prices = new ArrayList<>();
+
+    for (Schedule schedule : schedules) {
+      if (schedule.getRoute() == null || schedule.getDepartureTime() == null
+          || schedule.getArrivalTime() == null) {
+        continue;
+      }
+      List<RouteSegment> segments = segmentsByRoute.get(schedule.getRoute().getId());
+      if (segments == null || segments.isEmpty()) {
+        continue;
+      }
+
+      int tripIndex = tripList.size();
+      tripList.add(schedule);
+
+      double totalDistance = 0;
+      double totalPrice = 0;
+      for (RouteSegment segment : segments) {
+        totalDistance += Math.max(segment.getDistance(), 0);
+        totalPrice += segment.getPrice();
+      }
+      tripPriceList.add(totalPrice);
+      int start = minuteOfDay(schedule.getDepartureTime());
+      int duration = tripMinutes(schedule.getDepartureTime(), schedule.getArrivalTime());
+
+      double covered = 0;
+      int previousArrival = start;
+      for (int i = 0; i < segments.size(); i++) {
+        RouteSegment segment = segments.get(i);
+        double distance = Math.max(segment.getDistance(), 0);
+        double endShare = totalDistance > 0 ? (covered + distance) / totalDistance
+            : (double) (i + 1) / segments.size();
+        covered += distance;
+
+        int dep = previousArrival;
+        int arr = i == segments.size() - 1 ? start + duration
+            : Math.max(dep + 1, start + (int) Math.round(duration * endShare));
+        previousArrival = arr;
+
+        if (segment.getFromStop() == null || segment.getToStop() == null) {
+          continue;
+        }
+        int from = stopIndex(segment.getFromStop().getId(), segment.getFromStop().getName(),
+            stopIndexById, stopNameList);
+        int to = stopIndex(segment.getToStop().getId(), segment.getToStop().getName(),
+            stopIndexById, stopNameList);
+
+        for (int day = 0; day < SERVICE_DAYS; day++) {
+          int offset = day * MINUTES_PER_DAY;
+          rows.add(new int[] { from, to, dep + offset, Math.max(arr, dep + 1) + offset, tripIndex, day });
+          prices.add(segment.getPrice());
+        }
+      }
+    }
+
+    // Sort connection indices by departure, then arrival
+    int n = rows.size();
+    long[] order = new long[n];
+    for (int i = 0; i < n; i++) {
+      int[] row = rows.get(i);
+      order[i] = ((long) row[2] << 40) | ((long) row[3] << 20) | i;
+    }
+    Arrays.sort(order);
+
+    int[] depStop = new int[n];
+    int[] arrStop = new int[n];
+    int[] depMinute = new int[n];
+    int[] arrMinute = new int[n];
+    int[] trip = new int[n];
+    int[] dayOffset = new int[n];
+    double[] price = new double[n];
+    for (int i = 0; i < n; i++) {
+      int source = (int) (order[i] & 0xFFFFF);
+      int[] row = rows.get(source);
+      depStop[i] = row[0];
+      arrStop[i] = row[1];
+      depMinute[i] = row[2];
+      arrMinute[i] = row[3];
+      trip[i] = row[4];
+      dayOffset[i] = row[5];
+      price[i] = prices.get(source);
+    }
+
+    Schedule[] trips = tripList.toArray(new Schedule[0]);
+    int[] tripDayMask = new int[trips.length];
+    double[] tripPrice = new double[trips.length];
+    for (int t = 0; t < trips.length; t++) {
+      tripDayMask[t] = trips[t].getDayMask();
+      tripPrice[t] = tripPriceList.get(t);
+    }
+
+    int[] stopIds = new int[stopNameList.size()];
+    for (Map.Entry<Integer, Integer> stop : stopIndexById.entrySet()) {
+      stopIds[stop.getValue()] = stop.getKey();
+    }
+
+    String[] stopNames = stopNameList.toArray(new String[0]);
+    Map<String, int[]> stopsByName = new HashMap<>();
+    for (int s = 0; s < stopNames.length; s++) {
+      stopsByName.merge(normalize(stopNames[s]), new int[] { s }, (a, b) -> {
+        int[] merged = Arrays.copyOf(a, a.length + 1);
+        merged[a.length] = b[0];
+        return merged;
+      });
+    }
+
+    return new JourneyGraph(version, trips, tripDayMask, tripPrice, stopIds, stopNames, stopsByName,
+        depStop, arrStop, depMinute, arrMinute, trip, dayOffset, price);
+  }
+
+  private static int stopIndex(int stopId, String name, Map<Integer, Integer> stopIndexById,
+      List<String> stopNameList) {
+    Integer index = stopIndexById.get(stopId);
+    if (index == null) {
+      index = stopNameList.size();
+      stopIndexById.put(stopId, index);
+      stopNameList.add(name != null ? name : "Stop #" + stopId);
+    }
+    return index;
+  }
+
+  private static int minuteOfDay(LocalTime time) {
+    return time.getHour() * 60 + time.getMinute();
+  }
+
+  /**
+   * Running time of a trip; an arrival at or before the departure time is on
+   * the next day.
+   */
+  private static int tripMinutes(LocalTime departure, LocalTime arrival) {
+    int minutes = (int) Duration.between(departure, arrival).toMinutes();
+    return minutes > 0 ? minutes : minutes + MINUTES_PER_DAY;
+  }
+}
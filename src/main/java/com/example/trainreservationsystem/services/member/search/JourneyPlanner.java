@@ -0,0 +1,357 @@
+package com.example.trainreservationsystem.services.member.search;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import com.example.trainreservationsystem.models.admin.RouteSegment;
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.models.member.Itinerary;
+import com.example.trainreservationsystem.models.member.JourneyLeg;
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
+import com.example.trainreservationsystem.repositories.admin.RouteRepository;
+import com.example.trainreservationsystem.repositories.admin.TimetableIndex;
+import com.example.trainreservationsystem.repositories.admin.TrainRepository;
+import com.example.trainreservationsystem.utils.shared.database.Database;
+
+/**
+ * Multi-leg journey planner over the stop and segment graph.
+ *
+ * Uses a multi-criteria Connection Scan: connections are scanned once in
+ * departure order while each stop keeps a Pareto set of labels over arrival
+ * time, transfers and price. The result is every itinerary that is not
+ * beaten on all three criteria by another one, e.g. the fastest, the one
+ * with fewest changes and the cheapest.
+ *
+ * The graph is rebuilt when the {@link TimetableIndex} reports a change.
+ */
+public class JourneyPlanner {
+  private static JourneyPlanner instance;
+  private static final int DEFAULT_MIN_TRANSFER_MINUTES = 20;
+  private static final int DEFAULT_MAX_TRANSFERS = 3;
+
+  private final TrainRepository trainRepository;
+  private final RouteRepository routeRepository;
+  private final int minTransferMinutes;
+  private final int maxTransfers;
+  private volatile JourneyGraph graph;
+
+  private JourneyPlanner() {
+    this.trainRepository = RepositoryFactory.getTrainRepository();
+    this.routeRepository = RepositoryFactory.getRouteRepository();
+    this.minTransferMinutes = Database.getIntSetting("JOURNEY_MIN_TRANSFER_MINUTES", DEFAULT_MIN_TRANSFER_MINUTES);
+    this.maxTransfers = Database.getIntSetting("JOURNEY_MAX_TRANSFERS", DEFAULT_MAX_TRANSFERS);
+  }
+
+  public static synchronized JourneyPlanner getInstance() {
+    if (instance == null) {
+      instance = new JourneyPlanner();
+    }
+    return instance;
+  }
+
+  /**
+   * Pareto-optimal itineraries leaving on the given date, sorted by arrival.
+   *
+   * @param earliestDeparture earliest time the traveller can leave, or null
+   *                          for the start of the day
+   */
+  public List<Itinerary> plan(String source, String destination, LocalDate date, LocalTime earliestDeparture) {
+    List<Itinerary> itineraries = new ArrayList<>();
+    JourneyGraph g = currentGraph();
+    if (g == null) {
+      return itineraries;
+    }
+    int[] origins = g.stopsNamed(source);
+    int[] targets = g.stopsNamed(destination);
+    if (origins.length == 0 || targets.length == 0) {
+      return itineraries;
+    }
+
+    int startMinute = earliestDeparture != null
+        ? earliestDeparture.getHour() * 60 + earliestDeparture.getMinute()
+        : 0;
+    List<Label> results = scan(g, origins, targets, date, startMinute);
+
+    LocalDateTime midnight = date.atStartOfDay();
+    for (Label label : results) {
+      itineraries.add(toItinerary(g, label, midnight));
+    }
+    itineraries.sort(Comparator.comparing(Itinerary::getArrival)
+        .thenComparingInt(Itinerary::getTransfers)
+        .thenComparingDouble(Itinerary::getTotalPrice));
+    return itineraries;
+  }
+
+  /**
+   * Every train that calls at the source and later at the destination on
+   * the given date, one single-leg itinerary each, sorted by departure.
+   * Unlike {@link #plan}, no train is left out for being slower or dearer
+   * than another.
+   */
+  public List<Itinerary> planThroughTrains(String source, String destination, LocalDate date) {
+    List<Itinerary> itineraries = new ArrayList<>();
+    JourneyGraph g = currentGraph();
+    if (g == null) {
+      return itineraries;
+    }
+    boolean[] isOrigin = new boolean[g.stopCount()];
+    boolean[] isTarget = new boolean[g.stopCount()];
+    for (int o : g.stopsNamed(source)) {
+      isOrigin[o] = true;
+    }
+    for (int t : g.stopsNamed(destination)) {
+      isTarget[t] = true;
+    }
+
+    int[] dayBits = new int[JourneyGraph.SERVICE_DAYS];
+    for (int d = 0; d < dayBits.length; d++) {
+      dayBits[d] = Schedule.dayBit(date.plusDays(d).getDayOfWeek());
+    }
+
+    // Per run: the connection boarded at the source (-1 until then), the
+    // fare so far, and whether the destination has been reached
+    int runs = g.trips.length * JourneyGraph.SERVICE_DAYS;
+    int[] boarded = new int[runs];
+    Arrays.fill(boarded, -1);
+    double[] fare = new double[runs];
+    boolean[] arrived = new boolean[runs];
+
+    LocalDateTime midnight = date.atStartOfDay();
+    for (int c = 0; c < g.connectionCount; c++) {
+      int tripIndex = g.trip[c];
+      if ((g.tripDayMask[tripIndex] & dayBits[g.dayOffset[c]]) == 0) {
+        continue;
+      }
+      int run = tripIndex * JourneyGraph.SERVICE_DAYS + g.dayOffset[c];
+      if (arrived[run]) {
+        continue;
+      }
+      if (boarded[run] < 0) {
+        if (!isOrigin[g.depStop[c]] || g.dayOffset[c] != 0) {
+          continue; // Only trains leaving on the searched date
+        }
+        boarded[run] = c;
+      }
+      fare[run] += g.price[c];
+      if (isTarget[g.arrStop[c]]) {
+        arrived[run] = true;
+        Label ride = new Label(g.arrMinute[c], 0, fare[run], run, boarded[run], c, null);
+        itineraries.add(toItinerary(g, ride, midnight));
+      }
+    }
+    itineraries.sort(Comparator.comparing(Itinerary::getDeparture));
+    return itineraries;
+  }
+
+  private List<Label> scan(JourneyGraph g, int[] origins, int[] targets, LocalDate date, int startMinute) {
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    List<Label>[] stopBags = new List[g.stopCount()];
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    List<Label>[] tripBags = new List[g.trips.length * JourneyGraph.SERVICE_DAYS];
+    boolean[] isTarget = new boolean[g.stopCount()];
+    for (int t : targets) {
+      isTarget[t] = true;
+    }
+    List<Label> targetBag = new ArrayList<>();
+
+    for (int o : origins) {
+      if (!isTarget[o]) {
+        insert(stopBags, o, new Label(startMinute, 0, 0, -1, -1, -1, null));
+      }
+    }
+
+    int[] dayBits = new int[JourneyGraph.SERVICE_DAYS];
+    for (int d = 0; d < dayBits.length; d++) {
+      dayBits[d] = Schedule.dayBit(date.plusDays(d).getDayOfWeek());
+    }
+
+    for (int c = 0; c < g.connectionCount; c++) {
+      int dep = g.depMinute[c];
+      if (dep < startMinute) {
+        continue;
+      }
+      int tripIndex = g.trip[c];
+      if ((g.tripDayMask[tripIndex] & dayBits[g.dayOffset[c]]) == 0) {
+        continue; // Train doesn't run that day
+      }
+      int run = tripIndex * JourneyGraph.SERVICE_DAYS + g.dayOffset[c];
+
+      // Board from labels waiting at the departure stop
+      List<Label> waiting = stopBags[g.depStop[c]];
+      if (waiting != null) {
+        for (Label label : waiting) {
+          if (label.run == run) {
+            continue; // Already on this train
+          }
+          boolean origin = label.run < 0;
+          if (origin && g.dayOffset[c] != 0) {
+            continue; // Journeys leave on the searched date; later days are for changes only
+          }
+          int transfers = origin ? 0 : label.transfers + 1;
+          int ready = origin ? label.arrival : label.arrival + minTransferMinutes;
+          if (transfers <= maxTransfers && ready <= dep) {
+            Label onboard = new Label(dep, transfers, label.price, run, c, -1, label);
+            if (tripBags[run] == null) {
+              tripBags[run] = new ArrayList<>();
+            }
+            insertOnboard(tripBags[run], onboard);
+          }
+        }
+      }
+
+      // Ride the connection and alight at its arrival stop
+      List<Label> onboard = tripBags[run];
+      if (onboard == null || onboard.isEmpty()) {
+        continue;
+      }
+      int arrStop = g.arrStop[c];
+      for (Label label : onboard) {
+        label.price += g.price[c];
+        Label alighted = new Label(g.arrMinute[c], label.transfers, label.price, run, label.boardConnection, c,
+            label.previous);
+        if (dominatedBy(targetBag, alighted)) {
+          continue; // Can't improve on a journey already found
+        }
+        if (isTarget[arrStop]) {
+          insertInto(targetBag, alighted);
+        } else {
+          insert(stopBags, arrStop, alighted);
+        }
+      }
+    }
+    return targetBag;
+  }
+
+  private static void insert(List<Label>[] bags, int stop, Label label) {
+    if (bags[stop] == null) {
+      bags[stop] = new ArrayList<>();
+    }
+    insertInto(bags[stop], label);
+  }
+
+  /**
+   * Adds the label to a Pareto bag over (arrival, transfers, price) unless an
+   * existing label is at least as good, dropping labels it beats.
+   */
+  private static boolean insertInto(List<Label> bag, Label label) {
+    if (dominatedBy(bag, label)) {
+      return false;
+    }
+    bag.removeIf(existing -> label.arrival <= existing.arrival && label.transfers <= existing.transfers
+        && label.price <= existing.price);
+    bag.add(label);
+    return true;
+  }
+
+  private static boolean dominatedBy(List<Label> bag, Label label) {
+    for (Label existing : bag) {
+      if (existing.arrival <= label.arrival && existing.transfers <= label.transfers
+          && existing.price <= label.price) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Passengers on the same train all arrive together, so only transfers and
+   * fare paid so far matter.
+   */
+  private static void insertOnboard(List<Label> bag, Label label) {
+    Iterator<Label> it = bag.iterator();
+    while (it.hasNext()) {
+      Label existing = it.next();
+      if (existing.transfers <= label.transfers && existing.price <= label.price) {
+        return;
+      }
+      if (label.transfers <= existing.transfers && label.price <= existing.price) {
+        it.remove();
+      }
+    }
+    bag.add(label);
+  }
+
+  private static Itinerary toItinerary(JourneyGraph g, Label label, LocalDateTime midnight) {
+    LinkedList<JourneyLeg> legs = new LinkedList<>();
+    for (Label leg = label; leg != null && leg.run >= 0; leg = leg.previous) {
+      double legPrice = leg.price - (leg.previous != null ? leg.previous.price : 0);
+      int board = leg.boardConnection;
+      int alight = leg.alightConnection;
+      legs.addFirst(new JourneyLeg(
+          g.trips[g.trip[board]],
+          g.stopIds[g.depStop[board]],
+          g.stopNames[g.depStop[board]],
+          g.stopIds[g.arrStop[alight]],
+          g.stopNames[g.arrStop[alight]],
+          midnight.toLocalDate().plusDays(g.dayOffset[board]),
+          midnight.plusMinutes(g.depMinute[board]),
+          midnight.plusMinutes(g.arrMinute[alight]),
+          legPrice,
+          g.tripPrice[g.trip[board]]));
+    }
+    return new Itinerary(legs);
+  }
+
+  private JourneyGraph currentGraph() {
+    long version = TimetableIndex.getInstance().getVersion();
+    JourneyGraph current = graph;
+    if (current != null && current.version == version) {
+      return current;
+    }
+    synchronized (this) {
+      if (graph != null && graph.version == version) {
+        return graph;
+      }
+      try {
+        List<Schedule> schedules = trainRepository.getAllSchedules();
+        List<Integer> routeIds = new ArrayList<>();
+        for (Schedule schedule : schedules) {
+          if (schedule.getRoute() != null && !routeIds.contains(schedule.getRoute().getId())) {
+            routeIds.add(schedule.getRoute().getId());
+          }
+        }
+        Map<Integer, List<RouteSegment>> segments = routeRepository.getSegmentsByRouteIds(routeIds);
+        graph = JourneyGraph.build(version, schedules, segments);
+        System.out.println("✅ Journey planner graph built: " + graph.trips.length + " trips, "
+            + graph.connectionCount + " connections");
+      } catch (Exception e) {
+        System.err.println("❌ Error building journey planner graph: " + e.getMessage());
+        e.printStackTrace();
+      }
+      return graph;
+    }
+  }
+
+  /**
+   * A partial journey. At a stop it records how the traveller got there;
+   * on a train it records where they boarded.
+   */
+  private static class Label {
+    private final int arrival;
+    private final int transfers;
+    private double price; // Grows while riding
+    private final int run; // Trip index * service days + day offset, -1 at the origin
+    private final int boardConnection;
+    private final int alightConnection;
+    private final Label previous;
+
+    Label(int arrival, int transfers, double price, int run, int boardConnection, int alightConnection,
+        Label previous) {
+      this.arrival = arrival;
+      this.transfers = transfers;
+      this.price = price;
+      this.run = run;
+      this.boardConnection = boardConnection;
+      this.alightConnection = alightConnection;
+      this.previous = previous;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.example.trainreservationsystem.services.member.search;
+
+/**
+ * Immutable snapshot of {@link SearchResultCache} activity.
+ */
+public class SearchCacheMetrics {
+  private final int size;
+  private final int capacity;
+  private final long hits;
+  private final long misses;
+  private final long stale;
+  private final long evictions;
+
+  public SearchCacheMetrics(int size, int capacity, long hits, long misses, long stale, long evictions) {
+    this.size = size;
+    this.capacity = capacity;
+    this.hits = hits;
+    this.misses = misses;
+    this.stale = stale;
+    this.evictions = evictions;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Lookups that had to search, including stale ones.
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Misses on an entry built before the timetable last changed.
+   */
+  public long getStale() {
+    return stale;
+  }
+
+  /**
+   * Entries dropped to make room, least recently used first.
+   */
+  public long getEvictions() {
+    return evictions;
+  }
+
+  public double getHitRatio() {
+    long lookups = hits + misses;
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "SearchCache[size=%d/%d, hits=%d, misses=%d, stale=%d, evictions=%d, hitRatio=%.2f]",
+        size, capacity, hits, misses, stale, evictions, getHitRatio());
+  }
+}
@@ -0,0 +1,63 @@
+package com.example.trainreservationsystem.services.member.search;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.models.member.Itinerary;
+import com.example.trainreservationsystem.models.member.JourneyLeg;
+
+/**
+ * Timetable part of a search: the direct trains, the through trains that
+ * also call at both stations and, when there are no direct trains, the
+ * connecting journeys. Immutable and shared between searches by
+ * {@link SearchResultCache}, so it holds no seat counts; those are read
+ * from the seat inventory each time the results are shown.
+ */
+public class SearchResult {
+  private final LocalDate date;
+  private final List<Schedule> schedules;
+  private final List<Itinerary> itineraries;
+  private final List<JourneyLeg> throughTrains;
+  private final long timetableVersion;
+
+  SearchResult(LocalDate date, List<Schedule> schedules, List<Itinerary> itineraries,
+      List<JourneyLeg> throughTrains, long timetableVersion) {
+    this.date = date;
+    this.schedules = List.copyOf(schedules);
+    this.itineraries = List.copyOf(itineraries);
+    this.throughTrains = List.copyOf(throughTrains);
+    this.timetableVersion = timetableVersion;
+  }
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  /**
+   * Direct trains in departure order. The list is unmodifiable.
+   */
+  public List<Schedule> getSchedules() {
+    return schedules;
+  }
+
+  /**
+   * Connecting journeys sorted by arrival, empty if there are direct
+   * trains. The list is unmodifiable.
+   */
+  public List<Itinerary> getItineraries() {
+    return itineraries;
+  }
+
+  /**
+   * Rides on trains that call at both stations but aren't among the direct
+   * trains, in departure order. The list is unmodifiable.
+   */
+  public List<JourneyLeg> getThroughTrains() {
+    return throughTrains;
+  }
+
+  long getTimetableVersion() {
+    return timetableVersion;
+  }
+}
@@ -0,0 +1,161 @@
+package com.example.trainreservationsystem.services.member.search;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.models.member.Itinerary;
+import com.example.trainreservationsystem.models.member.JourneyLeg;
+import com.example.trainreservationsystem.repositories.admin.TimetableIndex;
+import com.example.trainreservationsystem.services.admin.TrainService;
+import com.example.trainreservationsystem.services.member.booking.SeatInventoryService;
+import com.example.trainreservationsystem.services.shared.ServiceFactory;
+import com.example.trainreservationsystem.utils.shared.database.Database;
+
+/**
+ * Caches search results by normalized (source, destination, travel date),
+ * so the popular searches repeated all day skip the timetable lookup and
+ * the journey planner.
+ *
+ * Only the timetable part is cached ({@link SearchResult}). Seat counts
+ * change with every booking, so they are never stored here: they come from
+ * the {@link SeatInventoryService}, which {@link #loadAvailability} warms
+ * for the trains in a result.
+ *
+ * Each entry remembers the {@link TimetableIndex} version it was built
+ * from; once schedules or routes change, the entry is stale and the next
+ * lookup searches again. Holds at most SEARCH_CACHE_SIZE entries and evicts
+ * the least recently used.
+ */
+public class SearchResultCache {
+  private static SearchResultCache instance;
+  private static final int DEFAULT_CAPACITY = 256;
+
+  private final TrainService trainService;
+  private final SeatInventoryService seatInventory = SeatInventoryService.getInstance();
+  private final int capacity;
+  private final Map<String, SearchResult> entries; // Guarded by this
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder stale = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  private SearchResultCache() {
+    this.trainService = ServiceFactory.getTrainService();
+    this.capacity = Math.max(Database.getIntSetting("SEARCH_CACHE_SIZE", DEFAULT_CAPACITY), 1);
+    // Access order, so iteration starts at the least recently used entry
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, SearchResult> eldest) {
+        if (size() > capacity) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  public static synchronized SearchResultCache getInstance() {
+    if (instance == null) {
+      instance = new SearchResultCache();
+    }
+    return instance;
+  }
+
+  /**
+   * Direct and through trains from source to destination on the date, plus
+   * the connecting journeys if there are no direct ones, from the cache when
+   * the timetable hasn't changed since they were found.
+   */
+  public SearchResult search(String source, String destination, LocalDate date) {
+    String key = key(source, destination, date);
+    long version = TimetableIndex.getInstance().getVersion();
+    synchronized (this) {
+      SearchResult cached = entries.get(key);
+      if (cached != null && cached.getTimetableVersion() == version) {
+        hits.increment();
+        return cached;
+      }
+      if (cached != null) {
+        stale.increment();
+      }
+    }
+    misses.increment();
+
+    // Searched outside the lock; two threads missing on the same key both
+    // search and the later one's result is kept
+    List<Schedule> schedules = trainService.searchSchedules(source, destination, date);
+    List<Itinerary> itineraries = schedules.isEmpty()
+        ? trainService.planJourneys(source, destination, date)
+        : List.of();
+    SearchResult result = new SearchResult(date, schedules, itineraries,
+        throughTrains(source, destination, date, schedules), version);
+    if (!date.isBefore(LocalDate.now())) { // Past dates aren't searched again
+      synchronized (this) {
+        entries.put(key, result);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Loads the seat inventory of every train a result can be booked on, so
+   * the availability shown next to it is read from memory.
+   */
+  public void loadAvailability(SearchResult result) {
+    for (Schedule schedule : result.getSchedules()) {
+      seatInventory.preload(schedule, result.getDate());
+    }
+    for (JourneyLeg leg : result.getThroughTrains()) {
+      seatInventory.preload(leg.getSchedule(), leg.getTravelDate());
+    }
+  }
+
+  /**
+   * Returns a point-in-time snapshot of cache activity.
+   */
+  public SearchCacheMetrics getMetrics() {
+    int size;
+    synchronized (this) {
+      size = entries.size();
+    }
+    return new SearchCacheMetrics(size, capacity, hits.sum(), misses.sum(), stale.sum(), evictions.sum());
+  }
+
+  /**
+   * Single-train rides between the stations, leaving out the direct trains
+   * already listed and keeping one ride per train.
+   */
+  private List<JourneyLeg> throughTrains(String source, String destination, LocalDate date,
+      List<Schedule> direct) {
+    Set<Integer> seen = new HashSet<>();
+    for (Schedule schedule : direct) {
+      seen.add(schedule.getId());
+    }
+    List<JourneyLeg> rides = new ArrayList<>();
+    for (Itinerary itinerary : trainService.findThroughTrains(source, destination, date)) {
+      JourneyLeg leg = itinerary.getLegs().get(0);
+      if (seen.add(leg.getSchedule().getId())) {
+        rides.add(leg);
+      }
+    }
+    return rides;
+  }
+
+  private static String key(String source, String destination, LocalDate date) {
+    return normalize(source) + '\u0000' + normalize(destination) + '\u0000' + date;
+  }
+
+  private static String normalize(String place) {
+    return place == null ? "" : place.trim().toLowerCase(Locale.ROOT);
+  }
+}
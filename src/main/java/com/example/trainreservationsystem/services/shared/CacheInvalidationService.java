@@ -0,0 +1,78 @@
+package com.example.trainreservationsystem.services.shared;
+
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
+import com.example.trainreservationsystem.repositories.admin.TimetableIndex;
+import com.example.trainreservationsystem.services.member.booking.SeatInventoryService;
+import com.example.trainreservationsystem.utils.shared.database.ChangeEvent;
+import com.example.trainreservationsystem.utils.shared.database.Database;
+
+/**
+ * Keeps in-process caches correct when other instances change the shared
+ * database.
+ *
+ * Registers an invalidator per table with the database change listener.
+ * Each one drops or reloads only what the change touches; a resync after a
+ * reconnect drops everything for that table.
+ */
+public class CacheInvalidationService {
+  private static CacheInvalidationService instance;
+  private boolean started = false;
+
+  private CacheInvalidationService() {
+  }
+
+  public static synchronized CacheInvalidationService getInstance() {
+    if (instance == null) {
+      instance = new CacheInvalidationService();
+    }
+    return instance;
+  }
+
+  /**
+   * Registers the invalidators and starts listening. Safe to call twice.
+   */
+  public synchronized void start() {
+    if (started) {
+      return;
+    }
+    started = true;
+    Database.addChangeListener("bookings", this::onBookingChanged);
+    Database.addChangeListener("schedules", this::onScheduleChanged);
+    Database.addChangeListener("seat_classes", e -> ReferenceDataCache.getInstance().refreshSeatClasses());
+    Database.addChangeListener("cancellation_policies",
+        e -> ReferenceDataCache.getInstance().refreshCancellationPolicy());
+    Database.addChangeListener("stops", e -> ReferenceDataCache.getInstance().refreshStops());
+    Database.addChangeListener("routes", this::onRouteChanged);
+    Database.addChangeListener("route_segments", this::onRouteChanged);
+    // Discounts are read straight from the database, so nothing to drop yet
+    Database.startChangeListener();
+  }
+
+  private void onBookingChanged(ChangeEvent event) {
+    RepositoryFactory.getBookingRepository().invalidateBookingCounts();
+    Integer scheduleId = event.getInt("schedule_id");
+    if (scheduleId != null) {
+      SeatInventoryService.getInstance().invalidate(scheduleId);
+    } else {
+      SeatInventoryService.getInstance().invalidateAll();
+    }
+    DataCache cache = DataCache.getInstance();
+    Integer userId = event.getInt("user_id");
+    cache.reloadBookings(userId != null ? userId : cache.getUserId());
+  }
+
+  private void onScheduleChanged(ChangeEvent event) {
+    TimetableIndex.getInstance().invalidate();
+    if (event.getId() != null) {
+      SeatInventoryService.getInstance().invalidate(event.getId());
+    } else {
+      SeatInventoryService.getInstance().invalidateAll();
+    }
+  }
+
+  private void onRouteChanged(ChangeEvent event) {
+    ReferenceDataCache.getInstance().refreshRoutes();
+    TimetableIndex.getInstance().invalidate();
+    SeatInventoryService.getInstance().invalidateAll(); // Segment ranges may have moved
+  }
+}
@@ -1,7 +1,14 @@
 package com.example.trainreservationsystem.services.shared;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.example.trainreservationsystem.models.member.Booking;
 import com.example.trainreservationsystem.models.member.PaymentMethod;
@@ -14,6 +21,12 @@ import com.example.trainreservationsystem.repositories.member.TicketRepository;
  * Singleton service that caches user data in memory using write-through
  * caching.
  * When data is modified, it updates both the database and the cache.
+ *
+ * The cached data lives in an immutable {@link Snapshot} held in a volatile
+ * field. Readers take the current snapshot without locking or copying;
+ * writers are serialized, build a new snapshot and swap it in, so a reader
+ * always sees one consistent version. Bookings and tickets are indexed by id
+ * and bookings also by schedule.
  */
 public class DataCache {
     private static DataCache instance;
@@ -23,10 +36,10 @@ public class DataCache {
     private final PaymentRepository paymentRepository;
     private final TicketRepository ticketRepository;
 
-    // Cached data (synchronized for thread safety)
-    private final List<Booking> bookings = new ArrayList<>();
-    private final List<Ticket> tickets = new ArrayList<>();
-    private final List<PaymentMethod> paymentMethods = new ArrayList<>();
+    // Cached data, replaced as a whole by writers holding the lock
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final Object writeLock = new Object();
+    private long generation; // Bumped by every (re)load, write and clear, guarded by writeLock
 
     private DataCache() {
         this.bookingRepository = com.example.trainreservationsystem.repositories.RepositoryFactory
@@ -45,18 +58,45 @@ public class DataCache {
 
     /**
      * Loads all user data from the database into memory cache.
-     * Called after successful login.
+     * Called after successful login. Bookings, tickets and payment methods
+     * are fetched in parallel.
      */
-    public synchronized void loadUserData(int userId) {
+    public void loadUserData(int userId) {
         System.out.println("📥 Loading user data into cache (userId: " + userId + ")...");
 
-        // Clear existing cache
-        clearCache();
+        long loadGeneration;
+        synchronized (writeLock) {
+            loadGeneration = ++generation;
+            snapshot = Snapshot.EMPTY.forUser(userId);
+        }
 
-        // Load from database
-        bookings.addAll(bookingRepository.getBookingsByUserId(userId));
-        tickets.addAll(ticketRepository.getTicketsByUserId(userId));
-        paymentMethods.addAll(paymentRepository.getPaymentMethods(userId));
+        List<Booking> bookings;
+        List<Ticket> tickets;
+        List<PaymentMethod> paymentMethods;
+        try (ExecutorService loader = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<List<Booking>> bookingsFuture = CompletableFuture
+                    .supplyAsync(() -> bookingRepository.getBookingsByUserId(userId), loader);
+            CompletableFuture<List<Ticket>> ticketsFuture = CompletableFuture
+                    .supplyAsync(() -> ticketRepository.getTicketsByUserId(userId), loader);
+            CompletableFuture<List<PaymentMethod>> methodsFuture = CompletableFuture
+                    .supplyAsync(() -> paymentRepository.getPaymentMethods(userId), loader);
+            bookings = bookingsFuture.join();
+            tickets = ticketsFuture.join();
+            paymentMethods = methodsFuture.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        Snapshot loaded = new Snapshot(userId, bookings, tickets, paymentMethods);
+        synchronized (writeLock) {
+            if (generation != loadGeneration) {
+                return; // Logged out or loaded again meanwhile
+            }
+            snapshot = loaded;
+        }
 
         System.out.println("✅ User data loaded: " + bookings.size() + " bookings, " +
                 tickets.size() + " tickets, " + paymentMethods.size() + " payment methods");
@@ -66,37 +106,110 @@ public class DataCache {
      * Clears all cached data.
      * Called on logout.
      */
-    public synchronized void clearCache() {
-        bookings.clear();
-        tickets.clear();
-        paymentMethods.clear();
+    public void clearCache() {
+        synchronized (writeLock) {
+            generation++;
+            snapshot = Snapshot.EMPTY;
+        }
+    }
+
+    /**
+     * Reloads the cached bookings and tickets if they belong to the given
+     * user, e.g. after another instance changed one of their bookings.
+     */
+    public void reloadBookings(int userId) {
+        long loadGeneration;
+        synchronized (writeLock) {
+            if (userId != snapshot.userId) {
+                return;
+            }
+            loadGeneration = ++generation;
+        }
+        List<Booking> bookings = bookingRepository.getBookingsByUserId(userId);
+        List<Ticket> tickets = ticketRepository.getTicketsByUserId(userId);
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (generation != loadGeneration || current.userId != userId) {
+                return; // A newer load or a logout wins
+            }
+            snapshot = new Snapshot(userId, bookings, tickets, current.paymentMethods);
+        }
+    }
+
+    /**
+     * Current user id, or -1 when nothing is cached.
+     */
+    public int getUserId() {
+        return snapshot.userId;
     }
 
     // ========== READ OPERATIONS (from cache) ==========
 
-    public synchronized List<Booking> getBookings() {
-        return new ArrayList<>(bookings);
+    /**
+     * Current snapshot; use it to read several values from one version.
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Bookings, most recent first. The list is unmodifiable.
+     */
+    public List<Booking> getBookings() {
+        return snapshot.bookings;
+    }
+
+    /**
+     * Tickets, most recent first. The list is unmodifiable.
+     */
+    public List<Ticket> getTickets() {
+        return snapshot.tickets;
     }
 
-    public synchronized List<Ticket> getTickets() {
-        return new ArrayList<>(tickets);
+    public List<PaymentMethod> getPaymentMethods() {
+        return snapshot.paymentMethods;
     }
 
-    public synchronized List<PaymentMethod> getPaymentMethods() {
-        return new ArrayList<>(paymentMethods);
+    /**
+     * Cached booking with the given id, or null.
+     */
+    public Booking getBooking(int bookingId) {
+        return snapshot.getBooking(bookingId);
+    }
+
+    /**
+     * Cached bookings on the given schedule, most recent first.
+     */
+    public List<Booking> getBookingsBySchedule(int scheduleId) {
+        return snapshot.getBookingsBySchedule(scheduleId);
+    }
+
+    /**
+     * Cached ticket with the given id, or null.
+     */
+    public Ticket getTicket(int ticketId) {
+        return snapshot.getTicket(ticketId);
     }
 
     // ========== WRITE-THROUGH OPERATIONS (update DB and cache) ==========
 
     /**
      * Adds a new booking - writes to database AND updates cache.
+     * Seats are claimed on route segments [fromSegment, toSegment).
      */
-    public synchronized Booking addBooking(Booking booking) {
+    public Booking addBooking(Booking booking, int fromSegment, int toSegment) {
         // Write to database
-        Booking savedBooking = bookingRepository.createBooking(booking);
+        Booking savedBooking = bookingRepository.createBooking(booking, fromSegment, toSegment);
 
         // Update cache
-        bookings.add(0, savedBooking); // Add to front (most recent first)
+        synchronized (writeLock) {
+            generation++; // Loads started before this write must not overwrite it
+            Snapshot current = snapshot;
+            List<Booking> bookings = new ArrayList<>(current.bookings.size() + 1);
+            bookings.add(savedBooking); // Add to front (most recent first)
+            bookings.addAll(current.bookings);
+            snapshot = new Snapshot(current.userId, bookings, current.tickets, current.paymentMethods);
+        }
 
         return savedBooking;
     }
@@ -104,16 +217,19 @@ public class DataCache {
     /**
      * Updates booking status - writes to database AND updates cache.
      */
-    public synchronized boolean updateBookingStatus(int bookingId, String status) {
+    public boolean updateBookingStatus(int bookingId, String status) {
         // Write to database
         boolean updated = bookingRepository.updateBookingStatus(bookingId, status);
 
         // Update cache
         if (updated) {
-            for (Booking booking : bookings) {
-                if (booking.getId() == bookingId) {
+            synchronized (writeLock) {
+                generation++;
+                Snapshot current = snapshot;
+                Booking booking = current.getBooking(bookingId);
+                if (booking != null) {
                     booking.setStatus(status);
-                    break;
+                    snapshot = current.republish(); // Publish the change to readers
                 }
             }
         }
@@ -124,42 +240,148 @@ public class DataCache {
     /**
      * Adds a new payment method - writes to database AND updates cache.
      */
-    public synchronized void addPaymentMethod(PaymentMethod method) {
+    public void addPaymentMethod(PaymentMethod method) {
         // Write to database
         paymentRepository.savePaymentMethod(method);
 
         // Update cache
-        paymentMethods.add(method);
+        synchronized (writeLock) {
+            generation++;
+            Snapshot current = snapshot;
+            List<PaymentMethod> methods = new ArrayList<>(current.paymentMethods);
+            methods.add(method);
+            snapshot = new Snapshot(current.userId, current.bookings, current.tickets, methods);
+        }
     }
 
     /**
      * Adds a new ticket - writes to database AND updates cache.
      */
-    public synchronized void addTicket(Ticket ticket) {
+    public void addTicket(Ticket ticket) {
         // Write to database
         ticketRepository.saveTicket(ticket);
 
         // Update cache
-        tickets.add(0, ticket); // Add to front (most recent first)
+        synchronized (writeLock) {
+            generation++;
+            Snapshot current = snapshot;
+            List<Ticket> tickets = new ArrayList<>(current.tickets.size() + 1);
+            tickets.add(ticket); // Add to front (most recent first)
+            tickets.addAll(current.tickets);
+            snapshot = new Snapshot(current.userId, current.bookings, tickets, current.paymentMethods);
+        }
     }
 
     /**
      * Updates ticket status - writes to database AND updates cache.
      */
-    public synchronized boolean updateTicketStatus(int ticketId, String status) {
+    public boolean updateTicketStatus(int ticketId, String status) {
         // Write to database
         boolean updated = ticketRepository.updateTicketStatus(ticketId, status);
 
         // Update cache
         if (updated) {
-            for (Ticket ticket : tickets) {
-                if (ticket.getId() == ticketId) {
+            synchronized (writeLock) {
+                generation++;
+                Snapshot current = snapshot;
+                Ticket ticket = current.getTicket(ticketId);
+                if (ticket != null) {
                     ticket.setStatus(status);
-                    break;
+                    snapshot = current.republish();
                 }
             }
         }
 
         return updated;
     }
+
+    /**
+     * Immutable view of one user's cached data with its indexes.
+     *
+     * Status updates change the cached model object in place and then publish
+     * a new snapshot, so readers holding an older snapshot may see the new
+     * status too.
+     */
+    public static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(-1, List.of(), List.of(), List.of());
+
+        private final int userId;
+        private final List<Booking> bookings;
+        private final List<Ticket> tickets;
+        private final List<PaymentMethod> paymentMethods;
+        private final Map<Integer, Booking> bookingsById;
+        private final Map<Integer, List<Booking>> bookingsBySchedule;
+        private final Map<Integer, Ticket> ticketsById;
+
+        private Snapshot(int userId, List<Booking> bookings, List<Ticket> tickets,
+                List<PaymentMethod> paymentMethods) {
+            this.userId = userId;
+            this.bookings = Collections.unmodifiableList(new ArrayList<>(bookings));
+            this.tickets = Collections.unmodifiableList(new ArrayList<>(tickets));
+            this.paymentMethods = Collections.unmodifiableList(new ArrayList<>(paymentMethods));
+
+            Map<Integer, Booking> byId = new HashMap<>();
+            Map<Integer, List<Booking>> bySchedule = new HashMap<>();
+            for (Booking booking : this.bookings) {
+                byId.putIfAbsent(booking.getId(), booking);
+                bySchedule.computeIfAbsent(booking.getScheduleId(), k -> new ArrayList<>()).add(booking);
+            }
+            bySchedule.replaceAll((k, v) -> Collections.unmodifiableList(v));
+            this.bookingsById = byId;
+            this.bookingsBySchedule = bySchedule;
+
+            Map<Integer, Ticket> ticketsById = new HashMap<>();
+            for (Ticket ticket : this.tickets) {
+                ticketsById.putIfAbsent(ticket.getId(), ticket);
+            }
+            this.ticketsById = ticketsById;
+        }
+
+        // Shares everything with the given snapshot
+        private Snapshot(Snapshot other, int userId) {
+            this.userId = userId;
+            this.bookings = other.bookings;
+            this.tickets = other.tickets;
+            this.paymentMethods = other.paymentMethods;
+            this.bookingsById = other.bookingsById;
+            this.bookingsBySchedule = other.bookingsBySchedule;
+            this.ticketsById = other.ticketsById;
+        }
+
+        private Snapshot forUser(int userId) {
+            return new Snapshot(this, userId);
+        }
+
+        private Snapshot republish() {
+            return new Snapshot(this, userId);
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public List<Booking> getBookings() {
+            return bookings;
+        }
+
+        public List<Ticket> getTickets() {
+            return tickets;
+        }
+
+        public List<PaymentMethod> getPaymentMethods() {
+            return paymentMethods;
+        }
+
+        public Booking getBooking(int bookingId) {
+            return bookingsById.get(bookingId);
+        }
+
+        public List<Booking> getBookingsBySchedule(int scheduleId) {
+            return bookingsBySchedule.getOrDefault(scheduleId, List.of());
+        }
+
+        public Ticket getTicket(int ticketId) {
+            return ticketsById.get(ticketId);
+        }
+    }
 }
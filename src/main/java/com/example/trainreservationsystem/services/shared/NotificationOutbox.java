@@ -0,0 +1,188 @@
+package com.example.trainreservationsystem.services.shared;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.trainreservationsystem.models.member.Notification;
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
+import com.example.trainreservationsystem.repositories.member.NotificationRepository;
+import com.example.trainreservationsystem.utils.shared.database.Database;
+
+/**
+ * Writes notifications to the database off the calling thread.
+ *
+ * Callers put notifications on a bounded queue and return at once. A single
+ * writer thread waits a few milliseconds after the first one arrives so that
+ * bursts (e.g. the messages sent after a payment) go out as one multi-row
+ * insert. A failed batch is retried before it is given up.
+ *
+ * When the queue is full the caller waits briefly and then writes its
+ * notification itself, which slows producers down instead of losing data.
+ * {@link #shutdown()} writes whatever is still queued.
+ */
+public class NotificationOutbox {
+  private static NotificationOutbox instance;
+  private static final int DEFAULT_CAPACITY = 10_000;
+  private static final int DEFAULT_MAX_BATCH = 500;
+  private static final long DEFAULT_FLUSH_MILLIS = 5;
+  private static final long OFFER_TIMEOUT_MILLIS = 50;
+  private static final int MAX_ATTEMPTS = 3;
+  private static final long RETRY_DELAY_MILLIS = 500;
+
+  private final NotificationRepository repository;
+  private final BlockingQueue<Pending> queue;
+  private final int maxBatch;
+  private final long flushMillis;
+  private final Thread writer;
+  private volatile boolean running = true;
+
+  // Metrics
+  private final LongAdder enqueued = new LongAdder();
+  private final LongAdder written = new LongAdder();
+  private final LongAdder batches = new LongAdder();
+  private final LongAdder writtenByCaller = new LongAdder(); // Queue was full
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder totalLatencyMillis = new LongAdder();
+  private final AtomicInteger maxBatchSize = new AtomicInteger();
+
+  private NotificationOutbox() {
+    this.repository = RepositoryFactory.getNotificationRepository();
+    this.queue = new ArrayBlockingQueue<>(
+        Database.getIntSetting("NOTIFICATION_QUEUE_CAPACITY", DEFAULT_CAPACITY));
+    this.maxBatch = Database.getIntSetting("NOTIFICATION_MAX_BATCH", DEFAULT_MAX_BATCH);
+    this.flushMillis = Database.getLongSetting("NOTIFICATION_FLUSH_MILLIS", DEFAULT_FLUSH_MILLIS);
+    this.writer = new Thread(this::run, "notification-writer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  public static synchronized NotificationOutbox getInstance() {
+    if (instance == null) {
+      instance = new NotificationOutbox();
+    }
+    return instance;
+  }
+
+  /**
+   * Queues a notification for writing.
+   */
+  public void enqueue(Notification notification) {
+    Pending pending = new Pending(notification, System.currentTimeMillis());
+    enqueued.increment();
+    try {
+      if (running && queue.offer(pending, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    writtenByCaller.increment();
+    List<Pending> single = new ArrayList<>(1);
+    single.add(pending);
+    write(single);
+  }
+
+  private void run() {
+    List<Pending> batch = new ArrayList<>();
+    while (running || !queue.isEmpty()) {
+      try {
+        Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        // Give a burst a moment to arrive so it shares one insert
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        while (batch.size() < maxBatch) {
+          long remaining = deadline - System.nanoTime();
+          Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+      } catch (InterruptedException e) {
+        // Shutdown: drain below
+      }
+      if (!batch.isEmpty()) {
+        write(batch);
+        batch.clear();
+      }
+    }
+  }
+
+  private void write(List<Pending> batch) {
+    List<Notification> notifications = new ArrayList<>(batch.size());
+    for (Pending pending : batch) {
+      notifications.add(pending.notification);
+    }
+    for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+      try {
+        repository.saveNotifications(notifications);
+        long now = System.currentTimeMillis();
+        for (Pending pending : batch) {
+          totalLatencyMillis.add(now - pending.enqueuedAt);
+        }
+        written.add(batch.size());
+        batches.increment();
+        maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+        return;
+      } catch (RuntimeException e) {
+        if (attempt < MAX_ATTEMPTS && running) {
+          try {
+            Thread.sleep(RETRY_DELAY_MILLIS);
+          } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }
+    }
+    failed.add(batch.size());
+    System.err.println("❌ Dropped " + batch.size() + " notification(s) after " + MAX_ATTEMPTS + " attempts");
+  }
+
+  /**
+   * Returns a point-in-time snapshot of writer activity.
+   */
+  public NotificationOutboxMetrics getMetrics() {
+    return new NotificationOutboxMetrics(
+        queue.size(),
+        enqueued.sum(),
+        written.sum(),
+        batches.sum(),
+        maxBatchSize.get(),
+        writtenByCaller.sum(),
+        failed.sum(),
+        totalLatencyMillis.sum());
+  }
+
+  /**
+   * Stops accepting work, writes everything still queued and stops the
+   * writer thread.
+   */
+  public void shutdown() {
+    running = false;
+    writer.interrupt();
+    try {
+      writer.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    System.out.println("✅ Notification outbox flushed: " + getMetrics());
+  }
+
+  private static class Pending {
+    private final Notification notification;
+    private final long enqueuedAt;
+
+    Pending(Notification notification, long enqueuedAt) {
+      this.notification = notification;
+      this.enqueuedAt = enqueuedAt;
+    }
+  }
+}
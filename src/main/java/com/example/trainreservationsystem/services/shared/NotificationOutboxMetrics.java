@@ -0,0 +1,78 @@
+package com.example.trainreservationsystem.services.shared;
+
+/**
+ * Immutable snapshot of {@link NotificationOutbox} activity.
+ */
+public class NotificationOutboxMetrics {
+  private final int queueDepth;
+  private final long enqueued;
+  private final long written;
+  private final long batches;
+  private final int maxBatchSize;
+  private final long writtenByCaller;
+  private final long failed;
+  private final long totalLatencyMillis;
+
+  public NotificationOutboxMetrics(int queueDepth, long enqueued, long written, long batches, int maxBatchSize,
+      long writtenByCaller, long failed, long totalLatencyMillis) {
+    this.queueDepth = queueDepth;
+    this.enqueued = enqueued;
+    this.written = written;
+    this.batches = batches;
+    this.maxBatchSize = maxBatchSize;
+    this.writtenByCaller = writtenByCaller;
+    this.failed = failed;
+    this.totalLatencyMillis = totalLatencyMillis;
+  }
+
+  public int getQueueDepth() {
+    return queueDepth;
+  }
+
+  public long getEnqueued() {
+    return enqueued;
+  }
+
+  public long getWritten() {
+    return written;
+  }
+
+  public long getBatches() {
+    return batches;
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  /**
+   * Notifications the caller had to write itself because the queue was full.
+   */
+  public long getWrittenByCaller() {
+    return writtenByCaller;
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+
+  public double getAverageBatchSize() {
+    return batches == 0 ? 0 : (double) written / batches;
+  }
+
+  /**
+   * Average time from queueing a notification to its insert committing.
+   */
+  public double getAverageFlushLatencyMillis() {
+    return written == 0 ? 0 : (double) totalLatencyMillis / written;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "NotificationOutbox[queued=%d, enqueued=%d, written=%d, batches=%d, avgBatch=%.1f, maxBatch=%d, "
+            + "byCaller=%d, failed=%d, avgLatency=%.1fms]",
+        queueDepth, enqueued, written, batches, getAverageBatchSize(), maxBatchSize, writtenByCaller, failed,
+        getAverageFlushLatencyMillis());
+  }
+}
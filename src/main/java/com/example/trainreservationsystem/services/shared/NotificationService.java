@@ -1,19 +1,34 @@
 package com.example.trainreservationsystem.services.shared;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.example.trainreservationsystem.models.member.Notification;
 import com.example.trainreservationsystem.repositories.member.NotificationRepository;
-
+import com.example.trainreservationsystem.utils.shared.database.Database;
+
+/**
+ * Notifications of the signed-in user.
+ *
+ * Holds a per-user {@link UserNotifications} store that is filled a page at a
+ * time from the database (keyset paging on created_at, id) and kept current
+ * as notifications arrive. Notifications for other users only go to the
+ * database; they see them on their next login. Safe to call from any thread.
+ */
 public class NotificationService {
   private static NotificationService instance;
-  private final List<String> messages = new ArrayList<>();
-  private final List<NotificationListener> listeners = new ArrayList<>();
+  private static final int DEFAULT_PAGE_SIZE = 20;
+
+  private final List<NotificationListener> listeners = new CopyOnWriteArrayList<>();
   private final NotificationRepository repository = com.example.trainreservationsystem.repositories.RepositoryFactory
       .getNotificationRepository();
+  private final int pageSize;
+  private volatile UserNotifications active;
 
   private NotificationService() {
+    this.pageSize = Database.getIntSetting("NOTIFICATION_PAGE_SIZE", DEFAULT_PAGE_SIZE);
   }
 
   public static synchronized NotificationService getInstance() {
@@ -22,69 +37,156 @@ public class NotificationService {
     return instance;
   }
 
+  /**
+   * Shows a message to the signed-in user for this session only.
+   */
   public void add(String message) {
-    messages.add(0, message); // latest first
+    UserNotifications store = active;
+    if (store == null) {
+      return;
+    }
+    store.addNewest(newNotification(message, store.getUserId()));
     notifyListeners();
   }
 
   /**
-   * Adds a notification and persists to database.
-   * Write-through operation.
+   * Adds a notification and queues it for the database.
+   * Listeners are told at once; the insert happens on the
+   * {@link NotificationOutbox} writer thread.
    */
   public void add(String message, int userId) {
-    // Add to in-memory list
-    messages.add(0, message); // latest first
+    Notification notification = newNotification(message, userId);
+    UserNotifications store = active;
+    if (store != null && store.getUserId() == userId) {
+      store.addNewest(notification);
+    }
 
-    // Persist to database
-    try {
-      Notification notification = new Notification();
-      notification.setUserId(userId);
-      notification.setMessage(message);
-      notification.setSent(false);
-      repository.saveNotification(notification);
-    } catch (Exception e) {
-      System.err.println("Error persisting notification: " + e.getMessage());
+    // Persist to database in the background
+    NotificationOutbox.getInstance().enqueue(notification);
+
+    if (store != null && store.getUserId() == userId) {
+      notifyListeners();
     }
+  }
 
-    notifyListeners();
+  private static Notification newNotification(String message, int userId) {
+    Notification notification = new Notification();
+    notification.setUserId(userId);
+    notification.setMessage(message);
+    notification.setSent(false);
+    notification.setCreatedAt(LocalDateTime.now());
+    return notification;
   }
 
   /**
-   * Loads notifications for a user from database.
-   * Called on login.
+   * Makes the user's notifications current, loading the unread count and the
+   * newest page. Called on login.
    */
   public void loadNotificationsForUser(int userId) {
     try {
-      messages.clear();
-      List<Notification> notifications = repository.getNotificationsByUserId(userId);
-      for (Notification n : notifications) {
-        messages.add(n.getMessage());
-      }
+      UserNotifications store = new UserNotifications(userId, repository.countUnread(userId));
+      store.addPage(repository.getNotificationsPage(userId, null, 0, pageSize), pageSize);
+      active = store;
       notifyListeners();
-      System.out.println("📧 Loaded " + messages.size() + " notifications for user " + userId);
+      System.out.println("📧 Loaded " + store.size() + " notifications for user " + userId + " ("
+          + store.getUnreadCount() + " unread)");
     } catch (Exception e) {
       System.err.println("Error loading notifications: " + e.getMessage());
     }
   }
 
+  /**
+   * Loads the next page of older notifications from the database.
+   *
+   * @return the notifications added, oldest last
+   */
+  public List<Notification> loadOlder() {
+    UserNotifications store = active;
+    if (store == null || !store.hasMore()) {
+      return new ArrayList<>();
+    }
+    List<Notification> page = repository.getNotificationsPage(store.getUserId(), store.getCursorCreatedAt(),
+        store.getCursorId(), pageSize);
+    store.addPage(page, pageSize);
+    return page;
+  }
+
+  public boolean hasOlder() {
+    UserNotifications store = active;
+    return store != null && store.hasMore();
+  }
+
+  /**
+   * Loaded notifications, newest first.
+   */
+  public List<Notification> getNotifications() {
+    UserNotifications store = active;
+    return store != null ? store.snapshot() : new ArrayList<>();
+  }
+
+  /**
+   * Loaded notification messages, newest first.
+   */
   public List<String> getAll() {
-    return new ArrayList<>(messages);
+    List<String> messages = new ArrayList<>();
+    for (Notification notification : getNotifications()) {
+      messages.add(notification.getMessage());
+    }
+    return messages;
   }
 
-  public void remove(int index) {
-    if (index >= 0 && index < messages.size()) {
-      messages.remove(index);
+  /**
+   * Dismisses a notification from the list.
+   */
+  public void remove(Notification notification) {
+    UserNotifications store = active;
+    if (store != null && store.remove(notification)) {
       notifyListeners();
     }
   }
 
+  /**
+   * Marks every notification of the signed-in user as read.
+   */
+  public void markAllAsRead() {
+    UserNotifications store = active;
+    if (store == null || store.getUnreadCount() == 0) {
+      return;
+    }
+    store.markAllRead();
+    repository.markAllAsRead(store.getUserId());
+    notifyListeners();
+  }
+
+  /**
+   * Clears the signed-in user's list and marks it read.
+   */
+  public void clearAll() {
+    UserNotifications store = active;
+    if (store == null) {
+      return;
+    }
+    store.clear();
+    repository.markAllAsRead(store.getUserId());
+    notifyListeners();
+  }
+
+  /**
+   * Forgets the signed-in user's notifications. Called on logout.
+   */
   public void clear() {
-    messages.clear();
+    active = null;
     notifyListeners();
   }
 
   public int getCount() {
-    return messages.size();
+    UserNotifications store = active;
+    return store != null ? store.size() : 0;
+  }
+
+  public int getUnreadCount() {
+    UserNotifications store = active;
+    return store != null ? store.getUnreadCount() : 0;
   }
 
   public void addListener(NotificationListener listener) {
@@ -96,11 +198,16 @@ public class NotificationService {
   }
 
   private void notifyListeners() {
+    int unread = getUnreadCount();
     for (NotificationListener listener : listeners) {
-      listener.onNotificationUpdate(messages.size());
+      listener.onNotificationUpdate(unread);
     }
   }
 
+  /**
+   * Receives the unread count whenever the notifications change. May be
+   * called from a background thread.
+   */
   public interface NotificationListener {
     void onNotificationUpdate(int count);
   }
@@ -0,0 +1,246 @@
+package com.example.trainreservationsystem.services.shared;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.example.trainreservationsystem.models.admin.CancellationPolicy;
+import com.example.trainreservationsystem.models.admin.Route;
+import com.example.trainreservationsystem.models.admin.SeatClass;
+import com.example.trainreservationsystem.models.admin.Stop;
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
+import com.example.trainreservationsystem.repositories.admin.CancellationPolicyRepository;
+import com.example.trainreservationsystem.repositories.admin.RouteRepository;
+import com.example.trainreservationsystem.repositories.admin.SeatClassRepository;
+import com.example.trainreservationsystem.repositories.admin.StopRepository;
+import com.example.trainreservationsystem.utils.shared.database.Database;
+
+/**
+ * Read-through cache for reference data that rarely changes: seat classes,
+ * stops, routes and the active cancellation policy.
+ *
+ * Readers get an immutable, versioned {@link Snapshot} without locking. The
+ * admin screens call the matching refresh method after an edit, which loads
+ * that part again and swaps in a new snapshot atomically. Setting
+ * REFERENCE_DATA_TTL_SECONDS above 0 also reloads everything once a snapshot
+ * gets that old.
+ *
+ * If a load fails, readers keep the old snapshot, or an empty one if there
+ * is none, and the next load is only tried after a back-off that doubles
+ * with each failure up to a minute.
+ *
+ * The model objects inside a snapshot are shared between readers and must
+ * not be modified.
+ */
+public class ReferenceDataCache {
+  private static ReferenceDataCache instance;
+  private static final long DEFAULT_TTL_SECONDS = 0; // Only reload on edits
+  private static final long MIN_RETRY_MILLIS = 1_000;
+  private static final long MAX_RETRY_MILLIS = 60_000;
+
+  private final SeatClassRepository seatClassRepository;
+  private final StopRepository stopRepository;
+  private final RouteRepository routeRepository;
+  private final CancellationPolicyRepository policyRepository;
+  private final long ttlMillis;
+  private final AtomicReference<Snapshot> current = new AtomicReference<>();
+  private volatile long retryAt; // No reload before this after a failure
+  private long retryDelay = MIN_RETRY_MILLIS; // Guarded by this
+
+  private ReferenceDataCache() {
+    this.seatClassRepository = RepositoryFactory.getSeatClassRepository();
+    this.stopRepository = RepositoryFactory.getStopRepository();
+    this.routeRepository = RepositoryFactory.getRouteRepository();
+    this.policyRepository = RepositoryFactory.getCancellationPolicyRepository();
+    this.ttlMillis = TimeUnit.SECONDS.toMillis(
+        Database.getLongSetting("REFERENCE_DATA_TTL_SECONDS", DEFAULT_TTL_SECONDS));
+  }
+
+  public static synchronized ReferenceDataCache getInstance() {
+    if (instance == null) {
+      instance = new ReferenceDataCache();
+    }
+    return instance;
+  }
+
+  /**
+   * Current snapshot, loading it first if there is none or it has expired.
+   */
+  public Snapshot snapshot() {
+    Snapshot snapshot = current.get();
+    long now = System.currentTimeMillis();
+    if (snapshot == null || (ttlMillis > 0 && now - snapshot.loadedAt >= ttlMillis)) {
+      if (now < retryAt) {
+        return snapshot != null ? snapshot : Snapshot.EMPTY; // Backing off after a failed load
+      }
+      snapshot = reload(snapshot);
+    }
+    return snapshot;
+  }
+
+  /**
+   * Seat classes ordered by base fare, cheapest first.
+   */
+  public List<SeatClass> getSeatClasses() {
+    return snapshot().getSeatClasses();
+  }
+
+  public List<Stop> getStops() {
+    return snapshot().getStops();
+  }
+
+  public List<Route> getRoutes() {
+    return snapshot().getRoutes();
+  }
+
+  public CancellationPolicy getActivePolicy() {
+    return snapshot().getActivePolicy();
+  }
+
+  /**
+   * Loads everything again, e.g. after the database has been seeded.
+   */
+  public void refresh() {
+    reload(current.get());
+  }
+
+  public void refreshSeatClasses() {
+    swap("seat classes", s -> s.with(loadSeatClasses(), s.stops, s.routes, s.activePolicy));
+  }
+
+  /**
+   * Reloads stops, and routes too since their segments embed stops.
+   */
+  public void refreshStops() {
+    swap("stops", s -> s.with(s.seatClasses, loadStops(), loadRoutes(), s.activePolicy));
+  }
+
+  public void refreshRoutes() {
+    swap("routes", s -> s.with(s.seatClasses, s.stops, loadRoutes(), s.activePolicy));
+  }
+
+  public void refreshCancellationPolicy() {
+    swap("cancellation policy", s -> s.with(s.seatClasses, s.stops, s.routes, policyRepository.getActivePolicy()));
+  }
+
+  // Only one loader runs at a time; readers keep using the old snapshot
+  private synchronized Snapshot reload(Snapshot seen) {
+    Snapshot snapshot = current.get();
+    if (snapshot != seen) {
+      return snapshot; // Another thread reloaded meanwhile
+    }
+    try {
+      Snapshot loaded = new Snapshot(snapshot != null ? snapshot.version + 1 : 1,
+          loadSeatClasses(), loadStops(), loadRoutes(), policyRepository.getActivePolicy());
+      current.set(loaded);
+      retryAt = 0;
+      retryDelay = MIN_RETRY_MILLIS;
+      System.out.println("✅ Reference data loaded (version " + loaded.version + ")");
+      return loaded;
+    } catch (Exception e) {
+      System.err.println("❌ Error loading reference data, retrying in " + retryDelay + " ms: " + e.getMessage());
+      e.printStackTrace();
+      // Keep serving the old data, or nothing, until the back-off ends
+      retryAt = System.currentTimeMillis() + retryDelay;
+      retryDelay = Math.min(retryDelay * 2, MAX_RETRY_MILLIS);
+      return snapshot != null ? snapshot : Snapshot.EMPTY;
+    }
+  }
+
+  private synchronized void swap(String part, Update update) {
+    Snapshot snapshot = current.get();
+    if (snapshot == null) {
+      return; // Nothing cached yet; the first read loads fresh data
+    }
+    try {
+      current.set(update.apply(snapshot));
+    } catch (Exception e) {
+      System.err.println("❌ Error refreshing " + part + ", dropping cached reference data: " + e.getMessage());
+      current.set(null);
+    }
+  }
+
+  private List<SeatClass> loadSeatClasses() throws Exception {
+    List<SeatClass> seatClasses = new ArrayList<>(seatClassRepository.getAllSeatClasses());
+    seatClasses.sort(Comparator.comparingDouble(SeatClass::getBaseFare));
+    return Collections.unmodifiableList(seatClasses);
+  }
+
+  private List<Stop> loadStops() throws Exception {
+    return Collections.unmodifiableList(new ArrayList<>(stopRepository.getAllStops()));
+  }
+
+  private List<Route> loadRoutes() throws Exception {
+    return Collections.unmodifiableList(new ArrayList<>(routeRepository.getAllRoutes()));
+  }
+
+  private interface Update {
+    Snapshot apply(Snapshot snapshot) throws Exception;
+  }
+
+  /**
+   * Immutable view of the reference data at one version.
+   */
+  public static final class Snapshot {
+    private static final Snapshot EMPTY = new Snapshot(0, List.of(), List.of(), List.of(), null);
+
+    private final long version;
+    private final long loadedAt;
+    private final List<SeatClass> seatClasses;
+    private final List<Stop> stops;
+    private final List<Route> routes;
+    private final CancellationPolicy activePolicy;
+
+    private Snapshot(long version, List<SeatClass> seatClasses, List<Stop> stops, List<Route> routes,
+        CancellationPolicy activePolicy) {
+      this.version = version;
+      this.loadedAt = System.currentTimeMillis();
+      this.seatClasses = seatClasses;
+      this.stops = stops;
+      this.routes = routes;
+      this.activePolicy = activePolicy;
+    }
+
+    // Keeps the load time so a partial refresh does not postpone the TTL
+    private Snapshot(Snapshot previous, List<SeatClass> seatClasses, List<Stop> stops, List<Route> routes,
+        CancellationPolicy activePolicy) {
+      this.version = previous.version + 1;
+      this.loadedAt = previous.loadedAt;
+      this.seatClasses = seatClasses;
+      this.stops = stops;
+      this.routes = routes;
+      this.activePolicy = activePolicy;
+    }
+
+    private Snapshot with(List<SeatClass> seatClasses, List<Stop> stops, List<Route> routes,
+        CancellationPolicy activePolicy) {
+      return new Snapshot(this, seatClasses, stops, routes, activePolicy);
+    }
+
+    public long getVersion() {
+      return version;
+    }
+
+    public List<SeatClass> getSeatClasses() {
+      return seatClasses;
+    }
+
+    public List<Stop> getStops() {
+      return stops;
+    }
+
+    public List<Route> getRoutes() {
+      return routes;
+    }
+
+    /**
+     * The active policy, or the repository's default when none is active.
+     */
+    public CancellationPolicy getActivePolicy() {
+      return activePolicy != null ? activePolicy : CancellationPolicyRepository.getDefaultPolicy();
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.example.trainreservationsystem.services.shared;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import com.example.trainreservationsystem.models.admin.Schedule;
+import com.example.trainreservationsystem.models.member.Reminder;
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
+import com.example.trainreservationsystem.repositories.admin.TrainRepository;
+import com.example.trainreservationsystem.repositories.member.ReminderRepository;
+
+/**
+ * Sends departure reminders 24 hours and 2 hours before a confirmed trip.
+ *
+ * Reminder instants are computed once, when a booking is confirmed, and
+ * stored in the reminders table. Unsent reminders wait in a priority queue
+ * ordered by instant, so a tick only looks at the ones that are due.
+ * Claiming a reminder marks it sent in the database, so each one fires once.
+ */
+public class ReminderService {
+  private static ReminderService instance;
+  private static final int[] HOURS_BEFORE = { 24, 2 };
+
+  private final ReminderRepository reminderRepository;
+  private final TrainRepository trainRepository;
+  private final NotificationService notificationService;
+  private final PriorityQueue<Reminder> queue = new PriorityQueue<>(
+      Comparator.comparing(Reminder::getRemindAt).thenComparingInt(Reminder::getId)); // Guarded by this
+
+  private ReminderService() {
+    this.reminderRepository = RepositoryFactory.getReminderRepository();
+    this.trainRepository = RepositoryFactory.getTrainRepository();
+    this.notificationService = NotificationService.getInstance();
+  }
+
+  public static synchronized ReminderService getInstance() {
+    if (instance == null) {
+      instance = new ReminderService();
+    }
+    return instance;
+  }
+
+  /**
+   * Creates reminders missing for confirmed bookings and loads every unsent
+   * reminder into the queue.
+   */
+  public void start() {
+    int created = reminderRepository.createForConfirmedBookings(HOURS_BEFORE).size();
+    List<Reminder> unsent = reminderRepository.getUnsentReminders();
+    synchronized (this) {
+      queue.clear();
+      queue.addAll(unsent);
+    }
+    System.out.println("✅ Reminders loaded: " + unsent.size() + " pending (" + created + " new)");
+  }
+
+  /**
+   * Schedules the reminders of a booking that has just been confirmed.
+   */
+  public void scheduleForBooking(int bookingId) {
+    List<Reminder> created = reminderRepository.createForBooking(bookingId, HOURS_BEFORE);
+    synchronized (this) {
+      queue.addAll(created);
+    }
+  }
+
+  /**
+   * Sends every reminder whose instant has passed.
+   */
+  public void sendDueReminders() {
+    try {
+      List<Reminder> due = new ArrayList<>();
+      List<Integer> dueIds = new ArrayList<>();
+      LocalDateTime now = LocalDateTime.now();
+      synchronized (this) {
+        while (!queue.isEmpty() && !queue.peek().getRemindAt().isAfter(now)) {
+          Reminder reminder = queue.poll();
+          due.add(reminder);
+          dueIds.add(reminder.getId());
+        }
+      }
+      if (dueIds.isEmpty()) {
+        return;
+      }
+
+      List<Reminder> claimed;
+      try {
+        claimed = reminderRepository.claimDue(dueIds);
+      } catch (Exception e) {
+        // Nothing was marked sent, so retry them on the next tick
+        synchronized (this) {
+          queue.addAll(due);
+        }
+        throw e;
+      }
+      Set<Integer> scheduleIds = new HashSet<>();
+      for (Reminder reminder : claimed) {
+        scheduleIds.add(reminder.getScheduleId());
+      }
+      Map<Integer, Schedule> schedules = trainRepository.getSchedulesByIds(scheduleIds);
+
+      for (Reminder reminder : claimed) {
+        Schedule schedule = schedules.get(reminder.getScheduleId());
+        if (schedule == null) {
+          continue;
+        }
+        String routeInfo = schedule.getRoute() != null
+            ? schedule.getRoute().getName()
+            : "your scheduled train";
+        String message = String.format(
+            "Reminder: Your train (%s) departs in %d hour(s) on %s at %s",
+            routeInfo,
+            reminder.getHoursBefore(),
+            reminder.getTravelDate(),
+            schedule.getDepartureTime());
+        notificationService.add(message, reminder.getUserId());
+      }
+
+      if (!claimed.isEmpty()) {
+        System.out.println("📧 Sent " + claimed.size() + " departure reminder(s)");
+      }
+    } catch (Exception e) {
+      System.err.println("❌ Error in sendDueReminders: " + e.getMessage());
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Number of reminders waiting to be sent.
+   */
+  public synchronized int getPendingCount() {
+    return queue.size();
+  }
+}
@@ -1,40 +1,24 @@
 package com.example.trainreservationsystem.services.shared;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
-import com.example.trainreservationsystem.models.member.Booking;
-import com.example.trainreservationsystem.repositories.RepositoryFactory;
-import com.example.trainreservationsystem.repositories.admin.TrainRepository;
-import com.example.trainreservationsystem.repositories.member.BookingRepository;
-import com.example.trainreservationsystem.repositories.member.PaymentRepository;
+import com.example.trainreservationsystem.services.admin.StatisticsAggregator;
+import com.example.trainreservationsystem.services.member.booking.BookingExpiryService;
+import com.example.trainreservationsystem.utils.shared.database.Database;
 
 /**
  * Service for running scheduled background tasks.
- * Handles automatic booking cancellation, departure reminders, etc.
+ * Drives departure reminders and starts the unpaid booking expiry.
  */
 public class ScheduledTaskService {
   private static ScheduledTaskService instance;
+  private static final long DEFAULT_STATISTICS_FLUSH_SECONDS = 60;
   private final ScheduledExecutorService scheduler;
-  private final BookingRepository bookingRepository;
-  private final PaymentRepository paymentRepository;
-  private final NotificationService notificationService;
-  private final TrainRepository trainRepository;
-
-  // Timeout for unpaid PENDING bookings (in minutes)
-  private static final int BOOKING_TIMEOUT_MINUTES = 15;
 
   private ScheduledTaskService() {
     this.scheduler = Executors.newScheduledThreadPool(2);
-    this.bookingRepository = RepositoryFactory.getBookingRepository();
-    this.paymentRepository = RepositoryFactory.getPaymentRepository();
-    this.notificationService = NotificationService.getInstance();
-    this.trainRepository = RepositoryFactory.getTrainRepository();
   }
 
   public static synchronized ScheduledTaskService getInstance() {
@@ -46,126 +30,26 @@ public class ScheduledTaskService {
 
   /**
    * Starts all scheduled tasks.
-   * Should be called when the application starts.
+   * Should be called when the application starts, off the JavaFX thread:
+   * the expiry, reminder and statistics services load their state from the
+   * database here.
    */
   public void start() {
-    // Run booking cancellation check every 5 minutes
-    scheduler.scheduleAtFixedRate(this::cancelUnpaidBookings, 0, 5, TimeUnit.MINUTES);
-
-    // Run departure reminders check every hour
-    scheduler.scheduleAtFixedRate(this::sendDepartureReminders, 0, 1, TimeUnit.HOURS);
-
-    System.out.println("✅ Scheduled tasks started");
-  }
-
-  /**
-   * Cancels unpaid PENDING bookings that have exceeded the timeout period.
-   */
-  private void cancelUnpaidBookings() {
-    try {
-      List<Booking> pendingBookings = bookingRepository.getPendingBookings();
-      LocalDateTime now = LocalDateTime.now();
-      int cancelledCount = 0;
+    // Cancel unpaid bookings as their payment windows close
+    BookingExpiryService.getInstance().start();
 
-      for (Booking booking : pendingBookings) {
-        // Check if booking has exceeded timeout
-        LocalDateTime bookingDate = booking.getBookingDate();
-        if (bookingDate != null) {
-          long minutesSinceBooking = ChronoUnit.MINUTES.between(bookingDate, now);
+    // Send departure reminders as they fall due
+    ReminderService reminderService = ReminderService.getInstance();
+    reminderService.start();
+    scheduler.scheduleAtFixedRate(reminderService::sendDueReminders, 0, 1, TimeUnit.MINUTES);
 
-          if (minutesSinceBooking >= BOOKING_TIMEOUT_MINUTES) {
-            // Check if payment exists for this booking
-            boolean hasPayment = paymentRepository.hasPaymentForBooking(booking.getId());
-
-            if (!hasPayment) {
-              // Cancel the booking
-              bookingRepository.updateBookingStatus(booking.getId(), "CANCELLED");
-              cancelledCount++;
-
-              // Notify user
-              notificationService.add(
-                  "Your booking #" + booking.getId() + " was automatically cancelled due to non-payment.",
-                  booking.getUserId());
-
-              System.out.println("⏰ Auto-cancelled unpaid booking #" + booking.getId());
-            }
-          }
-        }
-      }
-
-      if (cancelledCount > 0) {
-        System.out.println("✅ Cancelled " + cancelledCount + " unpaid booking(s)");
-      }
-    } catch (Exception e) {
-      System.err.println("❌ Error in cancelUnpaidBookings: " + e.getMessage());
-      e.printStackTrace();
-    }
-  }
+    // Flush statistics counters to the database
+    StatisticsAggregator statistics = StatisticsAggregator.getInstance();
+    statistics.start();
+    long flushSeconds = Database.getLongSetting("STATISTICS_FLUSH_SECONDS", DEFAULT_STATISTICS_FLUSH_SECONDS);
+    scheduler.scheduleAtFixedRate(statistics::flush, flushSeconds, flushSeconds, TimeUnit.SECONDS);
 
-  /**
-   * Sends departure reminders to users with upcoming trips.
-   * Sends reminders 24 hours and 2 hours before departure.
-   */
-  private void sendDepartureReminders() {
-    try {
-      List<Booking> confirmedBookings = bookingRepository.getConfirmedBookings();
-      LocalDateTime now = LocalDateTime.now();
-      int reminderCount = 0;
-
-      for (Booking booking : confirmedBookings) {
-        // Load schedule if not already loaded
-        if (booking.getSchedule() == null) {
-          try {
-            booking.setSchedule(trainRepository.getScheduleById(booking.getScheduleId()));
-          } catch (Exception e) {
-            System.err.println("Error loading schedule for booking #" + booking.getId() + ": " + e.getMessage());
-            continue;
-          }
-        }
-
-        if (booking.getSchedule() == null) {
-          continue;
-        }
-
-        // Calculate departure datetime - use booking date as travel date fallback
-        LocalDate travelDate = booking.getBookingDate() != null ? booking.getBookingDate().toLocalDate()
-            : LocalDate.now();
-        LocalDateTime departureDateTime = travelDate.atTime(booking.getSchedule().getDepartureTime());
-
-        // Check if departure is within 24 hours (and not already passed)
-        long hoursUntilDeparture = ChronoUnit.HOURS.between(now, departureDateTime);
-
-        if (hoursUntilDeparture > 0 && hoursUntilDeparture <= 24) {
-          // Check if we already sent a reminder (simple check - in production, use a
-          // flag)
-          // For now, send reminder if departure is between 23-24 hours or 1-2 hours away
-          if ((hoursUntilDeparture >= 23 && hoursUntilDeparture <= 24) ||
-              (hoursUntilDeparture >= 1 && hoursUntilDeparture <= 2)) {
-
-            String routeInfo = booking.getSchedule().getRoute() != null
-                ? booking.getSchedule().getRoute().getName()
-                : "your scheduled train";
-
-            String message = String.format(
-                "Reminder: Your train (%s) departs in %d hour(s) on %s at %s",
-                routeInfo,
-                (int) hoursUntilDeparture,
-                travelDate,
-                booking.getSchedule().getDepartureTime());
-
-            notificationService.add(message, booking.getUserId());
-            reminderCount++;
-          }
-        }
-      }
-
-      if (reminderCount > 0) {
-        System.out.println("📧 Sent " + reminderCount + " departure reminder(s)");
-      }
-    } catch (Exception e) {
-      System.err.println("❌ Error in sendDepartureReminders: " + e.getMessage());
-      e.printStackTrace();
-    }
+    System.out.println("✅ Scheduled tasks started");
   }
 
   /**
@@ -173,7 +57,9 @@ public class ScheduledTaskService {
    * Should be called when the application shuts down.
    */
   public void shutdown() {
+    BookingExpiryService.getInstance().shutdown();
     scheduler.shutdown();
+    StatisticsAggregator.getInstance().flush();
     try {
       if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
         scheduler.shutdownNow();
@@ -0,0 +1,108 @@
+package com.example.trainreservationsystem.services.shared;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.trainreservationsystem.models.member.Notification;
+
+/**
+ * Notifications of one user, newest first. New notifications are pushed on
+ * the front and older pages from the database appended at the back, both in
+ * O(1) per item. The keyset cursor remembers the oldest row loaded so far.
+ *
+ * All access goes through this object's lock; the unread counter can be read
+ * without it.
+ */
+class UserNotifications {
+  private final int userId;
+  private final Deque<Notification> items = new ArrayDeque<>();
+  private final AtomicInteger unread = new AtomicInteger();
+  private LocalDateTime cursorCreatedAt;
+  private int cursorId;
+  private boolean hasMore = true;
+
+  UserNotifications(int userId, int unreadCount) {
+    this.userId = userId;
+    this.unread.set(unreadCount);
+  }
+
+  int getUserId() {
+    return userId;
+  }
+
+  int getUnreadCount() {
+    return unread.get();
+  }
+
+  synchronized void addNewest(Notification notification) {
+    items.addFirst(notification);
+    if (!notification.isSent()) {
+      unread.incrementAndGet();
+    }
+  }
+
+  /**
+   * Appends a page read from the database and moves the cursor past it.
+   */
+  synchronized void addPage(List<Notification> page, int pageSize) {
+    for (Notification notification : page) {
+      items.addLast(notification);
+    }
+    if (!page.isEmpty()) {
+      Notification oldest = page.get(page.size() - 1);
+      cursorCreatedAt = oldest.getCreatedAt();
+      cursorId = oldest.getId();
+    }
+    hasMore = page.size() >= pageSize && cursorCreatedAt != null;
+  }
+
+  synchronized LocalDateTime getCursorCreatedAt() {
+    return cursorCreatedAt;
+  }
+
+  synchronized int getCursorId() {
+    return cursorId;
+  }
+
+  synchronized boolean hasMore() {
+    return hasMore;
+  }
+
+  synchronized List<Notification> snapshot() {
+    return new ArrayList<>(items);
+  }
+
+  synchronized int size() {
+    return items.size();
+  }
+
+  synchronized boolean remove(Notification notification) {
+    if (!items.removeIf(n -> n == notification)) {
+      return false;
+    }
+    if (!notification.isSent()) {
+      unread.decrementAndGet();
+    }
+    return true;
+  }
+
+  synchronized void markAllRead() {
+    for (Notification notification : items) {
+      notification.setSent(true);
+    }
+    unread.set(0);
+  }
+
+  /**
+   * Empties the list without loading older pages again.
+   */
+  synchronized void clear() {
+    markAllRead();
+    items.clear();
+    hasMore = false;
+  }
+}
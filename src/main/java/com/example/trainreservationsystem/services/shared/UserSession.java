@@ -16,6 +16,9 @@ public class UserSession {
   private Integer selectedClassSeatEnd; // Ending seat number for selected class
   private Integer preselectedSeat; // Seat number preselected from class card
   private LocalDate selectedTravelDate; // Date selected by user when searching
+  private Integer selectedFromStopId; // Boarding stop, null for the route's first stop
+  private Integer selectedToStopId; // Alighting stop, null for the route's last stop
+  private double selectedFareShare = 1.0; // Share of the full-route fare for the selected stops
 
   private UserSession() {
   }
@@ -116,4 +119,26 @@ public class UserSession {
   public LocalDate getSelectedTravelDate() {
     return selectedTravelDate;
   }
+
+  /**
+   * Stores the part of the route being booked. Null stops mean the whole
+   * route, with a fare share of 1.
+   */
+  public void setSelectedStops(Integer fromStopId, Integer toStopId, double fareShare) {
+    this.selectedFromStopId = fromStopId;
+    this.selectedToStopId = toStopId;
+    this.selectedFareShare = fareShare;
+  }
+
+  public Integer getSelectedFromStopId() {
+    return selectedFromStopId;
+  }
+
+  public Integer getSelectedToStopId() {
+    return selectedToStopId;
+  }
+
+  public double getSelectedFareShare() {
+    return selectedFareShare;
+  }
 }
@@ -0,0 +1,256 @@
+package com.example.trainreservationsystem.services.staff.report;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import com.example.trainreservationsystem.repositories.member.BookingRepository.ReportRow;
+
+/**
+ * Reads a report written by {@link ColumnarReportWriter} back one row at a
+ * time, decoding a whole row group whenever the previous one is used up.
+ *
+ * The header must list the columns and encodings the writer uses, and the
+ * trailer's row count must match the rows read; anything else is reported
+ * as an IOException. Statuses written as null come back empty.
+ */
+public class ColumnarReportReader implements Closeable {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int GROUP_SIZE = ColumnarReportWriter.GROUP_SIZE;
+
+  private final DataInputStream in;
+  private final Chunk chunk = new Chunk();
+  private long rowsRead;
+  private boolean finished;
+
+  // Current row group, one array per column
+  private int rows;
+  private int next;
+  private final long[] bookingIds = new long[GROUP_SIZE];
+  private final long[] userIds = new long[GROUP_SIZE];
+  private final long[] scheduleIds = new long[GROUP_SIZE];
+  private final String[] statuses = new String[GROUP_SIZE];
+  private final long[] amounts = new long[GROUP_SIZE];
+  private final long[] bookingDates = new long[GROUP_SIZE];
+  private final boolean[] hasBookingDate = new boolean[GROUP_SIZE];
+  private final long[] travelDates = new long[GROUP_SIZE];
+  private final boolean[] hasTravelDate = new boolean[GROUP_SIZE];
+  private final long[] tickets = new long[GROUP_SIZE];
+
+  public ColumnarReportReader(Path file) throws IOException {
+    this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+    try {
+      readHeader();
+    } catch (IOException e) {
+      in.close();
+      throw e;
+    }
+  }
+
+  private void readHeader() throws IOException {
+    byte[] magic = new byte[ColumnarReportWriter.MAGIC.length];
+    in.readFully(magic);
+    if (!Arrays.equals(magic, ColumnarReportWriter.MAGIC)) {
+      throw new IOException("Not a columnar report file");
+    }
+    byte version = in.readByte();
+    if (version != ColumnarReportWriter.VERSION) {
+      throw new IOException("Unsupported report version " + version);
+    }
+    int columns = in.readUnsignedByte();
+    if (columns != ColumnarReportWriter.COLUMNS.length) {
+      throw new IOException("Expected " + ColumnarReportWriter.COLUMNS.length + " columns, found " + columns);
+    }
+    for (int c = 0; c < columns; c++) {
+      String name = in.readUTF();
+      byte encoding = in.readByte();
+      if (!name.equals(ColumnarReportWriter.COLUMNS[c]) || encoding != ColumnarReportWriter.ENCODINGS[c]) {
+        throw new IOException("Unexpected column " + name + " (encoding " + encoding + ") at position " + c);
+      }
+    }
+  }
+
+  /**
+   * Returns the next row, or null after the last one.
+   */
+  public ReportRow next() throws IOException {
+    if (next == rows && !readGroup()) {
+      return null;
+    }
+    int i = next++;
+    return new ReportRow(
+        (int) bookingIds[i],
+        (int) userIds[i],
+        (int) scheduleIds[i],
+        statuses[i],
+        amounts[i],
+        hasBookingDate[i]
+            ? LocalDateTime.ofInstant(Instant.ofEpochMilli(bookingDates[i]), ZoneOffset.UTC)
+            : null,
+        hasTravelDate[i] ? LocalDate.ofEpochDay(travelDates[i]) : null,
+        (int) tickets[i]);
+  }
+
+  /**
+   * Rows decoded so far, including the rest of the current row group.
+   */
+  public long getRowsRead() {
+    return rowsRead;
+  }
+
+  private boolean readGroup() throws IOException {
+    if (finished) {
+      return false;
+    }
+    int count = in.readInt();
+    if (count == 0) {
+      long total = in.readLong();
+      if (total != rowsRead) {
+        throw new IOException("Report trailer counts " + total + " rows but " + rowsRead + " were read");
+      }
+      finished = true;
+      rows = 0;
+      next = 0;
+      return false;
+    }
+    if (count < 0 || count > GROUP_SIZE) {
+      throw new IOException("Invalid row group size " + count);
+    }
+    read().delta(bookingIds, null, count);
+    read().varints(userIds, count);
+    read().varints(scheduleIds, count);
+    read().dictionary(statuses, count);
+    read().varints(amounts, count);
+    read().delta(bookingDates, hasBookingDate, count);
+    read().delta(travelDates, hasTravelDate, count);
+    read().varints(tickets, count);
+    rows = count;
+    next = 0;
+    rowsRead += count;
+    return true;
+  }
+
+  private Chunk read() throws IOException {
+    int size = in.readInt();
+    if (size < 0) {
+      throw new IOException("Invalid column length " + size);
+    }
+    chunk.fill(in, size);
+    return chunk;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  /**
+   * Reusable buffer holding one encoded column while it is decoded.
+   */
+  private static class Chunk {
+    private byte[] bytes = new byte[BUFFER_SIZE];
+    private int size;
+    private int position;
+
+    void fill(DataInputStream in, int length) throws IOException {
+      if (length > bytes.length) {
+        bytes = new byte[Math.max(bytes.length * 2, length)];
+      }
+      in.readFully(bytes, 0, length);
+      size = length;
+      position = 0;
+    }
+
+    void varints(long[] values, int count) throws IOException {
+      for (int i = 0; i < count; i++) {
+        values[i] = getVarint();
+      }
+      checkConsumed();
+    }
+
+    void delta(long[] values, boolean[] present, int count) throws IOException {
+      if (present != null) {
+        int bitmapSize = (count + 7) / 8;
+        need(bitmapSize);
+        for (int i = 0; i < count; i++) {
+          present[i] = (bytes[i >> 3] & (1 << (i & 7))) != 0;
+        }
+        position = bitmapSize;
+      }
+      long previous = 0;
+      for (int i = 0; i < count; i++) {
+        if (present == null || present[i]) {
+          previous += getVarint();
+          values[i] = previous;
+        } else {
+          values[i] = 0;
+        }
+      }
+      checkConsumed();
+    }
+
+    void dictionary(String[] values, int count) throws IOException {
+      long entryCount = getVarint();
+      if (entryCount < 0 || entryCount > count) {
+        throw new IOException("Invalid dictionary size " + entryCount);
+      }
+      String[] entries = new String[(int) entryCount];
+      for (int i = 0; i < entries.length; i++) {
+        entries[i] = getUtf();
+      }
+      for (int i = 0; i < count; i++) {
+        long code = getVarint();
+        if (code < 0 || code >= entries.length) {
+          throw new IOException("Dictionary index " + code + " out of range");
+        }
+        values[i] = entries[(int) code];
+      }
+      checkConsumed();
+    }
+
+    // Undoes the writer's zigzag encoding
+    private long getVarint() throws IOException {
+      long v = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        need(1);
+        byte b = bytes[position++];
+        v |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return (v >>> 1) ^ -(v & 1);
+        }
+      }
+      throw new IOException("Varint longer than 10 bytes");
+    }
+
+    private String getUtf() throws IOException {
+      need(2);
+      int length = ((bytes[position] & 0xFF) << 8) | (bytes[position + 1] & 0xFF);
+      position += 2;
+      need(length);
+      String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+      position += length;
+      return value;
+    }
+
+    private void need(int count) throws IOException {
+      if (position + count > size) {
+        throw new IOException("Column data ends early");
+      }
+    }
+
+    private void checkConsumed() throws IOException {
+      if (position != size) {
+        throw new IOException("Column has " + (size - position) + " unread bytes");
+      }
+    }
+  }
+}
@@ -0,0 +1,231 @@
+package com.example.trainreservationsystem.services.staff.report;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.example.trainreservationsystem.repositories.member.BookingRepository.ReportRow;
+
+/**
+ * Writes report rows in a compact column-oriented binary format.
+ *
+ * Rows are buffered into fixed-size row groups and each group is written
+ * column by column, so memory stays bounded and similar values sit next to
+ * each other. Layout (big-endian):
+ *
+ * <pre>
+ * header:    "TRSR" | version byte | column count byte | per column: name (UTF) + encoding byte
+ * row group: row count int (&gt; 0) | per column: byte length int + encoded values
+ * trailer:   0 int | total rows long
+ * </pre>
+ *
+ * Encodings: VARINT is a zigzag varint per value; DELTA is a zigzag varint of
+ * the difference from the previous value in the group; DICTIONARY is a
+ * varint entry count, the entries as length-prefixed UTF-8, then a varint
+ * index per row; NULLABLE_DELTA is a presence bitmap ((rows + 7) / 8 bytes,
+ * bit set = present) followed by DELTA values for the present rows.
+ * Timestamps are local date-times as epoch milliseconds at UTC, dates are
+ * epoch days and amounts are cents. {@link ColumnarReportReader} reads the
+ * format back.
+ */
+public class ColumnarReportWriter implements ReportWriter {
+  public static final byte VARINT = 1;
+  public static final byte DELTA = 2;
+  public static final byte DICTIONARY = 3;
+  public static final byte NULLABLE_DELTA = 4;
+
+  static final byte[] MAGIC = { 'T', 'R', 'S', 'R' };
+  static final byte VERSION = 1;
+  static final int GROUP_SIZE = 64 * 1024;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  // Columns in file order, with their encodings
+  static final String[] COLUMNS = { "booking_id", "user_id", "schedule_id", "status", "amount_cents",
+      "booking_date", "travel_date", "tickets" };
+  static final byte[] ENCODINGS = { DELTA, VARINT, VARINT, DICTIONARY, VARINT, NULLABLE_DELTA, NULLABLE_DELTA,
+      VARINT };
+
+  private final DataOutputStream out;
+  private final Chunk chunk = new Chunk();
+  private long totalRows;
+
+  // Current row group, one array per column
+  private int rows;
+  private final long[] bookingIds = new long[GROUP_SIZE];
+  private final long[] userIds = new long[GROUP_SIZE];
+  private final long[] scheduleIds = new long[GROUP_SIZE];
+  private final String[] statuses = new String[GROUP_SIZE];
+  private final long[] amounts = new long[GROUP_SIZE];
+  private final long[] bookingDates = new long[GROUP_SIZE];
+  private final boolean[] hasBookingDate = new boolean[GROUP_SIZE];
+  private final long[] travelDates = new long[GROUP_SIZE];
+  private final boolean[] hasTravelDate = new boolean[GROUP_SIZE];
+  private final long[] tickets = new long[GROUP_SIZE];
+
+  public ColumnarReportWriter(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+    out.write(MAGIC);
+    out.writeByte(VERSION);
+    out.writeByte(COLUMNS.length);
+    for (int c = 0; c < COLUMNS.length; c++) {
+      out.writeUTF(COLUMNS[c]);
+      out.writeByte(ENCODINGS[c]);
+    }
+  }
+
+  @Override
+  public void write(ReportRow row) throws IOException {
+    bookingIds[rows] = row.bookingId;
+    userIds[rows] = row.userId;
+    scheduleIds[rows] = row.scheduleId;
+    statuses[rows] = row.status != null ? row.status : "";
+    amounts[rows] = row.paidCents;
+    hasBookingDate[rows] = row.bookingDate != null;
+    bookingDates[rows] = row.bookingDate != null ? row.bookingDate.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+    hasTravelDate[rows] = row.travelDate != null;
+    travelDates[rows] = row.travelDate != null ? row.travelDate.toEpochDay() : 0;
+    tickets[rows] = row.tickets;
+    if (++rows == GROUP_SIZE) {
+      flushGroup();
+    }
+  }
+
+  private void flushGroup() throws IOException {
+    if (rows == 0) {
+      return;
+    }
+    out.writeInt(rows);
+    writeChunk(chunk.delta(bookingIds, null, rows));
+    writeChunk(chunk.varints(userIds, rows));
+    writeChunk(chunk.varints(scheduleIds, rows));
+    writeChunk(chunk.dictionary(statuses, rows));
+    writeChunk(chunk.varints(amounts, rows));
+    writeChunk(chunk.delta(bookingDates, hasBookingDate, rows));
+    writeChunk(chunk.delta(travelDates, hasTravelDate, rows));
+    writeChunk(chunk.varints(tickets, rows));
+    totalRows += rows;
+    Arrays.fill(statuses, 0, rows, null);
+    rows = 0;
+  }
+
+  private void writeChunk(Chunk encoded) throws IOException {
+    out.writeInt(encoded.size);
+    out.write(encoded.bytes, 0, encoded.size);
+  }
+
+  public long getTotalRows() {
+    return totalRows + rows;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flushGroup();
+      out.writeInt(0);
+      out.writeLong(totalRows);
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Reusable growable buffer that one column is encoded into at a time.
+   */
+  private static class Chunk {
+    private byte[] bytes = new byte[BUFFER_SIZE];
+    private int size;
+
+    Chunk varints(long[] values, int count) {
+      size = 0;
+      for (int i = 0; i < count; i++) {
+        putVarint(values[i]);
+      }
+      return this;
+    }
+
+    Chunk delta(long[] values, boolean[] present, int count) {
+      size = 0;
+      if (present != null) {
+        int bitmapSize = (count + 7) / 8;
+        ensure(bitmapSize);
+        Arrays.fill(bytes, 0, bitmapSize, (byte) 0);
+        for (int i = 0; i < count; i++) {
+          if (present[i]) {
+            bytes[i >> 3] |= (byte) (1 << (i & 7));
+          }
+        }
+        size = bitmapSize;
+      }
+      long previous = 0;
+      for (int i = 0; i < count; i++) {
+        if (present == null || present[i]) {
+          putVarint(values[i] - previous);
+          previous = values[i];
+        }
+      }
+      return this;
+    }
+
+    Chunk dictionary(String[] values, int count) {
+      size = 0;
+      Map<String, Integer> indexes = new HashMap<>();
+      String[] entries = new String[count];
+      int[] codes = new int[count];
+      for (int i = 0; i < count; i++) {
+        Integer index = indexes.get(values[i]);
+        if (index == null) {
+          index = indexes.size();
+          indexes.put(values[i], index);
+          entries[index] = values[i];
+        }
+        codes[i] = index;
+      }
+      putVarint(indexes.size());
+      for (int i = 0; i < indexes.size(); i++) {
+        putUtf(entries[i]);
+      }
+      for (int i = 0; i < count; i++) {
+        putVarint(codes[i]);
+      }
+      return this;
+    }
+
+    // Zigzag so small negative numbers stay short
+    private void putVarint(long value) {
+      long v = (value << 1) ^ (value >> 63);
+      ensure(10);
+      while ((v & ~0x7FL) != 0) {
+        bytes[size++] = (byte) ((v & 0x7F) | 0x80);
+        v >>>= 7;
+      }
+      bytes[size++] = (byte) v;
+    }
+
+    // Two-byte length, then the UTF-8 bytes
+    private void putUtf(String value) {
+      byte[] utf = value.getBytes(StandardCharsets.UTF_8);
+      ensure(2 + utf.length);
+      bytes[size++] = (byte) (utf.length >>> 8);
+      bytes[size++] = (byte) utf.length;
+      System.arraycopy(utf, 0, bytes, size, utf.length);
+      size += utf.length;
+    }
+
+    private void ensure(int extra) {
+      if (size + extra > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+      }
+    }
+  }
+}
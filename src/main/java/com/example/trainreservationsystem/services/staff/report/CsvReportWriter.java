@@ -0,0 +1,73 @@
+package com.example.trainreservationsystem.services.staff.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeFormatter;
+
+import com.example.trainreservationsystem.repositories.member.BookingRepository.ReportRow;
+
+/**
+ * Writes report rows as RFC 4180 CSV with a header line.
+ */
+public class CsvReportWriter implements ReportWriter {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  private final BufferedWriter out;
+
+  public CsvReportWriter(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    this.out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+    out.write("booking_id,user_id,schedule_id,status,amount,booking_date,travel_date,tickets\r\n");
+  }
+
+  @Override
+  public void write(ReportRow row) throws IOException {
+    out.write(Integer.toString(row.bookingId));
+    out.write(',');
+    out.write(Integer.toString(row.userId));
+    out.write(',');
+    out.write(Integer.toString(row.scheduleId));
+    out.write(',');
+    out.write(escape(row.status));
+    out.write(',');
+    out.write(formatCents(row.paidCents));
+    out.write(',');
+    if (row.bookingDate != null) {
+      out.write(row.bookingDate.format(TIMESTAMP_FORMAT));
+    }
+    out.write(',');
+    if (row.travelDate != null) {
+      out.write(row.travelDate.toString());
+    }
+    out.write(',');
+    out.write(Integer.toString(row.tickets));
+    out.write("\r\n");
+  }
+
+  private static String formatCents(long cents) {
+    long abs = Math.abs(cents);
+    return (cents < 0 ? "-" : "") + abs / 100 + "." + (abs % 100 < 10 ? "0" : "") + abs % 100;
+  }
+
+  private static String escape(String value) {
+    if (value == null) {
+      return "";
+    }
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return "\"" + value.replace("\"", "\"\"") + "\"";
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+}
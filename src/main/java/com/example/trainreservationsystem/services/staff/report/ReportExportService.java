@@ -0,0 +1,94 @@
+package com.example.trainreservationsystem.services.staff.report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+import com.example.trainreservationsystem.repositories.RepositoryFactory;
+import com.example.trainreservationsystem.repositories.member.BookingRepository;
+
+/**
+ * Exports every booking to a report file in constant memory.
+ *
+ * Rows stream from a database cursor straight into a buffered file writer,
+ * so nothing is collected in between. Progress is reported every few
+ * thousand rows, and a cancelled export stops at the next row and deletes
+ * the partial file.
+ */
+public class ReportExportService {
+  private static ReportExportService instance;
+  private static final int PROGRESS_INTERVAL = 5000;
+
+  private final BookingRepository bookingRepository;
+
+  /**
+   * Receives the rows written so far and the expected total.
+   */
+  public interface ProgressListener {
+    void onProgress(long written, long total);
+  }
+
+  private ReportExportService() {
+    this.bookingRepository = RepositoryFactory.getBookingRepository();
+  }
+
+  public static synchronized ReportExportService getInstance() {
+    if (instance == null) {
+      instance = new ReportExportService();
+    }
+    return instance;
+  }
+
+  /**
+   * Writes the booking report to a file.
+   *
+   * @return the number of bookings written
+   * @throws CancellationException if cancelled is true before the end
+   */
+  public long export(ReportFormat format, Path file, BooleanSupplier cancelled, ProgressListener progress)
+      throws Exception {
+    long total = bookingRepository.countBookingsByStatus().values().stream()
+        .mapToLong(Long::longValue)
+        .sum();
+    long[] written = { 0 };
+    progress.onProgress(0, total);
+
+    boolean completed = false;
+    try (ReportWriter writer = openWriter(format, file)) {
+      bookingRepository.forEachReportRow(row -> {
+        if (cancelled.getAsBoolean()) {
+          throw new CancellationException("Report export cancelled");
+        }
+        try {
+          writer.write(row);
+        } catch (IOException e) {
+          throw new RuntimeException("Failed to write report", e);
+        }
+        if (++written[0] % PROGRESS_INTERVAL == 0) {
+          // Rows booked during the export can push past the initial count
+          progress.onProgress(written[0], Math.max(total, written[0]));
+        }
+      });
+      completed = true;
+    } finally {
+      if (!completed) {
+        Files.deleteIfExists(file);
+      }
+    }
+    progress.onProgress(written[0], written[0]);
+    System.out.println("✅ Exported " + written[0] + " booking(s) to " + file);
+    return written[0];
+  }
+
+  private static ReportWriter openWriter(ReportFormat format, Path file) throws IOException {
+    switch (format) {
+      case COLUMNAR:
+        return new ColumnarReportWriter(file);
+      case CSV:
+      default:
+        return new CsvReportWriter(file);
+    }
+  }
+}
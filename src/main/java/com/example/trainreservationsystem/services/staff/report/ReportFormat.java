@@ -0,0 +1,38 @@
+package com.example.trainreservationsystem.services.staff.report;
+
+/**
+ * File formats the booking report can be exported in.
+ */
+public enum ReportFormat {
+  CSV("CSV Files", "csv"),
+  COLUMNAR("Columnar Report", "trsr");
+
+  private final String description;
+  private final String extension;
+
+  ReportFormat(String description, String extension) {
+    this.description = description;
+    this.extension = extension;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public String getExtension() {
+    return extension;
+  }
+
+  /**
+   * Picks the format from a file name, defaulting to CSV.
+   */
+  public static ReportFormat fromFileName(String fileName) {
+    String lower = fileName.toLowerCase();
+    for (ReportFormat format : values()) {
+      if (lower.endsWith("." + format.extension)) {
+        return format;
+      }
+    }
+    return CSV;
+  }
+}
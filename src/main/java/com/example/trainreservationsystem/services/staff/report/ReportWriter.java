@@ -0,0 +1,14 @@
+package com.example.trainreservationsystem.services.staff.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.example.trainreservationsystem.repositories.member.BookingRepository.ReportRow;
+
+/**
+ * Writes report rows to a file one at a time. Closing flushes whatever is
+ * still buffered.
+ */
+public interface ReportWriter extends Closeable {
+  void write(ReportRow row) throws IOException;
+}
@@ -20,9 +20,11 @@ public class BookingDisplayHelper {
   private static void displayJourney(Booking booking, Label journeyLabel, Label dateLabel) {
     journeyLabel.setText(booking.getSchedule().getRoute().getSource() +
         " → " + booking.getSchedule().getRoute().getDestination());
-    // Use travel date from session (user's selected travel date) first, then
+    // Use the booking's travel date, then the session's selected date, then the
     // booking date as fallback
-    java.time.LocalDate travelDate = UserSession.getInstance().getSelectedTravelDate();
+    java.time.LocalDate travelDate = booking.getTravelDate() != null
+        ? booking.getTravelDate()
+        : UserSession.getInstance().getSelectedTravelDate();
     if (travelDate != null) {
       dateLabel.setText(travelDate.toString());
     } else if (booking.getBookingDate() != null) {
@@ -1,5 +1,6 @@
 package com.example.trainreservationsystem.utils.member.booking;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -29,7 +30,10 @@ public class BookingHelper {
   public static Booking createBooking(BookingService bookingService, Schedule schedule,
       List<Passenger> passengers) {
     int userId = UserSession.getInstance().getCurrentUser().getId();
-    return bookingService.createBooking(userId, schedule, passengers);
+    LocalDate travelDate = UserSession.getInstance().getSelectedTravelDate();
+    return bookingService.createBooking(userId, schedule, travelDate,
+        UserSession.getInstance().getSelectedFromStopId(), UserSession.getInstance().getSelectedToStopId(),
+        passengers);
   }
 
   public static void saveBooking(Booking booking, Schedule schedule, int selectedSeatsCount) {
@@ -40,6 +44,7 @@ public class BookingHelper {
       double multiplier = UserSession.getInstance().getSelectedClassPriceMultiplier();
       pricePerSeat = schedule.getPrice() * multiplier;
     }
+    pricePerSeat *= UserSession.getInstance().getSelectedFareShare(); // Part of the route only
 
     booking.setTotalAmount(pricePerSeat * selectedSeatsCount);
     if (booking.getSchedule() == null) {
@@ -0,0 +1,199 @@
+package com.example.trainreservationsystem.utils.member.booking;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compact occupancy bitmap for the seats of one train run.
+ * Bit n is set when seat n is taken (seat numbers start at 1, bit 0 is
+ * unused). Range counts use popcount and free-seat search uses the inverted
+ * word, so both touch one long per 64 seats.
+ *
+ * Updates are lock-free: each seat is claimed with a compare-and-set on its
+ * word, so two threads can never both take the same seat. Seats above the
+ * capacity don't exist and are never free.
+ */
+public class SeatBitmap {
+  private static final int ADDRESS_BITS = 6; // 64 bits per word
+
+  private final int capacity;
+  private final AtomicLongArray words;
+  private final LongAdder casRetries = new LongAdder();
+
+  public SeatBitmap(int capacity) {
+    this.capacity = Math.max(capacity, 1);
+    this.words = new AtomicLongArray(wordIndex(this.capacity) + 1);
+  }
+
+  private static int wordIndex(int bit) {
+    return bit >>> ADDRESS_BITS;
+  }
+
+  private boolean inRange(int seat) {
+    return seat > 0 && seat <= capacity;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  int wordCount() {
+    return words.length();
+  }
+
+  long word(int index) {
+    return words.get(index);
+  }
+
+  /**
+   * Number of compare-and-set attempts that lost a race and had to retry.
+   */
+  public long getCasRetries() {
+    return casRetries.sum();
+  }
+
+  public boolean isSet(int seat) {
+    return inRange(seat) && (words.get(wordIndex(seat)) & (1L << seat)) != 0;
+  }
+
+  /**
+   * Claims a seat. Returns false if it was already taken or doesn't exist.
+   */
+  public boolean trySet(int seat) {
+    if (!inRange(seat)) {
+      return false;
+    }
+    int w = wordIndex(seat);
+    long bit = 1L << seat;
+    while (true) {
+      long current = words.get(w);
+      if ((current & bit) != 0) {
+        return false;
+      }
+      if (words.compareAndSet(w, current, current | bit)) {
+        return true;
+      }
+      casRetries.increment();
+    }
+  }
+
+  /**
+   * Claims all seats or none. If any seat is already taken, seats claimed so
+   * far are given back and false is returned.
+   */
+  public boolean trySetAll(int[] seats) {
+    for (int i = 0; i < seats.length; i++) {
+      if (!trySet(seats[i])) {
+        for (int j = 0; j < i; j++) {
+          clear(seats[j]);
+        }
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Marks a seat as taken whether or not it already was.
+   */
+  public void set(int seat) {
+    if (!inRange(seat)) {
+      return;
+    }
+    int w = wordIndex(seat);
+    long bit = 1L << seat;
+    long current;
+    while (((current = words.get(w)) & bit) == 0 && !words.compareAndSet(w, current, current | bit)) {
+      casRetries.increment();
+    }
+  }
+
+  public void clear(int seat) {
+    if (!inRange(seat)) {
+      return;
+    }
+    int w = wordIndex(seat);
+    long bit = 1L << seat;
+    long current;
+    while (((current = words.get(w)) & bit) != 0 && !words.compareAndSet(w, current, current & ~bit)) {
+      casRetries.increment();
+    }
+  }
+
+  /**
+   * Counts taken seats in the inclusive range [from, to].
+   */
+  public int countSet(int from, int to) {
+    from = Math.max(from, 1);
+    to = Math.min(to, capacity);
+    if (from > to) {
+      return 0;
+    }
+    int firstWord = wordIndex(from);
+    int lastWord = wordIndex(to);
+
+    long firstMask = -1L << from;
+    long lastMask = -1L >>> (63 - (to & 63));
+    if (firstWord == lastWord) {
+      return Long.bitCount(words.get(firstWord) & firstMask & lastMask);
+    }
+
+    int count = Long.bitCount(words.get(firstWord) & firstMask);
+    for (int w = firstWord + 1; w < lastWord; w++) {
+      count += Long.bitCount(words.get(w));
+    }
+    count += Long.bitCount(words.get(lastWord) & lastMask);
+    return count;
+  }
+
+  /**
+   * Counts free seats in the inclusive range [from, to].
+   */
+  public int countClear(int from, int to) {
+    from = Math.max(from, 1);
+    to = Math.min(to, capacity);
+    return from > to ? 0 : (to - from + 1) - countSet(from, to);
+  }
+
+  /**
+   * Returns the first free seat in [from, to], or -1 if all are taken.
+   */
+  public int nextClear(int from, int to) {
+    from = Math.max(from, 1);
+    to = Math.min(to, capacity);
+    if (from > to) {
+      return -1;
+    }
+    int w = wordIndex(from);
+    int lastWord = wordIndex(to);
+    long word = ~words.get(w) & (-1L << from);
+    while (true) {
+      if (word != 0) {
+        int seat = (w << ADDRESS_BITS) + Long.numberOfTrailingZeros(word);
+        return seat <= to ? seat : -1;
+      }
+      if (++w > lastWord) {
+        return -1;
+      }
+      word = ~words.get(w);
+    }
+  }
+
+  /**
+   * Returns all taken seat numbers in ascending order.
+   */
+  public Set<Integer> toSet() {
+    Set<Integer> seats = new LinkedHashSet<>();
+    for (int w = 0; w < words.length(); w++) {
+      long word = words.get(w);
+      while (word != 0) {
+        int bit = Long.numberOfTrailingZeros(word);
+        seats.add((w << ADDRESS_BITS) + bit);
+        word &= word - 1;
+      }
+    }
+    return seats;
+  }
+}
@@ -0,0 +1,181 @@
+package com.example.trainreservationsystem.utils.member.booking;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Seat occupancy of one train run, per route segment.
+ * Row s is a {@link SeatBitmap} of the seats taken on segment s, so a seat
+ * booked Karachi-Hyderabad is still free on Hyderabad-Lahore.
+ *
+ * A ride over segments [from, to) needs a seat that is free on every one of
+ * them, i.e. clear in the OR of those rows. Queries OR the rows one word at a
+ * time, so they cost one long per 64 seats per segment.
+ */
+public class SegmentSeatMatrix {
+  private final SeatBitmap[] rows;
+  private final int capacity;
+
+  public SegmentSeatMatrix(int capacity, int segments) {
+    this.rows = new SeatBitmap[Math.max(segments, 1)];
+    for (int s = 0; s < rows.length; s++) {
+      rows[s] = new SeatBitmap(capacity);
+    }
+    this.capacity = rows[0].getCapacity();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public int getSegmentCount() {
+    return rows.length;
+  }
+
+  /**
+   * Compare-and-set retries across all segment rows.
+   */
+  public long getCasRetries() {
+    long retries = 0;
+    for (SeatBitmap row : rows) {
+      retries += row.getCasRetries();
+    }
+    return retries;
+  }
+
+  private void checkRange(int from, int to) {
+    if (from < 0 || to > rows.length || from >= to) {
+      throw new IllegalArgumentException("Invalid segment range [" + from + ", " + to + ")");
+    }
+  }
+
+  // Seats taken on any segment in [from, to), for one word of seats
+  private long occupiedWord(int w, int from, int to) {
+    long word = 0;
+    for (int s = from; s < to; s++) {
+      word |= rows[s].word(w);
+    }
+    return word;
+  }
+
+  public boolean isFree(int seat, int from, int to) {
+    checkRange(from, to);
+    if (seat <= 0 || seat > capacity) {
+      return false;
+    }
+    for (int s = from; s < to; s++) {
+      if (rows[s].isSet(seat)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Counts seats in the inclusive range [seatStart, seatEnd] that are free on
+   * every segment in [from, to).
+   */
+  public int countFree(int seatStart, int seatEnd, int from, int to) {
+    checkRange(from, to);
+    seatStart = Math.max(seatStart, 1);
+    seatEnd = Math.min(seatEnd, capacity);
+    if (seatStart > seatEnd) {
+      return 0;
+    }
+    int firstWord = seatStart >>> 6;
+    int lastWord = seatEnd >>> 6;
+    int taken = 0;
+    for (int w = firstWord; w <= lastWord; w++) {
+      long mask = -1L;
+      if (w == firstWord) {
+        mask &= -1L << seatStart;
+      }
+      if (w == lastWord) {
+        mask &= -1L >>> (63 - (seatEnd & 63));
+      }
+      taken += Long.bitCount(occupiedWord(w, from, to) & mask);
+    }
+    return (seatEnd - seatStart + 1) - taken;
+  }
+
+  /**
+   * First seat in [seatStart, seatEnd] free on every segment in [from, to), or
+   * -1 if there is none.
+   */
+  public int nextFree(int seatStart, int seatEnd, int from, int to) {
+    checkRange(from, to);
+    seatStart = Math.max(seatStart, 1);
+    seatEnd = Math.min(seatEnd, capacity);
+    if (seatStart > seatEnd) {
+      return -1;
+    }
+    int lastWord = seatEnd >>> 6;
+    for (int w = seatStart >>> 6; w <= lastWord; w++) {
+      long free = ~occupiedWord(w, from, to);
+      if (w == seatStart >>> 6) {
+        free &= -1L << seatStart;
+      }
+      if (free != 0) {
+        int seat = (w << 6) + Long.numberOfTrailingZeros(free);
+        return seat <= seatEnd ? seat : -1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Seats taken on at least one segment in [from, to), in ascending order.
+   */
+  public Set<Integer> occupiedSeats(int from, int to) {
+    checkRange(from, to);
+    Set<Integer> seats = new LinkedHashSet<>();
+    int words = rows[0].wordCount();
+    for (int w = 0; w < words; w++) {
+      long word = occupiedWord(w, from, to);
+      while (word != 0) {
+        seats.add((w << 6) + Long.numberOfTrailingZeros(word));
+        word &= word - 1;
+      }
+    }
+    return seats;
+  }
+
+  /**
+   * Claims every seat on every segment in [from, to), or nothing. A seat is
+   * claimed segment by segment; if any cell is already taken, everything
+   * claimed so far is given back and false is returned.
+   */
+  public boolean tryClaim(int[] seats, int from, int to) {
+    checkRange(from, to);
+    for (int i = 0; i < seats.length; i++) {
+      for (int s = from; s < to; s++) {
+        if (!rows[s].trySet(seats[i])) {
+          for (int undo = from; undo < s; undo++) {
+            rows[undo].clear(seats[i]);
+          }
+          for (int j = 0; j < i; j++) {
+            clear(seats[j], from, to);
+          }
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Marks a seat as taken on segments [from, to) whether or not it already
+   * was. Segments past the end of the matrix are ignored.
+   */
+  public void set(int seat, int from, int to) {
+    for (int s = Math.max(from, 0); s < Math.min(to, rows.length); s++) {
+      rows[s].set(seat);
+    }
+  }
+
+  public void clear(int seat, int from, int to) {
+    for (int s = Math.max(from, 0); s < Math.min(to, rows.length); s++) {
+      rows[s].clear(seat);
+    }
+  }
+}
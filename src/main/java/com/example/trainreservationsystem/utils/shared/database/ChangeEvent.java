@@ -0,0 +1,94 @@
+package com.example.trainreservationsystem.utils.shared.database;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A row change published by the fn_notify_data_change trigger.
+ *
+ * Payloads look like {@code bookings|UPDATE|42|user_id=7|schedule_id=3}:
+ * table, operation, row id, then the key columns the trigger was created
+ * with. A {@link #RESYNC} event with no id is sent after the listener
+ * reconnects, since changes may have been missed in between.
+ */
+public class ChangeEvent {
+  public static final String RESYNC = "RESYNC";
+
+  private final String table;
+  private final String operation;
+  private final Integer id;
+  private final Map<String, String> keys;
+
+  ChangeEvent(String table, String operation, Integer id, Map<String, String> keys) {
+    this.table = table;
+    this.operation = operation;
+    this.id = id;
+    this.keys = keys;
+  }
+
+  /**
+   * Parses a notification payload, or returns null if it is malformed.
+   */
+  static ChangeEvent parse(String payload) {
+    String[] parts = payload.split("\\|");
+    if (parts.length < 3) {
+      return null;
+    }
+    Map<String, String> keys = new HashMap<>();
+    for (int i = 3; i < parts.length; i++) {
+      int eq = parts[i].indexOf('=');
+      if (eq > 0) {
+        keys.put(parts[i].substring(0, eq), parts[i].substring(eq + 1));
+      }
+    }
+    return new ChangeEvent(parts[0], parts[1], parseInt(parts[2]), Collections.unmodifiableMap(keys));
+  }
+
+  static ChangeEvent resync(String table) {
+    return new ChangeEvent(table, RESYNC, null, Map.of());
+  }
+
+  private static Integer parseInt(String value) {
+    try {
+      return value.isEmpty() ? null : Integer.valueOf(value);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  public String getTable() {
+    return table;
+  }
+
+  /**
+   * INSERT, UPDATE, DELETE or {@link #RESYNC}.
+   */
+  public String getOperation() {
+    return operation;
+  }
+
+  /**
+   * Id of the changed row, or null for a resync.
+   */
+  public Integer getId() {
+    return id;
+  }
+
+  public boolean isResync() {
+    return RESYNC.equals(operation);
+  }
+
+  /**
+   * Value of a key column sent with the event, or null if absent.
+   */
+  public Integer getInt(String column) {
+    String value = keys.get(column);
+    return value != null ? parseInt(value) : null;
+  }
+
+  @Override
+  public String toString() {
+    return table + " " + operation + (id != null ? " #" + id : "") + (keys.isEmpty() ? "" : " " + keys);
+  }
+}
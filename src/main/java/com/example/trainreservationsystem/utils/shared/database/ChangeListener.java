@@ -0,0 +1,123 @@
+package com.example.trainreservationsystem.utils.shared.database;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+/**
+ * Listens for row changes published by other instances and hands them to
+ * the invalidators registered for each table.
+ *
+ * Uses one dedicated connection outside the pool, since LISTEN is bound to a
+ * session. Changes made through this instance's own pool are skipped: those
+ * code paths already update the caches in process. If the connection drops,
+ * it reconnects with backoff and sends every invalidator a resync event.
+ */
+class ChangeListener {
+  static final String CHANNEL = "data_change";
+  private static final int POLL_MILLIS = 500;
+  private static final long MAX_BACKOFF_MILLIS = 30000;
+
+  private final Map<String, List<Consumer<ChangeEvent>>> listeners = new ConcurrentHashMap<>();
+  private volatile boolean running = false;
+  private Thread thread;
+
+  void addListener(String table, Consumer<ChangeEvent> listener) {
+    listeners.computeIfAbsent(table, t -> new CopyOnWriteArrayList<>()).add(listener);
+  }
+
+  synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    thread = new Thread(this::run, "db-change-listener");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  synchronized void stop() {
+    running = false;
+    if (thread != null) {
+      thread.interrupt();
+      try {
+        thread.join(2000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      thread = null;
+    }
+  }
+
+  private void run() {
+    long backoff = 1000;
+    boolean connectedBefore = false;
+    while (running) {
+      try (Connection conn = Database.openDedicatedConnection()) {
+        try (Statement stmt = conn.createStatement()) {
+          stmt.execute("LISTEN " + CHANNEL);
+        }
+        PGConnection pg = conn.unwrap(PGConnection.class);
+        System.out.println("✅ Listening for database changes");
+        if (connectedBefore) {
+          resyncAll(); // Changes made while disconnected were not delivered
+        }
+        connectedBefore = true;
+        backoff = 1000;
+
+        while (running) {
+          PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+          if (notifications == null) {
+            continue;
+          }
+          for (PGNotification notification : notifications) {
+            if (!Database.isOwnBackend(notification.getPID())) {
+              dispatch(ChangeEvent.parse(notification.getParameter()));
+            }
+          }
+        }
+      } catch (Exception e) {
+        if (!running) {
+          break;
+        }
+        System.err.println("❌ Database change listener disconnected: " + e.getMessage());
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException ie) {
+          break;
+        }
+        backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+      }
+    }
+  }
+
+  private void resyncAll() {
+    for (String table : listeners.keySet()) {
+      dispatch(ChangeEvent.resync(table));
+    }
+  }
+
+  private void dispatch(ChangeEvent event) {
+    if (event == null) {
+      return;
+    }
+    List<Consumer<ChangeEvent>> forTable = listeners.get(event.getTable());
+    if (forTable == null) {
+      return;
+    }
+    for (Consumer<ChangeEvent> listener : forTable) {
+      try {
+        listener.accept(event);
+      } catch (Exception e) {
+        System.err.println("Error handling change event " + event + ": " + e.getMessage());
+      }
+    }
+  }
+}
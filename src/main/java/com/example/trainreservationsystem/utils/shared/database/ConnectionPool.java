@@ -0,0 +1,329 @@
+package com.example.trainreservationsystem.utils.shared.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.postgresql.PGConnection;
+
+/**
+ * Bounded pool of physical PostgreSQL connections.
+ * Callers borrow a {@link PooledConnection} and give it back by closing it.
+ * A background housekeeper evicts idle connections above the minimum size,
+ * tops the pool back up to the minimum and reports connections that have been
+ * held longer than the leak detection threshold.
+ */
+public class ConnectionPool {
+
+  private static final long VALIDATION_CACHE_MS = 5000; // Skip isValid() for recently used connections
+  private static final long HOUSEKEEPING_INTERVAL_MS = 30000;
+
+  private final String jdbcUrl;
+  private final Properties props;
+  private final int minSize;
+  private final int maxSize;
+  private final long acquireTimeoutMs;
+  private final long idleTimeoutMs;
+  private final long leakDetectionMs;
+  private final int statementCacheSize;
+
+  // LIFO: hot connections are reused first so cold ones can age out
+  private final LinkedBlockingDeque<PoolEntry> idle = new LinkedBlockingDeque<>();
+  private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+  private final Set<Integer> backendPids = ConcurrentHashMap.newKeySet(); // Server process of each connection
+  private final Semaphore permits;
+  private final AtomicInteger totalConnections = new AtomicInteger();
+  private final ScheduledExecutorService housekeeper;
+  private volatile boolean shutdown = false;
+
+  // Metrics
+  private final AtomicLong acquireCount = new AtomicLong();
+  private final AtomicLong timeoutCount = new AtomicLong();
+  private final AtomicLong totalWaitNanos = new AtomicLong();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+  private final AtomicLong statementCacheHits = new AtomicLong();
+  private final AtomicLong statementCacheMisses = new AtomicLong();
+
+  public ConnectionPool(String jdbcUrl, Properties props, int minSize, int maxSize,
+      long acquireTimeoutMs, long idleTimeoutMs, long leakDetectionMs, int statementCacheSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Pool max size must be at least 1");
+    }
+    this.jdbcUrl = jdbcUrl;
+    this.props = props;
+    this.maxSize = maxSize;
+    this.minSize = Math.max(0, Math.min(minSize, maxSize));
+    this.acquireTimeoutMs = acquireTimeoutMs;
+    this.idleTimeoutMs = idleTimeoutMs;
+    this.leakDetectionMs = leakDetectionMs;
+    this.statementCacheSize = statementCacheSize;
+    this.permits = new Semaphore(maxSize, true);
+
+    this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "db-pool-housekeeper");
+      t.setDaemon(true);
+      return t;
+    });
+    housekeeper.scheduleWithFixedDelay(this::housekeep, HOUSEKEEPING_INTERVAL_MS, HOUSEKEEPING_INTERVAL_MS,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Borrows a connection, waiting up to the acquire timeout for one to free up.
+   *
+   * @throws SQLException if the pool is shut down, the wait times out or a new
+   *                      connection cannot be opened
+   */
+  public Connection getConnection() throws SQLException {
+    if (shutdown) {
+      throw new SQLException("Connection pool has been shut down");
+    }
+
+    long start = System.nanoTime();
+    try {
+      if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+        timeoutCount.incrementAndGet();
+        throw new SQLException("Timed out after " + acquireTimeoutMs + "ms waiting for a database connection ("
+            + borrowed.size() + " in use, pool max " + maxSize + ")");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a database connection", e);
+    }
+    recordWait(System.nanoTime() - start);
+
+    try {
+      PoolEntry entry = takeIdleOrCreate();
+      Throwable trace = leakDetectionMs > 0 ? new Throwable("Connection borrowed here") : null;
+      PooledConnection handle = new PooledConnection(this, entry, trace);
+      borrowed.add(handle);
+      return handle;
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  private PoolEntry takeIdleOrCreate() throws SQLException {
+    PoolEntry entry;
+    while ((entry = idle.pollFirst()) != null) {
+      if (isUsable(entry)) {
+        return entry;
+      }
+      discard(entry);
+    }
+    return createEntry();
+  }
+
+  private boolean isUsable(PoolEntry entry) {
+    try {
+      if (entry.connection.isClosed()) {
+        return false;
+      }
+      // Only validate connections that have been sitting idle for a while
+      if (System.currentTimeMillis() - entry.lastUsedMillis > VALIDATION_CACHE_MS) {
+        return entry.connection.isValid(1);
+      }
+      return true;
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  private PoolEntry createEntry() throws SQLException {
+    Connection conn = DriverManager.getConnection(jdbcUrl, props);
+    totalConnections.incrementAndGet();
+    StatementCache cache = statementCacheSize > 0
+        ? new StatementCache(statementCacheSize, statementCacheHits, statementCacheMisses)
+        : null;
+    int backendPid = conn.unwrap(PGConnection.class).getBackendPID();
+    backendPids.add(backendPid);
+    return new PoolEntry(conn, cache, backendPid);
+  }
+
+  /**
+   * Called by {@link PooledConnection#close()}. Resets transaction state and
+   * puts the physical connection back in the idle queue.
+   */
+  void release(PooledConnection handle) {
+    if (!borrowed.remove(handle)) {
+      return;
+    }
+    PoolEntry entry = handle.getEntry();
+    try {
+      boolean healthy = !entry.connection.isClosed();
+      if (healthy && !entry.connection.getAutoCommit()) {
+        // Never hand out a connection with an open transaction
+        entry.connection.rollback();
+        entry.connection.setAutoCommit(true);
+      }
+      if (healthy && !shutdown) {
+        if (entry.statementCache != null) {
+          entry.statementCache.releaseAll();
+        }
+        entry.lastUsedMillis = System.currentTimeMillis();
+        idle.offerFirst(entry);
+      } else {
+        discard(entry);
+      }
+    } catch (SQLException e) {
+      discard(entry);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private void discard(PoolEntry entry) {
+    totalConnections.decrementAndGet();
+    backendPids.remove(entry.backendPid);
+    if (entry.statementCache != null) {
+      entry.statementCache.clear();
+    }
+    try {
+      entry.connection.close();
+    } catch (SQLException e) {
+      // Ignore close errors
+    }
+  }
+
+  private void housekeep() {
+    try {
+      evictIdle();
+      detectLeaks();
+      fillToMinimum();
+    } catch (Exception e) {
+      System.err.println("❌ Connection pool housekeeping error: " + e.getMessage());
+    }
+  }
+
+  private void evictIdle() {
+    if (idleTimeoutMs <= 0) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    Iterator<PoolEntry> it = idle.descendingIterator(); // Oldest first
+    while (it.hasNext() && totalConnections.get() > minSize) {
+      PoolEntry entry = it.next();
+      if (now - entry.lastUsedMillis > idleTimeoutMs && idle.removeFirstOccurrence(entry)) {
+        discard(entry);
+      }
+    }
+  }
+
+  private void detectLeaks() {
+    if (leakDetectionMs <= 0) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    for (PooledConnection handle : borrowed) {
+      if (!handle.isLeakReported() && now - handle.getBorrowedAtMillis() > leakDetectionMs) {
+        handle.markLeakReported();
+        System.err.println("⚠️ Possible connection leak: connection held for "
+            + (now - handle.getBorrowedAtMillis()) + "ms");
+        if (handle.getBorrowTrace() != null) {
+          handle.getBorrowTrace().printStackTrace();
+        }
+      }
+    }
+  }
+
+  private void fillToMinimum() {
+    while (!shutdown && totalConnections.get() < minSize) {
+      try {
+        PoolEntry entry = createEntry();
+        idle.offerLast(entry);
+      } catch (SQLException e) {
+        System.err.println("❌ Could not open pooled connection: " + e.getMessage());
+        return;
+      }
+    }
+  }
+
+  /**
+   * Opens connections up to the minimum pool size.
+   * Called once at startup so the first queries don't pay connection setup.
+   */
+  public void warmUp() {
+    fillToMinimum();
+  }
+
+  private void recordWait(long waitNanos) {
+    acquireCount.incrementAndGet();
+    totalWaitNanos.addAndGet(waitNanos);
+    maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+  }
+
+  /**
+   * Whether a server process id belongs to one of this pool's connections.
+   */
+  public boolean isOwnBackend(int pid) {
+    return backendPids.contains(pid);
+  }
+
+  /**
+   * Returns a point-in-time snapshot of pool usage.
+   */
+  public PoolMetrics getMetrics() {
+    return new PoolMetrics(
+        totalConnections.get(),
+        borrowed.size(),
+        idle.size(),
+        permits.getQueueLength(),
+        maxSize,
+        acquireCount.get(),
+        timeoutCount.get(),
+        totalWaitNanos.get(),
+        maxWaitNanos.get(),
+        statementCacheHits.get(),
+        statementCacheMisses.get());
+  }
+
+  /**
+   * Closes all idle connections and stops the housekeeper.
+   * Borrowed connections are closed as they are returned.
+   */
+  public void shutdown() {
+    shutdown = true;
+    housekeeper.shutdownNow();
+    PoolEntry entry;
+    while ((entry = idle.pollFirst()) != null) {
+      discard(entry);
+    }
+  }
+
+  /**
+   * A physical connection owned by the pool.
+   */
+  static class PoolEntry {
+    private final Connection connection;
+    private final StatementCache statementCache; // null when caching is disabled
+    private final int backendPid;
+    private volatile long lastUsedMillis;
+
+    PoolEntry(Connection connection, StatementCache statementCache, int backendPid) {
+      this.connection = connection;
+      this.statementCache = statementCache;
+      this.backendPid = backendPid;
+      this.lastUsedMillis = System.currentTimeMillis();
+    }
+
+    Connection getConnection() {
+      return connection;
+    }
+
+    StatementCache getStatementCache() {
+      return statementCache;
+    }
+  }
+}
@@ -3,22 +3,40 @@ package com.example.trainreservationsystem.utils.shared.database;
 import java.net.URLDecoder;
 import java.sql.Connection;
 import java.sql.DriverManager;
-import java.sql.SQLException;
 import java.util.Properties;
+import java.util.function.Consumer;
 
 import io.github.cdimascio.dotenv.Dotenv;
 
 /**
- * Singleton database connection manager.
- * Maintains a single shared connection for the application.
+ * Singleton database access point.
+ * Hands out connections from a bounded {@link ConnectionPool}; closing a
+ * connection returns it to the pool.
+ *
+ * Pool settings can be overridden in .env:
+ * DB_POOL_MIN_SIZE, DB_POOL_MAX_SIZE, DB_POOL_ACQUIRE_TIMEOUT_MS,
+ * DB_POOL_IDLE_TIMEOUT_MS, DB_POOL_LEAK_DETECTION_MS (0 disables),
+ * DB_STATEMENT_CACHE_SIZE (prepared statements cached per connection, 0
+ * disables).
+ *
+ * Also owns the connection that listens for row changes made by other
+ * instances; see {@link #addChangeListener}.
  */
 public class Database {
 
   private static final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
   private static Database instance;
-  private Connection connection;
-  private long lastValidationTime = 0;
-  private static final long VALIDATION_CACHE_MS = 5000; // Cache validation for 5 seconds
+  private volatile ConnectionPool pool;
+  private volatile String jdbcUrl;
+  private volatile Properties connectionProps;
+  private final ChangeListener changeListener = new ChangeListener();
+
+  private static final int DEFAULT_POOL_MIN_SIZE = 2;
+  private static final int DEFAULT_POOL_MAX_SIZE = 10;
+  private static final long DEFAULT_ACQUIRE_TIMEOUT_MS = 10000;
+  private static final long DEFAULT_IDLE_TIMEOUT_MS = 300000;
+  private static final long DEFAULT_LEAK_DETECTION_MS = 60000;
+  private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
 
   private Database() {
     // Private constructor for singleton
@@ -32,72 +50,82 @@ public class Database {
   }
 
   public static Connection getConnection() throws Exception {
-    Database db = getInstance();
+    return getInstance().getPool().getConnection();
+  }
 
-    // Check if connection exists and is closed
-    if (db.connection == null || db.connection.isClosed()) {
-      synchronized (Database.class) {
-        // Double-check after acquiring lock
-        if (db.connection == null || db.connection.isClosed()) {
-          db.connection = db.createConnection();
-          db.lastValidationTime = System.currentTimeMillis();
-        }
-      }
-    } else {
-      // Only validate connection if cache expired (reduce overhead)
-      long now = System.currentTimeMillis();
-      if (now - db.lastValidationTime > VALIDATION_CACHE_MS) {
-        try {
-          if (!db.connection.isValid(1)) { // Reduced timeout from 2 to 1 second
-            synchronized (Database.class) {
-              // Double-check after acquiring lock
-              if (!db.connection.isValid(1)) {
-                try {
-                  db.connection.close();
-                } catch (SQLException e) {
-                  // Ignore close errors
-                }
-                db.connection = db.createConnection();
-                db.lastValidationTime = System.currentTimeMillis();
-              }
-            }
-          } else {
-            db.lastValidationTime = now;
-          }
-        } catch (SQLException e) {
-          // Connection validation failed, recreate it
-          synchronized (Database.class) {
-            try {
-              if (db.connection != null && !db.connection.isClosed()) {
-                db.connection.close();
-              }
-            } catch (SQLException ex) {
-              // Ignore close errors
-            }
-            db.connection = db.createConnection();
-            db.lastValidationTime = System.currentTimeMillis();
-          }
-        }
-      }
-    }
+  /**
+   * Returns current pool usage (active/idle counts, wait times and prepared
+   * statement cache hits/misses).
+   * Returns null if no connection has been requested yet.
+   */
+  public static PoolMetrics getPoolMetrics() {
+    ConnectionPool current = getInstance().pool;
+    return current != null ? current.getMetrics() : null;
+  }
+
+  /**
+   * Registers a callback for changes to a table made by other instances.
+   * Callbacks run on the listener thread and should only invalidate.
+   */
+  public static void addChangeListener(String table, Consumer<ChangeEvent> listener) {
+    getInstance().changeListener.addListener(table, listener);
+  }
+
+  /**
+   * Starts listening for change events on a dedicated connection.
+   */
+  public static void startChangeListener() {
+    getInstance().changeListener.start();
+  }
+
+  /**
+   * Opens a connection outside the pool, for sessions that must stay open.
+   */
+  static Connection openDedicatedConnection() throws Exception {
+    Database db = getInstance();
+    db.getPool(); // Parses the connection settings
+    return DriverManager.getConnection(db.jdbcUrl, db.connectionProps);
+  }
 
-    // Return a wrapper that prevents closing the singleton connection
-    return new NonClosingConnection(db.connection);
+  /**
+   * Whether a server process id belongs to this instance's pool.
+   */
+  static boolean isOwnBackend(int pid) {
+    ConnectionPool current = getInstance().pool;
+    return current != null && current.isOwnBackend(pid);
   }
 
+  /**
+   * Shuts down the connection pool and closes all idle connections.
+   */
   public static void closeConnection() {
     Database db = getInstance();
-    if (db.connection != null) {
-      try {
-        db.connection.close();
-        System.out.println("✅ Database connection closed");
-      } catch (SQLException e) {
-        System.err.println("❌ Error closing database connection: " + e.getMessage());
+    db.changeListener.stop();
+    synchronized (Database.class) {
+      if (db.pool != null) {
+        System.out.println("📊 " + db.pool.getMetrics());
+        db.pool.shutdown();
+        db.pool = null;
+        System.out.println("✅ Database connection pool closed");
       }
     }
   }
 
-  private Connection createConnection() throws Exception {
+  private ConnectionPool getPool() throws Exception {
+    ConnectionPool current = pool;
+    if (current == null) {
+      synchronized (Database.class) {
+        // Double-check after acquiring lock
+        if (pool == null) {
+          pool = createPool();
+        }
+        current = pool;
+      }
+    }
+    return current;
+  }
+
+  private ConnectionPool createPool() throws Exception {
     String databaseUrl = dotenv.get("DATABASE_URL");
     if (databaseUrl == null || databaseUrl.isEmpty()) {
       throw new Exception("DATABASE_URL not found in environment variables");
@@ -106,14 +134,51 @@ public class Database {
     try {
       Properties props = new Properties();
       String jdbcUrl = parseDatabaseUrl(databaseUrl, props);
-      Connection conn = DriverManager.getConnection(jdbcUrl, props);
-      return conn;
+      this.jdbcUrl = jdbcUrl;
+      this.connectionProps = props;
+      ConnectionPool newPool = new ConnectionPool(
+          jdbcUrl,
+          props,
+          getIntSetting("DB_POOL_MIN_SIZE", DEFAULT_POOL_MIN_SIZE),
+          getIntSetting("DB_POOL_MAX_SIZE", DEFAULT_POOL_MAX_SIZE),
+          getLongSetting("DB_POOL_ACQUIRE_TIMEOUT_MS", DEFAULT_ACQUIRE_TIMEOUT_MS),
+          getLongSetting("DB_POOL_IDLE_TIMEOUT_MS", DEFAULT_IDLE_TIMEOUT_MS),
+          getLongSetting("DB_POOL_LEAK_DETECTION_MS", DEFAULT_LEAK_DETECTION_MS),
+          getIntSetting("DB_STATEMENT_CACHE_SIZE", DEFAULT_STATEMENT_CACHE_SIZE));
+      newPool.warmUp();
+      return newPool;
     } catch (Exception e) {
       System.err.println("❌ Database connection failed: " + e.getMessage());
       throw e;
     }
   }
 
+  /**
+   * Reads an integer setting from .env, falling back to the default if it is
+   * missing or malformed.
+   */
+  public static int getIntSetting(String key, int defaultValue) {
+    return (int) getLongSetting(key, defaultValue);
+  }
+
+  public static String getSetting(String key, String defaultValue) {
+    String value = dotenv.get(key);
+    return value == null || value.isBlank() ? defaultValue : value.trim();
+  }
+
+  public static long getLongSetting(String key, long defaultValue) {
+    String value = dotenv.get(key);
+    if (value == null || value.isBlank()) {
+      return defaultValue;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      System.err.println("[WARN] Invalid value for " + key + ": " + value + ", using " + defaultValue);
+      return defaultValue;
+    }
+  }
+
   private String parseDatabaseUrl(String databaseUrl, Properties props) throws Exception {
     // Remove jdbc: prefix if present
     String urlPart = databaseUrl.startsWith("jdbc:postgresql://")
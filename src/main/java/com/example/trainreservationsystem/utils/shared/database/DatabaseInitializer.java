@@ -1,6 +1,7 @@
 package com.example.trainreservationsystem.utils.shared.database;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.sql.Statement;
 
 import com.example.trainreservationsystem.seeders.shared.DatabaseSeeder;
@@ -11,15 +12,21 @@ import com.example.trainreservationsystem.seeders.shared.DatabaseSeeder;
  */
 public class DatabaseInitializer {
 
-  public static boolean initialize() {
-    Connection conn = null;
-    Statement stmt = null;
-    try {
-      // Get connection but don't use try-with-resources since it's a singleton
-      // that should remain open for the application lifetime
-      conn = Database.getConnection();
-      stmt = conn.createStatement();
+  // Tables that publish change events, with the key columns sent along
+  private static final String[][] NOTIFIED_TABLES = {
+      { "bookings", "'user_id', 'schedule_id'" },
+      { "schedules", "'route_id'" },
+      { "seat_classes", "" },
+      { "discounts", "" },
+      { "cancellation_policies", "" },
+      { "stops", "" },
+      { "routes", "" },
+      { "route_segments", "'route_id'" }
+  };
 
+  public static boolean initialize() {
+    try (Connection conn = Database.getConnection();
+        Statement stmt = conn.createStatement()) {
       createTables(stmt);
       createStoredProcedures(stmt);
       applyMigrations(stmt);
@@ -34,15 +41,6 @@ public class DatabaseInitializer {
       System.err.println("[ERROR] Database initialization error: " + e.getMessage());
       e.printStackTrace();
       return false;
-    } finally {
-      // Only close the statement, not the connection (it's a singleton)
-      if (stmt != null) {
-        try {
-          stmt.close();
-        } catch (Exception e) {
-          System.err.println("[WARN] Error closing statement: " + e.getMessage());
-        }
-      }
     }
   }
 
@@ -52,6 +50,7 @@ public class DatabaseInitializer {
     stmt.execute(createSchedulesTable());
     stmt.execute(createBookingsTable());
     stmt.execute(createPassengersTable());
+    stmt.execute(createBookedSeatsTable());
     stmt.execute(createPaymentMethodsTable());
     stmt.execute(createPaymentsTable());
     stmt.execute(createComplaintsTable());
@@ -65,6 +64,8 @@ public class DatabaseInitializer {
     stmt.execute(createStatisticsTable());
     stmt.execute(createDiscountsTable());
     stmt.execute(createCancellationPoliciesTable());
+    stmt.execute(createRemindersTable());
+    stmt.execute(createSchemaMigrationsTable());
   }
 
   private static void createStoredProcedures(Statement stmt) throws Exception {
@@ -72,6 +73,16 @@ public class DatabaseInitializer {
     stmt.execute(createRegisterUserProcedure());
     stmt.execute(createUpdatePasswordProcedure());
     stmt.execute(createUpdateUserProcedure());
+    stmt.execute(createReleaseBookedSeatsFunction());
+    stmt.execute("DROP TRIGGER IF EXISTS trg_release_booked_seats ON bookings");
+    stmt.execute(createReleaseBookedSeatsTrigger());
+
+    // Publish row changes so other instances can invalidate their caches
+    stmt.execute(createNotifyDataChangeFunction());
+    for (String[] table : NOTIFIED_TABLES) {
+      stmt.execute("DROP TRIGGER IF EXISTS trg_notify_" + table[0] + " ON " + table[0]);
+      stmt.execute(createNotifyDataChangeTrigger(table[0], table[1]));
+    }
   }
 
   /**
@@ -81,15 +92,18 @@ public class DatabaseInitializer {
   private static void createIndexes(Statement stmt) throws Exception {
     // Indexes on foreign keys
     createIndexIfNotExists(stmt, "idx_schedules_route_id", "schedules", "route_id");
+    // Day filtering reads day_mask from the index entries of the route's schedules
+    createIndexIfNotExists(stmt, "idx_schedules_route_day_mask", "schedules", "route_id, day_mask");
     createIndexIfNotExists(stmt, "idx_bookings_user_id", "bookings", "user_id");
     createIndexIfNotExists(stmt, "idx_bookings_schedule_id", "bookings", "schedule_id");
     createIndexIfNotExists(stmt, "idx_passengers_booking_id", "passengers", "booking_id");
+    createIndexIfNotExists(stmt, "idx_booked_seats_booking_id", "booked_seats", "booking_id");
     createIndexIfNotExists(stmt, "idx_payments_booking_id", "payments", "booking_id");
     createIndexIfNotExists(stmt, "idx_payments_method_id", "payments", "payment_method_id");
     createIndexIfNotExists(stmt, "idx_payment_methods_user_id", "payment_methods", "user_id");
     createIndexIfNotExists(stmt, "idx_tickets_booking_id", "tickets", "booking_id");
     createIndexIfNotExists(stmt, "idx_complaints_user_id", "complaints", "user_id");
-    createIndexIfNotExists(stmt, "idx_notifications_user_id", "notifications", "user_id");
+    createIndexIfNotExists(stmt, "idx_notifications_user_created", "notifications", "user_id, created_at DESC, id DESC");
     createIndexIfNotExists(stmt, "idx_seats_schedule_id", "seats", "schedule_id");
     createIndexIfNotExists(stmt, "idx_seats_seat_class_id", "seats", "seat_class_id");
     createIndexIfNotExists(stmt, "idx_route_segments_route_id", "route_segments", "route_id");
@@ -100,9 +114,14 @@ public class DatabaseInitializer {
 
     // Indexes on frequently queried columns
     createIndexIfNotExists(stmt, "idx_bookings_status", "bookings", "status");
+    createIndexIfNotExists(stmt, "idx_bookings_schedule_travel_status", "bookings",
+        "schedule_id, travel_date, status");
     createIndexIfNotExists(stmt, "idx_routes_source_destination", "routes", "source, destination");
     createIndexIfNotExists(stmt, "idx_discounts_type", "discounts", "type");
     createIndexIfNotExists(stmt, "idx_discounts_is_active", "discounts", "is_active");
+
+    // Only unsent reminders are ever scanned by time
+    stmt.execute("CREATE INDEX IF NOT EXISTS idx_reminders_unsent ON reminders (remind_at) WHERE sent = FALSE");
   }
 
   private static void createIndexIfNotExists(Statement stmt, String indexName, String tableName, String columns)
@@ -118,60 +137,182 @@ public class DatabaseInitializer {
 
   /**
    * Applies database migrations to update existing tables.
-   * Handles ALTER TABLE statements for schema changes.
+   * Schema changes check the catalog first, so they run on every start and
+   * do nothing once applied. Data backfills run once, recorded in
+   * schema_migrations. Any failure stops initialization.
    */
   private static void applyMigrations(Statement stmt) throws Exception {
+    // Increase payment_methods.method_type column size from VARCHAR(20) to
+    // VARCHAR(50)
+    migrate(stmt, "widen_payment_methods_method_type",
+        "DO $$ " +
+            "BEGIN " +
+            "  IF EXISTS (SELECT 1 FROM information_schema.columns " +
+            "             WHERE table_name = 'payment_methods' AND column_name = 'method_type' " +
+            "             AND character_maximum_length = 20) THEN " +
+            "    ALTER TABLE payment_methods ALTER COLUMN method_type TYPE VARCHAR(50); " +
+            "  END IF; " +
+            "END $$;");
+
+    // Add new columns to discounts table if they don't exist
+    migrate(stmt, "add_discounts_columns",
+        "DO $$ " +
+            "BEGIN " +
+            "  IF NOT EXISTS (SELECT 1 FROM information_schema.columns " +
+            "                 WHERE table_name = 'discounts' AND column_name = 'schedule_id') THEN " +
+            "    ALTER TABLE discounts ADD COLUMN schedule_id INT REFERENCES schedules(id); " +
+            "  END IF; " +
+            "  IF NOT EXISTS (SELECT 1 FROM information_schema.columns " +
+            "                 WHERE table_name = 'discounts' AND column_name = 'name') THEN " +
+            "    ALTER TABLE discounts ADD COLUMN name VARCHAR(100) NOT NULL DEFAULT 'Discount'; " +
+            "  END IF; " +
+            "  IF NOT EXISTS (SELECT 1 FROM information_schema.columns " +
+            "                 WHERE table_name = 'discounts' AND column_name = 'type') THEN " +
+            "    ALTER TABLE discounts ADD COLUMN type VARCHAR(20) NOT NULL DEFAULT 'DISCOUNT_CODE' " +
+            "      CHECK (type IN ('PROMO', 'VOUCHER', 'DISCOUNT_CODE')); " +
+            "  END IF; " +
+            "END $$;");
+
+    // Add seat_id column to tickets table if it doesn't exist
+    migrate(stmt, "add_tickets_seat_id",
+        "DO $$ " +
+            "BEGIN " +
+            "  IF NOT EXISTS (SELECT 1 FROM information_schema.columns " +
+            "                 WHERE table_name = 'tickets' AND column_name = 'seat_id') THEN " +
+            "    -- Delete old tickets that don't have seat assignments " +
+            "    DELETE FROM tickets; " +
+            "    -- Add the seat_id column " +
+            "    ALTER TABLE tickets ADD COLUMN seat_id INT NOT NULL; " +
+            "  END IF; " +
+            "END $$;");
+
+    // Add travel_date to bookings, then backfill it from booking_date for
+    // rows created before the column existed
+    migrate(stmt, "add_bookings_travel_date",
+        "ALTER TABLE bookings ADD COLUMN IF NOT EXISTS travel_date DATE");
+    migrateOnce(stmt, "backfill_bookings_travel_date",
+        "UPDATE bookings SET travel_date = booking_date::date WHERE travel_date IS NULL;");
+
+    // Replace the comma-separated days_of_week string with a 7-bit day_mask
+    // (bit 0 = Monday). No days meant every day.
+    migrate(stmt, "schedules_day_mask",
+        "DO $$ " +
+            "BEGIN " +
+            "  IF NOT EXISTS (SELECT 1 FROM information_schema.columns " +
+            "                 WHERE table_name = 'schedules' AND column_name = 'day_mask') THEN " +
+            "    ALTER TABLE schedules ADD COLUMN day_mask SMALLINT NOT NULL DEFAULT 127; " +
+            "  END IF; " +
+            "  IF EXISTS (SELECT 1 FROM information_schema.columns " +
+            "             WHERE table_name = 'schedules' AND column_name = 'days_of_week') THEN " +
+            "    UPDATE schedules SET day_mask = COALESCE(NULLIF(( " +
+            "      SELECT SUM(DISTINCT CASE UPPER(BTRIM(d)) " +
+            "        WHEN 'MONDAY' THEN 1 WHEN 'TUESDAY' THEN 2 WHEN 'WEDNESDAY' THEN 4 " +
+            "        WHEN 'THURSDAY' THEN 8 WHEN 'FRIDAY' THEN 16 WHEN 'SATURDAY' THEN 32 " +
+            "        WHEN 'SUNDAY' THEN 64 ELSE 0 END) " +
+            "      FROM unnest(string_to_array(days_of_week, ',')) AS d), 0), 127); " +
+            "    ALTER TABLE schedules DROP COLUMN days_of_week; " +
+            "  END IF; " +
+            "END $$;");
+
+    // Add boarding and alighting stops to bookings; null means the whole
+    // route
+    migrate(stmt, "add_bookings_stops",
+        "DO $$ " +
+            "BEGIN " +
+            "  IF NOT EXISTS (SELECT 1 FROM information_schema.columns " +
+            "                 WHERE table_name = 'bookings' AND column_name = 'from_stop_id') THEN " +
+            "    ALTER TABLE bookings ADD COLUMN from_stop_id INT; " +
+            "    ALTER TABLE bookings ADD COLUMN to_stop_id INT; " +
+            "  END IF; " +
+            "END $$;");
+
+    // Track booked seats per route segment. Existing rows were whole-route
+    // claims, so they are copied onto every segment of the route
+    migrate(stmt, "booked_seats_segment_index",
+        "DO $$ " +
+            "BEGIN " +
+            "  IF NOT EXISTS (SELECT 1 FROM information_schema.columns " +
+            "                 WHERE table_name = 'booked_seats' AND column_name = 'segment_index') THEN " +
+            "    ALTER TABLE booked_seats ADD COLUMN segment_index INT NOT NULL DEFAULT 0; " +
+            "    ALTER TABLE booked_seats DROP CONSTRAINT IF EXISTS booked_seats_pkey; " +
+            "    ALTER TABLE booked_seats ADD PRIMARY KEY (schedule_id, travel_date, seat_number, segment_index); " +
+            "    INSERT INTO booked_seats (schedule_id, travel_date, seat_number, segment_index, booking_id) " +
+            "    SELECT bs.schedule_id, bs.travel_date, bs.seat_number, seg.i, bs.booking_id " +
+            "    FROM booked_seats bs JOIN schedules s ON s.id = bs.schedule_id " +
+            "    CROSS JOIN LATERAL generate_series(1, " +
+            "      (SELECT COUNT(*) FROM route_segments rs WHERE rs.route_id = s.route_id)::int - 1) AS seg(i); " +
+            "  END IF; " +
+            "END $$;");
+
+    // Backfill booked_seats from active bookings made before the table
+    // existed, claiming every segment of the route
+    migrateOnce(stmt, "backfill_booked_seats",
+        "IF NOT EXISTS (SELECT 1 FROM booked_seats) THEN " +
+            "  INSERT INTO booked_seats (schedule_id, travel_date, seat_number, segment_index, booking_id) " +
+            "  SELECT b.schedule_id, b.travel_date, p.seat_number, seg.i, b.id " +
+            "  FROM bookings b JOIN passengers p ON p.booking_id = b.id " +
+            "  JOIN schedules s ON s.id = b.schedule_id " +
+            "  CROSS JOIN LATERAL generate_series(0, GREATEST( " +
+            "    (SELECT COUNT(*) FROM route_segments rs WHERE rs.route_id = s.route_id)::int, 1) - 1) AS seg(i) " +
+            "  WHERE b.status IN ('PENDING', 'CONFIRMED') AND p.seat_number > 0 " +
+            "  ORDER BY b.id " +
+            "  ON CONFLICT DO NOTHING; " +
+            "END IF;");
+
+    // Booking and revenue totals for the statistics pipeline
+    migrate(stmt, "add_statistics_totals",
+        "ALTER TABLE statistics " +
+            "ADD COLUMN IF NOT EXISTS bookings INT NOT NULL DEFAULT 0, " +
+            "ADD COLUMN IF NOT EXISTS revenue DECIMAL(12, 2) NOT NULL DEFAULT 0");
+
+    // Statistics used to be inserted anew on every generation, so older
+    // databases can hold several rows per (schedule, day, seat class). Fold
+    // them into the oldest row so the unique index below can be built
+    migrateOnce(stmt, "merge_duplicate_statistics",
+        "UPDATE statistics s SET seats_sold = d.seats_sold, bookings = d.bookings, revenue = d.revenue " +
+            "FROM (SELECT MIN(id) AS keep_id, SUM(seats_sold) AS seats_sold, " +
+            "        SUM(bookings) AS bookings, SUM(revenue) AS revenue " +
+            "      FROM statistics GROUP BY schedule_id, day_of_week, COALESCE(seat_class_id, 0) " +
+            "      HAVING COUNT(*) > 1) d " +
+            "WHERE s.id = d.keep_id; " +
+            "DELETE FROM statistics s USING statistics k " +
+            "WHERE k.schedule_id IS NOT DISTINCT FROM s.schedule_id AND k.day_of_week = s.day_of_week " +
+            "AND COALESCE(k.seat_class_id, 0) = COALESCE(s.seat_class_id, 0) AND k.id < s.id;");
+
+    // One statistics row per (schedule, day, seat class); the statistics
+    // flush upserts against it
+    migrate(stmt, "unique_statistics_schedule_day_class",
+        "CREATE UNIQUE INDEX IF NOT EXISTS uq_statistics_schedule_day_class " +
+            "ON statistics (schedule_id, day_of_week, (COALESCE(seat_class_id, 0)))");
+  }
+
+  /**
+   * Runs one migration, naming it in the error if it fails.
+   */
+  private static void migrate(Statement stmt, String name, String sql) throws SQLException {
     try {
-      // Migration: Increase payment_methods.method_type column size from VARCHAR(20)
-      // to VARCHAR(50)
-      stmt.execute(
-          "DO $$ " +
-              "BEGIN " +
-              "  IF EXISTS (SELECT 1 FROM information_schema.columns " +
-              "             WHERE table_name = 'payment_methods' AND column_name = 'method_type' " +
-              "             AND character_maximum_length = 20) THEN " +
-              "    ALTER TABLE payment_methods ALTER COLUMN method_type TYPE VARCHAR(50); " +
-              "  END IF; " +
-              "END $$;");
-
-      // Migration: Add new columns to discounts table if they don't exist
-      stmt.execute(
-          "DO $$ " +
-              "BEGIN " +
-              "  IF NOT EXISTS (SELECT 1 FROM information_schema.columns " +
-              "                 WHERE table_name = 'discounts' AND column_name = 'schedule_id') THEN " +
-              "    ALTER TABLE discounts ADD COLUMN schedule_id INT REFERENCES schedules(id); " +
-              "  END IF; " +
-              "  IF NOT EXISTS (SELECT 1 FROM information_schema.columns " +
-              "                 WHERE table_name = 'discounts' AND column_name = 'name') THEN " +
-              "    ALTER TABLE discounts ADD COLUMN name VARCHAR(100) NOT NULL DEFAULT 'Discount'; " +
-              "  END IF; " +
-              "  IF NOT EXISTS (SELECT 1 FROM information_schema.columns " +
-              "                 WHERE table_name = 'discounts' AND column_name = 'type') THEN " +
-              "    ALTER TABLE discounts ADD COLUMN type VARCHAR(20) NOT NULL DEFAULT 'DISCOUNT_CODE' " +
-              "      CHECK (type IN ('PROMO', 'VOUCHER', 'DISCOUNT_CODE')); " +
-              "  END IF; " +
-              "END $$;");
-
-      // Migration: Add seat_id column to tickets table if it doesn't exist
-      stmt.execute(
-          "DO $$ " +
-              "BEGIN " +
-              "  IF NOT EXISTS (SELECT 1 FROM information_schema.columns " +
-              "                 WHERE table_name = 'tickets' AND column_name = 'seat_id') THEN " +
-              "    -- Delete old tickets that don't have seat assignments " +
-              "    DELETE FROM tickets; " +
-              "    -- Add the seat_id column " +
-              "    ALTER TABLE tickets ADD COLUMN seat_id INT NOT NULL; " +
-              "  END IF; " +
-              "END $$;");
-    } catch (Exception e) {
-      // Migration failed - table might not exist yet or column already updated
-      // This is okay, just log and continue
-      System.out.println("[INFO] Migration note: " + e.getMessage());
+      stmt.execute(sql);
+    } catch (SQLException e) {
+      throw new SQLException("Migration " + name + " failed: " + e.getMessage(), e);
     }
   }
 
+  /**
+   * Runs a PL/pgSQL body the first time only. Recording the name and running
+   * the body happen in one statement, so a failed body is retried on the
+   * next start, and a concurrent start waits on the row and then skips it.
+   */
+  private static void migrateOnce(Statement stmt, String name, String body) throws SQLException {
+    migrate(stmt, name,
+        "DO $$ " +
+            "BEGIN " +
+            "  INSERT INTO schema_migrations (name) VALUES ('" + name + "') ON CONFLICT DO NOTHING; " +
+            "  IF FOUND THEN " +
+            "    " + body + " " +
+            "  END IF; " +
+            "END $$;");
+  }
+
   private static String createAuthenticateUserFunction() {
     return "CREATE OR REPLACE FUNCTION sp_authenticate_user(" +
         "p_email VARCHAR, " +
@@ -236,6 +377,61 @@ public class DatabaseInitializer {
         "$$;";
   }
 
+  /**
+   * Frees a booking's seats in booked_seats once it is cancelled, so the seat
+   * can be sold again.
+   */
+  private static String createReleaseBookedSeatsFunction() {
+    return "CREATE OR REPLACE FUNCTION fn_release_booked_seats() " +
+        "RETURNS TRIGGER " +
+        "LANGUAGE plpgsql " +
+        "AS $$ " +
+        "BEGIN " +
+        "    DELETE FROM booked_seats WHERE booking_id = NEW.id; " +
+        "    RETURN NEW; " +
+        "END; " +
+        "$$;";
+  }
+
+  /**
+   * Sends "table|op|id|key=value..." on the data_change channel for each
+   * changed row. Trigger arguments name the extra key columns to include.
+   */
+  private static String createNotifyDataChangeFunction() {
+    return "CREATE OR REPLACE FUNCTION fn_notify_data_change() " +
+        "RETURNS TRIGGER " +
+        "LANGUAGE plpgsql " +
+        "AS $$ " +
+        "DECLARE " +
+        "    row_data JSONB; " +
+        "    payload TEXT; " +
+        "BEGIN " +
+        "    IF TG_OP = 'DELETE' THEN row_data := to_jsonb(OLD); ELSE row_data := to_jsonb(NEW); END IF; " +
+        "    payload := TG_TABLE_NAME || '|' || TG_OP || '|' || COALESCE(row_data ->> 'id', ''); " +
+        "    FOR i IN 0 .. TG_NARGS - 1 LOOP " +
+        "        payload := payload || '|' || TG_ARGV[i] || '=' || COALESCE(row_data ->> TG_ARGV[i], ''); " +
+        "    END LOOP; " +
+        "    PERFORM pg_notify('data_change', payload); " +
+        "    RETURN NULL; " +
+        "END; " +
+        "$$;";
+  }
+
+  private static String createNotifyDataChangeTrigger(String table, String keyColumns) {
+    return "CREATE TRIGGER trg_notify_" + table + " " +
+        "AFTER INSERT OR UPDATE OR DELETE ON " + table + " " +
+        "FOR EACH ROW " +
+        "EXECUTE FUNCTION fn_notify_data_change(" + keyColumns + ")";
+  }
+
+  private static String createReleaseBookedSeatsTrigger() {
+    return "CREATE TRIGGER trg_release_booked_seats " +
+        "AFTER UPDATE OF status ON bookings " +
+        "FOR EACH ROW " +
+        "WHEN (NEW.status = 'CANCELLED' AND OLD.status IS DISTINCT FROM 'CANCELLED') " +
+        "EXECUTE FUNCTION fn_release_booked_seats()";
+  }
+
   private static String createUsersTable() {
     return "CREATE TABLE IF NOT EXISTS users (" +
         "id SERIAL PRIMARY KEY, " +
@@ -263,7 +459,7 @@ public class DatabaseInitializer {
         "arrival_time TIME NOT NULL, " +
         "capacity INT NOT NULL, " +
         "price DECIMAL(10, 2) NOT NULL, " +
-        "days_of_week VARCHAR(255))";
+        "day_mask SMALLINT NOT NULL DEFAULT 127)"; // Bit 0 = Monday ... bit 6 = Sunday
   }
 
   private static String createBookingsTable() {
@@ -272,7 +468,10 @@ public class DatabaseInitializer {
         "user_id INT REFERENCES users(id), " +
         "schedule_id INT REFERENCES schedules(id), " +
         "status VARCHAR(20) NOT NULL, " +
-        "booking_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP)";
+        "booking_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+        "travel_date DATE, " +
+        "from_stop_id INT, " +
+        "to_stop_id INT)";
   }
 
   private static String createPassengersTable() {
@@ -286,6 +485,20 @@ public class DatabaseInitializer {
         "seat_number INT)";
   }
 
+  /**
+   * One row per seat held by an active booking. The primary key guarantees a
+   * seat is sold at most once per train run, even across application instances.
+   */
+  private static String createBookedSeatsTable() {
+    return "CREATE TABLE IF NOT EXISTS booked_seats (" +
+        "schedule_id INT NOT NULL REFERENCES schedules(id), " +
+        "travel_date DATE NOT NULL, " +
+        "seat_number INT NOT NULL, " +
+        "segment_index INT NOT NULL DEFAULT 0, " +
+        "booking_id INT NOT NULL REFERENCES bookings(id) ON DELETE CASCADE, " +
+        "PRIMARY KEY (schedule_id, travel_date, seat_number, segment_index))";
+  }
+
   private static String createPaymentMethodsTable() {
     return "CREATE TABLE IF NOT EXISTS payment_methods (" +
         "id SERIAL PRIMARY KEY, " +
@@ -373,7 +586,9 @@ public class DatabaseInitializer {
         "day_of_week VARCHAR(10) NOT NULL, " +
         "departure_time TIME NOT NULL, " +
         "seat_class_id INT REFERENCES seat_classes(id), " +
-        "seats_sold INT NOT NULL)";
+        "seats_sold INT NOT NULL, " +
+        "bookings INT NOT NULL DEFAULT 0, " +
+        "revenue DECIMAL(12, 2) NOT NULL DEFAULT 0)";
   }
 
   private static String createDiscountsTable() {
@@ -404,4 +619,20 @@ public class DatabaseInitializer {
         "min_hours_before_departure INT NOT NULL DEFAULT 0, " +
         "is_active BOOLEAN DEFAULT false)";
   }
+
+  private static String createRemindersTable() {
+    return "CREATE TABLE IF NOT EXISTS reminders (" +
+        "id SERIAL PRIMARY KEY, " +
+        "booking_id INT NOT NULL REFERENCES bookings(id) ON DELETE CASCADE, " +
+        "hours_before INT NOT NULL, " +
+        "remind_at TIMESTAMP NOT NULL, " +
+        "sent BOOLEAN NOT NULL DEFAULT FALSE, " +
+        "UNIQUE (booking_id, hours_before))";
+  }
+
+  private static String createSchemaMigrationsTable() {
+    return "CREATE TABLE IF NOT EXISTS schema_migrations (" +
+        "name VARCHAR(100) PRIMARY KEY, " +
+        "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+  }
 }
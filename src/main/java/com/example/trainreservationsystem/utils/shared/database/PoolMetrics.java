@@ -0,0 +1,93 @@
+package com.example.trainreservationsystem.utils.shared.database;
+
+/**
+ * Immutable snapshot of {@link ConnectionPool} usage.
+ */
+public class PoolMetrics {
+  private final int totalConnections;
+  private final int activeConnections;
+  private final int idleConnections;
+  private final int threadsAwaiting;
+  private final int maxSize;
+  private final long acquireCount;
+  private final long timeoutCount;
+  private final long totalWaitNanos;
+  private final long maxWaitNanos;
+  private final long statementCacheHits;
+  private final long statementCacheMisses;
+
+  public PoolMetrics(int totalConnections, int activeConnections, int idleConnections, int threadsAwaiting,
+      int maxSize, long acquireCount, long timeoutCount, long totalWaitNanos, long maxWaitNanos,
+      long statementCacheHits, long statementCacheMisses) {
+    this.totalConnections = totalConnections;
+    this.activeConnections = activeConnections;
+    this.idleConnections = idleConnections;
+    this.threadsAwaiting = threadsAwaiting;
+    this.maxSize = maxSize;
+    this.acquireCount = acquireCount;
+    this.timeoutCount = timeoutCount;
+    this.totalWaitNanos = totalWaitNanos;
+    this.maxWaitNanos = maxWaitNanos;
+    this.statementCacheHits = statementCacheHits;
+    this.statementCacheMisses = statementCacheMisses;
+  }
+
+  public int getTotalConnections() {
+    return totalConnections;
+  }
+
+  public int getActiveConnections() {
+    return activeConnections;
+  }
+
+  public int getIdleConnections() {
+    return idleConnections;
+  }
+
+  public int getThreadsAwaiting() {
+    return threadsAwaiting;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public long getAcquireCount() {
+    return acquireCount;
+  }
+
+  public long getTimeoutCount() {
+    return timeoutCount;
+  }
+
+  public double getAverageWaitMillis() {
+    return acquireCount == 0 ? 0 : totalWaitNanos / 1_000_000.0 / acquireCount;
+  }
+
+  public double getMaxWaitMillis() {
+    return maxWaitNanos / 1_000_000.0;
+  }
+
+  public long getStatementCacheHits() {
+    return statementCacheHits;
+  }
+
+  public long getStatementCacheMisses() {
+    return statementCacheMisses;
+  }
+
+  public double getStatementCacheHitRatio() {
+    long lookups = statementCacheHits + statementCacheMisses;
+    return lookups == 0 ? 0 : (double) statementCacheHits / lookups;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "Pool[total=%d, active=%d, idle=%d, waiting=%d, max=%d, acquired=%d, timeouts=%d, avgWait=%.2fms, maxWait=%.2fms, "
+            + "stmtCacheHits=%d, stmtCacheMisses=%d]",
+        totalConnections, activeConnections, idleConnections, threadsAwaiting, maxSize,
+        acquireCount, timeoutCount, getAverageWaitMillis(), getMaxWaitMillis(),
+        statementCacheHits, statementCacheMisses);
+  }
+}
@@ -19,223 +19,278 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
 
-public class NonClosingConnection implements Connection {
+/**
+ * Connection handle lent out by {@link ConnectionPool}.
+ * Closing the handle returns the physical connection to the pool instead of
+ * closing it. A handle is single-use: once closed, every call fails.
+ */
+public class PooledConnection implements Connection {
+  private final ConnectionPool pool;
+  private final ConnectionPool.PoolEntry entry;
   private final Connection delegate;
+  private final long borrowedAtMillis;
+  private final Throwable borrowTrace; // Only captured when leak detection is on
+  private volatile boolean closed = false;
+  private volatile boolean leakReported = false;
 
-  public NonClosingConnection(Connection delegate) {
-    this.delegate = delegate;
+  PooledConnection(ConnectionPool pool, ConnectionPool.PoolEntry entry, Throwable borrowTrace) {
+    this.pool = pool;
+    this.entry = entry;
+    this.delegate = entry.getConnection();
+    this.borrowedAtMillis = System.currentTimeMillis();
+    this.borrowTrace = borrowTrace;
   }
 
   @Override
   public void close() throws SQLException {
-    // Do nothing - prevent closing the singleton connection
-    // The actual connection will be closed by Database.closeConnection()
+    if (closed) {
+      return;
+    }
+    closed = true;
+    pool.release(this);
+  }
+
+  ConnectionPool.PoolEntry getEntry() {
+    return entry;
+  }
+
+  long getBorrowedAtMillis() {
+    return borrowedAtMillis;
+  }
+
+  Throwable getBorrowTrace() {
+    return borrowTrace;
+  }
+
+  boolean isLeakReported() {
+    return leakReported;
+  }
+
+  void markLeakReported() {
+    leakReported = true;
+  }
+
+  private Connection delegate() throws SQLException {
+    if (closed) {
+      throw new SQLException("Connection has already been returned to the pool");
+    }
+    return delegate;
   }
 
   // Delegate all other methods to the underlying connection
   @Override
   public Statement createStatement() throws SQLException {
-    return delegate.createStatement();
+    return delegate().createStatement();
   }
 
   @Override
   public PreparedStatement prepareStatement(String sql) throws SQLException {
-    return delegate.prepareStatement(sql);
+    Connection conn = delegate();
+    StatementCache cache = entry.getStatementCache();
+    if (cache == null) {
+      return conn.prepareStatement(sql);
+    }
+    return cache.prepare(sql, () -> conn.prepareStatement(sql));
   }
 
   @Override
   public CallableStatement prepareCall(String sql) throws SQLException {
-    return delegate.prepareCall(sql);
+    return delegate().prepareCall(sql);
   }
 
   @Override
   public String nativeSQL(String sql) throws SQLException {
-    return delegate.nativeSQL(sql);
+    return delegate().nativeSQL(sql);
   }
 
   @Override
   public void setAutoCommit(boolean autoCommit) throws SQLException {
-    delegate.setAutoCommit(autoCommit);
+    delegate().setAutoCommit(autoCommit);
   }
 
   @Override
   public boolean getAutoCommit() throws SQLException {
-    return delegate.getAutoCommit();
+    return delegate().getAutoCommit();
   }
 
   @Override
   public void commit() throws SQLException {
-    delegate.commit();
+    delegate().commit();
   }
 
   @Override
   public void rollback() throws SQLException {
-    delegate.rollback();
+    delegate().rollback();
   }
 
   @Override
   public boolean isClosed() throws SQLException {
-    return delegate.isClosed();
+    return closed || delegate.isClosed();
   }
 
   @Override
   public DatabaseMetaData getMetaData() throws SQLException {
-    return delegate.getMetaData();
+    return delegate().getMetaData();
   }
 
   @Override
   public void setReadOnly(boolean readOnly) throws SQLException {
-    delegate.setReadOnly(readOnly);
+    delegate().setReadOnly(readOnly);
   }
 
   @Override
   public boolean isReadOnly() throws SQLException {
-    return delegate.isReadOnly();
+    return delegate().isReadOnly();
   }
 
   @Override
   public void setCatalog(String catalog) throws SQLException {
-    delegate.setCatalog(catalog);
+    delegate().setCatalog(catalog);
   }
 
   @Override
   public String getCatalog() throws SQLException {
-    return delegate.getCatalog();
+    return delegate().getCatalog();
   }
 
   @Override
   public void setTransactionIsolation(int level) throws SQLException {
-    delegate.setTransactionIsolation(level);
+    delegate().setTransactionIsolation(level);
   }
 
   @Override
   public int getTransactionIsolation() throws SQLException {
-    return delegate.getTransactionIsolation();
+    return delegate().getTransactionIsolation();
   }
 
   @Override
   public SQLWarning getWarnings() throws SQLException {
-    return delegate.getWarnings();
+    return delegate().getWarnings();
   }
 
   @Override
   public void clearWarnings() throws SQLException {
-    delegate.clearWarnings();
+    delegate().clearWarnings();
   }
 
   @Override
   public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
-    return delegate.createStatement(resultSetType, resultSetConcurrency);
+    return delegate().createStatement(resultSetType, resultSetConcurrency);
   }
 
   @Override
   public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
       throws SQLException {
-    return delegate.prepareStatement(sql, resultSetType, resultSetConcurrency);
+    return delegate().prepareStatement(sql, resultSetType, resultSetConcurrency);
   }
 
   @Override
   public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency)
       throws SQLException {
-    return delegate.prepareCall(sql, resultSetType, resultSetConcurrency);
+    return delegate().prepareCall(sql, resultSetType, resultSetConcurrency);
   }
 
   @Override
   public Map<String, Class<?>> getTypeMap() throws SQLException {
-    return delegate.getTypeMap();
+    return delegate().getTypeMap();
   }
 
   @Override
   public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
-    delegate.setTypeMap(map);
+    delegate().setTypeMap(map);
   }
 
   @Override
   public void setHoldability(int holdability) throws SQLException {
-    delegate.setHoldability(holdability);
+    delegate().setHoldability(holdability);
   }
 
   @Override
   public int getHoldability() throws SQLException {
-    return delegate.getHoldability();
+    return delegate().getHoldability();
   }
 
   @Override
   public Savepoint setSavepoint() throws SQLException {
-    return delegate.setSavepoint();
+    return delegate().setSavepoint();
   }
 
   @Override
   public Savepoint setSavepoint(String name) throws SQLException {
-    return delegate.setSavepoint(name);
+    return delegate().setSavepoint(name);
   }
 
   @Override
   public void rollback(Savepoint savepoint) throws SQLException {
-    delegate.rollback(savepoint);
+    delegate().rollback(savepoint);
   }
 
   @Override
   public void releaseSavepoint(Savepoint savepoint) throws SQLException {
-    delegate.releaseSavepoint(savepoint);
+    delegate().releaseSavepoint(savepoint);
   }
 
   @Override
   public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
       throws SQLException {
-    return delegate.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
+    return delegate().createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
   }
 
   @Override
   public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
       int resultSetHoldability) throws SQLException {
-    return delegate.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    return delegate().prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
   }
 
   @Override
   public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
       int resultSetHoldability) throws SQLException {
-    return delegate.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    return delegate().prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
   }
 
   @Override
   public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
-    return delegate.prepareStatement(sql, autoGeneratedKeys);
+    Connection conn = delegate();
+    StatementCache cache = entry.getStatementCache();
+    if (cache == null) {
+      return conn.prepareStatement(sql, autoGeneratedKeys);
+    }
+    return cache.prepare(autoGeneratedKeys + ":" + sql, () -> conn.prepareStatement(sql, autoGeneratedKeys));
   }
 
   @Override
   public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
-    return delegate.prepareStatement(sql, columnIndexes);
+    return delegate().prepareStatement(sql, columnIndexes);
   }
 
   @Override
   public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
-    return delegate.prepareStatement(sql, columnNames);
+    return delegate().prepareStatement(sql, columnNames);
   }
 
   @Override
   public Clob createClob() throws SQLException {
-    return delegate.createClob();
+    return delegate().createClob();
   }
 
   @Override
   public Blob createBlob() throws SQLException {
-    return delegate.createBlob();
+    return delegate().createBlob();
   }
 
   @Override
   public NClob createNClob() throws SQLException {
-    return delegate.createNClob();
+    return delegate().createNClob();
   }
 
   @Override
   public SQLXML createSQLXML() throws SQLException {
-    return delegate.createSQLXML();
+    return delegate().createSQLXML();
   }
 
   @Override
   public boolean isValid(int timeout) throws SQLException {
-    return delegate.isValid(timeout);
+    return !closed && delegate.isValid(timeout);
   }
 
   @Override
@@ -250,56 +305,56 @@ public class NonClosingConnection implements Connection {
 
   @Override
   public String getClientInfo(String name) throws SQLException {
-    return delegate.getClientInfo(name);
+    return delegate().getClientInfo(name);
   }
 
   @Override
   public Properties getClientInfo() throws SQLException {
-    return delegate.getClientInfo();
+    return delegate().getClientInfo();
   }
 
   @Override
   public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
-    return delegate.createArrayOf(typeName, elements);
+    return delegate().createArrayOf(typeName, elements);
   }
 
   @Override
   public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
-    return delegate.createStruct(typeName, attributes);
+    return delegate().createStruct(typeName, attributes);
   }
 
   @Override
   public void setSchema(String schema) throws SQLException {
-    delegate.setSchema(schema);
+    delegate().setSchema(schema);
   }
 
   @Override
   public String getSchema() throws SQLException {
-    return delegate.getSchema();
+    return delegate().getSchema();
   }
 
   @Override
   public void abort(Executor executor) throws SQLException {
-    delegate.abort(executor);
+    delegate().abort(executor);
   }
 
   @Override
   public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
-    delegate.setNetworkTimeout(executor, milliseconds);
+    delegate().setNetworkTimeout(executor, milliseconds);
   }
 
   @Override
   public int getNetworkTimeout() throws SQLException {
-    return delegate.getNetworkTimeout();
+    return delegate().getNetworkTimeout();
   }
 
   @Override
   public <T> T unwrap(Class<T> iface) throws SQLException {
-    return delegate.unwrap(iface);
+    return delegate().unwrap(iface);
   }
 
   @Override
   public boolean isWrapperFor(Class<?> iface) throws SQLException {
-    return delegate.isWrapperFor(iface);
+    return delegate().isWrapperFor(iface);
   }
 }
@@ -0,0 +1,180 @@
+package com.example.trainreservationsystem.utils.shared.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for one physical connection, keyed by SQL
+ * text. Repositories prepare the same constant SQL on every call; reusing the
+ * statement object skips the client-side parse and lets the driver keep its
+ * server-side prepared statement (and plan) across calls.
+ *
+ * Cached statements are handed out behind a proxy whose close() resets the
+ * statement and returns it to the cache instead of closing it.
+ */
+class StatementCache {
+
+  private final int maxSize;
+  private final AtomicLong hits;
+  private final AtomicLong misses;
+  private final LinkedHashMap<String, CachedStatement> statements;
+
+  StatementCache(int maxSize, AtomicLong hits, AtomicLong misses) {
+    this.maxSize = maxSize;
+    this.hits = hits;
+    this.misses = misses;
+    this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+        if (size() > StatementCache.this.maxSize) {
+          eldest.getValue().evict();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns a cached statement for the key, or prepares and caches a new one.
+   * If the cached statement is already in use (nested use of the same SQL on
+   * one connection) an uncached statement is returned instead.
+   */
+  synchronized PreparedStatement prepare(String key, StatementFactory factory) throws SQLException {
+    CachedStatement cached = statements.get(key);
+    if (cached != null && !cached.inUse) {
+      hits.incrementAndGet();
+      cached.inUse = true;
+      return cached.proxy;
+    }
+
+    misses.incrementAndGet();
+    PreparedStatement stmt = factory.create();
+    if (cached != null) {
+      return stmt;
+    }
+    cached = new CachedStatement(stmt);
+    cached.inUse = true;
+    statements.put(key, cached);
+    return cached.proxy;
+  }
+
+  /**
+   * Marks every statement as available again.
+   * Called when the connection goes back to the pool, so a statement a caller
+   * forgot to close doesn't stay checked out forever.
+   */
+  synchronized void releaseAll() {
+    for (CachedStatement cached : statements.values()) {
+      if (cached.inUse) {
+        cached.reset();
+      }
+    }
+  }
+
+  /**
+   * Forgets all statements. The physical connection closes them itself.
+   */
+  synchronized void clear() {
+    statements.clear();
+  }
+
+  interface StatementFactory {
+    PreparedStatement create() throws SQLException;
+  }
+
+  private static class CachedStatement implements InvocationHandler {
+    private final PreparedStatement delegate;
+    private final PreparedStatement proxy;
+    private volatile boolean inUse = false;
+    private volatile boolean evicted = false;
+
+    // Settings as prepared, restored for the next borrower
+    private final int fetchSize;
+    private final int maxRows;
+    private final int queryTimeout;
+
+    CachedStatement(PreparedStatement delegate) throws SQLException {
+      this.delegate = delegate;
+      this.fetchSize = delegate.getFetchSize();
+      this.maxRows = delegate.getMaxRows();
+      this.queryTimeout = delegate.getQueryTimeout();
+      this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+          PreparedStatement.class.getClassLoader(),
+          new Class<?>[] { PreparedStatement.class },
+          this);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if ("close".equals(name) && method.getParameterCount() == 0) {
+        if (evicted) {
+          inUse = false;
+          delegate.close();
+        } else {
+          reset();
+        }
+        return null;
+      }
+      if ("isClosed".equals(name)) {
+        return !inUse || delegate.isClosed();
+      }
+      if (!inUse) {
+        throw new SQLException("Statement is closed");
+      }
+      try {
+        return method.invoke(delegate, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+
+    private void reset() {
+      try {
+        ResultSet rs = delegate.getResultSet();
+        if (rs != null) {
+          rs.close();
+        }
+        ResultSet keys = delegate.getGeneratedKeys();
+        if (keys != null) {
+          keys.close();
+        }
+        if (delegate.getFetchSize() != fetchSize) {
+          delegate.setFetchSize(fetchSize);
+        }
+        if (delegate.getMaxRows() != maxRows) {
+          delegate.setMaxRows(maxRows);
+        }
+        if (delegate.getQueryTimeout() != queryTimeout) {
+          delegate.setQueryTimeout(queryTimeout);
+        }
+        delegate.clearParameters();
+        delegate.clearBatch();
+        delegate.clearWarnings();
+      } catch (SQLException e) {
+        // Statement is broken; it will fail on next use and the connection be discarded
+      }
+      inUse = false;
+    }
+
+    private void evict() {
+      evicted = true;
+      if (!inUse) {
+        try {
+          delegate.close();
+        } catch (SQLException e) {
+          // Ignore close errors
+        }
+      }
+    }
+  }
+}
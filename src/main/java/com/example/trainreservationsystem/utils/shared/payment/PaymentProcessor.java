@@ -8,9 +8,9 @@ import com.example.trainreservationsystem.services.member.booking.BookingService
 import com.example.trainreservationsystem.services.member.payment.PaymentService;
 import com.example.trainreservationsystem.services.shared.NotificationService;
 import com.example.trainreservationsystem.services.shared.ServiceFactory;
+import com.example.trainreservationsystem.utils.shared.ui.UiTasks;
 
 import javafx.animation.PauseTransition;
-import javafx.application.Platform;
 import javafx.util.Duration;
 
 /**
@@ -37,28 +37,25 @@ public class PaymentProcessor {
     PauseTransition pause = new PauseTransition(Duration.seconds(1.5));
 
     pause.setOnFinished(e -> {
-      Platform.runLater(() -> {
-        try {
-          PaymentService paymentService = ServiceFactory.getPaymentService();
-          double originalAmount = booking.getTotalAmount();
-
-          // Process payment using adapter
-          paymentService.processPayment(
-              booking.getId(),
-              originalAmount,
-              adapter,
-              paymentDetails,
-              discountCode);
-
-          String paymentMethod = adapter.getMethodName();
-          String details = buildPaymentDetailsString(paymentDetails, adapter);
-          sendNotifications(booking, paymentMethod, details, discountCode, originalAmount);
-          onSuccess.run();
-        } catch (Exception ex) {
-          System.err.println("Error processing payment: " + ex.getMessage());
-          ex.printStackTrace();
-          onError.run();
-        }
+      UiTasks.run(() -> {
+        PaymentService paymentService = ServiceFactory.getPaymentService();
+        double originalAmount = booking.getTotalAmount();
+
+        // Process payment using adapter
+        paymentService.processPayment(
+            booking.getId(),
+            originalAmount,
+            adapter,
+            paymentDetails,
+            discountCode);
+
+        String paymentMethod = adapter.getMethodName();
+        String details = buildPaymentDetailsString(paymentDetails, adapter);
+        sendNotifications(booking, paymentMethod, details, discountCode, originalAmount);
+      }, onSuccess, ex -> {
+        System.err.println("Error processing payment: " + ex.getMessage());
+        ex.printStackTrace();
+        onError.run();
       });
     });
 
@@ -0,0 +1,94 @@
+package com.example.trainreservationsystem.utils.shared.scheduling;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timing wheel for many timeouts with coarse precision.
+ *
+ * Time is cut into ticks; a timeout lands in the bucket for its deadline tick
+ * modulo the wheel size. Scheduling is O(1) and each advance only visits the
+ * buckets for the ticks that passed, returning every due item in one batch.
+ * Timeouts further away than one revolution stay in their bucket until a
+ * later pass reaches their tick.
+ *
+ * Thread-safe: items can be scheduled from any thread while one thread
+ * advances the wheel.
+ */
+public class TimerWheel<T> {
+  private final long tickMillis;
+  private final List<Timeout<T>>[] buckets;
+  private final int mask;
+  private long currentTick;
+  private int size;
+
+  /**
+   * @param wheelSize number of buckets, rounded up to a power of two
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public TimerWheel(long tickMillis, int wheelSize, long startMillis) {
+    this.tickMillis = Math.max(tickMillis, 1);
+    int buckets = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+    this.buckets = new List[buckets];
+    for (int i = 0; i < buckets; i++) {
+      this.buckets[i] = new ArrayList<>();
+    }
+    this.mask = buckets - 1;
+    this.currentTick = startMillis / this.tickMillis;
+  }
+
+  /**
+   * Schedules an item to be returned by the first advance at or after the
+   * deadline. Deadlines in the past fire on the next advance.
+   */
+  public synchronized void schedule(T item, long deadlineMillis) {
+    long tick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+    buckets[(int) (tick & mask)].add(new Timeout<>(item, tick));
+    size++;
+  }
+
+  /**
+   * Moves the wheel to the given time and removes every item whose deadline
+   * has passed.
+   */
+  public synchronized List<T> advance(long nowMillis) {
+    List<T> due = new ArrayList<>();
+    long target = nowMillis / tickMillis;
+    if (target <= currentTick) {
+      return due;
+    }
+    // After a long pause one full revolution covers every bucket
+    long last = Math.min(target, currentTick + buckets.length);
+    for (long tick = currentTick + 1; tick <= last; tick++) {
+      Iterator<Timeout<T>> it = buckets[(int) (tick & mask)].iterator();
+      while (it.hasNext()) {
+        Timeout<T> timeout = it.next();
+        if (timeout.tick <= target) {
+          due.add(timeout.item);
+          it.remove();
+          size--;
+        }
+      }
+    }
+    currentTick = target;
+    return due;
+  }
+
+  /**
+   * Number of pending timeouts.
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  private static class Timeout<T> {
+    private final T item;
+    private final long tick;
+
+    Timeout(T item, long tick) {
+      this.item = item;
+      this.tick = tick;
+    }
+  }
+}
@@ -0,0 +1,182 @@
+package com.example.trainreservationsystem.utils.shared.ui;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+
+/**
+ * Runs blocking work such as repository calls off the JavaFX Application
+ * Thread, on a shared virtual-thread executor, and hands the result or error
+ * back on the FX thread.
+ *
+ * Tasks belong to the view that started them. When the shell swaps the
+ * content view it calls {@link #newViewScope()}, which interrupts the loads
+ * the old view still has running and drops the callbacks of all its tasks,
+ * so a late result never lands in a view that is gone. Writes are never
+ * cancelled: once the user has asked for one, it runs to the end.
+ */
+public final class UiTasks {
+
+  /**
+   * Work that returns nothing but may throw, e.g. a repository update.
+   */
+  @FunctionalInterface
+  public interface Action {
+    void run() throws Exception;
+  }
+
+  private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+      Thread.ofVirtual().name("ui-task-", 0).factory());
+
+  private static volatile Scope current = new Scope();
+
+  private UiTasks() {
+  }
+
+  /**
+   * Loads a value in the background and passes it to onSuccess on the FX
+   * thread. Errors are logged.
+   */
+  public static <T> Future<T> load(Callable<T> work, Consumer<? super T> onSuccess) {
+    return load(work, onSuccess, UiTasks::logError);
+  }
+
+  /**
+   * Loads a value in the background; onSuccess or onError runs on the FX
+   * thread unless the view has been left in the meantime. Leaving the view
+   * interrupts the load.
+   */
+  public static <T> Future<T> load(Callable<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onError) {
+    Scope scope = current;
+    FutureTask<T> task = new FutureTask<>(work) {
+      @Override
+      protected void done() {
+        scope.loads.remove(this);
+        if (!isCancelled()) {
+          Platform.runLater(() -> deliver(scope, this, onSuccess, onError));
+        }
+      }
+    };
+    if (!scope.add(task)) {
+      task.cancel(false);
+      return task;
+    }
+    EXECUTOR.execute(task);
+    return task;
+  }
+
+  /**
+   * Writes in the background and passes the outcome (e.g. whether a row was
+   * updated) to onSuccess on the FX thread. Like {@link #run}, leaving the
+   * view drops the callbacks but lets the write finish.
+   */
+  public static <T> void write(Callable<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onError) {
+    // Not tracked by the scope, so nothing can cancel it before it starts
+    Scope scope = current;
+    FutureTask<T> task = new FutureTask<>(work) {
+      @Override
+      protected void done() {
+        Platform.runLater(() -> deliver(scope, this, onSuccess, onError));
+      }
+    };
+    EXECUTOR.execute(task);
+  }
+
+  /**
+   * Runs an action in the background when nothing on screen waits for it.
+   * Errors are logged.
+   */
+  public static void run(Action work) {
+    run(work, () -> {
+    }, UiTasks::logError);
+  }
+
+  /**
+   * Runs an action in the background, then onSuccess or onError on the FX
+   * thread unless the view has been left in the meantime. Leaving the view
+   * only drops the callbacks; the action itself is not interrupted, so a
+   * save the user already asked for still completes.
+   */
+  public static void run(Action work, Runnable onSuccess, Consumer<Throwable> onError) {
+    write(() -> {
+      work.run();
+      return null;
+    }, ignored -> onSuccess.run(), onError);
+  }
+
+  /**
+   * Runs work that doesn't belong to any view, such as startup, on the
+   * shared executor. It is never cancelled by navigation.
+   */
+  public static Future<?> runDetached(Runnable work) {
+    return EXECUTOR.submit(work);
+  }
+
+  /**
+   * Interrupts the loads of the view being left, drops the callbacks of all
+   * its tasks and starts a scope for the next one. Call on the FX thread
+   * before swapping views.
+   */
+  public static void newViewScope() {
+    Scope old = current;
+    current = new Scope();
+    old.close();
+  }
+
+  private static <T> void deliver(Scope scope, Future<T> task, Consumer<? super T> onSuccess,
+      Consumer<Throwable> onError) {
+    if (scope.closed) {
+      return;
+    }
+    T result;
+    try {
+      result = task.get();
+    } catch (CancellationException | InterruptedException e) {
+      return;
+    } catch (ExecutionException e) {
+      onError.accept(e.getCause());
+      return;
+    }
+    onSuccess.accept(result);
+  }
+
+  private static void logError(Throwable e) {
+    System.err.println("❌ Background task failed: " + e.getMessage());
+    e.printStackTrace();
+  }
+
+  /**
+   * Tasks of one view. Closing it interrupts the running loads; the closed
+   * flag tells every task of the view, loads and writes, to skip its
+   * callbacks.
+   */
+  private static final class Scope {
+    private final Set<Future<?>> loads = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    synchronized boolean add(Future<?> load) {
+      if (closed) {
+        return false;
+      }
+      loads.add(load);
+      return true;
+    }
+
+    synchronized void close() {
+      closed = true;
+      for (Future<?> load : loads) {
+        load.cancel(true);
+      }
+      loads.clear();
+    }
+  }
+}
@@ -12,6 +12,7 @@ module com.example.trainreservationsystem {
     requires org.kordamp.bootstrapfx.core;
     requires io.github.cdimascio.dotenv.java;
     requires java.sql;
+    requires org.postgresql.jdbc;
 
     exports com.example.trainreservationsystem.applications;
 
@@ -41,8 +42,10 @@ module com.example.trainreservationsystem {
     exports com.example.trainreservationsystem.services.member;
     exports com.example.trainreservationsystem.services.member.booking;
     exports com.example.trainreservationsystem.services.member.payment;
+    exports com.example.trainreservationsystem.services.member.search;
     exports com.example.trainreservationsystem.services.shared;
     exports com.example.trainreservationsystem.services.staff;
+    exports com.example.trainreservationsystem.services.staff.report;
 
     // Models
     exports com.example.trainreservationsystem.models.admin;
@@ -55,12 +58,14 @@ module com.example.trainreservationsystem {
     exports com.example.trainreservationsystem.utils.shared.database;
     exports com.example.trainreservationsystem.utils.shared.payment;
     exports com.example.trainreservationsystem.utils.shared.payment.adapters;
+    exports com.example.trainreservationsystem.utils.shared.scheduling;
     exports com.example.trainreservationsystem.utils.shared.ui;
 
     // Repositories
     exports com.example.trainreservationsystem.repositories;
     exports com.example.trainreservationsystem.repositories.admin;
     exports com.example.trainreservationsystem.repositories.member;
+    exports com.example.trainreservationsystem.repositories.memory;
     exports com.example.trainreservationsystem.repositories.shared;
     exports com.example.trainreservationsystem.repositories.staff;
 }
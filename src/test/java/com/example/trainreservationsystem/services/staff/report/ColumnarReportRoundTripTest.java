@@ -0,0 +1,141 @@
+package com.example.trainreservationsystem.services.staff.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.trainreservationsystem.repositories.member.BookingRepository.ReportRow;
+
+class ColumnarReportRoundTripTest {
+  private static final int GROUP_SIZE = ColumnarReportWriter.GROUP_SIZE;
+  private static final String[] STATUSES = { "CONFIRMED", "PENDING", "CANCELLED" };
+  private static final LocalDateTime BOOKED_FROM = LocalDateTime.of(2026, 1, 1, 8, 0);
+  private static final LocalDate TRAVEL_FROM = LocalDate.of(2026, 3, 1);
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void readsBackEveryRowAcrossRowGroups() throws IOException {
+    Path file = dir.resolve("report.trsr");
+    int total = GROUP_SIZE + 1000;
+    try (ColumnarReportWriter writer = new ColumnarReportWriter(file)) {
+      for (int i = 0; i < total; i++) {
+        writer.write(row(i));
+      }
+      assertEquals(total, writer.getTotalRows());
+    }
+
+    try (ColumnarReportReader reader = new ColumnarReportReader(file)) {
+      for (int i = 0; i < total; i++) {
+        assertRow(row(i), reader.next(), i);
+      }
+      assertNull(reader.next());
+      assertNull(reader.next());
+      assertEquals(total, reader.getRowsRead());
+    }
+  }
+
+  @Test
+  void readsAnExactlyFullRowGroup() throws IOException {
+    Path file = dir.resolve("full.trsr");
+    try (ColumnarReportWriter writer = new ColumnarReportWriter(file)) {
+      for (int i = 0; i < GROUP_SIZE; i++) {
+        writer.write(row(i));
+      }
+    }
+
+    try (ColumnarReportReader reader = new ColumnarReportReader(file)) {
+      for (int i = 0; i < GROUP_SIZE; i++) {
+        assertRow(row(i), reader.next(), i);
+      }
+      assertNull(reader.next());
+    }
+  }
+
+  @Test
+  void readsAnEmptyReport() throws IOException {
+    Path file = dir.resolve("empty.trsr");
+    new ColumnarReportWriter(file).close();
+
+    try (ColumnarReportReader reader = new ColumnarReportReader(file)) {
+      assertNull(reader.next());
+      assertEquals(0, reader.getRowsRead());
+    }
+  }
+
+  @Test
+  void nullStatusComesBackEmpty() throws IOException {
+    Path file = dir.resolve("status.trsr");
+    try (ColumnarReportWriter writer = new ColumnarReportWriter(file)) {
+      writer.write(new ReportRow(1, 2, 3, null, 0, null, null, 1));
+    }
+
+    try (ColumnarReportReader reader = new ColumnarReportReader(file)) {
+      assertEquals("", reader.next().status);
+    }
+  }
+
+  @Test
+  void rejectsOtherFiles() throws IOException {
+    Path file = dir.resolve("report.csv");
+    Files.writeString(file, "booking_id,user_id\n1,2\n");
+
+    assertThrows(IOException.class, () -> new ColumnarReportReader(file));
+  }
+
+  @Test
+  void rejectsATruncatedReport() throws IOException {
+    Path file = dir.resolve("truncated.trsr");
+    try (ColumnarReportWriter writer = new ColumnarReportWriter(file)) {
+      for (int i = 0; i < 100; i++) {
+        writer.write(row(i));
+      }
+    }
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 20));
+
+    try (ColumnarReportReader reader = new ColumnarReportReader(file)) {
+      assertThrows(IOException.class, () -> {
+        while (reader.next() != null) {
+          // Drain
+        }
+      });
+    }
+  }
+
+  // Ids that drop now and then, large amounts, and null dates every few
+  // rows and on both sides of the first row group boundary
+  private static ReportRow row(int i) {
+    int bookingId = i % 97 == 0 ? i + 1 : 1_000_000 + i * 3;
+    long paidCents = i % 11 == 0 ? 0 : i * 1_234L + Integer.MAX_VALUE;
+    LocalDateTime bookingDate = i % 7 == 0 ? null : BOOKED_FROM.plus(i * 37_001L, ChronoUnit.MILLIS);
+    boolean noTravelDate = i % 5 == 0 || i == GROUP_SIZE - 1 || i == GROUP_SIZE;
+    LocalDate travelDate = noTravelDate ? null : TRAVEL_FROM.plusDays(i % 90 - 30);
+    return new ReportRow(bookingId, i % 500 + 1, i % 40 + 1, STATUSES[i % STATUSES.length], paidCents,
+        bookingDate, travelDate, i % 6);
+  }
+
+  private static void assertRow(ReportRow expected, ReportRow actual, int i) {
+    String at = "row " + i;
+    assertEquals(expected.bookingId, actual.bookingId, at);
+    assertEquals(expected.userId, actual.userId, at);
+    assertEquals(expected.scheduleId, actual.scheduleId, at);
+    assertEquals(expected.status, actual.status, at);
+    assertEquals(expected.paidCents, actual.paidCents, at);
+    assertEquals(expected.bookingDate, actual.bookingDate, at);
+    assertEquals(expected.travelDate, actual.travelDate, at);
+    assertEquals(expected.tickets, actual.tickets, at);
+  }
+}
@@ -0,0 +1,109 @@
+package com.example.trainreservationsystem.utils.member.booking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SeatBitmapTest {
+
+  @Test
+  void trySetClaimsASeatOnce() {
+    SeatBitmap bitmap = new SeatBitmap(10);
+
+    assertTrue(bitmap.trySet(3));
+    assertFalse(bitmap.trySet(3));
+    assertTrue(bitmap.isSet(3));
+    assertFalse(bitmap.isSet(4));
+  }
+
+  @Test
+  void seatsOutsideTheCapacityAreNeverClaimed() {
+    SeatBitmap bitmap = new SeatBitmap(10);
+
+    assertFalse(bitmap.trySet(0));
+    assertFalse(bitmap.trySet(11));
+    assertFalse(bitmap.isSet(11));
+    assertEquals(10, bitmap.countClear(0, 100));
+  }
+
+  @Test
+  void trySetAllGivesBackEarlierSeatsOnConflict() {
+    SeatBitmap bitmap = new SeatBitmap(10);
+    bitmap.set(5);
+
+    assertFalse(bitmap.trySetAll(new int[] { 1, 2, 5, 6 }));
+
+    assertEquals(Set.of(5), bitmap.toSet());
+  }
+
+  @Test
+  void countsRangesAcrossWordBoundaries() {
+    SeatBitmap bitmap = new SeatBitmap(200);
+    for (int seat : new int[] { 1, 63, 64, 65, 127, 128, 200 }) {
+      bitmap.set(seat);
+    }
+
+    assertEquals(7, bitmap.countSet(1, 200));
+    assertEquals(3, bitmap.countSet(63, 65));
+    assertEquals(4, bitmap.countSet(64, 128));
+    assertEquals(1, bitmap.countSet(129, 200));
+    assertEquals(0, bitmap.countSet(2, 62));
+    assertEquals(193, bitmap.countClear(1, 200));
+  }
+
+  @Test
+  void nextClearSkipsTakenSeats() {
+    SeatBitmap bitmap = new SeatBitmap(130);
+    for (int seat = 1; seat <= 128; seat++) {
+      bitmap.set(seat);
+    }
+
+    assertEquals(129, bitmap.nextClear(1, 130));
+    assertEquals(-1, bitmap.nextClear(1, 128));
+    bitmap.clear(70);
+    assertEquals(70, bitmap.nextClear(1, 130));
+  }
+
+  @Test
+  void concurrentClaimsOfOneSeatHaveOneWinner() throws Exception {
+    SeatBitmap bitmap = new SeatBitmap(64);
+    int threads = 8;
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      for (int seat = 1; seat <= 64; seat++) {
+        int target = seat;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        List<Future<?>> claims = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+          claims.add(pool.submit(() -> {
+            start.await();
+            if (bitmap.trySet(target)) {
+              winners.incrementAndGet();
+            }
+            return null;
+          }));
+        }
+        start.countDown();
+        for (Future<?> claim : claims) {
+          claim.get();
+        }
+        assertEquals(1, winners.get(), "seat " + target);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    assertEquals(64, bitmap.countSet(1, 64));
+  }
+}
@@ -0,0 +1,108 @@
+package com.example.trainreservationsystem.utils.member.booking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class SegmentSeatMatrixTest {
+
+  @Test
+  void claimsOnDisjointSegmentsShareASeat() {
+    SegmentSeatMatrix matrix = new SegmentSeatMatrix(10, 3);
+
+    assertTrue(matrix.tryClaim(new int[] { 4 }, 0, 1));
+    assertTrue(matrix.tryClaim(new int[] { 4 }, 1, 3));
+
+    assertFalse(matrix.isFree(4, 0, 3));
+  }
+
+  @Test
+  void overlappingClaimConflicts() {
+    SegmentSeatMatrix matrix = new SegmentSeatMatrix(10, 3);
+    assertTrue(matrix.tryClaim(new int[] { 4 }, 1, 2));
+
+    assertFalse(matrix.tryClaim(new int[] { 4 }, 0, 3));
+    assertFalse(matrix.tryClaim(new int[] { 4 }, 1, 3));
+    assertTrue(matrix.isFree(4, 0, 1));
+    assertTrue(matrix.isFree(4, 2, 3));
+  }
+
+  @Test
+  void failedClaimUndoesEverythingItTook() {
+    SegmentSeatMatrix matrix = new SegmentSeatMatrix(10, 3);
+    matrix.set(5, 1, 2);
+
+    // Seats 3 and 4 are claimed on every segment and seat 5 on segment 0
+    // before the conflict on segment 1 is found
+    assertFalse(matrix.tryClaim(new int[] { 3, 4, 5 }, 0, 3));
+
+    assertEquals(Set.of(5), matrix.occupiedSeats(0, 3));
+    assertTrue(matrix.isFree(5, 0, 1));
+    assertFalse(matrix.isFree(5, 1, 2));
+    assertTrue(matrix.isFree(5, 2, 3));
+  }
+
+  @Test
+  void failedClaimKeepsSeatsOthersHold() {
+    SegmentSeatMatrix matrix = new SegmentSeatMatrix(10, 2);
+    assertTrue(matrix.tryClaim(new int[] { 1, 2 }, 0, 2));
+
+    assertFalse(matrix.tryClaim(new int[] { 3, 2 }, 0, 2));
+
+    assertEquals(Set.of(1, 2), matrix.occupiedSeats(0, 2));
+  }
+
+  @Test
+  void countFreeOrsTheRowsOfTheRange() {
+    SegmentSeatMatrix matrix = new SegmentSeatMatrix(100, 3);
+    matrix.set(10, 0, 1);
+    matrix.set(20, 2, 3);
+    matrix.set(30, 0, 3);
+
+    assertEquals(97, matrix.countFree(1, 100, 0, 3));
+    assertEquals(98, matrix.countFree(1, 100, 0, 2));
+    assertEquals(99, matrix.countFree(1, 100, 1, 2));
+    assertEquals(98, matrix.countFree(1, 100, 2, 3));
+    assertEquals(9, matrix.countFree(1, 10, 0, 1));
+    assertEquals(10, matrix.countFree(1, 10, 1, 3));
+  }
+
+  @Test
+  void countFreeAcrossWordBoundaries() {
+    SegmentSeatMatrix matrix = new SegmentSeatMatrix(200, 2);
+    matrix.set(63, 0, 1);
+    matrix.set(64, 1, 2);
+    matrix.set(128, 0, 2);
+
+    assertEquals(197, matrix.countFree(1, 200, 0, 2));
+    assertEquals(68, matrix.countFree(61, 131, 0, 2));
+    assertEquals(1, matrix.countFree(63, 64, 1, 2));
+    assertEquals(0, matrix.countFree(128, 128, 1, 2));
+  }
+
+  @Test
+  void nextFreeLooksAtEverySegmentOfTheRange() {
+    SegmentSeatMatrix matrix = new SegmentSeatMatrix(70, 2);
+    for (int seat = 1; seat <= 64; seat++) {
+      matrix.set(seat, seat % 2, seat % 2 + 1);
+    }
+
+    assertEquals(65, matrix.nextFree(1, 70, 0, 2));
+    assertEquals(1, matrix.nextFree(1, 70, 0, 1));
+    assertEquals(2, matrix.nextFree(1, 70, 1, 2));
+    assertEquals(-1, matrix.nextFree(1, 64, 0, 2));
+  }
+
+  @Test
+  void rejectsEmptyOrOutOfBoundsRanges() {
+    SegmentSeatMatrix matrix = new SegmentSeatMatrix(10, 3);
+
+    assertThrows(IllegalArgumentException.class, () -> matrix.tryClaim(new int[] { 1 }, 2, 2));
+    assertThrows(IllegalArgumentException.class, () -> matrix.countFree(1, 10, 0, 4));
+  }
+}